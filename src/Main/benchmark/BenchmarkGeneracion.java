@@ -0,0 +1,181 @@
+package Main.benchmark;
+
+import Main.estrategia.generacion.GeneradorLaberintoCuevas;
+import Main.estrategia.generacion.GeneradorLaberintoDFS;
+import Main.estrategia.generacion.GeneradorLaberintoEller;
+import Main.estrategia.generacion.GeneradorLaberintoKruskal;
+import Main.estrategia.generacion.GeneradorLaberintoPrim;
+import Main.estrategia.generacion.GeneradorLaberintoRecursivoDivision;
+import Main.estrategia.generacion.TalladorDFS;
+import Main.modelo.Constantes.TipoCelda;
+import Main.modelo.Dominio.Laberinto;
+import Main.servicio.Interfaces.GeneradorLaberinto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Stack;
+
+/**
+ * Banco de pruebas de rendimiento de los algoritmos de generación de laberintos.
+ * <p>
+ * Para cada tamaño mide el mejor tiempo de varias ejecuciones de cada caso y lo
+ * expresa como celdas generadas por segundo. Incluye la excavación DFS original
+ * (con {@code Stack<int[]>} y una lista de direcciones por paso) como referencia
+ * frente al {@link TalladorDFS} compartido.
+ * </p>
+ * <p>
+ * Se ejecuta desde la línea de comandos:
+ * {@code java -Xmx4g -cp out Main.benchmark.BenchmarkGeneracion [lado ...]}.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.1
+ * @since 17/10/2026
+ */
+public class BenchmarkGeneracion {
+
+    /** Lados de los laberintos cuadrados medidos por defecto. */
+    private static final int[] LADOS_POR_DEFECTO = { 100, 1000, 4000 };
+
+    /** Celdas que se procesan como mínimo en las mediciones de cada caso. */
+    private static final long CELDAS_POR_CASO = 50_000_000L;
+
+    /** Máximo de repeticiones medidas por caso. */
+    private static final int REPETICIONES_MAXIMAS = 50;
+
+    /**
+     * Un caso medido: genera un laberinto cuadrado con la semilla indicada.
+     */
+    private interface Caso {
+        Laberinto generar(int lado, long semilla);
+    }
+
+    /**
+     * Punto de entrada del banco de pruebas.
+     *
+     * @param args Opcionalmente, los lados de los laberintos a medir.
+     */
+    public static void main(String[] args) {
+        int[] lados = LADOS_POR_DEFECTO;
+        if (args.length > 0) {
+            lados = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                lados[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        Map<String, Caso> casos = crearCasos();
+        System.out.println("=== Benchmark generación ===");
+        for (int lado : lados) {
+            System.out.println("--- " + lado + "x" + lado + " ---");
+            for (Map.Entry<String, Caso> caso : casos.entrySet()) {
+                long nanos = medir(caso.getValue(), lado);
+                double celdasPorSegundo = (double) lado * lado / (nanos / 1e9);
+                System.out.printf("%-24s %,12.2f ms %,16.0f celdas/s%n",
+                        caso.getKey(), nanos / 1e6, celdasPorSegundo);
+            }
+        }
+    }
+
+    /**
+     * Registra los casos medidos, en el orden en que se imprimen.
+     */
+    private static Map<String, Caso> crearCasos() {
+        Map<String, Caso> casos = new LinkedHashMap<>();
+        TalladorDFS tallador = new TalladorDFS();
+
+        casos.put("DFS Stack<int[]>", (lado, semilla) -> {
+            Laberinto laberinto = new Laberinto(lado, lado);
+            tallarConStack(laberinto, new Random(semilla));
+            return laberinto;
+        });
+        casos.put("DFS TalladorDFS", (lado, semilla) -> {
+            Laberinto laberinto = new Laberinto(lado, lado);
+            tallador.tallar(laberinto, 1, 1, new Random(semilla));
+            return laberinto;
+        });
+        casos.put("GeneradorLaberintoDFS", generador(new GeneradorLaberintoDFS()));
+        casos.put("GeneradorLaberintoPrim", generador(new GeneradorLaberintoPrim()));
+        casos.put("División recursiva", generador(new GeneradorLaberintoRecursivoDivision()));
+        casos.put("División paralela", generador(new GeneradorLaberintoRecursivoDivision(true)));
+        casos.put("GeneradorLaberintoKruskal", generador(new GeneradorLaberintoKruskal()));
+        casos.put("GeneradorLaberintoEller", generador(new GeneradorLaberintoEller()));
+        casos.put("Cuevas", generador(new GeneradorLaberintoCuevas(
+                GeneradorLaberintoCuevas.ITERACIONES_POR_DEFECTO, false)));
+        casos.put("Cuevas paralelas", generador(new GeneradorLaberintoCuevas()));
+        return casos;
+    }
+
+    /**
+     * Adapta un {@link GeneradorLaberinto} completo a un caso de laberinto cuadrado.
+     */
+    private static Caso generador(GeneradorLaberinto generador) {
+        return (lado, semilla) -> generador.generarConSemilla(lado, lado, semilla);
+    }
+
+    /**
+     * Ejecuta un caso tras un calentamiento y devuelve el mejor tiempo en nanosegundos.
+     */
+    private static long medir(Caso caso, int lado) {
+        long celdas = (long) lado * lado;
+        int repeticiones = (int) Math.max(1, Math.min(REPETICIONES_MAXIMAS, CELDAS_POR_CASO / celdas));
+
+        long control = 0;
+        for (int i = 0; i < repeticiones; i++) {
+            control += caso.generar(lado, i).getTiposCrudos()[lado + 1];
+        }
+        long mejor = Long.MAX_VALUE;
+        for (int i = 0; i < repeticiones; i++) {
+            long inicio = System.nanoTime();
+            Laberinto laberinto = caso.generar(lado, i);
+            mejor = Math.min(mejor, System.nanoTime() - inicio);
+            control += laberinto.getTiposCrudos()[lado + 1];
+        }
+        if (control < 0) {
+            System.out.println(control);
+        }
+        return mejor;
+    }
+
+    /**
+     * Excavación DFS tal como estaba implementada antes de {@link TalladorDFS}:
+     * pila sincronizada de arreglos y una lista nueva de direcciones por paso.
+     */
+    private static void tallarConStack(Laberinto laberinto, Random random) {
+        int filas = laberinto.getFilas();
+        int columnas = laberinto.getColumnas();
+        Stack<int[]> pila = new Stack<>();
+        laberinto.setTipo(1, 1, TipoCelda.CAMINO);
+        pila.push(new int[] { 1, 1 });
+
+        int[][] direcciones = { { -2, 0 }, { 0, 2 }, { 2, 0 }, { 0, -2 } };
+
+        while (!pila.isEmpty()) {
+            int[] actual = pila.peek();
+            List<int[]> validos = new ArrayList<>();
+
+            for (int[] dir : direcciones) {
+                int nx = actual[0] + dir[0];
+                int ny = actual[1] + dir[1];
+                if (nx >= 0 && nx < filas && ny >= 0 && ny < columnas
+                        && laberinto.getTipo(nx, ny) == TipoCelda.MURO) {
+                    validos.add(dir);
+                }
+            }
+
+            if (!validos.isEmpty()) {
+                int[] d = validos.get(random.nextInt(validos.size()));
+                int nx = actual[0] + d[0];
+                int ny = actual[1] + d[1];
+                laberinto.setTipo(actual[0] + d[0] / 2, actual[1] + d[1] / 2, TipoCelda.CAMINO);
+                laberinto.setTipo(nx, ny, TipoCelda.CAMINO);
+                pila.push(new int[] { nx, ny });
+            } else {
+                pila.pop();
+            }
+        }
+    }
+}
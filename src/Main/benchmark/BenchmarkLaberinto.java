@@ -0,0 +1,160 @@
+package Main.benchmark;
+
+import Main.modelo.Constantes.TipoCelda;
+import Main.modelo.Dominio.Celda;
+import Main.modelo.Dominio.Laberinto;
+
+import java.util.Random;
+
+/**
+ * Banco de pruebas que compara el almacenamiento compacto de {@link Laberinto}
+ * con la representación anterior basada en una matriz {@code Celda[][]}.
+ * <p>
+ * Mide la memoria retenida por cada representación y el tiempo de un recorrido
+ * completo contando celdas transitables. Se ejecuta desde la línea de comandos:
+ * {@code java -cp out Main.benchmark.BenchmarkLaberinto [lado]}.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.0
+ * @since 17/10/2026
+ */
+public class BenchmarkLaberinto {
+
+    /** Lado por defecto del laberinto cuadrado de prueba. */
+    private static final int LADO_POR_DEFECTO = 2000;
+
+    /** Número de recorridos medidos tras el calentamiento. */
+    private static final int REPETICIONES = 10;
+
+    /**
+     * Punto de entrada del banco de pruebas.
+     *
+     * @param args Opcionalmente, el lado del laberinto cuadrado a medir.
+     */
+    public static void main(String[] args) {
+        int lado = args.length > 0 ? Integer.parseInt(args[0]) : LADO_POR_DEFECTO;
+        System.out.println("=== Benchmark Laberinto " + lado + "x" + lado + " ===");
+
+        long antes = memoriaUsada();
+        Celda[][] matriz = crearMatriz(lado, 42L);
+        long bytesMatriz = memoriaUsada() - antes;
+
+        antes = memoriaUsada();
+        Laberinto compacto = crearCompacto(lado, 42L);
+        long bytesCompacto = memoriaUsada() - antes;
+
+        System.out.printf("Memoria Celda[][]   : %,d KB%n", bytesMatriz / 1024);
+        System.out.printf("Memoria compacta    : %,d KB%n", bytesCompacto / 1024);
+
+        long tiempoMatriz = medir(() -> recorrerMatriz(matriz, lado));
+        long tiempoCompacto = medir(() -> recorrerCompacto(compacto));
+        long tiempoVistas = medir(() -> recorrerVistas(compacto));
+
+        System.out.printf("Recorrido Celda[][] : %,d µs%n", tiempoMatriz / 1000);
+        System.out.printf("Recorrido compacto  : %,d µs%n", tiempoCompacto / 1000);
+        System.out.printf("Recorrido getCelda  : %,d µs%n", tiempoVistas / 1000);
+
+        // Mantener ambas estructuras vivas hasta el final de la medición
+        if (matriz.length != compacto.getFilas()) {
+            System.out.println("Dimensiones inconsistentes");
+        }
+    }
+
+    /**
+     * Construye la representación anterior: un objeto {@link Celda} por posición.
+     */
+    private static Celda[][] crearMatriz(int lado, long semilla) {
+        Random random = new Random(semilla);
+        Celda[][] celdas = new Celda[lado][lado];
+        for (int i = 0; i < lado; i++) {
+            for (int j = 0; j < lado; j++) {
+                TipoCelda tipo = random.nextBoolean() ? TipoCelda.CAMINO : TipoCelda.MURO;
+                celdas[i][j] = new Celda(tipo, i, j);
+            }
+        }
+        return celdas;
+    }
+
+    /**
+     * Construye el mismo contenido directamente sobre el almacenamiento compacto.
+     */
+    private static Laberinto crearCompacto(int lado, long semilla) {
+        Random random = new Random(semilla);
+        Laberinto laberinto = new Laberinto(lado, lado);
+        for (int i = 0; i < lado; i++) {
+            for (int j = 0; j < lado; j++) {
+                TipoCelda tipo = random.nextBoolean() ? TipoCelda.CAMINO : TipoCelda.MURO;
+                laberinto.setTipo(i, j, tipo);
+            }
+        }
+        return laberinto;
+    }
+
+    private static long recorrerMatriz(Celda[][] celdas, int lado) {
+        long transitables = 0;
+        for (int i = 0; i < lado; i++) {
+            for (int j = 0; j < lado; j++) {
+                if (celdas[i][j].isTransitable()) {
+                    transitables++;
+                }
+            }
+        }
+        return transitables;
+    }
+
+    private static long recorrerCompacto(Laberinto laberinto) {
+        long transitables = 0;
+        int total = laberinto.getFilas() * laberinto.getColumnas();
+        for (int i = 0; i < total; i++) {
+            if (laberinto.getTipo(i).isTransitable()) {
+                transitables++;
+            }
+        }
+        return transitables;
+    }
+
+    private static long recorrerVistas(Laberinto laberinto) {
+        long transitables = 0;
+        for (int i = 0; i < laberinto.getFilas(); i++) {
+            for (int j = 0; j < laberinto.getColumnas(); j++) {
+                if (laberinto.getCelda(i, j).isTransitable()) {
+                    transitables++;
+                }
+            }
+        }
+        return transitables;
+    }
+
+    /**
+     * Ejecuta un recorrido varias veces tras un calentamiento y devuelve el
+     * mejor tiempo observado en nanosegundos.
+     */
+    private static long medir(java.util.function.LongSupplier recorrido) {
+        long control = 0;
+        for (int i = 0; i < REPETICIONES; i++) {
+            control += recorrido.getAsLong();
+        }
+        long mejor = Long.MAX_VALUE;
+        for (int i = 0; i < REPETICIONES; i++) {
+            long inicio = System.nanoTime();
+            control += recorrido.getAsLong();
+            mejor = Math.min(mejor, System.nanoTime() - inicio);
+        }
+        if (control < 0) {
+            System.out.println(control);
+        }
+        return mejor;
+    }
+
+    /**
+     * Estima la memoria ocupada del heap tras solicitar una recolección.
+     */
+    private static long memoriaUsada() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,103 @@
+package Main.benchmark;
+
+import Main.estrategia.factory.GeneradorLaberintoFactory;
+import Main.modelo.Dominio.CamposDistancia;
+import Main.modelo.Dominio.GrafoJerarquico;
+import Main.modelo.Dominio.GrafoPasillos;
+import Main.modelo.Dominio.Laberinto;
+import Main.servicio.Implementaciones.PlanificadorRutas;
+
+/**
+ * Banco de pruebas de los buscadores de rutas sobre laberintos grandes.
+ * <p>
+ * Para cada estrategia genera un laberinto cuadrado y mide la ruta de la esquina
+ * superior izquierda a la salida con A* sobre la cuadrícula
+ * ({@link PlanificadorRutas}), con el grafo de pasillos ({@link GrafoPasillos}) y
+ * con el grafo jerárquico ({@link GrafoJerarquico}), incluido el refinado. Se
+ * ejecuta desde la línea de comandos:
+ * {@code java -Xmx4g -cp out Main.benchmark.BenchmarkRutas [lado] [estrategia ...]}.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.1
+ * @since 17/10/2026
+ */
+public class BenchmarkRutas {
+
+    /** Lado por defecto del laberinto cuadrado de prueba. */
+    private static final int LADO_POR_DEFECTO = 2001;
+
+    /** Estrategias medidas por defecto. */
+    private static final String[] ESTRATEGIAS_POR_DEFECTO = { "DFS", "PRIM", "KRUSKAL", "CUEVAS" };
+
+    /** Consultas medidas tras el calentamiento; se toma la mejor. */
+    private static final int REPETICIONES = 5;
+
+    /**
+     * Punto de entrada del banco de pruebas.
+     *
+     * @param args Opcionalmente, el lado del laberinto y las estrategias a medir.
+     */
+    public static void main(String[] args) {
+        int lado = args.length > 0 ? Integer.parseInt(args[0]) : LADO_POR_DEFECTO;
+        String[] estrategias = ESTRATEGIAS_POR_DEFECTO;
+        if (args.length > 1) {
+            estrategias = new String[args.length - 1];
+            System.arraycopy(args, 1, estrategias, 0, estrategias.length);
+        }
+        System.out.println("=== Benchmark rutas " + lado + "x" + lado + " ===");
+
+        for (String estrategia : estrategias) {
+            Laberinto laberinto = GeneradorLaberintoFactory.crearPorEstrategia(estrategia)
+                    .generarConSemilla(lado, lado, 42L);
+            int salida = new CamposDistancia(laberinto).getSalida();
+            int origen = laberinto.indice(1, 1);
+            while (!laberinto.esTransitable(origen / lado, origen % lado)) {
+                origen++;
+            }
+            final int desde = origen;
+            System.out.println("--- " + estrategia + " ---");
+
+            PlanificadorRutas planificador = new PlanificadorRutas();
+            medir("A* cuadrícula", () -> planificador.planificar(laberinto, desde, true));
+
+            long inicio = System.nanoTime();
+            GrafoPasillos pasillos = new GrafoPasillos(laberinto);
+            System.out.printf("%-22s %,10.2f ms (%,d nodos)%n", "  construcción pasillos",
+                    (System.nanoTime() - inicio) / 1e6, pasillos.getNodos());
+            medir("Grafo de pasillos", () -> pasillos.resolver(desde, salida, PlanificadorRutas.PENALIZACION_TRAMPA));
+
+            inicio = System.nanoTime();
+            GrafoJerarquico jerarquico = new GrafoJerarquico(laberinto, GrafoJerarquico.LADO_BLOQUE_POR_DEFECTO,
+                    PlanificadorRutas.PENALIZACION_TRAMPA);
+            System.out.printf("%-22s %,10.2f ms (%,d entradas)%n", "  construcción HPA*",
+                    (System.nanoTime() - inicio) / 1e6, jerarquico.getEntradas());
+            medir("HPA* + refinado", () -> {
+                int coste = jerarquico.resolver(desde, salida);
+                jerarquico.refinarRuta();
+                return coste;
+            });
+        }
+    }
+
+    /**
+     * Una consulta medida; devuelve el coste o los pasos de la ruta.
+     */
+    private interface Consulta {
+        int ejecutar();
+    }
+
+    /**
+     * Ejecuta una consulta tras un calentamiento e imprime su mejor tiempo.
+     */
+    private static void medir(String nombre, Consulta consulta) {
+        int resultado = consulta.ejecutar();
+        long mejor = Long.MAX_VALUE;
+        for (int i = 0; i < REPETICIONES; i++) {
+            long inicio = System.nanoTime();
+            resultado = consulta.ejecutar();
+            mejor = Math.min(mejor, System.nanoTime() - inicio);
+        }
+        System.out.printf("%-22s %,10.2f ms (resultado %,d)%n", nombre, mejor / 1e6, resultado);
+    }
+}
@@ -0,0 +1,84 @@
+package Main.benchmark;
+
+import Main.estrategia.contexto.GeneradorPorLotes;
+import Main.modelo.Transferencia.ResultadoLote;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Herramienta de línea de comandos que genera un lote de laberintos en disco con
+ * {@link GeneradorPorLotes} e informa de su rendimiento.
+ * <p>
+ * Se ejecuta con:
+ * {@code java -cp out Main.benchmark.LoteLaberintos [estrategia] [filas] [columnas] [semillas] [hilos] [archivo]},
+ * donde las filas, columnas y semillas son rangos inclusivos {@code min-max}; por
+ * ejemplo {@code PRIM 21-41 21-61 0-49999 4 lote.lbl}.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.2
+ * @since 17/10/2026
+ */
+public class LoteLaberintos {
+
+    /**
+     * Punto de entrada de la herramienta.
+     *
+     * @param args Estrategia, rangos de filas, columnas y semillas, hilos y archivo de salida.
+     */
+    public static void main(String[] args) {
+        String estrategia = args.length > 0 ? args[0] : "PRIM";
+        int[] filas = leerRango(args.length > 1 ? args[1] : "21-41");
+        int[] columnas = leerRango(args.length > 2 ? args[2] : "21-41");
+        int[] semillas = leerRango(args.length > 3 ? args[3] : "0-9999");
+        int hilos = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        Path destino = Paths.get(args.length > 5 ? args[5] : "lote.lbl");
+
+        int cantidad = semillas[1] - semillas[0] + 1;
+        System.out.println("=== Generación por lotes ===");
+        System.out.printf("%s | filas %d-%d | columnas %d-%d | %,d semillas desde %d | %d hilos%n",
+                estrategia, filas[0], filas[1], columnas[0], columnas[1], cantidad, semillas[0], hilos);
+
+        try {
+            GeneradorPorLotes lotes = new GeneradorPorLotes(estrategia, filas[0], filas[1],
+                    columnas[0], columnas[1], hilos);
+            ResultadoLote resultado = lotes.generar(semillas[0], cantidad, destino);
+
+            System.out.printf("Generados        : %,d en %,.2f s%n",
+                    resultado.getGenerados(), resultado.getNanosTotales() / 1e9);
+            System.out.printf("Laberintos/s     : %,.1f%n", resultado.getLaberintosPorSegundo());
+            System.out.printf("p50 / p99        : %,.3f ms / %,.3f ms%n",
+                    resultado.getNanosP50() / 1e6, resultado.getNanosP99() / 1e6);
+            System.out.printf("Fallos           : %,d sin solución, %,d errores (%.2f%%)%n",
+                    resultado.getInsolubles(), resultado.getErrores(), resultado.getTasaFallos() * 100);
+            if (resultado.getPrimerError() != null) {
+                System.out.printf("Primer error     : %s%n", resultado.getPrimerError());
+            }
+            System.out.printf("Reparaciones     : %,d laberintos, %,d celdas cambiadas%n",
+                    resultado.getReparados(), resultado.getCeldasReparadas());
+            System.out.printf("Salida           : %s (%,d KB)%n",
+                    destino.toAbsolutePath(), resultado.getBytesEscritos() / 1024);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Parámetros no válidos: " + e.getMessage());
+        } catch (IOException e) {
+            System.err.println("Error escribiendo el lote: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Interpreta un rango {@code min-max}, o un único valor como rango de un elemento.
+     */
+    private static int[] leerRango(String texto) {
+        int separador = texto.indexOf('-', 1);
+        if (separador < 0) {
+            int valor = Integer.parseInt(texto);
+            return new int[] { valor, valor };
+        }
+        return new int[] {
+                Integer.parseInt(texto.substring(0, separador)),
+                Integer.parseInt(texto.substring(separador + 1))
+        };
+    }
+}
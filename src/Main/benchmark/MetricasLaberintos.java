@@ -0,0 +1,161 @@
+package Main.benchmark;
+
+import Main.estrategia.factory.GeneradorLaberintoFactory;
+import Main.estrategia.generacion.AnalizadorMetricas;
+import Main.modelo.Dominio.Juego;
+import Main.modelo.Dominio.Laberinto;
+import Main.modelo.Transferencia.MetricasLaberinto;
+import Main.servicio.Implementaciones.PersistenciaBinaria;
+import Main.servicio.Implementaciones.PersistenciaJASON;
+import Main.servicio.Interfaces.GeneradorLaberinto;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Herramienta de línea de comandos que mide laberintos con {@link AnalizadorMetricas}.
+ * <p>
+ * Con un directorio, analiza en paralelo todas las partidas guardadas que contiene
+ * ({@code .bin} o {@code .json}):
+ * {@code java -cp out Main.benchmark.MetricasLaberintos [directorio]}, por defecto
+ * {@code datos/juegos/}. Con una estrategia, genera y analiza en paralelo un rango
+ * de semillas, lo que permite ajustar una dificultad con datos:
+ * {@code java -cp out Main.benchmark.MetricasLaberintos DIFICIL 41 61 0-999}.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.1
+ * @since 17/10/2026
+ */
+public class MetricasLaberintos {
+
+    /** Directorio de partidas analizado por defecto. */
+    private static final String DIRECTORIO_POR_DEFECTO = "datos/juegos/";
+
+    /**
+     * Punto de entrada de la herramienta.
+     *
+     * @param args Un directorio de partidas, o una estrategia con filas, columnas y rango de semillas.
+     */
+    public static void main(String[] args) {
+        String primero = args.length > 0 ? args[0] : DIRECTORIO_POR_DEFECTO;
+        try {
+            if (Files.isDirectory(Paths.get(primero))) {
+                analizarDirectorio(Paths.get(primero));
+            } else {
+                int filas = args.length > 1 ? Integer.parseInt(args[1]) : 41;
+                int columnas = args.length > 2 ? Integer.parseInt(args[2]) : 41;
+                String rango = args.length > 3 ? args[3] : "0-999";
+                int separador = rango.indexOf('-', 1);
+                long desde = Long.parseLong(separador < 0 ? rango : rango.substring(0, separador));
+                long hasta = separador < 0 ? desde : Long.parseLong(rango.substring(separador + 1));
+                analizarGenerados(primero, filas, columnas, desde, hasta);
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Parámetros no válidos: " + e.getMessage());
+        } catch (IOException e) {
+            System.err.println("Error leyendo las partidas: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Analiza en paralelo las partidas de un directorio e imprime una línea por partida.
+     */
+    private static void analizarDirectorio(Path directorio) throws IOException {
+        List<Path> archivos;
+        try (Stream<Path> listado = Files.list(directorio)) {
+            archivos = listado
+                    .filter(archivo -> archivo.toString().endsWith(".bin") || archivo.toString().endsWith(".json"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        System.out.println("=== Métricas de " + directorio.toAbsolutePath() + " ===");
+
+        PersistenciaJASON json = new PersistenciaJASON();
+        PersistenciaBinaria binaria = new PersistenciaBinaria(json);
+        List<MetricasLaberinto> metricas = archivos.parallelStream()
+                .map(archivo -> {
+                    Laberinto laberinto = leerLaberinto(json, binaria, archivo);
+                    if (laberinto == null) {
+                        return null;
+                    }
+                    MetricasLaberinto resultado = AnalizadorMetricas.delHilo().analizar(laberinto);
+                    System.out.println(archivo.getFileName() + " | " + resultado);
+                    return resultado;
+                })
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        imprimirResumen(metricas);
+    }
+
+    /**
+     * Genera en paralelo un laberinto por semilla del rango y resume sus métricas.
+     */
+    private static void analizarGenerados(String estrategia, int filas, int columnas, long desde, long hasta) {
+        GeneradorLaberinto generador = GeneradorLaberintoFactory.crearPorEstrategia(estrategia);
+        System.out.printf("=== Métricas de %s %dx%d, semillas %d-%d ===%n", estrategia, filas, columnas, desde, hasta);
+
+        List<MetricasLaberinto> metricas = IntStream.rangeClosed(0, (int) (hasta - desde))
+                .parallel()
+                .mapToObj(i -> AnalizadorMetricas.delHilo()
+                        .analizar(generador.generarConSemilla(filas, columnas, desde + i)))
+                .collect(Collectors.toList());
+        imprimirResumen(metricas);
+    }
+
+    /**
+     * Lee el laberinto de una partida guardada en cualquiera de los dos formatos.
+     *
+     * @return El laberinto, o {@code null} si el archivo no se pudo leer.
+     */
+    private static Laberinto leerLaberinto(PersistenciaJASON json, PersistenciaBinaria binaria, Path archivo) {
+        try {
+            Juego juego = archivo.toString().endsWith(".bin")
+                    ? binaria.leerArchivo(archivo)
+                    : json.leerArchivo(archivo);
+            return juego != null ? juego.getLaberinto() : null;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error leyendo " + archivo.getFileName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Imprime la media de cada métrica sobre los laberintos resolubles.
+     */
+    private static void imprimirResumen(List<MetricasLaberinto> metricas) {
+        List<MetricasLaberinto> resolubles = metricas.stream()
+                .filter(MetricasLaberinto::isResoluble)
+                .collect(Collectors.toList());
+        System.out.printf("Laberintos       : %,d (%,d resolubles)%n", metricas.size(), resolubles.size());
+        if (resolubles.isEmpty()) {
+            return;
+        }
+        System.out.printf("Solución         : %,.1f pasos (llave→salida %,.1f)%n",
+                media(resolubles, MetricasLaberinto::getLongitudSolucion),
+                resolubles.stream().mapToInt(MetricasLaberinto::getDistanciaLlaveSalida)
+                        .filter(distancia -> distancia >= 0).average().orElse(0));
+        System.out.printf("Callejones       : %,.1f%n", media(resolubles, MetricasLaberinto::getCallejones));
+        System.out.printf("Ramificación     : %.4f%n", media(resolubles, MetricasLaberinto::getFactorRamificacion));
+        System.out.printf("Factor río       : %.2f%n", media(resolubles, MetricasLaberinto::getFactorRio));
+        System.out.printf("Exposición       : %.2f%% (%,.1f trampas en ruta)%n",
+                media(resolubles, MetricasLaberinto::getExposicionTrampas) * 100,
+                media(resolubles, MetricasLaberinto::getTrampasEnRuta));
+    }
+
+    /**
+     * @return La media de una métrica sobre los laberintos dados.
+     */
+    private static double media(List<MetricasLaberinto> metricas,
+                                ToDoubleFunction<MetricasLaberinto> metrica) {
+        return metricas.stream().mapToDouble(metrica).average().orElse(0);
+    }
+}
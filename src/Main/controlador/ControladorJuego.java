@@ -1,6 +1,7 @@
 package Main.controlador;
 
 import Main.estrategia.contexto.ConfiguracionJuego;
+import Main.estrategia.contexto.ReservaLaberintos;
 import Main.estrategia.factory.GeneradorLaberintoFactory;
 import Main.modelo.Constantes.Direccion;
 import Main.modelo.Constantes.EstadoJuego;
@@ -23,7 +24,7 @@ import java.util.List;
  * </p>
  * * @author Mario Sanchez
  * 
- * @version 1.0
+ * @version 1.2
  * @since 22/12/25
  */
 public class ControladorJuego {
@@ -52,6 +53,17 @@ public class ControladorJuego {
         this.configuracionJuego = new ConfiguracionJuego();
     }
 
+    /**
+     * Constructor del controlador con una reserva de laberintos pregenerados.
+     *
+     * @param servicioJuego Implementación del servicio de juego a utilizar.
+     * @param reserva       Reserva de la que se toman los laberintos de las partidas nuevas.
+     */
+    public ControladorJuego(ServicioJuego servicioJuego, ReservaLaberintos reserva) {
+        this(servicioJuego);
+        this.configuracionJuego.setReserva(reserva);
+    }
+
     // ===== MÉTODOS PARA PATRÓN STRATEGY =====
 
     /**
@@ -155,6 +167,21 @@ public class ControladorJuego {
         return this.juegoActual;
     }
 
+    /**
+     * Inicializa una nueva partida con dimensiones aleatorias dentro del rango de la
+     * estrategia actual. Si el controlador tiene una reserva, el laberinto se toma
+     * de ella y la partida empieza sin esperar a la generación.
+     *
+     * @param emailUsuario Correo del usuario que inicia la partida.
+     * @param niebla       Si la niebla de guerra está activa.
+     * @return Objeto Juego con la nueva partida creada.
+     */
+    public Juego iniciarNuevoJuego(String emailUsuario, boolean niebla) {
+        configuracionJuego.setNieblaDeGuerra(niebla);
+        this.juegoActual = servicioJuego.iniciarNuevoJuego(emailUsuario, configuracionJuego);
+        return this.juegoActual;
+    }
+
     /**
      * Recupera una partida previamente guardada desde el sistema de persistencia.
      *
@@ -223,6 +250,26 @@ public class ControladorJuego {
         return servicioJuego.teletransportarJugador(juego, fila, columna);
     }
 
+    /**
+     * Sugiere al jugador el siguiente movimiento hacia la llave o la salida.
+     *
+     * @param juego Instancia del juego actual.
+     * @return La dirección recomendada, o {@code null} si no hay ruta.
+     */
+    public Direccion obtenerPista(Juego juego) {
+        return servicioJuego.obtenerPista(juego);
+    }
+
+    /**
+     * Calcula el recorrido completo del jugador hasta la salida.
+     *
+     * @param juego Instancia del juego actual.
+     * @return Posiciones empaquetadas de cada paso, o {@code null} si no hay ruta.
+     */
+    public int[] calcularRuta(Juego juego) {
+        return servicioJuego.calcularRuta(juego);
+    }
+
     /**
      * Persiste el estado actual de la partida en el almacenamiento.
      *
@@ -233,6 +280,15 @@ public class ControladorJuego {
         return servicioJuego.guardarJuego(juego);
     }
 
+    /**
+     * Descarta los guardados automáticos pendientes de un usuario.
+     *
+     * @param emailUsuario Correo del usuario dueño de la partida.
+     */
+    public void descartarGuardadoPendiente(String emailUsuario) {
+        servicioJuego.descartarGuardadoPendiente(emailUsuario);
+    }
+
     /**
      * Almacena estadísticas de progreso sin finalizar la partida.
      *
@@ -1,6 +1,8 @@
 package Main.estrategia.contexto;
 
 import Main.estrategia.factory.GeneradorLaberintoFactory;
+import Main.estrategia.generacion.CacheLaberintos;
+import Main.estrategia.generacion.GeneradorLaberintoEnCache;
 import Main.modelo.Dominio.Laberinto;
 import Main.servicio.Interfaces.GeneradorLaberinto;
 
@@ -15,7 +17,7 @@ import Main.servicio.Interfaces.GeneradorLaberinto;
  * </p>
  * * @author Mario Sanchez
  * 
- * @version 1.0
+ * @version 1.2
  * @since 22/12/25
  */
 public class ConfiguracionJuego {
@@ -34,6 +36,16 @@ public class ConfiguracionJuego {
      */
     private boolean nieblaDeGuerra = true;
 
+    /**
+     * Reserva de laberintos pregenerados, o {@code null} si se generan al momento.
+     */
+    private ReservaLaberintos reserva;
+
+    /**
+     * Laberintos generados con semilla, compartidos por todas las dificultades.
+     */
+    private final CacheLaberintos cacheLaberintos = new CacheLaberintos();
+
     /**
      * Constructor por defecto.
      * Inicializa el juego con la estrategia MEDIA como configuración base.
@@ -41,7 +53,7 @@ public class ConfiguracionJuego {
     public ConfiguracionJuego() {
         // Estrategia por defecto: MEDIA
         this.tipoActual = GeneradorLaberintoFactory.MEDIA;
-        this.estrategiaGeneracion = GeneradorLaberintoFactory.crear(tipoActual);
+        this.estrategiaGeneracion = crearEstrategia(tipoActual);
     }
 
     public boolean isNieblaDeGuerra() {
@@ -52,6 +64,20 @@ public class ConfiguracionJuego {
         this.nieblaDeGuerra = nieblaDeGuerra;
     }
 
+    public ReservaLaberintos getReserva() {
+        return reserva;
+    }
+
+    /**
+     * Establece la reserva de la que se toman los laberintos en
+     * {@link #obtenerLaberintoSegunDificultad()}.
+     *
+     * @param reserva Reserva de laberintos pregenerados, o {@code null} para generarlos al momento.
+     */
+    public void setReserva(ReservaLaberintos reserva) {
+        this.reserva = reserva;
+    }
+
     /**
      * Modifica la estrategia de generación de laberintos.
      * <p>
@@ -63,7 +89,15 @@ public class ConfiguracionJuego {
      */
     public void setEstrategiaGeneracion(String tipo) {
         this.tipoActual = tipo;
-        this.estrategiaGeneracion = GeneradorLaberintoFactory.crear(tipo);
+        this.estrategiaGeneracion = crearEstrategia(tipo);
+    }
+
+    /**
+     * Crea la estrategia de una dificultad envuelta en la caché de laberintos con semilla.
+     */
+    private GeneradorLaberinto crearEstrategia(String tipo) {
+        String clave = tipo == null ? GeneradorLaberintoFactory.MEDIA : tipo.toUpperCase();
+        return new GeneradorLaberintoEnCache(GeneradorLaberintoFactory.crear(tipo), clave, cacheLaberintos);
     }
 
     /**
@@ -100,7 +134,8 @@ public class ConfiguracionJuego {
     /**
      * Ejecuta la generación de un laberinto utilizando una semilla específica.
      * <p>
-     * Esto permite recrear laberintos idénticos si se utiliza la misma semilla.
+     * Esto permite recrear laberintos idénticos si se utiliza la misma semilla. Las
+     * semillas ya generadas se sirven como copia desde la caché.
      * </p>
      *
      * @param filas    Número de filas deseado.
@@ -111,4 +146,23 @@ public class ConfiguracionJuego {
     public Laberinto generarLaberintoConSemilla(int filas, int columnas, long semilla) {
         return estrategiaGeneracion.generarConSemilla(filas, columnas, semilla);
     }
+
+    /**
+     * Obtiene un laberinto de la dificultad actual con dimensiones aleatorias dentro
+     * de su rango.
+     * <p>
+     * Si hay una reserva configurada el laberinto sale de ella, normalmente ya
+     * generado; en caso contrario se genera con la estrategia actual.
+     * </p>
+     *
+     * @return Un objeto {@link Laberinto} listo para jugar.
+     */
+    public Laberinto obtenerLaberintoSegunDificultad() {
+        if (reserva != null) {
+            return reserva.tomar(tipoActual);
+        }
+        int filas = GeneradorLaberintoFactory.generarFilasAleatorias(tipoActual);
+        int columnas = GeneradorLaberintoFactory.generarColumnasAleatorias(tipoActual);
+        return estrategiaGeneracion.generar(filas, columnas);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,147 @@
+package Main.estrategia.contexto;
+
+import Main.estrategia.generacion.ConsumidorFilas;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Consumidor de filas que escribe un laberinto en el formato de lote de
+ * {@link GeneradorPorLotes} a medida que se genera.
+ * <p>
+ * Pensado para los generadores por filas como
+ * {@link Main.estrategia.generacion.GeneradorLaberintoEller#generarPorFilas}: cada
+ * fila se empaqueta a dos celdas por byte en un búfer de tamaño fijo que se vuelca
+ * al archivo al llenarse, así que la memoria no depende del alto del laberinto. El
+ * archivo resultante es un lote de un solo registro que
+ * {@link GeneradorPorLotes#leer} recorre como cualquier otro. Cuando el ancho es
+ * impar, la última celda de una fila comparte byte con la primera de la siguiente,
+ * igual que en los lotes escritos desde un laberinto completo.
+ * </p>
+ * <p>
+ * Las filas deben llegar en orden y todas; {@link #close()} falla si falta alguna.
+ * Como {@link ConsumidorFilas#aceptar} no declara excepciones, un error de escritura
+ * durante el flujo se relanza como {@link UncheckedIOException}.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.0
+ * @since 17/10/2026
+ */
+public class EscritorFilasLote implements ConsumidorFilas, Closeable {
+
+    /** Tamaño del búfer de escritura, en bytes. */
+    private static final int TAMANO_BUFFER = 1 << 16;
+
+    private final FileChannel canal;
+    private final ByteBuffer buffer = ByteBuffer.allocate(TAMANO_BUFFER);
+    private final int filas;
+    private final int columnas;
+
+    /** Fila que se espera a continuación. */
+    private int siguienteFila;
+
+    /** Celda pendiente en el nibble alto del próximo byte, o {@code -1} si no hay. */
+    private int pendiente = -1;
+
+    /** Bytes escritos en el archivo hasta ahora. */
+    private long bytesEscritos;
+
+    /**
+     * Crea el archivo de destino, que se sobrescribe, y escribe las cabeceras del
+     * lote y del registro.
+     *
+     * @param destino  Archivo de salida.
+     * @param semilla  Semilla con la que se genera el laberinto.
+     * @param filas    Filas que se van a recibir.
+     * @param columnas Celdas de cada fila.
+     * @throws IOException Si no se puede crear el archivo.
+     */
+    public EscritorFilasLote(Path destino, long semilla, int filas, int columnas) throws IOException {
+        if (filas < 1 || columnas < 1) {
+            throw new IllegalArgumentException("Dimensiones no válidas: " + filas + "x" + columnas);
+        }
+        this.canal = FileChannel.open(destino, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.filas = filas;
+        this.columnas = columnas;
+        buffer.putInt(GeneradorPorLotes.FIRMA).put(GeneradorPorLotes.VERSION);
+        buffer.putLong(semilla).putInt(filas).putInt(columnas);
+    }
+
+    /**
+     * Empaqueta una fila en el búfer, volcándolo al archivo cuando se llena.
+     *
+     * @throws IllegalStateException Si la fila no es la siguiente esperada.
+     * @throws UncheckedIOException  Si falla la escritura.
+     */
+    @Override
+    public void aceptar(int fila, byte[] tipos) {
+        if (fila != siguienteFila || fila >= filas) {
+            throw new IllegalStateException("Se esperaba la fila " + siguienteFila + " y llegó la " + fila);
+        }
+        try {
+            for (int c = 0; c < columnas; c++) {
+                if (pendiente < 0) {
+                    pendiente = tipos[c] << 4;
+                } else {
+                    if (!buffer.hasRemaining()) {
+                        volcar();
+                    }
+                    buffer.put((byte) (pendiente | tipos[c]));
+                    pendiente = -1;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        siguienteFila++;
+    }
+
+    /**
+     * Escribe el byte pendiente y el resto del búfer y cierra el archivo.
+     *
+     * @throws IOException Si falla la escritura o no llegaron todas las filas.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (siguienteFila == filas) {
+                if (pendiente >= 0) {
+                    if (!buffer.hasRemaining()) {
+                        volcar();
+                    }
+                    buffer.put((byte) pendiente);
+                    pendiente = -1;
+                }
+                volcar();
+            }
+        } finally {
+            canal.close();
+        }
+        if (siguienteFila != filas) {
+            throw new IOException("Lote incompleto: " + siguienteFila + " de " + filas + " filas");
+        }
+    }
+
+    /**
+     * Escribe el contenido del búfer en el archivo y lo deja vacío.
+     */
+    private void volcar() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            bytesEscritos += canal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /** @return Bytes escritos en el archivo; el total es definitivo tras {@link #close()}. */
+    public long getBytesEscritos() {
+        return bytesEscritos;
+    }
+}
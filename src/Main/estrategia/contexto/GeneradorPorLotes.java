@@ -0,0 +1,340 @@
+package Main.estrategia.contexto;
+
+import Main.estrategia.factory.GeneradorLaberintoFactory;
+import Main.estrategia.generacion.AnalizadorAlcance;
+import Main.estrategia.generacion.GeneradorLaberintoEller;
+import Main.estrategia.generacion.ReparadorCaminos;
+import Main.modelo.Dominio.Laberinto;
+import Main.modelo.Transferencia.ResultadoLote;
+import Main.servicio.Interfaces.GeneradorLaberinto;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Generación masiva de laberintos para preparar contenido sin conexión.
+ * <p>
+ * Recorre un rango de semillas consecutivas repartiéndolo en tramos de
+ * {@link #SEMILLAS_POR_TAREA} entre los hilos de un {@link ForkJoinPool}. Todos los
+ * hilos comparten un mismo generador de la {@link GeneradorLaberintoFactory}, que
+ * no guarda estado entre llamadas. Las dimensiones de cada laberinto se eligen
+ * dentro del rango a partir de su semilla, así que el contenido del lote no
+ * depende del número de hilos.
+ * </p>
+ * <p>
+ * Cada laberinto con solución se escribe en cuanto se genera en un único archivo:
+ * firma {@code "LBLT"} y versión, seguidas de un registro por laberinto con la
+ * semilla, las dimensiones y dos celdas por byte (el ordinal de cada
+ * {@link Main.modelo.Constantes.TipoCelda} cabe en cuatro bits). Los registros
+ * aparecen en el orden en que terminan los hilos; {@link #leer} los recorre.
+ * </p>
+ * <p>
+ * Un laberinto demasiado alto para tenerlo entero en memoria se escribe con
+ * {@link #escribirPorFilas}, que produce un lote de un solo registro fila a fila.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.3
+ * @since 17/10/2026
+ */
+public class GeneradorPorLotes {
+
+    /** Semillas consecutivas que procesa cada tarea del pool. */
+    public static final int SEMILLAS_POR_TAREA = 64;
+
+    /** Firma al inicio de cada archivo: los bytes ASCII {@code "LBLT"}. */
+    static final int FIRMA = 0x4C424C54;
+
+    /** Versión actual del formato. */
+    static final byte VERSION = 1;
+
+    /** Bytes de un registro sin las celdas: semilla, filas y columnas. */
+    private static final int CABECERA_REGISTRO = 8 + 4 + 4;
+
+    private final String estrategia;
+    private final int filasMinimas;
+    private final int filasMaximas;
+    private final int columnasMinimas;
+    private final int columnasMaximas;
+    private final int hilos;
+
+    /**
+     * Configura un generador por lotes.
+     *
+     * @param estrategia      Dificultad o algoritmo aceptado por
+     *                        {@link GeneradorLaberintoFactory#crearPorEstrategia}.
+     * @param filasMinimas    Filas mínimas de cada laberinto.
+     * @param filasMaximas    Filas máximas de cada laberinto.
+     * @param columnasMinimas Columnas mínimas de cada laberinto.
+     * @param columnasMaximas Columnas máximas de cada laberinto.
+     * @param hilos           Hilos de generación.
+     * @throws IllegalArgumentException Si la estrategia no existe o los rangos no son válidos.
+     */
+    public GeneradorPorLotes(String estrategia, int filasMinimas, int filasMaximas,
+                             int columnasMinimas, int columnasMaximas, int hilos) {
+        GeneradorLaberintoFactory.crearPorEstrategia(estrategia);
+        if (filasMinimas < 3 || filasMaximas < filasMinimas
+                || columnasMinimas < 3 || columnasMaximas < columnasMinimas) {
+            throw new IllegalArgumentException("Rango de dimensiones no válido");
+        }
+        if (hilos < 1) {
+            throw new IllegalArgumentException("El número de hilos debe ser positivo");
+        }
+        this.estrategia = estrategia;
+        this.filasMinimas = filasMinimas;
+        this.filasMaximas = filasMaximas;
+        this.columnasMinimas = columnasMinimas;
+        this.columnasMaximas = columnasMaximas;
+        this.hilos = hilos;
+    }
+
+    /**
+     * Genera un laberinto por cada semilla de
+     * {@code [semillaInicial, semillaInicial + cantidad)} y escribe los que tienen
+     * solución en {@code destino}, que se sobrescribe.
+     *
+     * @param semillaInicial Primera semilla del lote.
+     * @param cantidad       Número de semillas.
+     * @param destino        Archivo de salida.
+     * @return Las métricas del lote.
+     * @throws IOException Si no se puede escribir la salida o se interrumpe la generación.
+     */
+    public ResultadoLote generar(long semillaInicial, int cantidad, Path destino) throws IOException {
+        long[] tiempos = new long[cantidad];
+        AtomicInteger insolubles = new AtomicInteger();
+        AtomicInteger errores = new AtomicInteger();
+        AtomicReference<String> primerError = new AtomicReference<>();
+        AtomicLong bytes = new AtomicLong();
+        LongAdder reparados = new LongAdder();
+        LongAdder celdasReparadas = new LongAdder();
+
+        GeneradorLaberinto generador = GeneradorLaberintoFactory.crearPorEstrategia(estrategia);
+
+        long inicio = System.nanoTime();
+        try (FileChannel canal = FileChannel.open(destino, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer cabecera = ByteBuffer.allocate(5);
+            cabecera.putInt(FIRMA).put(VERSION).flip();
+            bytes.addAndGet(escribir(canal, cabecera));
+
+            List<Callable<Void>> tareas = new ArrayList<>();
+            for (int desde = 0; desde < cantidad; desde += SEMILLAS_POR_TAREA) {
+                int primera = desde;
+                int ultima = Math.min(cantidad, desde + SEMILLAS_POR_TAREA);
+                tareas.add(() -> {
+                    generarTramo(semillaInicial, primera, ultima, generador, canal,
+                            tiempos, insolubles, errores, primerError, bytes, reparados, celdasReparadas);
+                    return null;
+                });
+            }
+
+            ForkJoinPool pool = new ForkJoinPool(hilos);
+            try {
+                for (Future<Void> tarea : pool.invokeAll(tareas)) {
+                    tarea.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Generación por lotes interrumpida", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IllegalStateException("Error en la generación por lotes", e.getCause());
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+        long nanosTotales = System.nanoTime() - inicio;
+
+        // Las semillas con error quedan con tiempo -1 y no cuentan en los percentiles
+        Arrays.sort(tiempos);
+        int desdeValidos = errores.get();
+        int validos = cantidad - desdeValidos;
+        return new ResultadoLote(cantidad, validos, insolubles.get(), errores.get(), nanosTotales,
+                percentil(tiempos, desdeValidos, validos, 50),
+                percentil(tiempos, desdeValidos, validos, 99),
+                bytes.get(), reparados.sum(), celdasReparadas.sum(), primerError.get());
+    }
+
+    /**
+     * Genera las semillas {@code [primera, ultima)} del lote en el hilo actual.
+     */
+    private void generarTramo(long semillaInicial, int primera, int ultima,
+                              GeneradorLaberinto generador, FileChannel canal, long[] tiempos,
+                              AtomicInteger insolubles, AtomicInteger errores,
+                              AtomicReference<String> primerError, AtomicLong bytes, LongAdder reparados,
+                              LongAdder celdasReparadas) throws IOException {
+        AnalizadorAlcance alcance = AnalizadorAlcance.delHilo();
+        // Los generadores reparan con la instancia del hilo, así que sus contadores
+        // miden exactamente las reparaciones de este tramo
+        ReparadorCaminos reparador = ReparadorCaminos.delHilo();
+        long reparacionesAntes = reparador.getReparaciones();
+        long celdasAntes = reparador.getCeldasCambiadas();
+        ByteBuffer registro = ByteBuffer.allocate(0);
+        for (int i = primera; i < ultima; i++) {
+            long semilla = semillaInicial + i;
+            SplittableRandom dimensiones = new SplittableRandom(semilla);
+            int filas = filasMinimas + dimensiones.nextInt(filasMaximas - filasMinimas + 1);
+            int columnas = columnasMinimas + dimensiones.nextInt(columnasMaximas - columnasMinimas + 1);
+
+            Laberinto laberinto;
+            long inicio = System.nanoTime();
+            try {
+                laberinto = generador.generarConSemilla(filas, columnas, semilla);
+            } catch (RuntimeException e) {
+                tiempos[i] = -1;
+                errores.incrementAndGet();
+                primerError.compareAndSet(null, "semilla " + semilla + ": " + e);
+                continue;
+            }
+            tiempos[i] = System.nanoTime() - inicio;
+
+            if (!alcance.analizar(laberinto)) {
+                insolubles.incrementAndGet();
+                continue;
+            }
+
+            // El generador puede ajustar las dimensiones pedidas, por ejemplo a impares
+            byte[] tipos = laberinto.getTiposCrudos();
+            int total = laberinto.getFilas() * laberinto.getColumnas();
+            int tamano = CABECERA_REGISTRO + (total + 1) / 2;
+            if (registro.capacity() < tamano) {
+                registro = ByteBuffer.allocate(tamano);
+            }
+            registro.clear();
+            registro.putLong(semilla).putInt(laberinto.getFilas()).putInt(laberinto.getColumnas());
+            for (int c = 0; c < total; c += 2) {
+                int alto = tipos[c] << 4;
+                int bajo = c + 1 < total ? tipos[c + 1] : 0;
+                registro.put((byte) (alto | bajo));
+            }
+            registro.flip();
+            bytes.addAndGet(escribir(canal, registro));
+        }
+        reparados.add(reparador.getReparaciones() - reparacionesAntes);
+        celdasReparadas.add(reparador.getCeldasCambiadas() - celdasAntes);
+    }
+
+    /**
+     * Genera un laberinto de Eller fila a fila y lo escribe como lote de un solo
+     * registro, con memoria proporcional al ancho.
+     *
+     * @param generador Generador de Eller.
+     * @param filas     Número de filas.
+     * @param columnas  Número de columnas.
+     * @param semilla   Semilla de la generación.
+     * @param destino   Archivo de salida, que se sobrescribe.
+     * @return Bytes escritos.
+     * @throws IOException Si no se puede escribir la salida.
+     */
+    public static long escribirPorFilas(GeneradorLaberintoEller generador, int filas, int columnas,
+                                        long semilla, Path destino) throws IOException {
+        EscritorFilasLote escritor = new EscritorFilasLote(destino, semilla, filas, columnas);
+        try (escritor) {
+            generador.generarPorFilas(filas, columnas, semilla, escritor);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return escritor.getBytesEscritos();
+    }
+
+    /**
+     * Escribe el buffer completo al final del archivo; los hilos se turnan para que
+     * los registros no se intercalen.
+     *
+     * @return Bytes escritos.
+     */
+    private static int escribir(FileChannel canal, ByteBuffer buffer) throws IOException {
+        synchronized (canal) {
+            int escritos = 0;
+            while (buffer.hasRemaining()) {
+                escritos += canal.write(buffer);
+            }
+            return escritos;
+        }
+    }
+
+    /**
+     * Percentil por rango más cercano sobre un tramo ordenado.
+     *
+     * @return El valor, o {@code 0} si el tramo está vacío.
+     */
+    private static long percentil(long[] ordenados, int desde, int cantidad, int percentil) {
+        if (cantidad == 0) {
+            return 0;
+        }
+        int rango = (int) Math.ceil(percentil / 100.0 * cantidad);
+        return ordenados[desde + Math.max(0, rango - 1)];
+    }
+
+    /**
+     * Recorre un archivo generado por {@link #generar}, reconstruyendo cada laberinto.
+     *
+     * @param origen     Archivo del lote.
+     * @param consumidor Recibe cada laberinto junto con su semilla.
+     * @return Número de laberintos leídos.
+     * @throws IOException Si el archivo no es un lote o está truncado.
+     */
+    public static long leer(Path origen, ObjLongConsumer<Laberinto> consumidor) throws IOException {
+        try (DataInputStream entrada = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(origen), 1 << 16))) {
+            if (entrada.readInt() != FIRMA) {
+                throw new IOException("El archivo no es un lote de laberintos");
+            }
+            byte version = entrada.readByte();
+            if (version != VERSION) {
+                throw new IOException("Versión de lote no soportada: " + version);
+            }
+
+            long leidos = 0;
+            byte[] empaquetadas = new byte[0];
+            while (true) {
+                long semilla;
+                try {
+                    semilla = entrada.readLong();
+                } catch (EOFException e) {
+                    return leidos;
+                }
+                int filas = entrada.readInt();
+                int columnas = entrada.readInt();
+                int total = filas * columnas;
+                int tamano = (total + 1) / 2;
+                if (empaquetadas.length < tamano) {
+                    empaquetadas = new byte[tamano];
+                }
+                entrada.readFully(empaquetadas, 0, tamano);
+
+                Laberinto laberinto = new Laberinto(filas, columnas);
+                byte[] tipos = laberinto.getTiposCrudos();
+                for (int c = 0; c < total; c++) {
+                    int par = empaquetadas[c >> 1];
+                    tipos[c] = (byte) ((c & 1) == 0 ? (par >> 4) & 0x0F : par & 0x0F);
+                }
+                consumidor.accept(laberinto, semilla);
+                leidos++;
+            }
+        }
+    }
+}
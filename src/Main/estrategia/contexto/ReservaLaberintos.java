@@ -0,0 +1,176 @@
+package Main.estrategia.contexto;
+
+import Main.estrategia.factory.GeneradorLaberintoFactory;
+import Main.modelo.Dominio.Laberinto;
+import Main.servicio.Interfaces.GeneradorLaberinto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reserva de laberintos generados por adelantado para cada dificultad.
+ * <p>
+ * Por cada dificultad (FÁCIL, MEDIA y DIFÍCIL) un hilo en segundo plano genera
+ * laberintos listos para jugar, con dimensiones aleatorias dentro del rango de la
+ * {@link GeneradorLaberintoFactory}, y los deja en una cola acotada. Cuando la cola
+ * está llena el hilo espera; en cuanto se retira un laberinto vuelve a generar,
+ * de modo que la reserva se repone sola.
+ * </p>
+ * <p>
+ * Si al iniciar una partida la cola de la dificultad está vacía, el laberinto se
+ * genera en el hilo que lo pide. Los contadores de aciertos y fallos permiten
+ * ajustar la capacidad de la reserva.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.2
+ * @since 17/10/2026
+ */
+public class ReservaLaberintos {
+
+    /** Laberintos que se mantienen preparados por dificultad si no se indica otra cosa. */
+    public static final int CAPACIDAD_POR_DEFECTO = 2;
+
+    /** Dificultades para las que se generan laberintos por adelantado. */
+    private static final String[] DIFICULTADES = {
+            GeneradorLaberintoFactory.FACIL,
+            GeneradorLaberintoFactory.MEDIA,
+            GeneradorLaberintoFactory.DIFICIL
+    };
+
+    /** Cola de laberintos preparados por dificultad. */
+    private final Map<String, BlockingQueue<Laberinto>> colas = new LinkedHashMap<>();
+
+    /** Hilos productores, uno por dificultad. */
+    private final Map<String, Thread> productores = new LinkedHashMap<>();
+
+    /**
+     * Indica si la reserva se cerró. Un productor que ya estaba generando puede
+     * encolar un último laberinto tras el cierre; con la reserva cerrada las colas
+     * dejan de consultarse.
+     */
+    private volatile boolean cerrada;
+
+    /** Laberintos entregados directamente desde la reserva. */
+    private final AtomicLong aciertos = new AtomicLong();
+
+    /** Laberintos que hubo que generar al momento por estar la reserva vacía. */
+    private final AtomicLong fallos = new AtomicLong();
+
+    /**
+     * Crea una reserva con la capacidad por defecto e inicia sus productores.
+     */
+    public ReservaLaberintos() {
+        this(CAPACIDAD_POR_DEFECTO);
+    }
+
+    /**
+     * Crea una reserva e inicia un hilo productor por dificultad.
+     *
+     * @param capacidadPorDificultad Laberintos que se mantienen preparados por dificultad.
+     * @throws IllegalArgumentException Si la capacidad no es positiva.
+     */
+    public ReservaLaberintos(int capacidadPorDificultad) {
+        if (capacidadPorDificultad < 1) {
+            throw new IllegalArgumentException("La capacidad de la reserva debe ser positiva");
+        }
+        for (String dificultad : DIFICULTADES) {
+            BlockingQueue<Laberinto> cola = new ArrayBlockingQueue<>(capacidadPorDificultad);
+            colas.put(dificultad, cola);
+
+            Thread productor = new Thread(() -> producir(dificultad, cola), "reserva-laberintos-" + dificultad);
+            productor.setDaemon(true);
+            productor.setPriority(Thread.MIN_PRIORITY);
+            productores.put(dificultad, productor);
+            productor.start();
+        }
+    }
+
+    /**
+     * Entrega un laberinto listo para jugar de la dificultad indicada.
+     * <p>
+     * Si hay uno preparado se retira de la reserva, y su productor empieza a
+     * generar el siguiente. Si no, o si la reserva está cerrada, se genera en el
+     * hilo actual.
+     * </p>
+     *
+     * @param dificultad Identificador de la dificultad (sin distinguir mayúsculas).
+     * @return Un {@link Laberinto} nuevo, de uso exclusivo para quien lo recibe.
+     */
+    public Laberinto tomar(String dificultad) {
+        String clave = dificultad == null ? GeneradorLaberintoFactory.MEDIA : dificultad.toUpperCase();
+        BlockingQueue<Laberinto> cola = colas.get(clave);
+        Laberinto laberinto = cola == null || cerrada ? null : cola.poll();
+        if (laberinto != null) {
+            aciertos.incrementAndGet();
+            return laberinto;
+        }
+        fallos.incrementAndGet();
+        return generar(clave, GeneradorLaberintoFactory.crear(clave));
+    }
+
+    /**
+     * @param dificultad Identificador de la dificultad.
+     * @return Laberintos preparados en este momento para esa dificultad.
+     */
+    public int getDisponibles(String dificultad) {
+        BlockingQueue<Laberinto> cola = colas.get(dificultad.toUpperCase());
+        return cola == null || cerrada ? 0 : cola.size();
+    }
+
+    /** @return Número de laberintos entregados desde la reserva. */
+    public long getAciertos() {
+        return aciertos.get();
+    }
+
+    /** @return Número de laberintos generados al momento por falta de reserva. */
+    public long getFallos() {
+        return fallos.get();
+    }
+
+    /**
+     * Detiene los hilos productores y descarta los laberintos preparados.
+     */
+    public void cerrar() {
+        cerrada = true;
+        for (Thread productor : productores.values()) {
+            productor.interrupt();
+        }
+        for (BlockingQueue<Laberinto> cola : colas.values()) {
+            cola.clear();
+        }
+    }
+
+    /**
+     * Bucle de un hilo productor: genera laberintos mientras haya hueco en la cola.
+     */
+    private static void producir(String dificultad, BlockingQueue<Laberinto> cola) {
+        GeneradorLaberinto generador = GeneradorLaberintoFactory.crear(dificultad);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                cola.put(generar(dificultad, generador));
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                // Las partidas se seguirán generando al momento
+                System.err.println("Error pregenerando laberinto " + dificultad + ": " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Genera un laberinto con dimensiones aleatorias dentro del rango de la dificultad.
+     * La semilla no se toma del reloj: un productor puede generar varios laberintos
+     * dentro del mismo milisegundo.
+     */
+    private static Laberinto generar(String dificultad, GeneradorLaberinto generador) {
+        int filas = GeneradorLaberintoFactory.generarFilasAleatorias(dificultad);
+        int columnas = GeneradorLaberintoFactory.generarColumnasAleatorias(dificultad);
+        return generador.generarConSemilla(filas, columnas, ThreadLocalRandom.current().nextLong());
+    }
+}
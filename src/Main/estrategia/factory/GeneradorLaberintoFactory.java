@@ -1,6 +1,12 @@
 package Main.estrategia.factory;
 
+import Main.estrategia.generacion.GeneradorLaberintoCuevas;
+import Main.estrategia.generacion.GeneradorLaberintoDFS;
 import Main.estrategia.generacion.GeneradorLaberintoDificultad;
+import Main.estrategia.generacion.GeneradorLaberintoEller;
+import Main.estrategia.generacion.GeneradorLaberintoKruskal;
+import Main.estrategia.generacion.GeneradorLaberintoPrim;
+import Main.estrategia.generacion.GeneradorLaberintoRecursivoDivision;
 import Main.servicio.Interfaces.GeneradorLaberinto;
 
 import java.util.Random;
@@ -13,7 +19,7 @@ import java.util.Random;
  * y objetos de energía para cada nivel (FÁCIL, MEDIA, DIFÍCIL).
  * </p>
  * * @author Mario Sanchez
- * @version 1.0
+ * @version 1.2
  * @since 22/12/25
  */
 public class GeneradorLaberintoFactory {
@@ -38,6 +44,36 @@ public class GeneradorLaberintoFactory {
      */
     public static final String DIFICIL = "DIFICIL";
 
+    /**
+     * Identificador del algoritmo de búsqueda en profundidad con backtracking.
+     */
+    public static final String ALGORITMO_DFS = "DFS";
+
+    /**
+     * Identificador del algoritmo de Prim.
+     */
+    public static final String ALGORITMO_PRIM = "PRIM";
+
+    /**
+     * Identificador del algoritmo de división recursiva.
+     */
+    public static final String ALGORITMO_DIVISION = "DIVISION";
+
+    /**
+     * Identificador del algoritmo de Kruskal, el más adecuado para laberintos muy grandes.
+     */
+    public static final String ALGORITMO_KRUSKAL = "KRUSKAL";
+
+    /**
+     * Identificador del algoritmo de Eller, que genera fila a fila con memoria proporcional al ancho.
+     */
+    public static final String ALGORITMO_ELLER = "ELLER";
+
+    /**
+     * Identificador del autómata celular de cuevas, de formas orgánicas para mapas grandes.
+     */
+    public static final String ALGORITMO_CUEVAS = "CUEVAS";
+
     /**
      * Crea una instancia de un generador de laberintos basada en la dificultad solicitada.
      *
@@ -53,6 +89,58 @@ public class GeneradorLaberintoFactory {
         return new GeneradorLaberintoDificultad(dificultad.toUpperCase());
     }
 
+    /**
+     * Crea un generador de laberintos a partir del nombre de su algoritmo.
+     *
+     * @param algoritmo Uno de los identificadores {@code ALGORITMO_*} (sin distinguir mayúsculas).
+     * @return La implementación de {@link GeneradorLaberinto} correspondiente.
+     * @throws IllegalArgumentException Si el algoritmo no es reconocido.
+     */
+    public static GeneradorLaberinto crearPorAlgoritmo(String algoritmo) {
+        if (algoritmo == null) {
+            throw new IllegalArgumentException("Algoritmo de generación no especificado");
+        }
+
+        switch (algoritmo.toUpperCase()) {
+            case ALGORITMO_DFS:
+                return new GeneradorLaberintoDFS();
+            case ALGORITMO_PRIM:
+                return new GeneradorLaberintoPrim();
+            case ALGORITMO_DIVISION:
+                return new GeneradorLaberintoRecursivoDivision();
+            case ALGORITMO_KRUSKAL:
+                return new GeneradorLaberintoKruskal();
+            case ALGORITMO_ELLER:
+                return new GeneradorLaberintoEller();
+            case ALGORITMO_CUEVAS:
+                return new GeneradorLaberintoCuevas();
+            default:
+                throw new IllegalArgumentException("Algoritmo de generación desconocido: " + algoritmo);
+        }
+    }
+
+    /**
+     * Crea un generador a partir de una dificultad o del nombre de un algoritmo.
+     *
+     * @param estrategia {@link #FACIL}, {@link #MEDIA}, {@link #DIFICIL} o uno de los
+     *                   identificadores {@code ALGORITMO_*} (sin distinguir mayúsculas).
+     * @return La implementación de {@link GeneradorLaberinto} correspondiente.
+     * @throws IllegalArgumentException Si la estrategia no es reconocida.
+     */
+    public static GeneradorLaberinto crearPorEstrategia(String estrategia) {
+        if (estrategia != null) {
+            switch (estrategia.toUpperCase()) {
+                case FACIL:
+                case MEDIA:
+                case DIFICIL:
+                    return crear(estrategia);
+                default:
+                    break;
+            }
+        }
+        return crearPorAlgoritmo(estrategia);
+    }
+
     /**
      * Proporciona una descripción detallada de las características de una dificultad,
      * incluyendo rangos de tamaño y cantidad de elementos.
@@ -0,0 +1,284 @@
+package Main.estrategia.generacion;
+
+import Main.modelo.Constantes.TipoCelda;
+import Main.modelo.Dominio.Laberinto;
+
+import java.util.Arrays;
+
+/**
+ * Motor de alcanzabilidad compartido por los generadores para comprobar que un
+ * laberinto tiene solución.
+ * <p>
+ * Un único BFS desde la {@link TipoCelda#ENTRADA} descubre a la vez la
+ * {@link TipoCelda#LLAVE} y la {@link TipoCelda#SALIDA}, anotando la distancia a
+ * cada una; como el movimiento es reversible, que ambas estén en la componente de
+ * la entrada equivale a que exista el recorrido entrada → llave → salida. El
+ * recorrido se detiene en cuanto ha encontrado las dos.
+ * </p>
+ * <p>
+ * No se reserva memoria por celda ni por análisis: la cola es un {@code int[]} de
+ * posiciones empaquetadas que se reutiliza, y las celdas visitadas se marcan con
+ * el número de análisis en curso, por lo que no hace falta limpiar el arreglo entre
+ * una llamada y la siguiente. Los resultados se consultan con los getters tras
+ * {@link #analizar(Laberinto)}.
+ * </p>
+ * <p>
+ * Bloquean el paso {@link TipoCelda#MURO} y {@link TipoCelda#MURO_ROJO}. Una
+ * instancia reutiliza sus arreglos y no es segura para uso concurrente;
+ * {@link #delHilo()} entrega la del hilo actual.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.1
+ * @since 17/10/2026
+ */
+public class AnalizadorAlcance {
+
+    /** Tipos que no se pueden atravesar, indexados por ordinal. */
+    private static final boolean[] BLOQUEA = new boolean[TipoCelda.values().length];
+
+    static {
+        BLOQUEA[TipoCelda.MURO.ordinal()] = true;
+        BLOQUEA[TipoCelda.MURO_ROJO.ordinal()] = true;
+    }
+
+    private static final byte ENTRADA = (byte) TipoCelda.ENTRADA.ordinal();
+    private static final byte SALIDA = (byte) TipoCelda.SALIDA.ordinal();
+    private static final byte LLAVE = (byte) TipoCelda.LLAVE.ordinal();
+
+    /** Instancia de cada hilo: permite compartir los generadores entre hilos sin perder la reutilización. */
+    private static final ThreadLocal<AnalizadorAlcance> POR_HILO = ThreadLocal.withInitial(AnalizadorAlcance::new);
+
+    /** Cola del BFS; cada celda entra como mucho una vez por recorrido. */
+    private int[] cola = new int[0];
+
+    /** Número del recorrido en que se visitó cada celda. */
+    private int[] marcas = new int[0];
+
+    /** Número del recorrido en curso; una celda está visitada si su marca coincide. */
+    private int recorrido;
+
+    /** Laberinto del último análisis, para calcular distancias bajo demanda. */
+    private Laberinto laberinto;
+
+    private int entrada;
+    private int llave;
+    private int salida;
+    private int distanciaEntradaLlave;
+    private int distanciaEntradaSalida;
+    private int distanciaLlaveSalida;
+    private boolean distanciaLlaveSalidaCalculada;
+
+    /**
+     * Localiza los puntos clave del laberinto y comprueba su alcanzabilidad.
+     *
+     * @param laberinto Laberinto a analizar.
+     * @return {@code true} si la llave y la salida son alcanzables desde la entrada.
+     */
+    public boolean analizar(Laberinto laberinto) {
+        this.laberinto = laberinto;
+        this.entrada = -1;
+        this.llave = -1;
+        this.salida = -1;
+        this.distanciaEntradaLlave = -1;
+        this.distanciaEntradaSalida = -1;
+        this.distanciaLlaveSalida = -1;
+        this.distanciaLlaveSalidaCalculada = false;
+
+        byte[] tipos = laberinto.getTiposCrudos();
+        for (int i = 0; i < tipos.length; i++) {
+            if (tipos[i] == ENTRADA) {
+                entrada = i;
+                break;
+            }
+        }
+
+        if (entrada >= 0) {
+            recorrer(entrada, -1);
+        }
+
+        // Solo si falta algún punto hay que seguir buscándolo fuera de la componente
+        if (llave < 0 || salida < 0) {
+            for (int i = 0; i < tipos.length; i++) {
+                if (tipos[i] == LLAVE && llave < 0) {
+                    llave = i;
+                } else if (tipos[i] == SALIDA && salida < 0) {
+                    salida = i;
+                }
+            }
+        }
+        return esSoluble();
+    }
+
+    /**
+     * Atajo de {@link #analizar(Laberinto)} para los generadores.
+     *
+     * @param laberinto Laberinto a verificar.
+     * @return {@code true} si el laberinto tiene solución.
+     */
+    public boolean esSoluble(Laberinto laberinto) {
+        return analizar(laberinto);
+    }
+
+    /** @return {@code true} si el último laberinto analizado tiene solución. */
+    public boolean esSoluble() {
+        return distanciaEntradaLlave >= 0 && distanciaEntradaSalida >= 0;
+    }
+
+    /** @return {@code true} si la llave es alcanzable desde la entrada. */
+    public boolean isLlaveAlcanzable() {
+        return distanciaEntradaLlave >= 0;
+    }
+
+    /** @return {@code true} si la salida es alcanzable desde la entrada. */
+    public boolean isSalidaAlcanzable() {
+        return distanciaEntradaSalida >= 0;
+    }
+
+    /** @return Posición empaquetada de la entrada, o {@code -1} si no hay. */
+    public int getEntrada() {
+        return entrada;
+    }
+
+    /** @return Posición empaquetada de la llave, o {@code -1} si no hay. */
+    public int getLlave() {
+        return llave;
+    }
+
+    /** @return Posición empaquetada de la salida, o {@code -1} si no hay. */
+    public int getSalida() {
+        return salida;
+    }
+
+    /** @return Pasos mínimos de la entrada a la llave, o {@code -1} si no es alcanzable. */
+    public int getDistanciaEntradaLlave() {
+        return distanciaEntradaLlave;
+    }
+
+    /** @return Pasos mínimos de la entrada a la salida, o {@code -1} si no es alcanzable. */
+    public int getDistanciaEntradaSalida() {
+        return distanciaEntradaSalida;
+    }
+
+    /**
+     * Pasos mínimos de la llave a la salida. Requiere un segundo recorrido desde la
+     * llave, que solo se hace la primera vez que se consulta tras cada análisis.
+     *
+     * @return La distancia, o {@code -1} si no es alcanzable.
+     */
+    public int getDistanciaLlaveSalida() {
+        if (!distanciaLlaveSalidaCalculada) {
+            distanciaLlaveSalidaCalculada = true;
+            if (llave >= 0 && salida >= 0) {
+                distanciaLlaveSalida = recorrer(llave, salida);
+            }
+        }
+        return distanciaLlaveSalida;
+    }
+
+    /**
+     * BFS por niveles desde {@code origen}.
+     * <p>
+     * Con {@code destino < 0} anota la llave y la salida al descubrirlas y termina
+     * cuando ha visto ambas; con un destino, termina al alcanzarlo.
+     * </p>
+     *
+     * @return La distancia al destino, o {@code -1} si no se alcanzó o no había destino.
+     */
+    private int recorrer(int origen, int destino) {
+        byte[] tipos = laberinto.getTiposCrudos();
+        int columnas = laberinto.getColumnas();
+        int total = tipos.length;
+        prepararArreglos(total);
+        int marca = siguienteRecorrido();
+
+        int cabeza = 0, fin = 0;
+        cola[fin++] = origen;
+        marcas[origen] = marca;
+        int finNivel = fin;
+        int distancia = 0;
+
+        while (cabeza < fin) {
+            if (cabeza == finNivel) {
+                finNivel = fin;
+                distancia++;
+            }
+            int actual = cola[cabeza++];
+
+            if (destino >= 0) {
+                if (actual == destino) {
+                    return distancia;
+                }
+            } else {
+                byte tipo = tipos[actual];
+                if (tipo == LLAVE && llave < 0) {
+                    llave = actual;
+                    distanciaEntradaLlave = distancia;
+                } else if (tipo == SALIDA && salida < 0) {
+                    salida = actual;
+                    distanciaEntradaSalida = distancia;
+                }
+                if (llave >= 0 && salida >= 0) {
+                    return -1;
+                }
+            }
+
+            int y = actual % columnas;
+            if (actual >= columnas) {
+                fin = visitar(tipos, actual - columnas, marca, fin);
+            }
+            if (actual + columnas < total) {
+                fin = visitar(tipos, actual + columnas, marca, fin);
+            }
+            if (y > 0) {
+                fin = visitar(tipos, actual - 1, marca, fin);
+            }
+            if (y < columnas - 1) {
+                fin = visitar(tipos, actual + 1, marca, fin);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Encola la celda si es transitable y no se ha visitado en este recorrido.
+     *
+     * @return El nuevo final de la cola.
+     */
+    private int visitar(byte[] tipos, int vecino, int marca, int fin) {
+        if (marcas[vecino] != marca && !BLOQUEA[tipos[vecino]]) {
+            marcas[vecino] = marca;
+            cola[fin++] = vecino;
+        }
+        return fin;
+    }
+
+    /**
+     * Agranda la cola y las marcas si el laberinto es mayor que los anteriores.
+     */
+    private void prepararArreglos(int total) {
+        if (cola.length < total) {
+            cola = new int[total];
+            marcas = new int[total];
+            recorrido = 0;
+        }
+    }
+
+    /**
+     * Avanza el número de recorrido; al agotar el rango de enteros limpia las marcas.
+     */
+    private int siguienteRecorrido() {
+        if (recorrido == Integer.MAX_VALUE) {
+            Arrays.fill(marcas, 0);
+            recorrido = 0;
+        }
+        return ++recorrido;
+    }
+
+    /**
+     * @return La instancia reservada al hilo actual, que conserva sus arreglos entre llamadas.
+     */
+    public static AnalizadorAlcance delHilo() {
+        return POR_HILO.get();
+    }
+}
@@ -0,0 +1,248 @@
+package Main.estrategia.generacion;
+
+import Main.modelo.Constantes.TipoCelda;
+import Main.modelo.Dominio.Laberinto;
+import Main.modelo.Transferencia.MetricasLaberinto;
+
+import java.util.Arrays;
+
+/**
+ * Motor que mide la dificultad de un laberinto con métricas objetivas, en tiempo
+ * lineal en el número de celdas.
+ * <p>
+ * Una primera pasada sobre las posiciones empaquetadas cuenta las vecinas
+ * transitables de cada celda, de donde salen los callejones sin salida y las
+ * bifurcaciones, y localiza los puntos clave. Desde cada callejón se recorre su
+ * pasillo hasta la primera bifurcación para obtener el factor río; cada celda de
+ * pasillo se recorre como mucho dos veces. Por último, un único BFS desde la
+ * {@link TipoCelda#LLAVE} da a la vez su distancia a la entrada y a la salida, y
+ * sus predecesores reconstruyen la solución para contar las trampas que la cruzan.
+ * </p>
+ * <p>
+ * Si la llave ya no está en el laberinto, como en una partida en la que ya se
+ * recogió, la solución se mide de la entrada a la salida. Bloquean el paso
+ * {@link TipoCelda#MURO} y {@link TipoCelda#MURO_ROJO}. Una instancia reutiliza
+ * sus arreglos y no es segura para uso concurrente; {@link #delHilo()} entrega la
+ * del hilo actual.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.0
+ * @since 17/10/2026
+ */
+public class AnalizadorMetricas {
+
+    /** Tipos que no se pueden atravesar, indexados por ordinal. */
+    private static final boolean[] BLOQUEA = new boolean[TipoCelda.values().length];
+
+    static {
+        BLOQUEA[TipoCelda.MURO.ordinal()] = true;
+        BLOQUEA[TipoCelda.MURO_ROJO.ordinal()] = true;
+    }
+
+    private static final byte ENTRADA = (byte) TipoCelda.ENTRADA.ordinal();
+    private static final byte SALIDA = (byte) TipoCelda.SALIDA.ordinal();
+    private static final byte LLAVE = (byte) TipoCelda.LLAVE.ordinal();
+    private static final byte TRAMPA = (byte) TipoCelda.TRAMPA.ordinal();
+
+    /** Instancia de cada hilo: permite analizar laberintos en paralelo sin perder la reutilización. */
+    private static final ThreadLocal<AnalizadorMetricas> POR_HILO = ThreadLocal.withInitial(AnalizadorMetricas::new);
+
+    /** Vecinas transitables de cada celda transitable. */
+    private byte[] grados = new byte[0];
+
+    /** Pasos desde el origen del BFS, o {@code -1} si no se alcanzó. */
+    private int[] distancias = new int[0];
+
+    /** Celda desde la que el BFS llegó a cada celda. */
+    private int[] predecesores = new int[0];
+
+    /** Cola del BFS; cada celda entra como mucho una vez. */
+    private int[] cola = new int[0];
+
+    /**
+     * Calcula las métricas de un laberinto.
+     *
+     * @param laberinto Laberinto a medir; no se modifica.
+     * @return Las métricas del laberinto.
+     */
+    public MetricasLaberinto analizar(Laberinto laberinto) {
+        byte[] tipos = laberinto.getTiposCrudos();
+        int filas = laberinto.getFilas();
+        int columnas = laberinto.getColumnas();
+        int total = filas * columnas;
+        prepararArreglos(total);
+
+        // Pasada 1: grados, puntos clave y trampas
+        int entrada = -1, llave = -1, salida = -1;
+        int transitables = 0, callejones = 0, bifurcaciones = 0, trampas = 0;
+        for (int celda = 0; celda < total; celda++) {
+            byte tipo = tipos[celda];
+            if (BLOQUEA[tipo]) {
+                grados[celda] = 0;
+                continue;
+            }
+            transitables++;
+            if (tipo == ENTRADA) {
+                entrada = celda;
+            } else if (tipo == SALIDA) {
+                salida = celda;
+            } else if (tipo == LLAVE) {
+                llave = celda;
+            } else if (tipo == TRAMPA) {
+                trampas++;
+            }
+
+            int columna = celda % columnas;
+            int grado = 0;
+            if (celda >= columnas && !BLOQUEA[tipos[celda - columnas]]) grado++;
+            if (celda + columnas < total && !BLOQUEA[tipos[celda + columnas]]) grado++;
+            if (columna > 0 && !BLOQUEA[tipos[celda - 1]]) grado++;
+            if (columna < columnas - 1 && !BLOQUEA[tipos[celda + 1]]) grado++;
+            grados[celda] = (byte) grado;
+            if (grado == 1) {
+                callejones++;
+            } else if (grado >= 3) {
+                bifurcaciones++;
+            }
+        }
+
+        // Pasada 2: longitud de cada callejón hasta la primera bifurcación
+        long celdasEnCallejones = 0;
+        for (int celda = 0; celda < total; celda++) {
+            if (!BLOQUEA[tipos[celda]] && grados[celda] == 1) {
+                celdasEnCallejones += medirCallejon(tipos, columnas, total, celda);
+            }
+        }
+
+        // Pasada 3: un BFS desde la llave (o la salida) mide las dos mitades de la solución
+        int centro = llave >= 0 ? llave : salida;
+        int longitud = -1, llaveSalida = -1, trampasEnRuta = 0;
+        if (centro >= 0 && entrada >= 0 && salida >= 0) {
+            recorrer(tipos, columnas, total, centro);
+            if (distancias[entrada] >= 0 && distancias[salida] >= 0) {
+                longitud = distancias[entrada] + (llave >= 0 ? distancias[salida] : 0);
+                llaveSalida = llave >= 0 ? distancias[salida] : -1;
+                trampasEnRuta = contarTrampas(tipos, entrada) + (llave >= 0 ? contarTrampas(tipos, salida) : 0);
+            }
+        }
+
+        return new MetricasLaberinto(filas, columnas, transitables, longitud, llaveSalida,
+                callejones, bifurcaciones, celdasEnCallejones, trampasEnRuta, trampas);
+    }
+
+    /**
+     * Recorre el pasillo que empieza en un callejón hasta llegar a una bifurcación
+     * o a otro callejón.
+     *
+     * @return Celdas del pasillo, sin contar la bifurcación.
+     */
+    private int medirCallejon(byte[] tipos, int columnas, int total, int inicio) {
+        int anterior = -1;
+        int actual = inicio;
+        int longitud = 1;
+        while (true) {
+            int siguiente = vecinaDistinta(tipos, columnas, total, actual, anterior);
+            if (siguiente < 0 || grados[siguiente] >= 3) {
+                return longitud;
+            }
+            longitud++;
+            if (grados[siguiente] == 1) {
+                return longitud; // Pasillo aislado entre dos callejones
+            }
+            anterior = actual;
+            actual = siguiente;
+        }
+    }
+
+    /**
+     * @return La primera vecina transitable de {@code celda} distinta de {@code excluida}, o {@code -1}.
+     */
+    private static int vecinaDistinta(byte[] tipos, int columnas, int total, int celda, int excluida) {
+        int columna = celda % columnas;
+        int arriba = celda - columnas;
+        if (arriba >= 0 && arriba != excluida && !BLOQUEA[tipos[arriba]]) return arriba;
+        int abajo = celda + columnas;
+        if (abajo < total && abajo != excluida && !BLOQUEA[tipos[abajo]]) return abajo;
+        if (columna > 0 && celda - 1 != excluida && !BLOQUEA[tipos[celda - 1]]) return celda - 1;
+        if (columna < columnas - 1 && celda + 1 != excluida && !BLOQUEA[tipos[celda + 1]]) return celda + 1;
+        return -1;
+    }
+
+    /**
+     * BFS completo desde {@code origen} que anota distancias y predecesores.
+     */
+    private void recorrer(byte[] tipos, int columnas, int total, int origen) {
+        Arrays.fill(distancias, 0, total, -1);
+        int cabeza = 0, fin = 0;
+        cola[fin++] = origen;
+        distancias[origen] = 0;
+        predecesores[origen] = -1;
+
+        while (cabeza < fin) {
+            int actual = cola[cabeza++];
+            int siguienteDistancia = distancias[actual] + 1;
+            int columna = actual % columnas;
+            if (actual >= columnas) {
+                fin = visitar(tipos, actual, actual - columnas, siguienteDistancia, fin);
+            }
+            if (actual + columnas < total) {
+                fin = visitar(tipos, actual, actual + columnas, siguienteDistancia, fin);
+            }
+            if (columna > 0) {
+                fin = visitar(tipos, actual, actual - 1, siguienteDistancia, fin);
+            }
+            if (columna < columnas - 1) {
+                fin = visitar(tipos, actual, actual + 1, siguienteDistancia, fin);
+            }
+        }
+    }
+
+    /**
+     * Encola una vecina transitable aún no visitada.
+     *
+     * @return El nuevo final de la cola.
+     */
+    private int visitar(byte[] tipos, int actual, int vecina, int distancia, int fin) {
+        if (BLOQUEA[tipos[vecina]] || distancias[vecina] >= 0) {
+            return fin;
+        }
+        distancias[vecina] = distancia;
+        predecesores[vecina] = actual;
+        cola[fin] = vecina;
+        return fin + 1;
+    }
+
+    /**
+     * Cuenta las trampas del camino de predecesores que lleva de {@code desde} al
+     * origen del último BFS.
+     */
+    private int contarTrampas(byte[] tipos, int desde) {
+        int trampas = 0;
+        for (int celda = desde; celda >= 0; celda = predecesores[celda]) {
+            if (tipos[celda] == TRAMPA) {
+                trampas++;
+            }
+        }
+        return trampas;
+    }
+
+    /**
+     * Agranda los arreglos si el laberinto es mayor que los anteriores.
+     */
+    private void prepararArreglos(int total) {
+        if (grados.length < total) {
+            grados = new byte[total];
+            distancias = new int[total];
+            predecesores = new int[total];
+            cola = new int[total];
+        }
+    }
+
+    /**
+     * @return La instancia reservada al hilo actual, que conserva sus arreglos entre llamadas.
+     */
+    public static AnalizadorMetricas delHilo() {
+        return POR_HILO.get();
+    }
+}
@@ -0,0 +1,192 @@
+package Main.estrategia.generacion;
+
+import Main.modelo.Dominio.Laberinto;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Almacén LRU de laberintos generados con semilla, limitado por memoria.
+ * <p>
+ * Cada entrada se identifica por la estrategia, las dimensiones pedidas y la
+ * semilla, y guarda una plantilla que nunca sale del almacén: {@link #obtener} devuelve una
+ * copia ({@link Laberinto#copiar()}, que clona los arreglos compactos), de modo que
+ * modificar el laberinto durante la partida no altera la plantilla.
+ * </p>
+ * <p>
+ * El límite se expresa en bytes estimados y no en número de entradas, ya que un
+ * laberinto de 4000x4000 ocupa lo mismo que miles de laberintos de nivel fácil.
+ * Al superarlo se descartan las entradas usadas hace más tiempo.
+ * </p>
+ * <p>
+ * La clave usa las dimensiones que pidió el llamador y no las del laberinto
+ * resultante, porque algunos generadores las ajustan (por ejemplo, redondeando a
+ * impar) y la consulta siguiente llega con las dimensiones originales.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.1
+ * @since 17/10/2026
+ */
+public class CacheLaberintos {
+
+    /** Límite de memoria por defecto: 64 MB. */
+    public static final long BYTES_POR_DEFECTO = 64L * 1024 * 1024;
+
+    /** Bytes fijos estimados por entrada (objetos, cabeceras y clave). */
+    private static final long BYTES_POR_ENTRADA = 160;
+
+    /**
+     * Identificador de un laberinto: estrategia, dimensiones pedidas y semilla.
+     */
+    private static final class Clave {
+        private final String estrategia;
+        private final int filas;
+        private final int columnas;
+        private final long semilla;
+
+        Clave(String estrategia, int filas, int columnas, long semilla) {
+            this.estrategia = estrategia;
+            this.filas = filas;
+            this.columnas = columnas;
+            this.semilla = semilla;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Clave)) {
+                return false;
+            }
+            Clave otra = (Clave) o;
+            return filas == otra.filas && columnas == otra.columnas && semilla == otra.semilla
+                    && estrategia.equals(otra.estrategia);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(estrategia, filas, columnas, semilla);
+        }
+    }
+
+    /** Plantillas en orden de acceso: la primera es la usada hace más tiempo. */
+    private final LinkedHashMap<Clave, Laberinto> plantillas = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Memoria máxima estimada que pueden ocupar las plantillas. */
+    private final long bytesMaximos;
+
+    /** Memoria estimada que ocupan las plantillas actuales. */
+    private long bytesOcupados;
+
+    private long aciertos;
+    private long fallos;
+
+    /**
+     * Crea un almacén con el límite de memoria por defecto.
+     */
+    public CacheLaberintos() {
+        this(BYTES_POR_DEFECTO);
+    }
+
+    /**
+     * Crea un almacén con un límite de memoria.
+     *
+     * @param bytesMaximos Memoria máxima estimada de las plantillas.
+     * @throws IllegalArgumentException Si el límite no es positivo.
+     */
+    public CacheLaberintos(long bytesMaximos) {
+        if (bytesMaximos <= 0) {
+            throw new IllegalArgumentException("El límite de la caché debe ser positivo");
+        }
+        this.bytesMaximos = bytesMaximos;
+    }
+
+    /**
+     * Devuelve una copia del laberinto almacenado para esa clave.
+     *
+     * @param estrategia Identificador de la estrategia de generación.
+     * @param filas      Número de filas pedidas al generador.
+     * @param columnas   Número de columnas pedidas al generador.
+     * @param semilla    Semilla de generación.
+     * @return Una copia independiente, o {@code null} si no está almacenado.
+     */
+    public synchronized Laberinto obtener(String estrategia, int filas, int columnas, long semilla) {
+        Laberinto plantilla = plantillas.get(new Clave(estrategia, filas, columnas, semilla));
+        if (plantilla == null) {
+            fallos++;
+            return null;
+        }
+        aciertos++;
+        return plantilla.copiar();
+    }
+
+    /**
+     * Almacena una copia del laberinto y descarta las entradas menos recientes
+     * hasta respetar el límite. Un laberinto mayor que el límite no se almacena.
+     *
+     * @param estrategia Identificador de la estrategia de generación.
+     * @param filas      Número de filas pedidas al generador.
+     * @param columnas   Número de columnas pedidas al generador.
+     * @param semilla    Semilla con la que se generó.
+     * @param laberinto  Laberinto recién generado; el llamador puede seguir usándolo.
+     */
+    public synchronized void guardar(String estrategia, int filas, int columnas, long semilla, Laberinto laberinto) {
+        long tamano = estimarBytes(laberinto);
+        if (tamano > bytesMaximos) {
+            return;
+        }
+        Clave clave = new Clave(estrategia, filas, columnas, semilla);
+        Laberinto anterior = plantillas.put(clave, laberinto.copiar());
+        if (anterior != null) {
+            bytesOcupados -= estimarBytes(anterior);
+        }
+        bytesOcupados += tamano;
+
+        Iterator<Map.Entry<Clave, Laberinto>> it = plantillas.entrySet().iterator();
+        while (bytesOcupados > bytesMaximos && it.hasNext()) {
+            bytesOcupados -= estimarBytes(it.next().getValue());
+            it.remove();
+        }
+    }
+
+    /**
+     * Descarta todas las plantillas.
+     */
+    public synchronized void limpiar() {
+        plantillas.clear();
+        bytesOcupados = 0;
+    }
+
+    /** @return Número de plantillas almacenadas. */
+    public synchronized int getTamano() {
+        return plantillas.size();
+    }
+
+    /** @return Memoria estimada que ocupan las plantillas, en bytes. */
+    public synchronized long getBytesOcupados() {
+        return bytesOcupados;
+    }
+
+    /** @return Consultas resueltas con una plantilla almacenada. */
+    public synchronized long getAciertos() {
+        return aciertos;
+    }
+
+    /** @return Consultas que no encontraron plantilla. */
+    public synchronized long getFallos() {
+        return fallos;
+    }
+
+    /**
+     * Estima la memoria de un laberinto: un byte por celda para los tipos y un bit
+     * por celda en cada uno de los dos {@link java.util.BitSet}.
+     */
+    private static long estimarBytes(Laberinto laberinto) {
+        long celdas = (long) laberinto.getFilas() * laberinto.getColumnas();
+        return BYTES_POR_ENTRADA + celdas + 2 * ((celdas + 63) / 64) * 8;
+    }
+}
@@ -0,0 +1,314 @@
+package Main.estrategia.generacion;
+
+import Main.modelo.Constantes.TipoCelda;
+import Main.modelo.Dominio.Laberinto;
+
+/**
+ * Motor que une las zonas transitables de un laberinto en una sola componente
+ * conexa rompiendo pocos muros normales.
+ * <p>
+ * Sustituye al camino monótono de {@code asegurarConectividad}, que unía dos
+ * esquinas pero dejaba aisladas la mayoría de las bolsas del relleno aleatorio.
+ * El trabajo es lineal en el número de celdas y se hace en tres pasadas:
+ * </p>
+ * <ol>
+ *   <li>Un union-find sobre las posiciones empaquetadas etiqueta las componentes
+ *       uniendo cada celda transitable con sus vecinas izquierda y superior.</li>
+ *   <li>Cada muro interior que toca dos o más componentes distintas se abre y las
+ *       une: con un solo muro roto se elimina al menos una componente, que es el
+ *       mínimo posible por muro.</li>
+ *   <li>Si aún quedan bolsas separadas por muros gruesos, un BFS 0-1 desde la
+ *       componente mayor (entrar en un muro cuesta 1) las alcanza en orden de
+ *       muros rotos y abre solo los muros de cada camino encontrado; las bolsas
+ *       absorbidas se siguen explorando desde su costo de llegada.</li>
+ * </ol>
+ * <p>
+ * Solo se rompen muros {@link TipoCelda#MURO}: los {@link TipoCelda#MURO_ROJO}
+ * bloquean el paso igual que un muro, pero abrirlos es cosa del jugador con una
+ * bomba, así que una zona que solo queda cerrada por muros rojos se deja aislada.
+ * Los muros del borde exterior nunca se rompen. Los arreglos se reutilizan entre
+ * llamadas; una instancia no es segura para uso concurrente y {@link #delHilo()}
+ * entrega la del hilo actual.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.1
+ * @since 17/10/2026
+ */
+public class ConectorComponentes {
+
+    /** Desplazamiento de fila de cada dirección: arriba, abajo, izquierda, derecha. */
+    private static final int[] DELTA_FILA = { -1, 1, 0, 0 };
+
+    /** Desplazamiento de columna de cada dirección. */
+    private static final int[] DELTA_COLUMNA = { 0, 0, -1, 1 };
+
+    /** Ordinal de {@link TipoCelda#CAMINO} en el almacenamiento compacto. */
+    private static final byte CAMINO = (byte) TipoCelda.CAMINO.ordinal();
+
+    /** Ordinal de {@link TipoCelda#MURO}, el único muro que el conector rompe. */
+    private static final byte MURO = (byte) TipoCelda.MURO.ordinal();
+
+    /** Tipos que bloquean el paso, indexados por ordinal. */
+    private static final boolean[] BLOQUEA = new boolean[TipoCelda.values().length];
+
+    static {
+        BLOQUEA[TipoCelda.MURO.ordinal()] = true;
+        BLOQUEA[TipoCelda.MURO_ROJO.ordinal()] = true;
+    }
+
+    /** Instancia de cada hilo: permite compartir los generadores entre hilos sin perder la reutilización. */
+    private static final ThreadLocal<ConectorComponentes> POR_HILO = ThreadLocal.withInitial(ConectorComponentes::new);
+
+    /** Union-find de las celdas transitables; los muros no se consultan. */
+    private int[] padres = new int[0];
+
+    /** Celdas de cada raíz; solo es válido en las raíces tras el etiquetado. */
+    private int[] tamanos = new int[0];
+
+    /** Muros rotos mínimos para llegar a cada celda desde la componente principal. */
+    private int[] costos = new int[0];
+
+    /** Celda desde la que se llegó a cada celda con su costo mínimo. */
+    private int[] predecesores = new int[0];
+
+    /** Cola del nivel de costo actual. */
+    private int[] nivelActual = new int[0];
+
+    /** Cola del siguiente nivel de costo. */
+    private int[] nivelSiguiente = new int[0];
+
+    /**
+     * Deja en una misma componente todas las celdas transitables que se pueden
+     * alcanzar rompiendo muros normales.
+     *
+     * @param laberinto Laberinto a conectar; se modifica en el sitio.
+     * @return Número de muros convertidos en camino.
+     */
+    public int conectar(Laberinto laberinto) {
+        byte[] tipos = laberinto.getTiposCrudos();
+        int filas = laberinto.getFilas();
+        int columnas = laberinto.getColumnas();
+        int total = tipos.length;
+        prepararArreglos(total);
+
+        int componentes = etiquetar(tipos, columnas);
+        if (componentes <= 1) {
+            return 0;
+        }
+
+        int abiertos = 0;
+        // Muros de un solo grosor entre componentes distintas
+        int[] raices = new int[4];
+        for (int x = 1; x < filas - 1 && componentes > 1; x++) {
+            for (int celda = x * columnas + 1; celda < (x + 1) * columnas - 1; celda++) {
+                if (tipos[celda] != MURO) {
+                    continue;
+                }
+                int distintas = 0;
+                for (int d = 0; d < 4; d++) {
+                    int vecino = celda + DELTA_FILA[d] * columnas + DELTA_COLUMNA[d];
+                    if (BLOQUEA[tipos[vecino]]) {
+                        continue;
+                    }
+                    int raiz = buscar(vecino);
+                    boolean repetida = false;
+                    for (int r = 0; r < distintas; r++) {
+                        repetida |= raices[r] == raiz;
+                    }
+                    if (!repetida) {
+                        raices[distintas++] = raiz;
+                    }
+                }
+                if (distintas < 2) {
+                    continue;
+                }
+                tipos[celda] = CAMINO;
+                padres[celda] = celda;
+                tamanos[celda] = 1;
+                abiertos++;
+                for (int r = 0; r < distintas; r++) {
+                    unir(celda, raices[r]);
+                }
+                componentes -= distintas - 1;
+            }
+        }
+
+        if (componentes > 1) {
+            abiertos += absorberRestantes(tipos, filas, columnas);
+        }
+        return abiertos;
+    }
+
+    /**
+     * Construye el union-find de las celdas transitables en una pasada por filas.
+     *
+     * @return Número de componentes.
+     */
+    private int etiquetar(byte[] tipos, int columnas) {
+        int componentes = 0;
+        for (int celda = 0; celda < tipos.length; celda++) {
+            if (BLOQUEA[tipos[celda]]) {
+                continue;
+            }
+            padres[celda] = celda;
+            tamanos[celda] = 1;
+            componentes++;
+            if (celda % columnas > 0 && !BLOQUEA[tipos[celda - 1]] && unir(celda, celda - 1)) {
+                componentes--;
+            }
+            if (celda >= columnas && !BLOQUEA[tipos[celda - columnas]] && unir(celda, celda - columnas)) {
+                componentes--;
+            }
+        }
+        return componentes;
+    }
+
+    /**
+     * BFS 0-1 desde la componente mayor que absorbe cada componente que alcanza
+     * abriendo los muros normales de su camino; los muros rojos no se cruzan.
+     *
+     * @return Número de muros abiertos.
+     */
+    private int absorberRestantes(byte[] tipos, int filas, int columnas) {
+        int principal = -1;
+        for (int celda = 0; celda < tipos.length; celda++) {
+            if (!BLOQUEA[tipos[celda]] && padres[celda] == celda
+                    && (principal < 0 || tamanos[celda] > tamanos[principal])) {
+                principal = celda;
+            }
+        }
+
+        int actuales = 0;
+        for (int celda = 0; celda < tipos.length; celda++) {
+            if (!BLOQUEA[tipos[celda]] && buscar(celda) == principal) {
+                costos[celda] = 0;
+                predecesores[celda] = -1;
+                nivelActual[actuales++] = celda;
+            } else {
+                costos[celda] = Integer.MAX_VALUE;
+            }
+        }
+
+        int abiertos = 0;
+        int costo = 0;
+        while (actuales > 0) {
+            int siguientes = 0;
+            // El nivel actual crece mientras se exploran sus vecinos transitables
+            for (int cabeza = 0; cabeza < actuales; cabeza++) {
+                int actual = nivelActual[cabeza];
+                if (costos[actual] != costo) {
+                    continue; // Ya se alcanzó con menos muros desde otro nivel
+                }
+                int x = actual / columnas;
+                int y = actual - x * columnas;
+                for (int d = 0; d < 4; d++) {
+                    int nx = x + DELTA_FILA[d];
+                    int ny = y + DELTA_COLUMNA[d];
+                    if (nx < 0 || nx >= filas || ny < 0 || ny >= columnas) {
+                        continue;
+                    }
+                    int vecino = nx * columnas + ny;
+                    if (BLOQUEA[tipos[vecino]]) {
+                        // Los muros rojos y los del borde exterior no se rompen
+                        if (tipos[vecino] != MURO
+                                || nx == 0 || nx == filas - 1 || ny == 0 || ny == columnas - 1) {
+                            continue;
+                        }
+                        if (costo + 1 < costos[vecino]) {
+                            costos[vecino] = costo + 1;
+                            predecesores[vecino] = actual;
+                            nivelSiguiente[siguientes++] = vecino;
+                        }
+                    } else if (costo < costos[vecino]) {
+                        costos[vecino] = costo;
+                        predecesores[vecino] = actual;
+                        nivelActual[actuales++] = vecino;
+                        if (buscar(vecino) != buscar(principal)) {
+                            abiertos += absorber(tipos, vecino, principal);
+                        }
+                    }
+                }
+            }
+
+            int[] intercambio = nivelActual;
+            nivelActual = nivelSiguiente;
+            nivelSiguiente = intercambio;
+            actuales = siguientes;
+            costo++;
+        }
+        return abiertos;
+    }
+
+    /**
+     * Abre los muros del camino que llega a {@code celda} y une su componente a la
+     * principal.
+     *
+     * @return Número de muros abiertos.
+     */
+    private int absorber(byte[] tipos, int celda, int principal) {
+        int abiertos = 0;
+        for (int paso = predecesores[celda]; paso >= 0 && tipos[paso] == MURO; paso = predecesores[paso]) {
+            tipos[paso] = CAMINO;
+            padres[paso] = paso;
+            tamanos[paso] = 1;
+            unir(paso, principal);
+            abiertos++;
+        }
+        unir(celda, principal);
+        return abiertos;
+    }
+
+    /**
+     * Raíz de la componente de una celda transitable, con compresión por división a la mitad.
+     */
+    private int buscar(int celda) {
+        while (padres[celda] != celda) {
+            padres[celda] = padres[padres[celda]];
+            celda = padres[celda];
+        }
+        return celda;
+    }
+
+    /**
+     * Une las componentes de dos celdas colgando la menor de la mayor.
+     *
+     * @return {@code true} si estaban separadas.
+     */
+    private boolean unir(int a, int b) {
+        int raizA = buscar(a);
+        int raizB = buscar(b);
+        if (raizA == raizB) {
+            return false;
+        }
+        if (tamanos[raizA] < tamanos[raizB]) {
+            int intercambio = raizA;
+            raizA = raizB;
+            raizB = intercambio;
+        }
+        padres[raizB] = raizA;
+        tamanos[raizA] += tamanos[raizB];
+        return true;
+    }
+
+    /**
+     * Agranda los arreglos si el laberinto es mayor que los anteriores.
+     */
+    private void prepararArreglos(int total) {
+        if (padres.length < total) {
+            padres = new int[total];
+            tamanos = new int[total];
+            costos = new int[total];
+            predecesores = new int[total];
+            nivelActual = new int[total];
+            nivelSiguiente = new int[total];
+        }
+    }
+
+    /**
+     * @return La instancia reservada al hilo actual, que conserva sus arreglos entre llamadas.
+     */
+    public static ConectorComponentes delHilo() {
+        return POR_HILO.get();
+    }
+}
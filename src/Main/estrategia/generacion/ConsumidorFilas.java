@@ -0,0 +1,30 @@
+package Main.estrategia.generacion;
+
+/**
+ * Receptor de las filas de un laberinto generado por flujo.
+ * <p>
+ * Los generadores por filas entregan cada fila en cuanto está terminada, sin
+ * conservar el laberinto completo. El consumidor decide qué hacer con ella:
+ * copiarla a un {@link Main.modelo.Dominio.Laberinto}, escribirla en disco o
+ * simplemente analizarla.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.0
+ * @since 17/10/2026
+ */
+@FunctionalInterface
+public interface ConsumidorFilas {
+
+    /**
+     * Recibe una fila terminada del laberinto.
+     * <p>
+     * El arreglo pertenece al generador y se reutiliza para la siguiente fila, por
+     * lo que el consumidor debe copiarlo si necesita conservarlo.
+     * </p>
+     *
+     * @param fila  Índice de la fila, empezando en 0.
+     * @param tipos Ordinales de {@link Main.modelo.Constantes.TipoCelda} de cada columna.
+     */
+    void aceptar(int fila, byte[] tipos);
+}
@@ -0,0 +1,211 @@
+package Main.estrategia.generacion;
+
+import Main.modelo.Constantes.TipoCelda;
+import Main.modelo.Dominio.Laberinto;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Etapa compartida que reparte la entrada, la salida, la llave y los consumibles
+ * sobre los caminos de un laberinto en una sola pasada.
+ * <p>
+ * Sustituye al barajado de una {@code List<int[]>} con todos los caminos y a la
+ * búsqueda de {@code encontrarPosicionValida} por cada elemento. Conocido el número
+ * de caminos {@code n} y el de elementos {@code k}, se eligen {@code k} caminos al
+ * azar con muestreo secuencial (el algoritmo A de Vitter, la variante del muestreo
+ * de reservorio para flujos de longitud conocida): cada camino se acepta o descarta
+ * en el momento en que se recorre, así que la posición es definitiva sin esperar al
+ * final y el mismo motor sirve para flujos por filas como el de
+ * {@link GeneradorLaberintoEller}. Los elementos se barajan antes de empezar, de
+ * modo que cada camino elegido recibe uno al azar.
+ * </p>
+ * <p>
+ * Todos los valores aleatorios salen del flujo aleatorio del laberinto, por lo que
+ * el resultado es reproducible por semilla. Una instancia reutiliza su arreglo de
+ * elementos y no es segura para uso concurrente; {@link #delHilo()} entrega la
+ * del hilo actual.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.1
+ * @since 17/10/2026
+ */
+public class DecoradorLaberinto {
+
+    /** Valor de {@link #siguiente()} para un camino que no recibe elemento. */
+    public static final int NINGUNO = -1;
+
+    private static final byte CAMINO = (byte) TipoCelda.CAMINO.ordinal();
+
+    /** Instancia de cada hilo: permite compartir los generadores entre hilos sin perder la reutilización. */
+    private static final ThreadLocal<DecoradorLaberinto> POR_HILO = ThreadLocal.withInitial(DecoradorLaberinto::new);
+
+    /** Puntos clave, siempre antes que los consumibles. */
+    private static final byte[] PUNTOS_CLAVE = {
+            (byte) TipoCelda.ENTRADA.ordinal(),
+            (byte) TipoCelda.SALIDA.ordinal(),
+            (byte) TipoCelda.LLAVE.ordinal()
+    };
+
+    /** Elementos de la decoración en curso, ya barajados. */
+    private byte[] elementos = new byte[0];
+
+    /** Número de elementos de la decoración en curso. */
+    private int total;
+
+    /** Elementos que quedan por colocar. */
+    private int pendientes;
+
+    /** Caminos que quedan por recorrer, incluido el siguiente. */
+    private long restantes;
+
+    /** Caminos que se descartarán antes del próximo elegido. */
+    private long salto;
+
+    private RandomGenerator random;
+
+    /**
+     * Coloca los puntos clave y los consumibles de {@code densidad} sobre los
+     * caminos del laberinto.
+     * <p>
+     * Primero se cuentan los caminos, ya que las cantidades dependen de ese número;
+     * después una sola pasada sobre las posiciones empaquetadas coloca cada elemento.
+     * </p>
+     *
+     * @param laberinto Laberinto a decorar; se modifica en el sitio.
+     * @param densidad  Cantidad de cada elemento.
+     * @param random    Generador del laberinto en curso.
+     * @return {@code false} si el laberinto tenía menos caminos que el mínimo de la
+     *         densidad y se dejó sin decorar.
+     */
+    public boolean decorar(Laberinto laberinto, DensidadElementos densidad, RandomGenerator random) {
+        byte[] tipos = laberinto.getTiposCrudos();
+        int caminos = 0;
+        for (byte tipo : tipos) {
+            if (tipo == CAMINO) {
+                caminos++;
+            }
+        }
+        if (caminos < densidad.getMinimoCaminos()) {
+            return false;
+        }
+
+        iniciar(caminos, densidad, true, random);
+        for (int i = 0; i < tipos.length && pendientes > 0; i++) {
+            if (tipos[i] == CAMINO) {
+                int elemento = siguiente();
+                if (elemento != NINGUNO) {
+                    tipos[i] = (byte) elemento;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Prepara una decoración por flujo: a continuación se llama a {@link #siguiente()}
+     * exactamente una vez por cada camino candidato, en orden.
+     *
+     * @param candidatos  Número exacto de caminos candidatos del flujo.
+     * @param densidad    Cantidad de cada elemento.
+     * @param puntosClave Si además se colocan la entrada, la salida y la llave.
+     * @param random      Generador del laberinto en curso.
+     * @return Número de elementos que se colocarán.
+     */
+    public int iniciar(long candidatos, DensidadElementos densidad, boolean puntosClave, RandomGenerator random) {
+        this.random = random;
+
+        long deseados = puntosClave ? PUNTOS_CLAVE.length : 0;
+        int[] cantidades = new int[densidad.getReglas()];
+        for (int r = 0; r < cantidades.length; r++) {
+            cantidades[r] = densidad.calcularCantidad(r, candidatos, random);
+            deseados += cantidades[r];
+        }
+
+        // Si no caben todos se descartan los de menor prioridad
+        total = (int) Math.min(deseados, candidatos);
+        if (elementos.length < total) {
+            elementos = new byte[total];
+        }
+        int n = 0;
+        if (puntosClave) {
+            for (int i = 0; i < PUNTOS_CLAVE.length && n < total; i++) {
+                elementos[n++] = PUNTOS_CLAVE[i];
+            }
+        }
+        for (int r = 0; r < cantidades.length && n < total; r++) {
+            byte tipo = (byte) densidad.getTipo(r).ordinal();
+            for (int j = 0; j < cantidades[r] && n < total; j++) {
+                elementos[n++] = tipo;
+            }
+        }
+
+        // Fisher-Yates: el orden de colocación no depende de la prioridad
+        for (int i = total - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            byte intercambio = elementos[i];
+            elementos[i] = elementos[j];
+            elementos[j] = intercambio;
+        }
+
+        pendientes = total;
+        restantes = candidatos;
+        salto = pendientes > 0 ? calcularSalto() : 0;
+        return total;
+    }
+
+    /**
+     * Decide si el siguiente camino candidato recibe un elemento.
+     *
+     * @return Ordinal del {@link TipoCelda} a colocar, o {@link #NINGUNO}.
+     */
+    public int siguiente() {
+        if (pendientes == 0) {
+            return NINGUNO;
+        }
+        restantes--;
+        if (salto > 0) {
+            salto--;
+            return NINGUNO;
+        }
+        int elemento = elementos[total - pendientes];
+        pendientes--;
+        salto = pendientes > 0 ? calcularSalto() : 0;
+        return elemento;
+    }
+
+    /** @return {@code true} si ya se colocaron todos los elementos. */
+    public boolean haTerminado() {
+        return pendientes == 0;
+    }
+
+    /**
+     * Algoritmo A de Vitter: cuántos candidatos descartar antes del próximo elegido
+     * para que cada subconjunto de {@code pendientes} entre {@code restantes} sea
+     * igual de probable. Usa un solo valor aleatorio por elemento colocado.
+     */
+    private long calcularSalto() {
+        double v = random.nextDouble();
+        if (pendientes == 1) {
+            return (long) (restantes * v);
+        }
+        long saltados = 0;
+        double arriba = restantes - pendientes;
+        double abajo = restantes;
+        double cociente = arriba / abajo;
+        while (cociente > v) {
+            saltados++;
+            arriba--;
+            abajo--;
+            cociente = cociente * arriba / abajo;
+        }
+        return saltados;
+    }
+
+    /**
+     * @return La instancia reservada al hilo actual, que conserva sus arreglos entre llamadas.
+     */
+    public static DecoradorLaberinto delHilo() {
+        return POR_HILO.get();
+    }
+}
@@ -0,0 +1,176 @@
+package Main.estrategia.generacion;
+
+import Main.modelo.Constantes.TipoCelda;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Cantidad de cada elemento que el {@link DecoradorLaberinto} reparte sobre los
+ * caminos de un laberinto.
+ * <p>
+ * Cada regla calcula la cantidad a partir del número de caminos: con un divisor
+ * positivo se toma {@code caminos / divisor} acotado entre un mínimo y un máximo;
+ * con divisor cero la cantidad es fija. Las reglas aleatorias suman al mínimo un
+ * valor al azar en {@code [0, caminos / divisor)}. El orden de las reglas es la
+ * prioridad: si no caben todos los elementos se descartan los de las últimas.
+ * </p>
+ * <p>
+ * Es inmutable; {@link #con} y sus variantes devuelven una copia con la regla
+ * añadida, por lo que una misma densidad puede compartirse entre generadores.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.1
+ * @since 17/10/2026
+ */
+public class DensidadElementos {
+
+    /** Caminos necesarios por defecto para decorar un laberinto. */
+    public static final int MINIMO_CAMINOS_POR_DEFECTO = 10;
+
+    private final TipoCelda[] tipos;
+    private final int[] minimos;
+    private final int[] divisores;
+    private final int[] maximos;
+    private final boolean[] aleatorias;
+
+    /** Caminos por debajo de los cuales el laberinto se deja sin decorar. */
+    private final int minimoCaminos;
+
+    /**
+     * Crea una densidad sin elementos; el decorador solo colocará los puntos clave.
+     */
+    public DensidadElementos() {
+        this(new TipoCelda[0], new int[0], new int[0], new int[0], new boolean[0], MINIMO_CAMINOS_POR_DEFECTO);
+    }
+
+    private DensidadElementos(TipoCelda[] tipos, int[] minimos, int[] divisores, int[] maximos,
+                              boolean[] aleatorias, int minimoCaminos) {
+        this.tipos = tipos;
+        this.minimos = minimos;
+        this.divisores = divisores;
+        this.maximos = maximos;
+        this.aleatorias = aleatorias;
+        this.minimoCaminos = minimoCaminos;
+    }
+
+    /**
+     * Densidad de los generadores de Prim, Kruskal y Eller.
+     *
+     * @return Cristales, trampas y energías proporcionales al número de caminos.
+     */
+    public static DensidadElementos clasica() {
+        return new DensidadElementos()
+                .con(TipoCelda.CRISTAL, 0, 8, 12)
+                .con(TipoCelda.TRAMPA, 0, 15, 6)
+                .con(TipoCelda.ENERGIA, 0, 18, 6);
+    }
+
+    /**
+     * Añade una regla proporcional al número de caminos.
+     *
+     * @param tipo    Elemento a colocar.
+     * @param minimo  Cantidad mínima.
+     * @param divisor Caminos por elemento; {@code 0} deja la cantidad en el mínimo.
+     * @param maximo  Cantidad máxima.
+     * @return Una nueva densidad con la regla añadida al final.
+     * @throws IllegalArgumentException Si los límites no son coherentes.
+     */
+    public DensidadElementos con(TipoCelda tipo, int minimo, int divisor, int maximo) {
+        return anadir(tipo, minimo, divisor, maximo, false);
+    }
+
+    /**
+     * Añade una regla de cantidad fija.
+     *
+     * @param tipo     Elemento a colocar.
+     * @param cantidad Número de elementos.
+     * @return Una nueva densidad con la regla añadida al final.
+     */
+    public DensidadElementos conFija(TipoCelda tipo, int cantidad) {
+        return anadir(tipo, cantidad, 0, cantidad, false);
+    }
+
+    /**
+     * Añade una regla cuya cantidad es {@code minimo} más un valor al azar menor que
+     * {@code caminos / divisor}, sin pasar de {@code maximo}.
+     *
+     * @param tipo    Elemento a colocar.
+     * @param minimo  Cantidad base.
+     * @param divisor Caminos por unidad del rango aleatorio; debe ser positivo.
+     * @param maximo  Cantidad máxima.
+     * @return Una nueva densidad con la regla añadida al final.
+     */
+    public DensidadElementos conAleatoria(TipoCelda tipo, int minimo, int divisor, int maximo) {
+        if (divisor <= 0) {
+            throw new IllegalArgumentException("Una regla aleatoria necesita un divisor positivo");
+        }
+        return anadir(tipo, minimo, divisor, maximo, true);
+    }
+
+    /**
+     * @param minimoCaminos Caminos necesarios para decorar el laberinto.
+     * @return Una nueva densidad con las mismas reglas y ese umbral.
+     */
+    public DensidadElementos conMinimoCaminos(int minimoCaminos) {
+        return new DensidadElementos(tipos, minimos, divisores, maximos, aleatorias, Math.max(0, minimoCaminos));
+    }
+
+    private DensidadElementos anadir(TipoCelda tipo, int minimo, int divisor, int maximo, boolean aleatoria) {
+        if (tipo == null || minimo < 0 || divisor < 0 || maximo < minimo) {
+            throw new IllegalArgumentException("Regla de densidad no válida para " + tipo);
+        }
+        int n = tipos.length;
+        TipoCelda[] nuevosTipos = Arrays.copyOf(tipos, n + 1);
+        int[] nuevosMinimos = Arrays.copyOf(minimos, n + 1);
+        int[] nuevosDivisores = Arrays.copyOf(divisores, n + 1);
+        int[] nuevosMaximos = Arrays.copyOf(maximos, n + 1);
+        boolean[] nuevasAleatorias = Arrays.copyOf(aleatorias, n + 1);
+        nuevosTipos[n] = tipo;
+        nuevosMinimos[n] = minimo;
+        nuevosDivisores[n] = divisor;
+        nuevosMaximos[n] = maximo;
+        nuevasAleatorias[n] = aleatoria;
+        return new DensidadElementos(nuevosTipos, nuevosMinimos, nuevosDivisores, nuevosMaximos,
+                nuevasAleatorias, minimoCaminos);
+    }
+
+    /**
+     * Calcula la cantidad de una regla. Las reglas aleatorias consumen un valor de
+     * {@code random}, así que deben evaluarse siempre en el mismo orden.
+     *
+     * @param regla   Índice de la regla.
+     * @param caminos Caminos disponibles en el laberinto.
+     * @param random  Generador del laberinto en curso.
+     * @return Número de elementos de esa regla.
+     */
+    public int calcularCantidad(int regla, long caminos, RandomGenerator random) {
+        long proporcional = divisores[regla] > 0 ? caminos / divisores[regla] : 0;
+        long cantidad;
+        if (aleatorias[regla]) {
+            cantidad = minimos[regla] + random.nextInt((int) Math.max(1, Math.min(Integer.MAX_VALUE, proporcional)));
+        } else {
+            cantidad = Math.max(minimos[regla], proporcional);
+        }
+        return (int) Math.min(maximos[regla], cantidad);
+    }
+
+    /** @return Número de reglas. */
+    public int getReglas() {
+        return tipos.length;
+    }
+
+    /**
+     * @param regla Índice de la regla.
+     * @return Elemento que coloca esa regla.
+     */
+    public TipoCelda getTipo(int regla) {
+        return tipos[regla];
+    }
+
+    /** @return Caminos necesarios para decorar el laberinto. */
+    public int getMinimoCaminos() {
+        return minimoCaminos;
+    }
+}
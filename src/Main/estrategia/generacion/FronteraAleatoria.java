@@ -0,0 +1,77 @@
+package Main.estrategia.generacion;
+
+import java.util.BitSet;
+import java.util.random.RandomGenerator;
+
+/**
+ * Conjunto de posiciones candidatas del que se extrae un elemento al azar en O(1).
+ * <p>
+ * Las posiciones se guardan empaquetadas como un único entero
+ * ({@code fila * columnas + columna}) en un arreglo contiguo. Un {@link BitSet}
+ * indica qué posiciones están presentes para descartar duplicados sin recorrer el
+ * arreglo, y la extracción intercambia el elemento elegido con el último para
+ * no desplazar el resto.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.1
+ * @since 17/10/2026
+ */
+class FronteraAleatoria {
+
+    /** Posiciones empaquetadas presentes en la frontera, en {@code [0, tamano)}. */
+    private int[] elementos;
+
+    /** Número de posiciones en la frontera. */
+    private int tamano;
+
+    /** Posiciones presentes, indexadas por su valor empaquetado. */
+    private final BitSet presentes;
+
+    /**
+     * Crea una frontera vacía para un laberinto de {@code totalCeldas} posiciones.
+     *
+     * @param totalCeldas Número total de celdas del laberinto.
+     */
+    FronteraAleatoria(int totalCeldas) {
+        this.elementos = new int[Math.max(16, Math.min(totalCeldas, 1 << 16))];
+        this.presentes = new BitSet(totalCeldas);
+    }
+
+    /**
+     * Añade una posición si no estaba ya en la frontera.
+     *
+     * @param posicion Posición empaquetada.
+     */
+    void agregar(int posicion) {
+        if (presentes.get(posicion)) {
+            return;
+        }
+        if (tamano == elementos.length) {
+            int[] mayor = new int[elementos.length * 2];
+            System.arraycopy(elementos, 0, mayor, 0, tamano);
+            elementos = mayor;
+        }
+        presentes.set(posicion);
+        elementos[tamano++] = posicion;
+    }
+
+    /**
+     * Extrae una posición elegida de forma uniforme.
+     *
+     * @param random Fuente de aleatoriedad.
+     * @return La posición empaquetada extraída.
+     */
+    int extraerAleatorio(RandomGenerator random) {
+        int indice = random.nextInt(tamano);
+        int posicion = elementos[indice];
+        elementos[indice] = elementos[--tamano];
+        presentes.clear(posicion);
+        return posicion;
+    }
+
+    /** @return {@code true} si no quedan posiciones. */
+    boolean estaVacia() {
+        return tamano == 0;
+    }
+}
@@ -0,0 +1,233 @@
+package Main.estrategia.generacion;
+
+import Main.modelo.Constantes.TipoCelda;
+import Main.modelo.Dominio.Laberinto;
+import Main.servicio.Interfaces.GeneradorLaberinto;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Implementación de la estrategia de generación de cuevas mediante un autómata celular.
+ * <p>
+ * Parte de un relleno aleatorio de muros y caminos y aplica varias iteraciones de
+ * suavizado con la regla 4-5: una celda pasa a ser muro si en su vecindario de
+ * 3x3, contándola a ella, hay al menos cinco muros, y camino en caso contrario.
+ * El ruido se agrupa en cavernas de contornos orgánicos, más apropiadas para mapas
+ * grandes que los pasillos de un laberinto perfecto. Después,
+ * {@link ConectorComponentes} une las cavernas aisladas.
+ * </p>
+ * <p>
+ * Cada iteración lee de un búfer compacto y escribe en otro, que se intercambian
+ * al terminar; como ninguna celda lee lo que escribe otra de la misma iteración,
+ * las bandas de filas se actualizan en paralelo sobre el {@link ForkJoinPool}
+ * común sin sincronización. El suavizado no consume valores aleatorios, así que
+ * el modo paralelo produce el mismo laberinto que el secuencial.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.1
+ * @since 17/10/2026
+ */
+public class GeneradorLaberintoCuevas implements GeneradorLaberinto {
+
+    /** Cristales, trampas y energías proporcionales al número de caminos. */
+    private static final DensidadElementos DENSIDAD = new DensidadElementos()
+            .con(TipoCelda.CRISTAL, 0, 12, 30)
+            .con(TipoCelda.TRAMPA, 0, 20, 15)
+            .con(TipoCelda.ENERGIA, 0, 25, 10);
+
+    /** Ordinal de {@link TipoCelda#MURO} en el almacenamiento compacto. */
+    private static final byte MURO = (byte) TipoCelda.MURO.ordinal();
+
+    /** Ordinal de {@link TipoCelda#CAMINO} en el almacenamiento compacto. */
+    private static final byte CAMINO = (byte) TipoCelda.CAMINO.ordinal();
+
+    /** Iteraciones de suavizado por defecto. */
+    public static final int ITERACIONES_POR_DEFECTO = 5;
+
+    /** Probabilidad de que una celda interior empiece siendo camino. */
+    private static final double PROBABILIDAD_CAMINO = 0.55;
+
+    /**
+     * Caminos del vecindario de 3x3 por encima de los cuales la celda queda como
+     * camino: con cuatro o menos hay al menos cinco muros.
+     */
+    private static final int CAMINOS_MAXIMOS_MURO = 4;
+
+    /**
+     * Número de celdas a partir del cual una iteración se reparte en bandas
+     * paralelas; por debajo, el coste de crear tareas supera al del suavizado.
+     */
+    private static final int UMBRAL_PARALELO = 256 * 256;
+
+    /** Filas mínimas de una banda de suavizado. */
+    private static final int FILAS_POR_BANDA = 64;
+
+    /** Número de iteraciones de suavizado. */
+    private final int iteraciones;
+
+    /** Indica si las iteraciones se reparten en bandas entre los hilos del {@link ForkJoinPool}. */
+    private final boolean paralelo;
+
+    /**
+     * Constructor por defecto: {@link #ITERACIONES_POR_DEFECTO} iteraciones en paralelo.
+     */
+    public GeneradorLaberintoCuevas() {
+        this(ITERACIONES_POR_DEFECTO, true);
+    }
+
+    /**
+     * Construye el generador con un número de iteraciones y un modo de suavizado.
+     *
+     * @param iteraciones Iteraciones de suavizado; más iteraciones dan cavernas más lisas.
+     * @param paralelo    {@code true} para repartir las iteraciones de los mapas grandes
+     *                    en bandas paralelas.
+     * @throws IllegalArgumentException Si las iteraciones son negativas.
+     */
+    public GeneradorLaberintoCuevas(int iteraciones, boolean paralelo) {
+        if (iteraciones < 0) {
+            throw new IllegalArgumentException("El número de iteraciones no puede ser negativo");
+        }
+        this.iteraciones = iteraciones;
+        this.paralelo = paralelo;
+    }
+
+    /**
+     * Genera una cueva a partir del flujo aleatorio recibido, reproducible por semilla.
+     * <p>
+     * El flujo de trabajo consiste en:
+     * 1. Rellenar el interior con ruido y el borde con muros.
+     * 2. Suavizar el ruido con la regla 4-5 alternando dos búferes.
+     * 3. Unir las cavernas aisladas.
+     * 4. Distribuir elementos especiales en las áreas transitables.
+     * </p>
+     *
+     * @param filas Número de filas del laberinto.
+     * @param columnas Número de columnas del laberinto.
+     * @param random Flujo aleatorio de esta generación.
+     * @return Un objeto {@link Laberinto} con forma de cueva.
+     */
+    @Override
+    public Laberinto generar(int filas, int columnas, SplittableRandom random) {
+        AnalizadorAlcance alcance = AnalizadorAlcance.delHilo();
+        ReparadorCaminos reparador = ReparadorCaminos.delHilo();
+        DecoradorLaberinto decorador = DecoradorLaberinto.delHilo();
+
+        Laberinto laberinto = new Laberinto(filas, columnas);
+        RellenoRuido.rellenar(laberinto, PROBABILIDAD_CAMINO, 0, random);
+        suavizar(laberinto);
+
+        ConectorComponentes.delHilo().conectar(laberinto);
+        decorador.decorar(laberinto, DENSIDAD, random);
+
+        // Verificar solubilidad y forzar si es necesario
+        if (!alcance.analizar(laberinto)) {
+            reparador.reparar(laberinto, alcance);
+        }
+
+        return laberinto;
+    }
+
+    /**
+     * Aplica las iteraciones de suavizado; el resultado queda en el almacenamiento
+     * del laberinto.
+     */
+    private void suavizar(Laberinto laberinto) {
+        int filas = laberinto.getFilas();
+        int columnas = laberinto.getColumnas();
+        if (iteraciones == 0 || filas < 3 || columnas < 3) {
+            return;
+        }
+
+        byte[] original = laberinto.getTiposCrudos();
+        byte[] origen = original;
+        // El borde no se recalcula: el segundo búfer lo copia una vez
+        byte[] destino = original.clone();
+        boolean enParalelo = paralelo && (long) filas * columnas >= UMBRAL_PARALELO;
+
+        for (int i = 0; i < iteraciones; i++) {
+            if (enParalelo) {
+                ForkJoinPool.commonPool().invoke(new Banda(origen, destino, columnas, 1, filas - 1));
+            } else {
+                suavizarFilas(origen, destino, columnas, 1, filas - 1);
+            }
+            byte[] intercambio = origen;
+            origen = destino;
+            destino = intercambio;
+        }
+
+        if (origen != original) {
+            System.arraycopy(origen, 0, original, 0, original.length);
+        }
+    }
+
+    /**
+     * Calcula una iteración de la regla 4-5 para las filas interiores
+     * {@code [desde, hasta)}.
+     * <p>
+     * Durante el suavizado solo hay muros y caminos, cuyos ordinales son 0 y 1, así
+     * que la suma de los tipos de un vecindario es su número de caminos. Se lleva
+     * la suma de cada columna de tres celdas y la ventana de 3x3 se desplaza
+     * restando la columna que sale y sumando la que entra.
+     * </p>
+     *
+     * @param origen   Búfer de la iteración anterior; solo se lee.
+     * @param destino  Búfer de esta iteración; solo se escriben las filas de la banda.
+     * @param columnas Número de columnas del laberinto.
+     * @param desde    Primera fila de la banda.
+     * @param hasta    Fila siguiente a la última de la banda.
+     */
+    private static void suavizarFilas(byte[] origen, byte[] destino, int columnas, int desde, int hasta) {
+        for (int fila = desde; fila < hasta; fila++) {
+            int centro = fila * columnas;
+            int arriba = centro - columnas;
+            int abajo = centro + columnas;
+
+            int izquierda = origen[arriba] + origen[centro] + origen[abajo];
+            int medio = origen[arriba + 1] + origen[centro + 1] + origen[abajo + 1];
+            for (int c = 1; c < columnas - 1; c++) {
+                int derecha = origen[arriba + c + 1] + origen[centro + c + 1] + origen[abajo + c + 1];
+                destino[centro + c] = izquierda + medio + derecha > CAMINOS_MAXIMOS_MURO ? CAMINO : MURO;
+                izquierda = medio;
+                medio = derecha;
+            }
+        }
+    }
+
+    /**
+     * Tarea de suavizado de una banda de filas.
+     * <p>
+     * Las bandas de hasta {@link #FILAS_POR_BANDA} filas se calculan en el hilo
+     * actual; las mayores se parten por la mitad en dos tareas independientes.
+     * </p>
+     */
+    private static class Banda extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] origen;
+        private final byte[] destino;
+        private final int columnas;
+        private final int desde, hasta;
+
+        Banda(byte[] origen, byte[] destino, int columnas, int desde, int hasta) {
+            this.origen = origen;
+            this.destino = destino;
+            this.columnas = columnas;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde <= FILAS_POR_BANDA) {
+                suavizarFilas(origen, destino, columnas, desde, hasta);
+                return;
+            }
+            int mitad = (desde + hasta) >>> 1;
+            invokeAll(new Banda(origen, destino, columnas, desde, mitad),
+                    new Banda(origen, destino, columnas, mitad, hasta));
+        }
+    }
+}
@@ -1,11 +1,11 @@
 package Main.estrategia.generacion;
 
 import Main.modelo.Dominio.Laberinto;
-import Main.modelo.Dominio.Celda;
 import Main.modelo.Constantes.TipoCelda;
 import Main.servicio.Interfaces.GeneradorLaberinto;
 
-import java.util.*;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Estrategia de generación de laberintos basada en niveles de dificultad
@@ -17,19 +17,38 @@ import java.util.*;
  * según el
  * nivel seleccionado (FÁCIL, MEDIA, DIFÍCIL). Además, garantiza que cada
  * laberinto
- * generado sea resoluble mediante un algoritmo de búsqueda en anchura (BFS).
+ * generado sea resoluble mediante un algoritmo de búsqueda en anchura (BFS) y,
+ * con {@link ResolutorRecursos}, que se pueda ganar con la vida, bombas y
+ * fósforos disponibles.
+ * </p>
+ * <p>
+ * Un laberinto sin plan ganable no se modifica: se descarta y se genera otro con
+ * el mismo flujo aleatorio, hasta {@link #MAXIMO_INTENTOS} veces, así que la
+ * semilla sigue determinando el resultado. Los descartes y los laberintos que se
+ * entregan sin plan tras agotar los intentos se acumulan en contadores
+ * compartidos para vigilar la calidad del generador.
  * </p>
  *
  * @author Mario Sanchaz
- * @version 1.0
+ * @version 1.7
  * @since 22/12/25
  */
 public class GeneradorLaberintoDificultad implements GeneradorLaberinto {
 
-    /**
-     * Generador de aleatoriedad para la disposición de elementos.
-     */
-    private Random random;
+    /** Probabilidad de que una celda interior sea camino. */
+    private static final double PROBABILIDAD_CAMINO = 0.6;
+
+    /** Probabilidad de que un muro interior sea rojo. */
+    private static final double PROBABILIDAD_MURO_ROJO = 0.3;
+
+    /** Laberintos que se generan como mucho en una llamada buscando uno ganable. */
+    public static final int MAXIMO_INTENTOS = 8;
+
+    /** Laberintos descartados por no tener plan ganable, en todos los hilos. */
+    private static final LongAdder DESCARTADOS = new LongAdder();
+
+    /** Laberintos entregados sin plan ganable tras agotar los intentos, en todos los hilos. */
+    private static final LongAdder SIN_PLAN = new LongAdder();
 
     /**
      * Nivel de dificultad que rige los parámetros de generación
@@ -43,94 +62,86 @@ public class GeneradorLaberintoDificultad implements GeneradorLaberinto {
      *                   Si es nula, se establece "MEDIA" por defecto.
      */
     public GeneradorLaberintoDificultad(String dificultad) {
-        this.random = new Random();
         this.dificultad = dificultad != null ? dificultad : "MEDIA";
     }
 
     /**
-     * Genera un laberinto utilizando el tiempo del sistema como semilla.
-     *
-     * @param filas    Cantidad de filas solicitadas.
-     * @param columnas Cantidad de columnas solicitadas.
-     * @return Un objeto {@link Laberinto} configurado según la dificultad.
-     */
-    @Override
-    public Laberinto generar(int filas, int columnas) {
-        return generarConSemilla(filas, columnas, System.currentTimeMillis());
-    }
-
-    /**
-     * Genera un laberinto con una semilla específica para consistencia de
-     * resultados.
+     * Genera un laberinto a partir del flujo aleatorio recibido, reproducible por
+     * semilla.
      * <p>
      * El flujo incluye:
      * 1. Validación estricta de dimensiones según la dificultad.
-     * 2. Creación de una matriz con distribución de caminos y muros normales/rojos.
-     * 3. Garantía de conectividad física mediante un algoritmo de camino directo.
+     * 2. Relleno por ruido del almacenamiento compacto con caminos y muros normales/rojos.
+     * 3. Unión de las zonas transitables con {@link ConectorComponentes}, que solo
+     * rompe muros normales: las zonas cerradas por muros rojos piden bombas.
      * 4. Colocación de recursos (Llaves, Bombas, Fósforos) calculados por
      * dificultad.
      * 5. Prueba de solubilidad y corrección automática si el laberinto está
      * bloqueado.
+     * 6. Prueba de que la partida se puede ganar con los recursos del jugador;
+     * si no, el laberinto se descarta y se repiten los pasos 2 a 6.
      * </p>
      *
      * @param filas    Número de filas.
      * @param columnas Número de columnas.
-     * @param semilla  Valor para controlar la aleatoriedad.
+     * @param random Flujo aleatorio de esta generación.
      * @return Un objeto {@link Laberinto} listo para jugar.
      * @throws IllegalArgumentException si las dimensiones no corresponden a la
      *                                  dificultad.
      */
     @Override
-    public Laberinto generarConSemilla(int filas, int columnas, long semilla) {
-        this.random = new Random(semilla);
+    public Laberinto generar(int filas, int columnas, SplittableRandom random) {
+        AnalizadorAlcance alcance = AnalizadorAlcance.delHilo();
+        ReparadorCaminos reparador = ReparadorCaminos.delHilo();
+        DecoradorLaberinto decorador = DecoradorLaberinto.delHilo();
+        ConectorComponentes conector = ConectorComponentes.delHilo();
+        ResolutorRecursos resolutor = ResolutorRecursos.delHilo();
 
         // Validar dimensiones según dificultad
         validarDimensiones(filas, columnas);
 
-        Celda[][] celdas = new Celda[filas][columnas];
-
-        // Generar patrón aleatorio de muros y caminos
-        for (int i = 0; i < filas; i++) {
-            for (int j = 0; j < columnas; j++) {
-                // 60% caminos, 40% muros
-                if (random.nextDouble() < 0.6) {
-                    celdas[i][j] = new Celda(TipoCelda.CAMINO, i, j);
-                } else {
-                    // Determinar si es muro normal o rojo (solo en interior)
-                    boolean esBorde = (i == 0 || i == filas - 1 || j == 0 || j == columnas - 1);
-                    if (esBorde) {
-                        celdas[i][j] = new Celda(TipoCelda.MURO, i, j);
-                    } else {
-                        // 30% muros rojos, 70% muros normales
-                        TipoCelda tipoMuro = (random.nextDouble() < 0.3) ? TipoCelda.MURO_ROJO : TipoCelda.MURO;
-                        celdas[i][j] = new Celda(tipoMuro, i, j);
-                    }
-                }
-            }
-        }
+        Laberinto laberinto = new Laberinto(filas, columnas);
+        for (int intento = 1; ; intento++) {
+            // 60% caminos; de los muros interiores, 30% rojos. El borde queda de muros normales
+            RellenoRuido.rellenar(laberinto, PROBABILIDAD_CAMINO, PROBABILIDAD_MURO_ROJO, random);
 
-        // Asegurar bordes con muros normales
-        for (int i = 0; i < filas; i++) {
-            celdas[i][0].setTipo(TipoCelda.MURO);
-            celdas[i][columnas - 1].setTipo(TipoCelda.MURO);
-        }
-        for (int j = 0; j < columnas; j++) {
-            celdas[0][j].setTipo(TipoCelda.MURO);
-            celdas[filas - 1][j].setTipo(TipoCelda.MURO);
-        }
+            // Unir las bolsas aisladas del ruido a la zona principal sin tocar los muros rojos
+            conector.conectar(laberinto);
 
-        // Asegurar conectividad básica
-        asegurarConectividad(celdas, filas, columnas);
+            // Colocar elementos según dificultad
+            decorador.decorar(laberinto, crearDensidad(filas), random);
 
-        // Colocar elementos según dificultad
-        colocarElementosSegunDificultad(celdas, filas, columnas);
+            // Verificar que la llave y la salida son alcanzables y reparar si es necesario
+            if (!alcance.analizar(laberinto)) {
+                reparador.reparar(laberinto, alcance);
+            }
 
-        // Verificar solubilidad y forzar si es necesario
-        if (!esSoluble(celdas, filas, columnas)) {
-            forzarCamino(celdas, filas, columnas);
+            // Alcanzar no basta: las trampas del único recorrido pueden agotar la vida
+            if (resolutor.esGanable(laberinto)) {
+                return laberinto;
+            }
+            if (intento == MAXIMO_INTENTOS) {
+                SIN_PLAN.increment();
+                return laberinto;
+            }
+            DESCARTADOS.increment();
         }
+    }
 
-        return new Laberinto(celdas, filas, columnas);
+    /**
+     * @return Laberintos descartados por no tener plan ganable desde que se cargó
+     *         la clase, en todos los hilos.
+     */
+    public static long getDescartados() {
+        return DESCARTADOS.sum();
+    }
+
+    /**
+     * @return Laberintos entregados sin plan ganable tras {@link #MAXIMO_INTENTOS}
+     *         intentos desde que se cargó la clase, en todos los hilos.
+     */
+    public static long getSinPlan() {
+        return SIN_PLAN.sum();
     }
 
     /**
@@ -164,99 +175,20 @@ public class GeneradorLaberintoDificultad implements GeneradorLaberinto {
     }
 
     /**
-     * Traza una ruta básica para asegurar que no existan áreas completamente
-     * aisladas.
-     */
-    private void asegurarConectividad(Celda[][] celdas, int filas, int columnas) {
-        int x = 1;
-        int y = 1;
-
-        while (x < filas - 2 || y < columnas - 2) {
-            celdas[x][y].setTipo(TipoCelda.CAMINO);
-
-            if (x < filas - 2 && (y >= columnas - 2 || random.nextBoolean())) {
-                x++;
-            } else if (y < columnas - 2) {
-                y++;
-            }
-        }
-        celdas[x][y].setTipo(TipoCelda.CAMINO);
-    }
-
-    /**
-     * Distribuye todos los elementos interactuables en el mapa utilizando
-     * los cálculos de balanceo de dificultad.
+     * Construye la densidad de elementos de esta dificultad: los cristales crecen
+     * con los caminos y el resto de cantidades siguen los cálculos de balanceo.
+     *
+     * @param filas Número de filas del laberinto.
+     * @return La densidad que se reparte sobre los caminos.
      */
-    private void colocarElementosSegunDificultad(Celda[][] celdas, int filas, int columnas) {
-        List<int[]> posicionesCaminos = new ArrayList<>();
-
-        for (int i = 0; i < filas; i++) {
-            for (int j = 0; j < columnas; j++) {
-                if (celdas[i][j].getTipo() == TipoCelda.CAMINO) {
-                    posicionesCaminos.add(new int[] { i, j });
-                }
-            }
-        }
-
-        if (posicionesCaminos.size() < 10)
-            return;
-
-        Collections.shuffle(posicionesCaminos, random);
-
-        // Entrada y Salida
-        int[] entrada = posicionesCaminos.get(0);
-        celdas[entrada[0]][entrada[1]].setTipo(TipoCelda.ENTRADA);
-
-        int[] salida = posicionesCaminos.get(posicionesCaminos.size() - 1);
-        celdas[salida[0]][salida[1]].setTipo(TipoCelda.SALIDA);
-
-        // Cálculos de cantidades
-        int numTrampas = calcularTrampas(filas);
-        int numEnergias = calcularEnergias(filas);
-        int numBombas = calcularBombas();
-        int numFosforos = calcularFosforos();
-        int numCristales = Math.max(5, posicionesCaminos.size() / 15);
-
-        int contadorPos = 1;
-        // Colocación secuencial de elementos en posiciones barajadas
-        for (int i = 0; i < numCristales; i++) {
-            int[] pos = encontrarPosicionValida(celdas, posicionesCaminos, contadorPos++);
-            if (pos != null)
-                celdas[pos[0]][pos[1]].setTipo(TipoCelda.CRISTAL);
-        }
-
-        for (int i = 0; i < numTrampas; i++) {
-            int[] pos = encontrarPosicionValida(celdas, posicionesCaminos, contadorPos++);
-            if (pos != null)
-                celdas[pos[0]][pos[1]].setTipo(TipoCelda.TRAMPA);
-        }
-
-        int[] posLlave = encontrarPosicionValida(celdas, posicionesCaminos, contadorPos++);
-        if (posLlave != null)
-            celdas[posLlave[0]][posLlave[1]].setTipo(TipoCelda.LLAVE);
-
-        for (int i = 0; i < numEnergias; i++) {
-            int[] pos = encontrarPosicionValida(celdas, posicionesCaminos, contadorPos++);
-            if (pos != null)
-                celdas[pos[0]][pos[1]].setTipo(TipoCelda.ENERGIA);
-        }
-
-        for (int i = 0; i < numBombas; i++) {
-            int[] pos = encontrarPosicionValida(celdas, posicionesCaminos, contadorPos++);
-            if (pos != null)
-                celdas[pos[0]][pos[1]].setTipo(TipoCelda.BOMBA);
-        }
-
-        for (int i = 0; i < numFosforos; i++) {
-            int[] pos = encontrarPosicionValida(celdas, posicionesCaminos, contadorPos++);
-            if (pos != null)
-                celdas[pos[0]][pos[1]].setTipo(TipoCelda.FOSFORO);
-        }
-
-        // Colocar exactamente 1 llave negra
-        int[] posLlaveNegra = encontrarPosicionValida(celdas, posicionesCaminos, contadorPos++);
-        if (posLlaveNegra != null)
-            celdas[posLlaveNegra[0]][posLlaveNegra[1]].setTipo(TipoCelda.LLAVE_NEGRA);
+    public DensidadElementos crearDensidad(int filas) {
+        return new DensidadElementos()
+                .con(TipoCelda.CRISTAL, 5, 15, Integer.MAX_VALUE)
+                .conFija(TipoCelda.TRAMPA, calcularTrampas(filas))
+                .conFija(TipoCelda.ENERGIA, calcularEnergias(filas))
+                .conFija(TipoCelda.BOMBA, calcularBombas())
+                .conFija(TipoCelda.FOSFORO, calcularFosforos())
+                .conFija(TipoCelda.LLAVE_NEGRA, 1);
     }
 
     /**
@@ -341,113 +273,4 @@ public class GeneradorLaberintoDificultad implements GeneradorLaberinto {
                 return 5;
         }
     }
-
-    /**
-     * Busca una celda de tipo CAMINO en la lista de posiciones barajadas.
-     */
-    private int[] encontrarPosicionValida(Celda[][] celdas, List<int[]> posiciones, int inicio) {
-        for (int i = inicio; i < posiciones.size(); i++) {
-            int[] pos = posiciones.get(i);
-            if (celdas[pos[0]][pos[1]].getTipo() == TipoCelda.CAMINO) {
-                return pos;
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Utiliza un algoritmo de búsqueda en anchura (BFS) para determinar si
-     * existe al menos un camino libre de muros entre la entrada y la salida.
-     *
-     * @return {@code true} si el laberinto es superable.
-     */
-    private boolean esSoluble(Celda[][] celdas, int filas, int columnas) {
-        int startX = -1, startY = -1;
-        int endX = -1, endY = -1;
-
-        for (int i = 0; i < filas; i++) {
-            for (int j = 0; j < columnas; j++) {
-                if (celdas[i][j].getTipo() == TipoCelda.ENTRADA) {
-                    startX = i;
-                    startY = j;
-                } else if (celdas[i][j].getTipo() == TipoCelda.SALIDA) {
-                    endX = i;
-                    endY = j;
-                }
-            }
-        }
-
-        if (startX == -1 || endX == -1)
-            return false;
-
-        Queue<int[]> queue = new LinkedList<>();
-        queue.add(new int[] { startX, startY });
-        boolean[][] visitado = new boolean[filas][columnas];
-        visitado[startX][startY] = true;
-
-        int[][] dirs = { { 0, 1 }, { 0, -1 }, { 1, 0 }, { -1, 0 } };
-
-        while (!queue.isEmpty()) {
-            int[] current = queue.poll();
-            if (current[0] == endX && current[1] == endY)
-                return true;
-
-            for (int[] d : dirs) {
-                int ni = current[0] + d[0];
-                int nj = current[1] + d[1];
-
-                if (ni >= 0 && ni < filas && nj >= 0 && nj < columnas &&
-                        !visitado[ni][nj] &&
-                        celdas[ni][nj].getTipo() != TipoCelda.MURO &&
-                        celdas[ni][nj].getTipo() != TipoCelda.MURO_ROJO) {
-                    visitado[ni][nj] = true;
-                    queue.add(new int[] { ni, nj });
-                }
-            }
-        }
-        return false;
-    }
-
-    /**
-     * En caso de que el laberinto sea insoluble, este método perfora muros
-     * en línea recta para crear una vía de escape garantizada.
-     */
-    private void forzarCamino(Celda[][] celdas, int filas, int columnas) {
-        int startX = -1, startY = -1;
-        int endX = -1, endY = -1;
-
-        for (int i = 0; i < filas; i++) {
-            for (int j = 0; j < columnas; j++) {
-                if (celdas[i][j].getTipo() == TipoCelda.ENTRADA) {
-                    startX = i;
-                    startY = j;
-                } else if (celdas[i][j].getTipo() == TipoCelda.SALIDA) {
-                    endX = i;
-                    endY = j;
-                }
-            }
-        }
-
-        if (startX == -1 || endX == -1)
-            return;
-
-        int currX = startX;
-        int currY = startY;
-
-        while (currX != endX || currY != endY) {
-            if (currX < endX)
-                currX++;
-            else if (currX > endX)
-                currX--;
-            else if (currY < endY)
-                currY++;
-            else if (currY > endY)
-                currY--;
-
-            if (celdas[currX][currY].getTipo() == TipoCelda.MURO ||
-                    celdas[currX][currY].getTipo() == TipoCelda.MURO_ROJO) {
-                celdas[currX][currY].setTipo(TipoCelda.CAMINO);
-            }
-        }
-    }
-}
\ No newline at end of file
+}
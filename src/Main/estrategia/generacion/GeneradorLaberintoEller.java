@@ -0,0 +1,315 @@
+package Main.estrategia.generacion;
+
+import Main.modelo.Constantes.TipoCelda;
+import Main.modelo.Dominio.Laberinto;
+import Main.servicio.Interfaces.GeneradorLaberinto;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+/**
+ * Implementación de la estrategia de generación de laberintos basada en el Algoritmo de Eller.
+ * <p>
+ * Eller construye un laberinto perfecto fila a fila recordando únicamente a qué
+ * conjunto pertenece cada celda de la fila actual. Por eso, además del contrato de
+ * {@link GeneradorLaberinto}, este generador puede entregar el laberinto como un
+ * flujo de filas ({@link #generarPorFilas} o {@link #iterarFilas}) usando memoria
+ * proporcional solo al ancho: el alto puede superar con creces lo que cabría en el
+ * heap si el consumidor escribe las filas en disco.
+ * </p>
+ * <p>
+ * Las celdas de coordenadas impares son los nodos. El flujo coloca la
+ * {@link TipoCelda#ENTRADA} en el primer nodo, la {@link TipoCelda#SALIDA} en el
+ * último y la {@link TipoCelda#LLAVE} en un nodo intermedio elegido al inicio. Al
+ * ser un laberinto perfecto, todos son alcanzables entre sí sin verificación
+ * posterior. Los consumibles se reparten durante el propio flujo con un
+ * {@link DecoradorLaberinto}: el número de caminos de un laberinto perfecto se
+ * conoce de antemano, así que cada camino puede aceptarse o descartarse en el
+ * momento de escribir su fila.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.2
+ * @since 17/10/2026
+ */
+public class GeneradorLaberintoEller implements GeneradorLaberinto {
+
+    /** Ordinal de {@link TipoCelda#MURO} en el almacenamiento compacto. */
+    private static final byte MURO = (byte) TipoCelda.MURO.ordinal();
+
+    /** Ordinal de {@link TipoCelda#CAMINO} en el almacenamiento compacto. */
+    private static final byte CAMINO = (byte) TipoCelda.CAMINO.ordinal();
+
+    /** Cantidad de consumibles que se reparten sobre los caminos. */
+    private final DensidadElementos densidad;
+
+    /**
+     * Constructor por defecto, con la densidad de elementos de Prim y Kruskal.
+     */
+    public GeneradorLaberintoEller() {
+        this(DensidadElementos.clasica());
+    }
+
+    /**
+     * Crea el generador con una densidad de consumibles propia.
+     *
+     * @param densidad Consumibles a repartir; sus puntos clave los coloca el propio flujo.
+     */
+    public GeneradorLaberintoEller(DensidadElementos densidad) {
+        this.densidad = densidad;
+    }
+
+    /**
+     * Genera el laberinto completo en memoria copiando cada fila del flujo.
+     *
+     * @param filas Número de filas.
+     * @param columnas Número de columnas.
+     * @param random Flujo aleatorio de esta generación.
+     * @return Un objeto {@link Laberinto} con el mismo contenido que el flujo de filas
+     *         de la misma semilla.
+     */
+    @Override
+    public Laberinto generar(int filas, int columnas, SplittableRandom random) {
+        Laberinto laberinto = new Laberinto(filas, columnas);
+        byte[] destino = laberinto.getTiposCrudos();
+        FlujoEller flujo = new FlujoEller(filas, columnas, random, densidad);
+        for (int fila = 0; fila < filas; fila++) {
+            System.arraycopy(flujo.next(), 0, destino, fila * columnas, columnas);
+        }
+        return laberinto;
+    }
+
+    /**
+     * Genera el laberinto entregando cada fila al consumidor en orden.
+     *
+     * @param filas Número de filas.
+     * @param columnas Número de columnas.
+     * @param semilla Valor para controlar la generación aleatoria.
+     * @param consumidor Receptor de las filas; el arreglo recibido se reutiliza.
+     */
+    public void generarPorFilas(int filas, int columnas, long semilla, ConsumidorFilas consumidor) {
+        FlujoEller flujo = new FlujoEller(filas, columnas, new SplittableRandom(semilla), densidad);
+        for (int fila = 0; fila < filas; fila++) {
+            consumidor.aceptar(fila, flujo.next());
+        }
+    }
+
+    /**
+     * Devuelve un iterador que genera las filas bajo demanda.
+     * <p>
+     * Cada llamada a {@code next()} calcula la siguiente fila y devuelve el mismo
+     * arreglo reutilizado, que debe copiarse si se quiere conservar.
+     * </p>
+     *
+     * @param filas Número de filas.
+     * @param columnas Número de columnas.
+     * @param semilla Valor para controlar la generación aleatoria.
+     * @return Un iterador sobre las {@code filas} filas del laberinto.
+     */
+    public Iterator<byte[]> iterarFilas(int filas, int columnas, long semilla) {
+        return new FlujoEller(filas, columnas, new SplittableRandom(semilla), densidad);
+    }
+
+    /**
+     * Estado del algoritmo entre una fila y la siguiente.
+     * <p>
+     * Las filas impares de la rejilla son filas de nodos, donde se deciden las
+     * uniones horizontales; las pares que las siguen contienen las bajadas hacia la
+     * próxima fila de nodos. Los conjuntos se renumeran en cada fila para que sus
+     * etiquetas quepan en {@code [0, nodosColumna)}, y las uniones de la fila se
+     * resuelven con un union-find de ese mismo tamaño.
+     * </p>
+     */
+    private static final class FlujoEller implements Iterator<byte[]> {
+        private final int filas;
+        private final int columnas;
+        private final int nodosFila;
+        private final int nodosColumna;
+        private final SplittableRandom random;
+
+        /** Fila de la rejilla que se entregará a continuación. */
+        private int filaActual;
+
+        /** Conjunto de cada nodo de la fila actual, o {@code -1} si aún no tiene. */
+        private final int[] conjuntos;
+        /** Union-find de las etiquetas de la fila actual. */
+        private final int[] padres;
+        /** Nodos de cada conjunto que quedan por decidir su bajada. */
+        private final int[] pendientes;
+        /** Etiqueta nueva de cada etiqueta antigua durante la renumeración. */
+        private final int[] renumeracion;
+        /** Indica si el conjunto ya tiene al menos una bajada. */
+        private final boolean[] conBajada;
+        /** Indica si el nodo está unido con su vecino derecho. */
+        private final boolean[] abiertos;
+        /** Indica si el nodo baja hacia la siguiente fila de nodos. */
+        private final boolean[] bajadas;
+
+        /** Fila entregada al consumidor; se reutiliza. */
+        private final byte[] fila;
+
+        /** Posición del nodo con la llave, o {@code -1} si no hay sitio para ella. */
+        private final int filaLlave, columnaLlave;
+
+        /** Reparto de consumibles sobre los caminos a medida que se escriben. */
+        private final DecoradorLaberinto decorador = new DecoradorLaberinto();
+
+        FlujoEller(int filas, int columnas, SplittableRandom random, DensidadElementos densidad) {
+            this.filas = filas;
+            this.columnas = columnas;
+            this.nodosFila = Math.max(0, (filas - 1) / 2);
+            this.nodosColumna = Math.max(0, (columnas - 1) / 2);
+            this.random = random;
+
+            this.conjuntos = new int[nodosColumna];
+            this.padres = new int[nodosColumna];
+            this.pendientes = new int[nodosColumna];
+            this.renumeracion = new int[nodosColumna];
+            this.conBajada = new boolean[nodosColumna];
+            this.abiertos = new boolean[nodosColumna];
+            this.bajadas = new boolean[nodosColumna];
+            this.fila = new byte[columnas];
+            Arrays.fill(conjuntos, -1);
+
+            // La llave va en cualquier nodo salvo el primero (entrada) y el último (salida)
+            long totalNodos = (long) nodosFila * nodosColumna;
+            if (totalNodos >= 3) {
+                long nodoLlave = 1 + (long) (random.nextDouble() * (totalNodos - 2));
+                this.filaLlave = (int) (nodoLlave / nodosColumna);
+                this.columnaLlave = (int) (nodoLlave % nodosColumna);
+
+                // Un árbol de expansión sobre los nodos: cada nodo y cada unión salvo una
+                // es un camino; la entrada, la llave y la salida no son candidatos
+                long caminos = 2 * totalNodos - 1;
+                if (caminos >= densidad.getMinimoCaminos()) {
+                    decorador.iniciar(caminos - 3, densidad, false, random);
+                }
+            } else {
+                this.filaLlave = -1;
+                this.columnaLlave = -1;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return filaActual < filas;
+        }
+
+        @Override
+        public byte[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int g = filaActual++;
+            Arrays.fill(fila, MURO);
+
+            if (g % 2 == 1 && g / 2 < nodosFila) {
+                procesarFilaNodos(g / 2);
+            } else if (g > 0 && g % 2 == 0 && g / 2 - 1 < nodosFila) {
+                for (int c = 0; c < nodosColumna; c++) {
+                    if (bajadas[c]) {
+                        fila[2 * c + 1] = CAMINO;
+                    }
+                }
+            }
+
+            for (int i = 0; i < columnas && !decorador.haTerminado(); i++) {
+                if (fila[i] == CAMINO) {
+                    int elemento = decorador.siguiente();
+                    if (elemento != DecoradorLaberinto.NINGUNO) {
+                        fila[i] = (byte) elemento;
+                    }
+                }
+            }
+            return fila;
+        }
+
+        /**
+         * Decide las uniones horizontales y las bajadas de una fila de nodos y la
+         * escribe en {@link #fila}.
+         */
+        private void procesarFilaNodos(int r) {
+            boolean ultima = r == nodosFila - 1;
+
+            // 1. Renumerar los conjuntos heredados y dar uno nuevo a cada nodo sin conjunto
+            Arrays.fill(renumeracion, -1);
+            int etiquetas = 0;
+            for (int c = 0; c < nodosColumna; c++) {
+                int anterior = conjuntos[c];
+                if (anterior < 0) {
+                    conjuntos[c] = etiquetas++;
+                } else {
+                    if (renumeracion[anterior] < 0) {
+                        renumeracion[anterior] = etiquetas++;
+                    }
+                    conjuntos[c] = renumeracion[anterior];
+                }
+            }
+            for (int i = 0; i < etiquetas; i++) {
+                padres[i] = i;
+                pendientes[i] = 0;
+                conBajada[i] = false;
+            }
+
+            // 2. Uniones horizontales: en la última fila se unen todos los conjuntos
+            for (int c = 0; c + 1 < nodosColumna; c++) {
+                int a = buscar(conjuntos[c]);
+                int b = buscar(conjuntos[c + 1]);
+                abiertos[c] = a != b && (ultima || random.nextBoolean());
+                if (abiertos[c]) {
+                    padres[b] = a;
+                }
+            }
+            for (int c = 0; c < nodosColumna; c++) {
+                conjuntos[c] = buscar(conjuntos[c]);
+                pendientes[conjuntos[c]]++;
+            }
+
+            // 3. Bajadas: al menos una por conjunto, salvo en la última fila
+            for (int c = 0; c < nodosColumna; c++) {
+                int conjunto = conjuntos[c];
+                boolean baja = false;
+                if (!ultima) {
+                    pendientes[conjunto]--;
+                    baja = random.nextBoolean() || (pendientes[conjunto] == 0 && !conBajada[conjunto]);
+                    conBajada[conjunto] |= baja;
+                }
+                bajadas[c] = baja;
+            }
+
+            // 4. Escribir la fila de nodos
+            for (int c = 0; c < nodosColumna; c++) {
+                fila[2 * c + 1] = CAMINO;
+                if (c + 1 < nodosColumna && abiertos[c]) {
+                    fila[2 * c + 2] = CAMINO;
+                }
+            }
+            if (filaLlave >= 0) {
+                if (r == 0) {
+                    fila[1] = (byte) TipoCelda.ENTRADA.ordinal();
+                }
+                if (r == filaLlave) {
+                    fila[2 * columnaLlave + 1] = (byte) TipoCelda.LLAVE.ordinal();
+                }
+                if (ultima) {
+                    fila[2 * nodosColumna - 1] = (byte) TipoCelda.SALIDA.ordinal();
+                }
+            }
+
+            // 5. Los nodos que bajan conservan su conjunto en la siguiente fila
+            for (int c = 0; c < nodosColumna; c++) {
+                conjuntos[c] = bajadas[c] ? conjuntos[c] : -1;
+            }
+        }
+
+        private int buscar(int etiqueta) {
+            while (padres[etiqueta] != etiqueta) {
+                padres[etiqueta] = padres[padres[etiqueta]];
+                etiqueta = padres[etiqueta];
+            }
+            return etiqueta;
+        }
+    }
+}
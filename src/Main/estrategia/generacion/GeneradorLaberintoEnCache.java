@@ -0,0 +1,95 @@
+package Main.estrategia.generacion;
+
+import Main.modelo.Dominio.Laberinto;
+import Main.servicio.Interfaces.GeneradorLaberinto;
+
+import java.util.SplittableRandom;
+
+/**
+ * Decorador que reutiliza los laberintos generados con semilla.
+ * <p>
+ * {@link GeneradorLaberinto#generarConSemilla} es determinista, así que repetir un
+ * reto diario, reintentar una partida o jugar la semilla de un torneo no necesita
+ * volver a generar el laberinto: basta con copiar la plantilla guardada en un
+ * {@link CacheLaberintos}. Varios decoradores pueden compartir el mismo almacén;
+ * el identificador de estrategia distingue sus laberintos.
+ * </p>
+ * <p>
+ * {@link #generar(int, int)} usa una semilla aleatoria y, como
+ * {@link #generar(int, int, SplittableRandom)}, no pasa por la caché.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.2
+ * @since 17/10/2026
+ */
+public class GeneradorLaberintoEnCache implements GeneradorLaberinto {
+
+    /** Generador real al que se delega cuando la caché no tiene el laberinto. */
+    private final GeneradorLaberinto delegado;
+
+    /** Identificador de la estrategia, parte de la clave de la caché. */
+    private final String estrategia;
+
+    /** Almacén de plantillas, posiblemente compartido con otros decoradores. */
+    private final CacheLaberintos cache;
+
+    /**
+     * Crea el decorador con un almacén propio con el límite por defecto.
+     *
+     * @param delegado   Generador que produce los laberintos.
+     * @param estrategia Identificador de la estrategia del delegado.
+     */
+    public GeneradorLaberintoEnCache(GeneradorLaberinto delegado, String estrategia) {
+        this(delegado, estrategia, new CacheLaberintos());
+    }
+
+    /**
+     * Crea el decorador sobre un almacén dado.
+     *
+     * @param delegado   Generador que produce los laberintos.
+     * @param estrategia Identificador de la estrategia del delegado; dos generadores
+     *                   que produzcan laberintos distintos con la misma semilla deben
+     *                   usar identificadores distintos.
+     * @param cache      Almacén de plantillas.
+     */
+    public GeneradorLaberintoEnCache(GeneradorLaberinto delegado, String estrategia, CacheLaberintos cache) {
+        this.delegado = delegado;
+        this.estrategia = estrategia;
+        this.cache = cache;
+    }
+
+    @Override
+    public Laberinto generar(int filas, int columnas) {
+        return delegado.generar(filas, columnas);
+    }
+
+    @Override
+    public Laberinto generar(int filas, int columnas, SplittableRandom random) {
+        return delegado.generar(filas, columnas, random);
+    }
+
+    /**
+     * Devuelve una copia del laberinto de esa semilla, generándolo solo la primera vez.
+     *
+     * @param filas Número de filas.
+     * @param columnas Número de columnas.
+     * @param semilla Valor para controlar la generación aleatoria.
+     * @return Un {@link Laberinto} independiente de la plantilla almacenada.
+     */
+    @Override
+    public Laberinto generarConSemilla(int filas, int columnas, long semilla) {
+        Laberinto laberinto = cache.obtener(estrategia, filas, columnas, semilla);
+        if (laberinto != null) {
+            return laberinto;
+        }
+        laberinto = delegado.generarConSemilla(filas, columnas, semilla);
+        cache.guardar(estrategia, filas, columnas, semilla, laberinto);
+        return laberinto;
+    }
+
+    /** @return El almacén de plantillas de este decorador. */
+    public CacheLaberintos getCache() {
+        return cache;
+    }
+}
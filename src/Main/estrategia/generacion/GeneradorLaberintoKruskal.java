@@ -0,0 +1,180 @@
+package Main.estrategia.generacion;
+
+import Main.modelo.Dominio.Laberinto;
+import Main.modelo.Constantes.TipoCelda;
+import Main.servicio.Interfaces.GeneradorLaberinto;
+
+import java.util.SplittableRandom;
+
+/**
+ * Implementación de la estrategia de generación de laberintos basada en el Algoritmo de Kruskal.
+ * <p>
+ * Las celdas de coordenadas impares son los nodos de una rejilla y cada muro entre dos
+ * nodos vecinos es una arista. Las aristas se barajan y se recorren una sola vez: un
+ * muro se abre si une dos regiones todavía separadas, lo que se decide con una
+ * estructura de conjuntos disjuntos (union-find). El resultado es un laberinto
+ * perfecto con ramificación uniforme y muchos callejones cortos.
+ * </p>
+ * <p>
+ * El union-find usa un {@code int[]} de padres con compresión de caminos y un
+ * {@code byte[]} de rangos, y las aristas se guardan empaquetadas en un único
+ * {@code int[]}. No hay frontera que mantener, por lo que el coste es lineal en el
+ * número de celdas y las únicas reservas de memoria son esos tres arreglos, lo
+ * que lo hace adecuado para los laberintos de mayor tamaño.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.4
+ * @since 17/10/2026
+ */
+public class GeneradorLaberintoKruskal implements GeneradorLaberinto {
+
+    /** Cristales, trampas y energías proporcionales al número de caminos. */
+    private static final DensidadElementos DENSIDAD = DensidadElementos.clasica();
+
+    /** Ordinal de {@link TipoCelda#CAMINO} en el almacenamiento compacto. */
+    private static final byte CAMINO = (byte) TipoCelda.CAMINO.ordinal();
+
+    /**
+     * Genera un laberinto a partir del flujo aleatorio recibido, reproducible por semilla.
+     *
+     * @param filas Número de filas.
+     * @param columnas Número de columnas.
+     * @param random Flujo aleatorio de esta generación.
+     * @return Un objeto {@link Laberinto} completamente formado.
+     */
+    @Override
+    public Laberinto generar(int filas, int columnas, SplittableRandom random) {
+        AnalizadorAlcance alcance = AnalizadorAlcance.delHilo();
+        ReparadorCaminos reparador = ReparadorCaminos.delHilo();
+        DecoradorLaberinto decorador = DecoradorLaberinto.delHilo();
+
+        // Un laberinto recién creado está lleno de muros
+        Laberinto laberinto = new Laberinto(filas, columnas);
+
+        generarLaberintoKruskal(laberinto, random);
+        decorador.decorar(laberinto, DENSIDAD, random);
+
+        // Verificar solubilidad y forzar si es necesario
+        if (!alcance.analizar(laberinto)) {
+            reparador.reparar(laberinto, alcance);
+        }
+
+        return laberinto;
+    }
+
+    /**
+     * Implementación central del algoritmo de Kruskal.
+     * <p>
+     * 1. Abre todos los nodos (celdas de fila y columna impares) como caminos aislados.<br>
+     * 2. Construye el arreglo de aristas: cada nodo con su vecino derecho y su vecino
+     * inferior, codificados como {@code nodo * 2 + orientación}.<br>
+     * 3. Baraja las aristas y abre el muro de cada una cuyos extremos pertenezcan a
+     * conjuntos distintos, uniéndolos.
+     * </p>
+     *
+     * @param laberinto Laberinto inicializado con muros.
+     * @param random Flujo aleatorio de la generación.
+     */
+    private void generarLaberintoKruskal(Laberinto laberinto, SplittableRandom random) {
+        int columnas = laberinto.getColumnas();
+        byte[] tipos = laberinto.getTiposCrudos();
+
+        // Nodos en filas y columnas impares, sin tocar el borde exterior
+        int nodosFila = (laberinto.getFilas() - 1) / 2;
+        int nodosColumna = (columnas - 1) / 2;
+        int totalNodos = nodosFila * nodosColumna;
+        if (totalNodos == 0) {
+            return;
+        }
+
+        int totalAristas = 0;
+        int[] aristas = new int[2 * totalNodos];
+        for (int f = 0; f < nodosFila; f++) {
+            for (int c = 0; c < nodosColumna; c++) {
+                int nodo = f * nodosColumna + c;
+                tipos[(2 * f + 1) * columnas + 2 * c + 1] = CAMINO;
+                if (c + 1 < nodosColumna) {
+                    aristas[totalAristas++] = nodo * 2;
+                }
+                if (f + 1 < nodosFila) {
+                    aristas[totalAristas++] = nodo * 2 + 1;
+                }
+            }
+        }
+
+        for (int i = totalAristas; i > 1; i--) {
+            int j = random.nextInt(i);
+            int tmp = aristas[i - 1];
+            aristas[i - 1] = aristas[j];
+            aristas[j] = tmp;
+        }
+
+        int[] padres = new int[totalNodos];
+        byte[] rangos = new byte[totalNodos];
+        for (int i = 0; i < totalNodos; i++) {
+            padres[i] = i;
+        }
+
+        int uniones = 0;
+        for (int i = 0; i < totalAristas && uniones < totalNodos - 1; i++) {
+            int nodo = aristas[i] >>> 1;
+            boolean haciaAbajo = (aristas[i] & 1) != 0;
+            int vecino = haciaAbajo ? nodo + nodosColumna : nodo + 1;
+
+            if (unir(padres, rangos, nodo, vecino)) {
+                uniones++;
+                int fila = 2 * (nodo / nodosColumna) + 1;
+                int columna = 2 * (nodo % nodosColumna) + 1;
+                // Abrir el muro entre el nodo y su vecino
+                if (haciaAbajo) {
+                    tipos[(fila + 1) * columnas + columna] = CAMINO;
+                } else {
+                    tipos[fila * columnas + columna + 1] = CAMINO;
+                }
+            }
+        }
+    }
+
+    /**
+     * Busca el representante del conjunto de un nodo comprimiendo el camino
+     * recorrido (por división a la mitad, sin recursión).
+     *
+     * @param padres Arreglo de padres del union-find.
+     * @param nodo Nodo consultado.
+     * @return El representante de su conjunto.
+     */
+    private static int buscar(int[] padres, int nodo) {
+        while (padres[nodo] != nodo) {
+            padres[nodo] = padres[padres[nodo]];
+            nodo = padres[nodo];
+        }
+        return nodo;
+    }
+
+    /**
+     * Une los conjuntos de dos nodos usando el rango para mantener los árboles bajos.
+     *
+     * @param padres Arreglo de padres del union-find.
+     * @param rangos Cota superior de la altura de cada árbol.
+     * @param a Primer nodo.
+     * @param b Segundo nodo.
+     * @return {@code true} si estaban en conjuntos distintos y se unieron.
+     */
+    private static boolean unir(int[] padres, byte[] rangos, int a, int b) {
+        int raizA = buscar(padres, a);
+        int raizB = buscar(padres, b);
+        if (raizA == raizB) {
+            return false;
+        }
+        if (rangos[raizA] < rangos[raizB]) {
+            padres[raizA] = raizB;
+        } else if (rangos[raizA] > rangos[raizB]) {
+            padres[raizB] = raizA;
+        } else {
+            padres[raizB] = raizA;
+            rangos[raizA]++;
+        }
+        return true;
+    }
+}
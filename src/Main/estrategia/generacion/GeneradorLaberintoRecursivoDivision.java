@@ -1,13 +1,13 @@
 package Main.estrategia.generacion;
 
 import Main.modelo.Dominio.Laberinto;
-import Main.modelo.Dominio.Celda;
 import Main.modelo.Constantes.TipoCelda;
 import Main.servicio.Interfaces.GeneradorLaberinto;
 
 import java.util.*;
-import java.util.Queue;
-import java.util.LinkedList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.random.RandomGenerator;
 
 /**
  * Implementación de la estrategia de generación de laberintos mediante el algoritmo de División Recursiva.
@@ -20,382 +20,286 @@ import java.util.LinkedList;
  * El resultado es un laberinto con una estructura similar a un conjunto de habitaciones interconectadas,
  * lo cual genera grandes áreas abiertas y pasillos largos, aumentando la dificultad de orientación.
  * </p>
+ * <p>
+ * Las subdivisiones usan una pila explícita y, en modo paralelo, se reparten como
+ * tareas {@link RecursiveAction} sobre el {@link ForkJoinPool} común.
+ * </p>
  * * @author Mario Sanchez
- * @version 1.0
+ * @version 1.7
  * @since 22/12/25
  */
 public class GeneradorLaberintoRecursivoDivision implements GeneradorLaberinto {
 
+    /** Cristales, trampas y energías proporcionales al número de caminos. */
+    private static final DensidadElementos DENSIDAD = new DensidadElementos()
+            .con(TipoCelda.CRISTAL, 0, 12, 8)
+            .con(TipoCelda.TRAMPA, 0, 10, 10)
+            .con(TipoCelda.ENERGIA, 0, 25, 4);
+
+    /** Ordinal de {@link TipoCelda#MURO} en el almacenamiento compacto. */
+    private static final byte MURO = (byte) TipoCelda.MURO.ordinal();
+
+    /** Ordinal de {@link TipoCelda#CAMINO} en el almacenamiento compacto. */
+    private static final byte CAMINO = (byte) TipoCelda.CAMINO.ordinal();
+
+    /**
+     * Número de celdas a partir del cual una cámara se divide en tareas paralelas;
+     * por debajo, el coste de crear tareas supera al de procesarla directamente.
+     */
+    private static final int UMBRAL_PARALELO = 128 * 128;
+
     /**
-     * Motor de aleatoriedad para determinar la orientación de la división y la posición de los pasajes.
+     * Indica si las subdivisiones se reparten entre los hilos de un {@link ForkJoinPool}.
      */
-    private Random random;
+    private final boolean paralelo;
 
     /**
-     * Constructor por defecto. Inicializa el generador de números aleatorios.
+     * Constructor por defecto, en modo secuencial.
      */
     public GeneradorLaberintoRecursivoDivision() {
-        this.random = new Random();
+        this(false);
     }
 
     /**
-     * Genera un laberinto utilizando el timestamp actual como semilla.
+     * Construye el generador indicando el modo de subdivisión.
+     * <p>
+     * En ambos modos cada cámara obtiene su propio flujo {@link SplittableRandom}
+     * derivado del de su cámara padre, de modo que el resultado para una semilla no
+     * depende del número de hilos ni del orden en que se procesen las cámaras: el
+     * modo paralelo produce los mismos laberintos que el secuencial.
+     * </p>
      *
-     * @param filas Cantidad de filas del laberinto.
-     * @param columnas Cantidad de columnas del laberinto.
-     * @return Un objeto {@link Laberinto} con estructura de división recursiva.
+     * @param paralelo {@code true} para subdividir en paralelo.
      */
-    @Override
-    public Laberinto generar(int filas, int columnas) {
-        return generarConSemilla(filas, columnas, System.currentTimeMillis());
+    public GeneradorLaberintoRecursivoDivision(boolean paralelo) {
+        this.paralelo = paralelo;
     }
 
     /**
-     * Genera un laberinto basado en una semilla para permitir la recreación de estructuras específicas.
+     * Genera un laberinto a partir del flujo aleatorio recibido.
      * <p>
      * El flujo de trabajo consiste en:
      * 1. Inicializar todas las celdas como {@link TipoCelda#CAMINO}.
      * 2. Construir muros perimetrales.
-     * 3. Invocar el proceso recursivo de subdivisión de áreas.
+     * 3. Invocar el proceso de subdivisión de áreas, secuencial o en paralelo.
      * 4. Distribuir elementos especiales en las áreas transitables.
      * </p>
      *
      * @param filas Número de filas del laberinto.
      * @param columnas Número de columnas del laberinto.
-     * @param semilla Valor para inicializar el generador aleatorio.
+     * @param random Flujo aleatorio de esta generación.
      * @return Un objeto {@link Laberinto} estructurado.
      */
     @Override
-    public Laberinto generarConSemilla(int filas, int columnas, long semilla) {
-        this.random = new Random(semilla);
-
-        Celda[][] celdas = new Celda[filas][columnas];
-
-        // Inicializar todo como camino
-        for (int i = 0; i < filas; i++) {
-            for (int j = 0; j < columnas; j++) {
-                celdas[i][j] = new Celda(TipoCelda.CAMINO, i, j);
-            }
+    public Laberinto generar(int filas, int columnas, SplittableRandom random) {
+        AnalizadorAlcance alcance = AnalizadorAlcance.delHilo();
+        ReparadorCaminos reparador = ReparadorCaminos.delHilo();
+        DecoradorLaberinto decorador = DecoradorLaberinto.delHilo();
+
+        // Un laberinto recién creado está lleno de muros: abrir el interior como camino
+        Laberinto laberinto = new Laberinto(filas, columnas);
+        byte[] tipos = laberinto.getTiposCrudos();
+        for (int i = 1; i < filas - 1; i++) {
+            Arrays.fill(tipos, i * columnas + 1, (i + 1) * columnas - 1, CAMINO);
         }
 
-        for (int i = 0; i < filas; i++) {
-            celdas[i][0].setTipo(TipoCelda.MURO);
-            celdas[i][columnas - 1].setTipo(TipoCelda.MURO);
-        }
-        for (int j = 0; j < columnas; j++) {
-            celdas[0][j].setTipo(TipoCelda.MURO);
-            celdas[filas - 1][j].setTipo(TipoCelda.MURO);
+        // Dividir la región interior (x recorre columnas, y recorre filas)
+        SplittableRandom flujoDivision = random.split();
+        if (paralelo) {
+            ForkJoinPool.commonPool().invoke(
+                    new Division(tipos, columnas, 1, 1, columnas - 2, filas - 2, flujoDivision));
+        } else {
+            dividir(tipos, columnas, 1, 1, columnas - 2, filas - 2, flujoDivision);
         }
 
-        // Dividir recursivamente
-        dividir(celdas, 1, 1, filas - 2, columnas - 2);
-
-        colocarElementosEspeciales(celdas, filas, columnas);
+        decorador.decorar(laberinto, DENSIDAD, random);
 
         // Verificar solubilidad y forzar si es necesario
-        if (!esSoluble(celdas, filas, columnas)) {
-            forzarCamino(celdas, filas, columnas);
+        if (!alcance.analizar(laberinto)) {
+            reparador.reparar(laberinto, alcance);
         }
 
-        return new Laberinto(celdas, filas, columnas);
+        return laberinto;
     }
 
     /**
-     * Metodo recursivo que subdivide una región del laberinto en dos partes menores.
+     * Subdivide una región del laberinto hasta que no queden cámaras divisibles.
      * <p>
      * El algoritmo decide si dividir horizontal o verticalmente basándose en la forma de
      * la región (ancho contra alto). Se coloca un muro con un único hueco (pasaje) para
      * garantizar que todas las "habitaciones" sigan estando conectadas.
      * </p>
+     * <p>
+     * Las cámaras pendientes se guardan en una pila explícita en lugar de en la pila
+     * de llamadas, por lo que la profundidad de la subdivisión no está limitada por
+     * el tamaño del hilo. Se procesa siempre primero la primera subcámara, en el
+     * mismo orden que la versión recursiva. Cada cámara usa su propio flujo
+     * aleatorio, derivado con {@link SplittableRandom#split()} del de su cámara
+     * padre, igual que en las tareas de {@link Division}.
+     * </p>
      *
-     * @param celdas Matriz de celdas.
-     * @param x Coordenada inicial en filas.
-     * @param y Coordenada inicial en columnas.
-     * @param ancho Extensión horizontal de la región actual.
-     * @param alto Extensión vertical de la región actual.
+     * @param tipos Almacenamiento compacto de tipos del laberinto.
+     * @param columnas Número de columnas del laberinto.
+     * @param x Columna inicial de la región.
+     * @param y Fila inicial de la región.
+     * @param ancho Extensión horizontal de la región.
+     * @param alto Extensión vertical de la región.
+     * @param random Flujo aleatorio de la región.
      */
-    private void dividir(Celda[][] celdas, int x, int y, int ancho, int alto) {
-        if (ancho < 2 || alto < 2)
+    private static void dividir(byte[] tipos, int columnas, int x, int y, int ancho, int alto,
+                                SplittableRandom random) {
+        int[] pila = new int[64];
+        SplittableRandom[] flujos = new SplittableRandom[16];
+        int cima = apilar(pila, 0, x, y, ancho, alto);
+        if (cima == 0) {
             return;
-        boolean horizontal = (alto > ancho);
-        if (ancho == alto) {
-            horizontal = random.nextBoolean();
         }
-
-        if (horizontal) {
-            int muroY = y + random.nextInt(alto);
-            int pasajeX = x + random.nextInt(ancho);
-
-            for (int i = x; i < x + ancho; i++) {
-                if (i != pasajeX) {
-                    celdas[muroY][i].setTipo(TipoCelda.MURO);
-                }
+        flujos[0] = random;
+
+        int[] hijas = new int[8];
+        while (cima > 0) {
+            cima -= 4;
+            SplittableRandom flujo = flujos[cima / 4];
+            flujos[cima / 4] = null;
+            dividirCamara(tipos, columnas, pila[cima], pila[cima + 1], pila[cima + 2], pila[cima + 3], flujo, hijas);
+            SplittableRandom flujoPrimera = esDivisible(hijas[2], hijas[3]) ? flujo.split() : null;
+            SplittableRandom flujoSegunda = esDivisible(hijas[6], hijas[7]) ? flujo.split() : null;
+
+            if (cima + 8 > pila.length) {
+                pila = Arrays.copyOf(pila, pila.length * 2);
+                flujos = Arrays.copyOf(flujos, flujos.length * 2);
             }
-
-            dividir(celdas, x, y, ancho, muroY - y);
-            dividir(celdas, x, muroY + 1, ancho, alto - (muroY - y) - 1);
-        } else {
-            int muroX = x + random.nextInt(ancho);
-            int pasajeY = y + random.nextInt(alto);
-
-            for (int j = y; j < y + alto; j++) {
-                if (j != pasajeY) {
-                    celdas[j][muroX].setTipo(TipoCelda.MURO);
-                }
+            if (flujoSegunda != null) {
+                flujos[cima / 4] = flujoSegunda;
+                cima = apilar(pila, cima, hijas[4], hijas[5], hijas[6], hijas[7]);
+            }
+            if (flujoPrimera != null) {
+                flujos[cima / 4] = flujoPrimera;
+                cima = apilar(pila, cima, hijas[0], hijas[1], hijas[2], hijas[3]);
             }
-
-            dividir(celdas, x, y, muroX - x, alto);
-            dividir(celdas, muroX + 1, y, ancho - (muroX - x) - 1, alto);
         }
     }
 
     /**
-     * Coloca los puntos de entrada, salida y consumibles en las áreas de camino.
+     * Tarea de subdivisión en paralelo de una cámara.
      * <p>
-     * Utiliza un barajado de las posiciones de camino disponibles para maximizar la
-     * dispersión de los objetos especiales.
+     * Las cámaras de hasta {@link #UMBRAL_PARALELO} celdas se terminan en el hilo
+     * actual con la pila explícita; las mayores se dividen una vez y sus dos
+     * subcámaras, que ya no comparten celdas, se procesan como tareas independientes.
      * </p>
-     *
-     * @param celdas Matriz del laberinto.
-     * @param filas Dimensiones verticales.
-     * @param columnas Dimensiones horizontales.
      */
-    private void colocarElementosEspeciales(Celda[][] celdas, int filas, int columnas) {
-        List<int[]> posicionesCaminos = new ArrayList<>();
-
-        for (int i = 0; i < filas; i++) {
-            for (int j = 0; j < columnas; j++) {
-                if (celdas[i][j].getTipo() == TipoCelda.CAMINO) {
-                    posicionesCaminos.add(new int[] { i, j });
-                }
-            }
-        }
-
-        if (posicionesCaminos.size() < 10)
-            return;
-
-        Collections.shuffle(posicionesCaminos, random);
-
-        int[] entrada = posicionesCaminos.get(0);
-        celdas[entrada[0]][entrada[1]].setTipo(TipoCelda.ENTRADA);
-
-        int[] salida = posicionesCaminos.get(posicionesCaminos.size() - 1);
-        celdas[salida[0]][salida[1]].setTipo(TipoCelda.SALIDA);
-
-        int numCristales = Math.min(8, posicionesCaminos.size() / 12);
-        for (int i = 0; i < numCristales; i++) {
-            int[] pos = encontrarPosicionValida(celdas, posicionesCaminos, i + 1);
-            if (pos != null) {
-                celdas[pos[0]][pos[1]].setTipo(TipoCelda.CRISTAL);
-            }
+    private static class Division extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] tipos;
+        private final int columnas;
+        private final int x, y, ancho, alto;
+        private final transient SplittableRandom random;
+
+        Division(byte[] tipos, int columnas, int x, int y, int ancho, int alto, SplittableRandom random) {
+            this.tipos = tipos;
+            this.columnas = columnas;
+            this.x = x;
+            this.y = y;
+            this.ancho = ancho;
+            this.alto = alto;
+            this.random = random;
         }
 
-        int numTrampas = Math.min(10, posicionesCaminos.size() / 10);
-        for (int i = 0; i < numTrampas; i++) {
-            int[] pos = encontrarPosicionValida(celdas, posicionesCaminos, i + numCristales + 1);
-            if (pos != null) {
-                celdas[pos[0]][pos[1]].setTipo(TipoCelda.TRAMPA);
+        @Override
+        protected void compute() {
+            if (!esDivisible(ancho, alto)) {
+                return;
             }
-        }
-
-        int[] posLlave = encontrarPosicionValida(celdas, posicionesCaminos, numCristales + numTrampas + 1);
-        if (posLlave != null) {
-            celdas[posLlave[0]][posLlave[1]].setTipo(TipoCelda.LLAVE);
-        }
-
-        int numEnergia = Math.min(4, posicionesCaminos.size() / 25);
-        for (int i = 0; i < numEnergia; i++) {
-            int[] pos = encontrarPosicionValida(celdas, posicionesCaminos,
-                    numCristales + numTrampas + 1 + i);
-            if (pos != null) {
-                celdas[pos[0]][pos[1]].setTipo(TipoCelda.ENERGIA);
+            if ((long) ancho * alto <= UMBRAL_PARALELO) {
+                dividir(tipos, columnas, x, y, ancho, alto, random);
+                return;
             }
-        }
-    }
 
-    /**
-     * Busca una posición libre en la lista barajada de caminos.
-     *
-     * @param celdas Matriz actual.
-     * @param posiciones Lista de coordenadas transitables.
-     * @param inicio Índice de partida en la búsqueda.
-     * @return Arreglo de coordenadas [fila, columna] o {@code null}.
-     */
-    private int[] encontrarPosicionValida(Celda[][] celdas, List<int[]> posiciones, int inicio) {
-        for (int i = inicio; i < posiciones.size(); i++) {
-            int[] pos = posiciones.get(i);
-            if (celdas[pos[0]][pos[1]].getTipo() == TipoCelda.CAMINO) {
-                return pos;
+            int[] hijas = new int[8];
+            dividirCamara(tipos, columnas, x, y, ancho, alto, random, hijas);
+            SplittableRandom flujoPrimera = esDivisible(hijas[2], hijas[3]) ? random.split() : null;
+            SplittableRandom flujoSegunda = esDivisible(hijas[6], hijas[7]) ? random.split() : null;
+
+            if (flujoPrimera != null && flujoSegunda != null) {
+                invokeAll(new Division(tipos, columnas, hijas[0], hijas[1], hijas[2], hijas[3], flujoPrimera),
+                        new Division(tipos, columnas, hijas[4], hijas[5], hijas[6], hijas[7], flujoSegunda));
+            } else if (flujoPrimera != null) {
+                new Division(tipos, columnas, hijas[0], hijas[1], hijas[2], hijas[3], flujoPrimera).compute();
+            } else if (flujoSegunda != null) {
+                new Division(tipos, columnas, hijas[4], hijas[5], hijas[6], hijas[7], flujoSegunda).compute();
             }
         }
-        return null;
     }
 
     /**
-     * Verifica si el laberinto tiene solución usando BFS para encontrar un camino
-     * desde la entrada hasta la salida y asegurando que la llave sea accesible.
+     * Coloca el muro divisorio de una cámara, con un único pasaje, y calcula sus
+     * dos subcámaras.
      *
-     * @param celdas Matriz del laberinto.
-     * @param filas Número de filas.
-     * @param columnas Número de columnas.
-     * @return {@code true} si el laberinto es soluble.
+     * @param tipos Almacenamiento compacto de tipos del laberinto.
+     * @param columnas Número de columnas del laberinto.
+     * @param x Columna inicial de la cámara.
+     * @param y Fila inicial de la cámara.
+     * @param ancho Extensión horizontal de la cámara (al menos 2).
+     * @param alto Extensión vertical de la cámara (al menos 2).
+     * @param random Fuente de aleatoriedad de la cámara.
+     * @param hijas Salida: {@code x, y, ancho, alto} de la primera y la segunda subcámara.
      */
-    private boolean esSoluble(Celda[][] celdas, int filas, int columnas) {
-        // Encontrar entrada, salida y llave
-        int startX = -1, startY = -1;
-        int endX = -1, endY = -1;
-        int keyX = -1, keyY = -1;
-
-        for (int i = 0; i < filas; i++) {
-            for (int j = 0; j < columnas; j++) {
-                if (celdas[i][j].getTipo() == TipoCelda.ENTRADA) {
-                    startX = i;
-                    startY = j;
-                } else if (celdas[i][j].getTipo() == TipoCelda.SALIDA) {
-                    endX = i;
-                    endY = j;
-                } else if (celdas[i][j].getTipo() == TipoCelda.LLAVE) {
-                    keyX = i;
-                    keyY = j;
-                }
-            }
-        }
-
-        if (startX == -1 || endX == -1 || keyX == -1) {
-            return false;
-        }
-
-        // Verificar que se puede llegar desde entrada hasta la llave
-        if (!hayCaminoBFS(celdas, filas, columnas, startX, startY, keyX, keyY)) {
-            return false;
+    private static void dividirCamara(byte[] tipos, int columnas, int x, int y, int ancho, int alto,
+                                      RandomGenerator random, int[] hijas) {
+        boolean horizontal = (alto > ancho);
+        if (ancho == alto) {
+            horizontal = random.nextBoolean();
         }
 
-        // Verificar que se puede llegar desde la llave hasta la salida
-        return hayCaminoBFS(celdas, filas, columnas, keyX, keyY, endX, endY);
-    }
-
-    /**
-     * Algoritmo BFS para verificar si existe un camino entre dos puntos.
-     *
-     * @param celdas Matriz del laberinto.
-     * @param filas Número de filas.
-     * @param columnas Número de columnas.
-     * @param startX Coordenada X inicial.
-     * @param startY Coordenada Y inicial.
-     * @param endX Coordenada X final.
-     * @param endY Coordenada Y final.
-     * @return {@code true} si hay camino.
-     */
-    private boolean hayCaminoBFS(Celda[][] celdas, int filas, int columnas, 
-                                int startX, int startY, int endX, int endY) {
-        boolean[][] visitado = new boolean[filas][columnas];
-        Queue<int[]> cola = new LinkedList<>();
-        cola.add(new int[]{startX, startY});
-        visitado[startX][startY] = true;
-
-        int[][] dirs = {{-1,0}, {1,0}, {0,-1}, {0,1}};
-
-        while (!cola.isEmpty()) {
-            int[] actual = cola.poll();
-            int x = actual[0], y = actual[1];
-
-            if (x == endX && y == endY) {
-                return true;
-            }
-
-            for (int[] dir : dirs) {
-                int nx = x + dir[0];
-                int ny = y + dir[1];
+        if (horizontal) {
+            int muroY = y + random.nextInt(alto);
+            int pasajeX = x + random.nextInt(ancho);
 
-                if (esPosicionValida(nx, ny, filas, columnas) && !visitado[nx][ny]) {
-                    TipoCelda tipo = celdas[nx][ny].getTipo();
-                    if (tipo != TipoCelda.MURO) {
-                        visitado[nx][ny] = true;
-                        cola.add(new int[]{nx, ny});
-                    }
+            int fila = muroY * columnas;
+            for (int i = x; i < x + ancho; i++) {
+                if (i != pasajeX) {
+                    tipos[fila + i] = MURO;
                 }
             }
-        }
 
-        return false;
-    }
+            hijas[0] = x; hijas[1] = y; hijas[2] = ancho; hijas[3] = muroY - y;
+            hijas[4] = x; hijas[5] = muroY + 1; hijas[6] = ancho; hijas[7] = alto - (muroY - y) - 1;
+        } else {
+            int muroX = x + random.nextInt(ancho);
+            int pasajeY = y + random.nextInt(alto);
 
-    /**
-     * Fuerza la creación de un camino si el laberinto no tiene solución.
-     * Crea un camino directo desde la entrada hasta la llave y desde la llave hasta la salida.
-     *
-     * @param celdas Matriz del laberinto.
-     * @param filas Número de filas.
-     * @param columnas Número de columnas.
-     */
-    private void forzarCamino(Celda[][] celdas, int filas, int columnas) {
-        // Encontrar entrada, salida y llave
-        int startX = -1, startY = -1;
-        int endX = -1, endY = -1;
-        int keyX = -1, keyY = -1;
-
-        for (int i = 0; i < filas; i++) {
-            for (int j = 0; j < columnas; j++) {
-                if (celdas[i][j].getTipo() == TipoCelda.ENTRADA) {
-                    startX = i;
-                    startY = j;
-                } else if (celdas[i][j].getTipo() == TipoCelda.SALIDA) {
-                    endX = i;
-                    endY = j;
-                } else if (celdas[i][j].getTipo() == TipoCelda.LLAVE) {
-                    keyX = i;
-                    keyY = j;
+            for (int j = y; j < y + alto; j++) {
+                if (j != pasajeY) {
+                    tipos[j * columnas + muroX] = MURO;
                 }
             }
-        }
 
-        if (startX != -1 && keyX != -1) {
-            crearCaminoDirecto(celdas, startX, startY, keyX, keyY);
-        }
-        if (keyX != -1 && endX != -1) {
-            crearCaminoDirecto(celdas, keyX, keyY, endX, endY);
+            hijas[0] = x; hijas[1] = y; hijas[2] = muroX - x; hijas[3] = alto;
+            hijas[4] = muroX + 1; hijas[5] = y; hijas[6] = ancho - (muroX - x) - 1; hijas[7] = alto;
         }
     }
 
     /**
-     * Crea un camino directo entre dos puntos convirtiendo muros en caminos.
-     *
-     * @param celdas Matriz del laberinto.
-     * @param x1 Coordenada X inicial.
-     * @param y1 Coordenada Y inicial.
-     * @param x2 Coordenada X final.
-     * @param y2 Coordenada Y final.
+     * Indica si una cámara es lo bastante grande para dividirse.
      */
-    private void crearCaminoDirecto(Celda[][] celdas, int x1, int y1, int x2, int y2) {
-        // Camino horizontal primero
-        int minX = Math.min(y1, y2);
-        int maxX = Math.max(y1, y2);
-        for (int y = minX; y <= maxX; y++) {
-            if (celdas[x1][y].getTipo() == TipoCelda.MURO) {
-                celdas[x1][y].setTipo(TipoCelda.CAMINO);
-            }
-        }
-
-        // Camino vertical después
-        int minY = Math.min(x1, x2);
-        int maxY = Math.max(x1, x2);
-        for (int x = minY; x <= maxY; x++) {
-            if (celdas[x][y2].getTipo() == TipoCelda.MURO) {
-                celdas[x][y2].setTipo(TipoCelda.CAMINO);
-            }
-        }
+    private static boolean esDivisible(int ancho, int alto) {
+        return ancho >= 2 && alto >= 2;
     }
 
     /**
-     * Valida que las coordenadas se encuentren dentro de los límites de la matriz.
+     * Apila una cámara si es divisible.
      *
-     * @param x Fila.
-     * @param y Columna.
-     * @param filas Total filas.
-     * @param columnas Total columnas.
-     * @return {@code true} si la posición es segura de acceder.
+     * @return La nueva cima de la pila.
      */
-    private boolean esPosicionValida(int x, int y, int filas, int columnas) {
-        return x >= 0 && x < filas && y >= 0 && y < columnas;
+    private static int apilar(int[] pila, int cima, int x, int y, int ancho, int alto) {
+        if (!esDivisible(ancho, alto)) {
+            return cima;
+        }
+        pila[cima] = x;
+        pila[cima + 1] = y;
+        pila[cima + 2] = ancho;
+        pila[cima + 3] = alto;
+        return cima + 4;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,103 @@
+package Main.estrategia.generacion;
+
+import Main.modelo.Constantes.TipoCelda;
+import Main.modelo.Dominio.Laberinto;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Relleno aleatorio de muros y caminos sobre el almacenamiento compacto de un
+ * laberinto.
+ * <p>
+ * En lugar de pedir un {@code nextDouble()} por celda, cada {@code nextLong()} se
+ * reparte en ocho bytes y cada byte decide una celda comparándolo con un umbral
+ * en {@code [0, 256]}: una probabilidad {@code p} se aproxima con un error menor
+ * que {@code 1/512}. Los muros rojos usan su propio flujo de bytes, consumido solo
+ * por las celdas que resultan muro, así que el relleno hace una llamada al
+ * generador cada ocho celdas en lugar de una o dos por celda.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.0
+ * @since 17/10/2026
+ */
+final class RellenoRuido {
+
+    private static final byte MURO = (byte) TipoCelda.MURO.ordinal();
+    private static final byte MURO_ROJO = (byte) TipoCelda.MURO_ROJO.ordinal();
+    private static final byte CAMINO = (byte) TipoCelda.CAMINO.ordinal();
+
+    /** Celdas que se deciden con un mismo valor de 64 bits. */
+    private static final int BYTES_POR_PALABRA = 8;
+
+    private RellenoRuido() {
+    }
+
+    /**
+     * Rellena el interior del laberinto con caminos y muros y cierra el borde con
+     * {@link TipoCelda#MURO}.
+     *
+     * @param laberinto             Laberinto a rellenar; se modifica en el sitio.
+     * @param probabilidadCamino    Probabilidad de que una celda interior sea camino.
+     * @param probabilidadMuroRojo  Probabilidad de que un muro interior sea
+     *                              {@link TipoCelda#MURO_ROJO}; {@code 0} no consume
+     *                              valores aleatorios para ello.
+     * @param random                Flujo aleatorio de la generación.
+     */
+    static void rellenar(Laberinto laberinto, double probabilidadCamino, double probabilidadMuroRojo,
+                         RandomGenerator random) {
+        byte[] tipos = laberinto.getTiposCrudos();
+        int filas = laberinto.getFilas();
+        int columnas = laberinto.getColumnas();
+        int umbralCamino = umbral(probabilidadCamino);
+        int umbralRojo = umbral(probabilidadMuroRojo);
+
+        long bitsCamino = 0;
+        int restantesCamino = 0;
+        long bitsRojo = 0;
+        int restantesRojo = 0;
+
+        Arrays.fill(tipos, 0, Math.min(tipos.length, columnas), MURO);
+        for (int i = 1; i < filas - 1; i++) {
+            int inicio = i * columnas;
+            tipos[inicio] = MURO;
+            tipos[inicio + columnas - 1] = MURO;
+            for (int c = inicio + 1; c < inicio + columnas - 1; c++) {
+                if (restantesCamino == 0) {
+                    bitsCamino = random.nextLong();
+                    restantesCamino = BYTES_POR_PALABRA;
+                }
+                int muestra = (int) (bitsCamino & 0xFF);
+                bitsCamino >>>= 8;
+                restantesCamino--;
+                if (muestra < umbralCamino) {
+                    tipos[c] = CAMINO;
+                    continue;
+                }
+
+                if (umbralRojo == 0) {
+                    tipos[c] = MURO;
+                    continue;
+                }
+                if (restantesRojo == 0) {
+                    bitsRojo = random.nextLong();
+                    restantesRojo = BYTES_POR_PALABRA;
+                }
+                tipos[c] = (int) (bitsRojo & 0xFF) < umbralRojo ? MURO_ROJO : MURO;
+                bitsRojo >>>= 8;
+                restantesRojo--;
+            }
+        }
+        if (filas > 1) {
+            Arrays.fill(tipos, (filas - 1) * columnas, filas * columnas, MURO);
+        }
+    }
+
+    /**
+     * @return La probabilidad expresada como número de valores de un byte, en {@code [0, 256]}.
+     */
+    private static int umbral(double probabilidad) {
+        return (int) Math.round(Math.max(0, Math.min(1, probabilidad)) * 256);
+    }
+}
@@ -0,0 +1,236 @@
+package Main.estrategia.generacion;
+
+import Main.modelo.Constantes.TipoCelda;
+import Main.modelo.Dominio.Laberinto;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Motor de reparación que conecta los puntos clave de un laberinto sin solución
+ * rompiendo el menor número posible de muros.
+ * <p>
+ * Usa un BFS 0-1: entrar en una celda transitable cuesta 0 y entrar en un muro
+ * ({@link TipoCelda#MURO} o {@link TipoCelda#MURO_ROJO}) cuesta 1. El recorrido se
+ * hace por niveles de costo con dos colas: la del nivel actual crece con los
+ * vecinos transitables y la del siguiente recoge los muros. Al llegar al destino
+ * solo se abren los muros del camino encontrado, en lugar del corredor en L que
+ * trazaba {@code forzarCamino}.
+ * </p>
+ * <p>
+ * Los muros del borde exterior nunca se rompen. Las colas, distancias y
+ * predecesores se reutilizan entre llamadas; una instancia no es segura para uso
+ * concurrente y {@link #delHilo()} entrega la del hilo actual.
+ * </p>
+ * <p>
+ * Cada instancia cuenta sus propias reparaciones y, como los generadores usan la
+ * del hilo, esos contadores sirven para medir lo que repara un hilo concreto. Los
+ * totales de todos los hilos se acumulan además en contadores compartidos
+ * ({@link #getReparacionesTotales()}, {@link #getCeldasCambiadasTotales()}) para
+ * seguir la calidad de los generadores.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.2
+ * @since 17/10/2026
+ */
+public class ReparadorCaminos {
+
+    /** Desplazamiento de fila de cada dirección: arriba, abajo, izquierda, derecha. */
+    private static final int[] DELTA_FILA = { -1, 1, 0, 0 };
+
+    /** Desplazamiento de columna de cada dirección. */
+    private static final int[] DELTA_COLUMNA = { 0, 0, -1, 1 };
+
+    /** Ordinal de {@link TipoCelda#CAMINO} en el almacenamiento compacto. */
+    private static final byte CAMINO = (byte) TipoCelda.CAMINO.ordinal();
+
+    /** Tipos que hay que romper para pasar, indexados por ordinal. */
+    private static final boolean[] ES_MURO = new boolean[TipoCelda.values().length];
+
+    static {
+        ES_MURO[TipoCelda.MURO.ordinal()] = true;
+        ES_MURO[TipoCelda.MURO_ROJO.ordinal()] = true;
+    }
+
+    /** Instancia de cada hilo: permite compartir los generadores entre hilos sin perder la reutilización. */
+    private static final ThreadLocal<ReparadorCaminos> POR_HILO = ThreadLocal.withInitial(ReparadorCaminos::new);
+
+    /** Laberintos reparados por todas las instancias. */
+    private static final LongAdder REPARACIONES_TOTALES = new LongAdder();
+
+    /** Celdas convertidas en camino por todas las instancias. */
+    private static final LongAdder CELDAS_CAMBIADAS_TOTALES = new LongAdder();
+
+    /** Muros rotos mínimos para llegar a cada celda en la reparación en curso. */
+    private int[] costos = new int[0];
+
+    /** Celda desde la que se llegó a cada celda con su costo mínimo. */
+    private int[] predecesores = new int[0];
+
+    /** Cola del nivel de costo actual. */
+    private int[] nivelActual = new int[0];
+
+    /** Cola del siguiente nivel de costo. */
+    private int[] nivelSiguiente = new int[0];
+
+    /** Número de laberintos reparados desde la creación del motor. */
+    private long reparaciones;
+
+    /** Celdas convertidas en camino desde la creación del motor. */
+    private long celdasCambiadas;
+
+    /**
+     * Conecta la entrada con la llave y la llave con la salida localizadas por el
+     * último análisis de {@code alcance}.
+     *
+     * @param laberinto Laberinto a reparar; se modifica en el sitio.
+     * @param alcance   Analizador que acaba de examinar {@code laberinto}.
+     * @return Número de celdas convertidas en camino.
+     */
+    public int reparar(Laberinto laberinto, AnalizadorAlcance alcance) {
+        int entrada = alcance.getEntrada();
+        int llave = alcance.getLlave();
+        int salida = alcance.getSalida();
+
+        int cambiadas = 0;
+        if (entrada >= 0 && llave >= 0 && !alcance.isLlaveAlcanzable()) {
+            cambiadas += Math.max(0, abrirCamino(laberinto, entrada, llave));
+        }
+        // Con la llave ya unida a la entrada, basta con unir la salida a la llave
+        int desde = llave >= 0 ? llave : entrada;
+        if (desde >= 0 && salida >= 0 && !alcance.isSalidaAlcanzable()) {
+            cambiadas += Math.max(0, abrirCamino(laberinto, desde, salida));
+        }
+
+        reparaciones++;
+        celdasCambiadas += cambiadas;
+        REPARACIONES_TOTALES.increment();
+        CELDAS_CAMBIADAS_TOTALES.add(cambiadas);
+        return cambiadas;
+    }
+
+    /**
+     * Abre el camino entre dos posiciones que rompe menos muros.
+     *
+     * @param laberinto Laberinto a modificar.
+     * @param origen    Posición empaquetada inicial.
+     * @param destino   Posición empaquetada final.
+     * @return Número de muros abiertos, o {@code -1} si no hay camino posible sin
+     *         romper el borde.
+     */
+    public int abrirCamino(Laberinto laberinto, int origen, int destino) {
+        byte[] tipos = laberinto.getTiposCrudos();
+        int filas = laberinto.getFilas();
+        int columnas = laberinto.getColumnas();
+        prepararArreglos(tipos.length);
+        Arrays.fill(costos, 0, tipos.length, Integer.MAX_VALUE);
+
+        int actuales = 0;
+        nivelActual[actuales++] = origen;
+        costos[origen] = 0;
+        predecesores[origen] = -1;
+        int costo = 0;
+
+        while (actuales > 0) {
+            int siguientes = 0;
+            // El nivel actual crece mientras se exploran sus vecinos transitables
+            for (int cabeza = 0; cabeza < actuales; cabeza++) {
+                int actual = nivelActual[cabeza];
+                if (costos[actual] != costo) {
+                    continue; // Ya se alcanzó con menos muros desde otro nivel
+                }
+                if (actual == destino) {
+                    return abrir(tipos, destino);
+                }
+                int x = actual / columnas;
+                int y = actual - x * columnas;
+                for (int d = 0; d < 4; d++) {
+                    int nx = x + DELTA_FILA[d];
+                    int ny = y + DELTA_COLUMNA[d];
+                    if (nx < 0 || nx >= filas || ny < 0 || ny >= columnas) {
+                        continue;
+                    }
+                    int vecino = nx * columnas + ny;
+                    if (ES_MURO[tipos[vecino]]) {
+                        // Los muros del borde exterior son infranqueables
+                        if (nx == 0 || nx == filas - 1 || ny == 0 || ny == columnas - 1) {
+                            continue;
+                        }
+                        if (costo + 1 < costos[vecino]) {
+                            costos[vecino] = costo + 1;
+                            predecesores[vecino] = actual;
+                            nivelSiguiente[siguientes++] = vecino;
+                        }
+                    } else if (costo < costos[vecino]) {
+                        costos[vecino] = costo;
+                        predecesores[vecino] = actual;
+                        nivelActual[actuales++] = vecino;
+                    }
+                }
+            }
+
+            int[] intercambio = nivelActual;
+            nivelActual = nivelSiguiente;
+            nivelSiguiente = intercambio;
+            actuales = siguientes;
+            costo++;
+        }
+        return -1;
+    }
+
+    /**
+     * Recorre los predecesores desde el destino abriendo los muros del camino.
+     *
+     * @return Número de muros abiertos.
+     */
+    private int abrir(byte[] tipos, int destino) {
+        int abiertos = 0;
+        for (int celda = destino; celda >= 0; celda = predecesores[celda]) {
+            if (ES_MURO[tipos[celda]]) {
+                tipos[celda] = CAMINO;
+                abiertos++;
+            }
+        }
+        return abiertos;
+    }
+
+    /**
+     * Agranda los arreglos si el laberinto es mayor que los anteriores.
+     */
+    private void prepararArreglos(int total) {
+        if (costos.length < total) {
+            costos = new int[total];
+            predecesores = new int[total];
+            nivelActual = new int[total];
+            nivelSiguiente = new int[total];
+        }
+    }
+
+    /** @return Número de laberintos reparados por este motor. */
+    public long getReparaciones() {
+        return reparaciones;
+    }
+
+    /** @return Total de celdas convertidas en camino por este motor. */
+    public long getCeldasCambiadas() {
+        return celdasCambiadas;
+    }
+
+    /** @return Laberintos reparados por todos los hilos desde que se cargó la clase. */
+    public static long getReparacionesTotales() {
+        return REPARACIONES_TOTALES.sum();
+    }
+
+    /** @return Celdas convertidas en camino por todos los hilos desde que se cargó la clase. */
+    public static long getCeldasCambiadasTotales() {
+        return CELDAS_CAMBIADAS_TOTALES.sum();
+    }
+
+    /**
+     * @return La instancia reservada al hilo actual, que conserva sus arreglos entre llamadas.
+     */
+    public static ReparadorCaminos delHilo() {
+        return POR_HILO.get();
+    }
+}
@@ -0,0 +1,607 @@
+package Main.estrategia.generacion;
+
+import Main.modelo.Constantes.TipoCelda;
+import Main.modelo.Dominio.Laberinto;
+
+import java.util.Arrays;
+
+/**
+ * Motor que decide si un laberinto se puede ganar respetando los recursos del
+ * jugador: vida, bombas, fósforos y llave.
+ * <p>
+ * {@link AnalizadorAlcance} solo mira la conectividad; aquí se recorre el espacio
+ * de estados (posición, bombas, fósforos, llave, vida) con las reglas de la
+ * partida: una {@link TipoCelda#TRAMPA} quita {@value #DANO_TRAMPA} de vida, una
+ * explosión gasta una bomba, un fósforo y {@value #COSTE_EXPLOSION} de vida y
+ * abre los {@link TipoCelda#MURO_ROJO} vecinos, y {@link TipoCelda#VIDA} y
+ * {@link TipoCelda#ENERGIA} curan hasta {@value #VIDA_MAXIMA}. El jugador parte
+ * de la {@link TipoCelda#ENTRADA} con toda la vida y sin bombas ni fósforos, y
+ * gana al pisar la {@link TipoCelda#SALIDA} con la llave sin haber llegado a
+ * cero de vida.
+ * </p>
+ * <p>
+ * Cada estado se empaqueta en un {@code int}: la celda en los bits altos y, en
+ * los {@value #BITS_ESTADO} bajos, las bombas y fósforos (topados en
+ * {@value #MAXIMO_INVENTARIO}), la llave, la vida en tramos de cinco puntos
+ * (exacta, porque todos los efectos son múltiplos de cinco) y si el jugador
+ * acaba de detonar en esa celda. Por cada celda, bombas, fósforos, llave y
+ * detonación se guarda en un byte la mayor vida con la que se cerró; un estado
+ * que llega a una celda con no más bombas, fósforos ni vida que otro ya cerrado
+ * allí con la misma llave se descarta al sacarlo de la cola. Esa tabla
+ * también reconoce los estados repetidos, así que basta con 64 bytes por celda.
+ * La búsqueda es un BFS 0-1: moverse cuesta un paso y detonar no cuesta ninguno,
+ * así que cada plan es el de menos movimientos. La cola doble guarda en cada
+ * entrada el estado y el índice de su padre en el registro de estados cerrados,
+ * del que se reconstruye el plan.
+ * </p>
+ * <p>
+ * El estado no recuerda qué objetos se recogieron ni qué muros se abrieron: en
+ * el modelo una trampa daña cada vez que se pisa, un muro rojo solo se cruza
+ * justo después de detonar en la celda vecina y un objeto podría recogerse dos
+ * veces. Por eso cada plan se ejecuta sobre una copia del laberinto con las
+ * reglas reales, que retira objetos y trampas y abre los muros; si al hacerlo el
+ * jugador queda peor de lo previsto (un objeto que ya no está) se vuelve a
+ * planificar desde el estado real. Si no hay plan hasta la salida sin tener la
+ * llave, se planifica primero el tramo hasta la llave, de modo que un muro
+ * abierto para llegar a ella sirva también para volver. Todo plan devuelto es
+ * por tanto jugable; a cambio, el resolutor puede no encontrar un plan que
+ * existe, y un laberinto sin plan se trata como no ganable. La
+ * {@link TipoCelda#LLAVE_NEGRA} no se usa. Una instancia reutiliza sus arreglos
+ * y no es segura para uso concurrente; {@link #delHilo()} entrega la del hilo
+ * actual.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.1
+ * @since 17/10/2026
+ */
+public class ResolutorRecursos {
+
+    /** Vida con la que empieza el jugador y tope de las curas. */
+    public static final int VIDA_MAXIMA = 100;
+
+    /** Vida que quita una trampa. */
+    public static final int DANO_TRAMPA = 20;
+
+    /** Vida que cuesta una explosión. */
+    public static final int COSTE_EXPLOSION = 35;
+
+    /** Vida que recupera una celda de vida. */
+    public static final int CURA_VIDA = 25;
+
+    /** Vida que recupera una celda de energía. */
+    public static final int CURA_ENERGIA = 10;
+
+    /** Bombas o fósforos que se distinguen; los que sobran se descartan. */
+    public static final int MAXIMO_INVENTARIO = 3;
+
+    /** Bits bajos del estado que no son la celda. */
+    public static final int BITS_ESTADO = 11;
+
+    /** Celdas del mayor laberinto cuyos estados caben en un {@code int}. */
+    public static final int MAXIMO_CELDAS = 1 << (31 - BITS_ESTADO);
+
+    /** Planificaciones extra, tras la primera, que se permiten por resolución. */
+    public static final int MAXIMO_REPLANIFICACIONES = 64;
+
+    /** Puntos de vida de cada tramo. */
+    private static final int TRAMO_VIDA = 5;
+
+    // Disposición de los bits bajos del estado
+    private static final int BIT_DETONADO = 1;
+    private static final int DESPLAZAMIENTO_VIDA = 1;
+    private static final int MASCARA_VIDA = 0x1F;
+    private static final int BIT_LLAVE = 1 << 6;
+    private static final int DESPLAZAMIENTO_FOSFOROS = 7;
+    private static final int DESPLAZAMIENTO_BOMBAS = 9;
+    private static final int MASCARA_INVENTARIO = 0x3;
+
+    // Disposición del grupo de un estado: el estado sin la vida
+    private static final int BITS_GRUPO = 6;
+    private static final int DESPLAZAMIENTO_GRUPO_FOSFOROS = 2;
+    private static final int DESPLAZAMIENTO_GRUPO_BOMBAS = 4;
+    private static final int MASCARA_GRUPO_INVENTARIO = 0x3C;
+
+    private static final byte MURO = (byte) TipoCelda.MURO.ordinal();
+    private static final byte MURO_ROJO = (byte) TipoCelda.MURO_ROJO.ordinal();
+    private static final byte CAMINO = (byte) TipoCelda.CAMINO.ordinal();
+    private static final byte ENTRADA = (byte) TipoCelda.ENTRADA.ordinal();
+    private static final byte SALIDA = (byte) TipoCelda.SALIDA.ordinal();
+    private static final byte LLAVE = (byte) TipoCelda.LLAVE.ordinal();
+    private static final byte TRAMPA = (byte) TipoCelda.TRAMPA.ordinal();
+    private static final byte BOMBA = (byte) TipoCelda.BOMBA.ordinal();
+    private static final byte FOSFORO = (byte) TipoCelda.FOSFORO.ordinal();
+    private static final byte VIDA = (byte) TipoCelda.VIDA.ordinal();
+    private static final byte ENERGIA = (byte) TipoCelda.ENERGIA.ordinal();
+
+    /** Instancia de cada hilo: permite compartir los generadores entre hilos sin perder la reutilización. */
+    private static final ThreadLocal<ResolutorRecursos> POR_HILO = ThreadLocal.withInitial(ResolutorRecursos::new);
+
+    /**
+     * Mayor vida con la que se ha cerrado cada grupo de estados: misma celda,
+     * bombas, fósforos, llave y detonación. {@code 0} si ninguno; todo estado
+     * vivo tiene al menos un tramo de vida.
+     */
+    private byte[] mejorVida = new byte[0];
+
+    /** Cola doble circular de entradas {@code padre << 32 | estado}. */
+    private long[] cola = new long[16];
+
+    /** Posición de la primera entrada de la cola. */
+    private int cabeza;
+
+    /** Entradas ocupadas de la cola. */
+    private int ocupadas;
+
+    /** Estados cerrados en el orden en que salieron de la cola. */
+    private int[] registro = new int[16];
+
+    /** Índice en {@link #registro} del padre de cada estado cerrado. */
+    private int[] padres = new int[16];
+
+    /** Estados del registro ocupados. */
+    private int registrados;
+
+    /** Estados previstos por la última búsqueda tras cada acción. */
+    private int[] tramo = new int[16];
+
+    /** Acciones de la última búsqueda. */
+    private int longitudTramo;
+
+    /** Copia del laberinto sobre la que se ejecutan los planes. */
+    private byte[] mapa = new byte[0];
+
+    /** Celdas tras cada acción del plan ejecutado; una explosión repite la celda. */
+    private int[] plan = new int[16];
+
+    /** Acciones del plan ejecutado. */
+    private int longitud;
+
+    /** Explosiones del plan ejecutado. */
+    private int explosiones;
+
+    /** Celda de partida del plan ejecutado. */
+    private int origen;
+
+    /** Búsquedas repetidas en la última resolución por desviarse del plan. */
+    private int replanificaciones;
+
+    /** Estados cerrados por las búsquedas de la última resolución. */
+    private int estadosExplorados;
+
+    /**
+     * Busca un plan que gana la partida y lo ejecuta sobre una copia del laberinto.
+     * Si hubo que replanificar, el plan ejecutado conserva los pasos dados antes
+     * de la desviación y puede no ser el más corto.
+     *
+     * @param laberinto Laberinto a resolver; no se modifica.
+     * @return Movimientos del plan, o {@code -1} si no se encontró ninguno.
+     * @throws IllegalArgumentException si el laberinto supera {@link #MAXIMO_CELDAS}.
+     */
+    public int resolver(Laberinto laberinto) {
+        byte[] tipos = laberinto.getTiposCrudos();
+        int columnas = laberinto.getColumnas();
+        prepararArreglos(tipos.length);
+        System.arraycopy(tipos, 0, mapa, 0, tipos.length);
+        longitud = 0;
+        explosiones = 0;
+        replanificaciones = 0;
+        estadosExplorados = 0;
+        origen = buscarEntrada(tipos);
+        if (origen < 0) {
+            return -1;
+        }
+
+        int actual = origen;
+        int vida = VIDA_MAXIMA, bombas = 0, fosforos = 0;
+        boolean llave = false;
+        for (; replanificaciones <= MAXIMO_REPLANIFICACIONES; replanificaciones++) {
+            int inicio = empaquetar(actual, Math.min(MAXIMO_INVENTARIO, bombas),
+                    Math.min(MAXIMO_INVENTARIO, fosforos), llave, vida / TRAMO_VIDA, false);
+            if (!buscar(mapa, columnas, inicio, false)
+                    && (llave || !buscar(mapa, columnas, inicio, true))) {
+                break;
+            }
+
+            for (int i = 0; i < longitudTramo; i++) {
+                int previsto = tramo[i];
+                int celda = previsto >>> BITS_ESTADO;
+                if (celda == actual) {
+                    bombas--;
+                    fosforos--;
+                    vida -= COSTE_EXPLOSION;
+                    abrirMurosRojos(columnas, actual);
+                    explosiones++;
+                } else {
+                    byte tipo = mapa[celda];
+                    if (tipo == MURO || tipo == MURO_ROJO) {
+                        return fallar();
+                    }
+                    if (tipo == TRAMPA) {
+                        vida -= DANO_TRAMPA;
+                    } else if (tipo == BOMBA) {
+                        bombas++;
+                    } else if (tipo == FOSFORO) {
+                        fosforos++;
+                    } else if (tipo == LLAVE) {
+                        llave = true;
+                    } else if (tipo == VIDA) {
+                        vida = Math.min(VIDA_MAXIMA, vida + CURA_VIDA);
+                    } else if (tipo == ENERGIA) {
+                        vida = Math.min(VIDA_MAXIMA, vida + CURA_ENERGIA);
+                    }
+                    if (tipo != ENTRADA && tipo != SALIDA) {
+                        mapa[celda] = CAMINO;
+                    }
+                    actual = celda;
+                }
+                anadirAlPlan(actual);
+                if (vida <= 0) {
+                    return fallar();
+                }
+                if (llave && mapa[actual] == SALIDA) {
+                    return longitud - explosiones;
+                }
+                // Un objeto que ya no estaba deja al jugador peor de lo previsto
+                if (bombas < ((previsto >>> DESPLAZAMIENTO_BOMBAS) & MASCARA_INVENTARIO)
+                        || fosforos < ((previsto >>> DESPLAZAMIENTO_FOSFOROS) & MASCARA_INVENTARIO)
+                        || vida / TRAMO_VIDA < ((previsto >>> DESPLAZAMIENTO_VIDA) & MASCARA_VIDA)) {
+                    break;
+                }
+            }
+        }
+        return fallar();
+    }
+
+    /**
+     * Descarta el plan ejecutado.
+     *
+     * @return {@code -1}.
+     */
+    private int fallar() {
+        longitud = 0;
+        explosiones = 0;
+        return -1;
+    }
+
+    /**
+     * Atajo de {@link #resolver(Laberinto)} para los generadores.
+     *
+     * @param laberinto Laberinto a verificar.
+     * @return {@code true} si la partida se puede ganar.
+     */
+    public boolean esGanable(Laberinto laberinto) {
+        return resolver(laberinto) >= 0;
+    }
+
+    /**
+     * BFS 0-1 sobre el espacio de estados desde un estado dado.
+     *
+     * @param tipos      Tipos de las celdas sobre los que se planifica.
+     * @param inicio     Estado empaquetado de partida.
+     * @param soloLlave {@code true} para detenerse al tener la llave en lugar de
+     *                  al llegar a la salida con ella.
+     * @return {@code true} si se encontró un plan; queda en {@link #tramo}.
+     */
+    private boolean buscar(byte[] tipos, int columnas, int inicio, boolean soloLlave) {
+        int total = tipos.length;
+        Arrays.fill(mejorVida, 0, total << BITS_GRUPO, (byte) 0);
+        longitudTramo = 0;
+        registrados = 0;
+        cabeza = 0;
+        ocupadas = 0;
+
+        int dano = DANO_TRAMPA / TRAMO_VIDA;
+        int costeExplosion = COSTE_EXPLOSION / TRAMO_VIDA;
+        anadirAtras(-1, inicio);
+
+        while (ocupadas > 0) {
+            long entradaCola = cola[cabeza];
+            cabeza = (cabeza + 1) & (cola.length - 1);
+            ocupadas--;
+            int estado = (int) entradaCola;
+            int grupo = grupo(estado);
+            int vidaEstado = (estado >>> DESPLAZAMIENTO_VIDA) & MASCARA_VIDA;
+            // También descarta el mismo estado ya cerrado por otro camino
+            if (dominado(grupo, vidaEstado)) {
+                continue;
+            }
+            mejorVida[grupo] = (byte) vidaEstado;
+            int indice = registrar(estado, (int) (entradaCola >>> 32));
+
+            int actual = estado >>> BITS_ESTADO;
+            boolean llave = (estado & BIT_LLAVE) != 0;
+            if (llave && (soloLlave || tipos[actual] == SALIDA)) {
+                reconstruir(indice);
+                estadosExplorados += registrados;
+                return true;
+            }
+            int bombas = (estado >>> DESPLAZAMIENTO_BOMBAS) & MASCARA_INVENTARIO;
+            int fosforos = (estado >>> DESPLAZAMIENTO_FOSFOROS) & MASCARA_INVENTARIO;
+            int vida = vidaEstado;
+            boolean detonado = (estado & BIT_DETONADO) != 0;
+
+            int fila = actual / columnas;
+            int columna = actual - fila * columnas;
+            boolean hayMuroRojo = false;
+            if (fila > 0) {
+                hayMuroRojo |= mover(tipos, indice, actual - columnas, bombas, fosforos, llave, vida, detonado, dano);
+            }
+            if (actual + columnas < total) {
+                hayMuroRojo |= mover(tipos, indice, actual + columnas, bombas, fosforos, llave, vida, detonado, dano);
+            }
+            if (columna > 0) {
+                hayMuroRojo |= mover(tipos, indice, actual - 1, bombas, fosforos, llave, vida, detonado, dano);
+            }
+            if (columna < columnas - 1) {
+                hayMuroRojo |= mover(tipos, indice, actual + 1, bombas, fosforos, llave, vida, detonado, dano);
+            }
+
+            // Detonar no mueve al jugador: arista de coste cero hacia el frente
+            if (hayMuroRojo && !detonado && bombas > 0 && fosforos > 0 && vida > costeExplosion) {
+                anadirDelante(indice, empaquetar(actual, bombas - 1, fosforos - 1, llave, vida - costeExplosion, true));
+            }
+        }
+        estadosExplorados += registrados;
+        return false;
+    }
+
+    /**
+     * Un estado está dominado si ya se cerró, con no más movimientos, otro en la
+     * misma celda con la misma llave y al menos tantas bombas, fósforos y vida:
+     * todo lo que alcance este lo alcanza aquel antes o a la vez.
+     */
+    private boolean dominado(int grupo, int vida) {
+        int base = grupo & ~MASCARA_GRUPO_INVENTARIO;
+        int bombas = (grupo >>> DESPLAZAMIENTO_GRUPO_BOMBAS) & MASCARA_INVENTARIO;
+        int fosforos = (grupo >>> DESPLAZAMIENTO_GRUPO_FOSFOROS) & MASCARA_INVENTARIO;
+        for (int b = bombas; b <= MAXIMO_INVENTARIO; b++) {
+            for (int f = fosforos; f <= MAXIMO_INVENTARIO; f++) {
+                if (mejorVida[base | b << DESPLAZAMIENTO_GRUPO_BOMBAS | f << DESPLAZAMIENTO_GRUPO_FOSFOROS] >= vida) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return El grupo de un estado: el estado sin los bits de la vida.
+     */
+    private static int grupo(int estado) {
+        return (estado >>> 6) << 1 | (estado & BIT_DETONADO);
+    }
+
+    /**
+     * Encola el estado que resulta de entrar en una vecina.
+     *
+     * @return {@code true} si la vecina es un muro rojo, cruzable o no.
+     */
+    private boolean mover(byte[] tipos, int padre, int vecina, int bombas, int fosforos, boolean llave,
+            int vida, boolean detonado, int dano) {
+        byte tipo = tipos[vecina];
+        if (tipo == MURO) {
+            return false;
+        }
+        if (tipo == MURO_ROJO) {
+            if (detonado) {
+                anadirAtras(padre, empaquetar(vecina, bombas, fosforos, llave, vida, false));
+            }
+            return true;
+        }
+        if (tipo == TRAMPA) {
+            vida -= dano;
+            if (vida <= 0) {
+                return false;
+            }
+        } else if (tipo == BOMBA) {
+            bombas = Math.min(MAXIMO_INVENTARIO, bombas + 1);
+        } else if (tipo == FOSFORO) {
+            fosforos = Math.min(MAXIMO_INVENTARIO, fosforos + 1);
+        } else if (tipo == LLAVE) {
+            llave = true;
+        } else if (tipo == VIDA) {
+            vida = Math.min(VIDA_MAXIMA / TRAMO_VIDA, vida + CURA_VIDA / TRAMO_VIDA);
+        } else if (tipo == ENERGIA) {
+            vida = Math.min(VIDA_MAXIMA / TRAMO_VIDA, vida + CURA_ENERGIA / TRAMO_VIDA);
+        }
+        anadirAtras(padre, empaquetar(vecina, bombas, fosforos, llave, vida, false));
+        return false;
+    }
+
+    /**
+     * @return El identificador empaquetado de un estado.
+     */
+    private static int empaquetar(int celda, int bombas, int fosforos, boolean llave, int vida, boolean detonado) {
+        return celda << BITS_ESTADO
+                | bombas << DESPLAZAMIENTO_BOMBAS
+                | fosforos << DESPLAZAMIENTO_FOSFOROS
+                | (llave ? BIT_LLAVE : 0)
+                | vida << DESPLAZAMIENTO_VIDA
+                | (detonado ? BIT_DETONADO : 0);
+    }
+
+    /**
+     * Abre en la copia del laberinto los muros rojos de las ocho celdas que
+     * rodean una explosión.
+     */
+    private void abrirMurosRojos(int columnas, int centro) {
+        int filas = mapa.length / columnas;
+        int fila = centro / columnas, columna = centro % columnas;
+        for (int f = Math.max(0, fila - 1); f <= Math.min(filas - 1, fila + 1); f++) {
+            for (int c = Math.max(0, columna - 1); c <= Math.min(columnas - 1, columna + 1); c++) {
+                if (mapa[f * columnas + c] == MURO_ROJO) {
+                    mapa[f * columnas + c] = CAMINO;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Posición empaquetada de la entrada, o {@code -1} si no hay.
+     */
+    private static int buscarEntrada(byte[] tipos) {
+        for (int celda = 0; celda < tipos.length; celda++) {
+            if (tipos[celda] == ENTRADA) {
+                return celda;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Añade una celda al plan ejecutado.
+     */
+    private void anadirAlPlan(int celda) {
+        if (longitud == plan.length) {
+            plan = Arrays.copyOf(plan, longitud * 2);
+        }
+        plan[longitud++] = celda;
+    }
+
+    /**
+     * Copia al tramo los estados de la cadena de padres que termina en un estado,
+     * sin el de partida.
+     */
+    private void reconstruir(int indice) {
+        int acciones = 0;
+        for (int i = indice; padres[i] >= 0; i = padres[i]) {
+            acciones++;
+        }
+        if (tramo.length < acciones) {
+            tramo = new int[Math.max(acciones, tramo.length * 2)];
+        }
+        longitudTramo = acciones;
+        for (int i = indice; padres[i] >= 0; i = padres[i]) {
+            tramo[--acciones] = registro[i];
+        }
+    }
+
+    /**
+     * Anota un estado cerrado y su padre.
+     *
+     * @return Su índice en el registro.
+     */
+    private int registrar(int estado, int padre) {
+        if (registrados == registro.length) {
+            registro = Arrays.copyOf(registro, registrados * 2);
+            padres = Arrays.copyOf(padres, registrados * 2);
+        }
+        registro[registrados] = estado;
+        padres[registrados] = padre;
+        return registrados++;
+    }
+
+    /**
+     * Encola un estado al final: una arista de coste uno.
+     */
+    private void anadirAtras(int padre, int estado) {
+        // Basta con mirar su propio grupo; la dominación completa se aplica al sacarlo
+        if (mejorVida[grupo(estado)] >= ((estado >>> DESPLAZAMIENTO_VIDA) & MASCARA_VIDA)) {
+            return;
+        }
+        if (ocupadas == cola.length) {
+            agrandarCola();
+        }
+        cola[(cabeza + ocupadas) & (cola.length - 1)] = (long) padre << 32 | (estado & 0xFFFFFFFFL);
+        ocupadas++;
+    }
+
+    /**
+     * Encola un estado al frente: una arista de coste cero.
+     */
+    private void anadirDelante(int padre, int estado) {
+        if (mejorVida[grupo(estado)] >= ((estado >>> DESPLAZAMIENTO_VIDA) & MASCARA_VIDA)) {
+            return;
+        }
+        if (ocupadas == cola.length) {
+            agrandarCola();
+        }
+        cabeza = (cabeza - 1) & (cola.length - 1);
+        cola[cabeza] = (long) padre << 32 | (estado & 0xFFFFFFFFL);
+        ocupadas++;
+    }
+
+    /**
+     * Duplica la cola circular dejando sus entradas desde el principio.
+     */
+    private void agrandarCola() {
+        long[] nueva = new long[cola.length * 2];
+        for (int i = 0; i < ocupadas; i++) {
+            nueva[i] = cola[(cabeza + i) & (cola.length - 1)];
+        }
+        cola = nueva;
+        cabeza = 0;
+    }
+
+    /**
+     * Agranda la tabla de vidas y la copia del laberinto si el laberinto es mayor
+     * que los anteriores.
+     *
+     * @throws IllegalArgumentException si supera {@link #MAXIMO_CELDAS}.
+     */
+    private void prepararArreglos(int total) {
+        if (total > MAXIMO_CELDAS) {
+            throw new IllegalArgumentException("Laberinto demasiado grande para el resolutor: " + total + " celdas");
+        }
+        if (mejorVida.length < total << BITS_GRUPO) {
+            mejorVida = new byte[total << BITS_GRUPO];
+        }
+        if (mapa.length != total) {
+            mapa = new byte[total];
+        }
+    }
+
+    /** @return Acciones del plan ejecutado, explosiones incluidas. */
+    public int getLongitud() {
+        return longitud;
+    }
+
+    /** @return Explosiones del plan ejecutado. */
+    public int getExplosiones() {
+        return explosiones;
+    }
+
+    /** @return Estados cerrados por las búsquedas de la última resolución. */
+    public int getEstadosExplorados() {
+        return estadosExplorados;
+    }
+
+    /** @return Búsquedas repetidas en la última resolución por desviarse del plan. */
+    public int getReplanificaciones() {
+        return replanificaciones;
+    }
+
+    /**
+     * @param paso Índice de la acción, desde {@code 0}.
+     * @return Posición empaquetada del jugador tras esa acción.
+     */
+    public int getPaso(int paso) {
+        if (paso < 0 || paso >= longitud) {
+            throw new IndexOutOfBoundsException("Paso fuera del plan: " + paso);
+        }
+        return plan[paso];
+    }
+
+    /**
+     * @param paso Índice de la acción, desde {@code 0}.
+     * @return {@code true} si la acción es una explosión en lugar de un movimiento.
+     */
+    public boolean esExplosion(int paso) {
+        return getPaso(paso) == (paso > 0 ? plan[paso - 1] : origen);
+    }
+
+    /**
+     * @return Una copia de las celdas del plan ejecutado; una explosión repite la celda anterior.
+     */
+    public int[] copiarPlan() {
+        return Arrays.copyOf(plan, longitud);
+    }
+
+    /**
+     * @return La instancia reservada al hilo actual, que conserva sus arreglos entre llamadas.
+     */
+    public static ResolutorRecursos delHilo() {
+        return POR_HILO.get();
+    }
+}
@@ -0,0 +1,122 @@
+package Main.estrategia.generacion;
+
+import Main.modelo.Constantes.TipoCelda;
+import Main.modelo.Dominio.Laberinto;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Motor de excavación por búsqueda en profundidad (DFS) con backtracking,
+ * compartido por los generadores basados en este algoritmo.
+ * <p>
+ * Trabaja directamente sobre el almacenamiento compacto del {@link Laberinto}: la
+ * pila es un {@code int[]} de posiciones empaquetadas ({@code fila * columnas + columna})
+ * y las direcciones candidatas de cada paso se anotan en un búfer fijo de cuatro
+ * elementos. Tras la primera llamada no se reserva memoria por paso ni por celda.
+ * </p>
+ * <p>
+ * Las direcciones se evalúan en orden fijo (arriba, derecha, abajo, izquierda) y
+ * cada avance hace una sola llamada a {@link RandomGenerator#nextInt(int)}, así que
+ * el laberinto depende solo del flujo aleatorio recibido: la misma semilla
+ * reproduce el mismo laberinto. Desde que los generadores reciben un
+ * {@link java.util.SplittableRandom} en lugar de un {@link java.util.Random}, una
+ * semilla ya no produce el laberinto de la antigua implementación basada en
+ * {@code Stack<int[]>}.
+ * </p>
+ * <p>
+ * Una instancia reutiliza su pila entre llamadas y no es segura para uso
+ * concurrente; {@link #delHilo()} entrega la del hilo actual.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.2
+ * @since 17/10/2026
+ */
+public class TalladorDFS {
+
+    /** Desplazamiento de fila de cada dirección, en saltos de dos celdas. */
+    private static final int[] DELTA_FILA = { -2, 0, 2, 0 };
+
+    /** Desplazamiento de columna de cada dirección, en saltos de dos celdas. */
+    private static final int[] DELTA_COLUMNA = { 0, 2, 0, -2 };
+
+    /** Ordinal de {@link TipoCelda#MURO} en el almacenamiento compacto. */
+    private static final byte MURO = (byte) TipoCelda.MURO.ordinal();
+
+    /** Ordinal de {@link TipoCelda#CAMINO} en el almacenamiento compacto. */
+    private static final byte CAMINO = (byte) TipoCelda.CAMINO.ordinal();
+
+    /** Instancia de cada hilo: permite compartir los generadores entre hilos sin perder la reutilización. */
+    private static final ThreadLocal<TalladorDFS> POR_HILO = ThreadLocal.withInitial(TalladorDFS::new);
+
+    /** Pila de posiciones empaquetadas; crece solo si un laberinto mayor lo requiere. */
+    private int[] pila = new int[0];
+
+    /** Direcciones válidas del paso actual. */
+    private final int[] candidatas = new int[4];
+
+    /**
+     * Excava un laberinto perfecto a partir de una celda inicial.
+     * <p>
+     * El laberinto debe estar lleno de muros. Se avanza en saltos de dos celdas
+     * abriendo el muro intermedio, de modo que los caminos quedan en las posiciones
+     * con la misma paridad que la celda inicial.
+     * </p>
+     *
+     * @param laberinto     Laberinto a excavar.
+     * @param filaInicio    Fila de la celda inicial.
+     * @param columnaInicio Columna de la celda inicial.
+     * @param random        Fuente de aleatoriedad para elegir direcciones.
+     */
+    public void tallar(Laberinto laberinto, int filaInicio, int columnaInicio, RandomGenerator random) {
+        int filas = laberinto.getFilas();
+        int columnas = laberinto.getColumnas();
+        byte[] tipos = laberinto.getTiposCrudos();
+
+        // Cada celda de la rejilla de paso 2 entra en la pila a lo sumo una vez
+        int capacidad = ((filas + 1) / 2) * ((columnas + 1) / 2) + 1;
+        if (pila.length < capacidad) {
+            pila = new int[capacidad];
+        }
+
+        int inicio = laberinto.indice(filaInicio, columnaInicio);
+        tipos[inicio] = CAMINO;
+        pila[0] = inicio;
+        int cima = 1;
+
+        while (cima > 0) {
+            int actual = pila[cima - 1];
+            int x = actual / columnas;
+            int y = actual - x * columnas;
+
+            int validas = 0;
+            for (int d = 0; d < 4; d++) {
+                int nx = x + DELTA_FILA[d];
+                int ny = y + DELTA_COLUMNA[d];
+                if (nx >= 0 && nx < filas && ny >= 0 && ny < columnas
+                        && tipos[nx * columnas + ny] == MURO) {
+                    candidatas[validas++] = d;
+                }
+            }
+
+            if (validas > 0) {
+                int d = candidatas[random.nextInt(validas)];
+                int nuevo = (x + DELTA_FILA[d]) * columnas + y + DELTA_COLUMNA[d];
+
+                // Romper el muro intermedio
+                tipos[(x + DELTA_FILA[d] / 2) * columnas + y + DELTA_COLUMNA[d] / 2] = CAMINO;
+                tipos[nuevo] = CAMINO;
+                pila[cima++] = nuevo;
+            } else {
+                cima--;
+            }
+        }
+    }
+
+    /**
+     * @return La instancia reservada al hilo actual, que conserva sus arreglos entre llamadas.
+     */
+    public static TalladorDFS delHilo() {
+        return POR_HILO.get();
+    }
+}
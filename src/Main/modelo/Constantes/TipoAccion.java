@@ -0,0 +1,22 @@
+package Main.modelo.Constantes;
+
+/**
+ * Define los tipos de acción que se registran en el diario de una partida.
+ * <p>
+ * Cada acción del jugador genera exactamente una entrada en el diario, lo que
+ * permite reconstruir la partida a partir de la última instantánea guardada.
+ * </p>
+ * @author Mario Sanchez
+ * @version 1.0
+ * @since 17/10/2026
+ */
+public enum TipoAccion {
+    /** Desplazamiento a una celda sin contenido especial. */
+    MOVIMIENTO,
+    /** Desplazamiento a una celda cuyo contenido se consume (objeto o trampa). */
+    RECOGIDA,
+    /** Detonación de una bomba que destruye muros rojos adyacentes. */
+    EXPLOSION,
+    /** Salto directo a otra posición usando la llave negra. */
+    TELETRANSPORTE
+}
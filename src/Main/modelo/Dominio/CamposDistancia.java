@@ -0,0 +1,288 @@
+package Main.modelo.Dominio;
+
+import Main.modelo.Constantes.TipoCelda;
+
+import java.util.Arrays;
+
+/**
+ * Campos de distancia de un {@link Laberinto}: los pasos que separan cada celda
+ * de la {@link TipoCelda#LLAVE} y de la {@link TipoCelda#SALIDA}.
+ * <p>
+ * Se calculan con un BFS por destino al construirse y después se consultan en
+ * tiempo constante desde cualquier posición empaquetada, lo que sirve a las
+ * pistas, a la IA de enemigos o a la colocación de trampas sin repetir
+ * búsquedas. Una celda que no alcanza el destino tiene distancia
+ * {@link #INALCANZABLE}.
+ * </p>
+ * <p>
+ * Mientras la partida avanza solo se abren celdas (al destruir muros rojos), así
+ * que las distancias únicamente pueden bajar. {@link #abrirCeldas(int[], int)}
+ * no recalcula el campo: siembra las celdas abiertas con la distancia de su
+ * mejor vecina y propaga una ola de relajación que se detiene donde las
+ * distancias ya no mejoran. Los campos quedan anclados a la posición original de
+ * la llave aunque el jugador la recoja. No son seguros para uso concurrente; se
+ * actualizan bajo el mismo bloqueo que la partida.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.1
+ * @since 17/10/2026
+ */
+public class CamposDistancia {
+
+    /** Distancia de una celda desde la que no se alcanza el destino. */
+    public static final int INALCANZABLE = -1;
+
+    /** Tipos que no se pueden atravesar, indexados por ordinal. */
+    private static final boolean[] BLOQUEA = new boolean[TipoCelda.values().length];
+
+    static {
+        for (TipoCelda tipo : TipoCelda.values()) {
+            BLOQUEA[tipo.ordinal()] = !tipo.isTransitable();
+        }
+    }
+
+    /** Laberinto cuyas distancias se mantienen. */
+    private final Laberinto laberinto;
+
+    /** Posición empaquetada de la llave, o {@code -1} si no hay. */
+    private final int llave;
+
+    /** Posición empaquetada de la salida, o {@code -1} si no hay. */
+    private final int salida;
+
+    /** Pasos hasta la llave desde cada celda. */
+    private final int[] hastaLlave;
+
+    /** Pasos hasta la salida desde cada celda. */
+    private final int[] hastaSalida;
+
+    /** Cola compartida por los BFS y las olas de relajación. */
+    private final int[] cola;
+
+    /**
+     * Celdas abiertas durante una actualización, empaquetadas como
+     * {@code distancia << 32 | celda} para ordenarlas por distancia. Crece según
+     * las celdas abiertas de cada llamada.
+     */
+    private long[] semillas = new long[8];
+
+    /**
+     * Calcula los campos de distancia de un laberinto.
+     *
+     * @param laberinto Laberinto del que se miden las distancias; se sigue
+     *                  consultando en las actualizaciones.
+     */
+    public CamposDistancia(Laberinto laberinto) {
+        this.laberinto = laberinto;
+        byte[] tipos = laberinto.getTiposCrudos();
+        int total = tipos.length;
+
+        int posicionLlave = -1, posicionSalida = -1;
+        for (int celda = 0; celda < total; celda++) {
+            if (tipos[celda] == TipoCelda.LLAVE.ordinal()) {
+                posicionLlave = celda;
+            } else if (tipos[celda] == TipoCelda.SALIDA.ordinal()) {
+                posicionSalida = celda;
+            }
+        }
+        this.llave = posicionLlave;
+        this.salida = posicionSalida;
+        this.hastaLlave = new int[total];
+        this.hastaSalida = new int[total];
+        this.cola = new int[total];
+        recorrer(hastaLlave, llave);
+        recorrer(hastaSalida, salida);
+    }
+
+    /**
+     * BFS completo desde el destino sobre las celdas transitables.
+     */
+    private void recorrer(int[] distancias, int destino) {
+        Arrays.fill(distancias, INALCANZABLE);
+        if (destino < 0) {
+            return;
+        }
+        distancias[destino] = 0;
+        cola[0] = destino;
+        propagar(distancias, 0, 1);
+    }
+
+    /**
+     * Actualiza los campos tras abrir celdas que antes bloqueaban el paso.
+     * <p>
+     * Cada celda abierta toma la distancia de su mejor vecina más uno. Las
+     * semillas se ordenan por distancia y se mezclan con la cola de la ola, de
+     * modo que las celdas salen en orden creciente y cada una se fija una sola
+     * vez. El coste es proporcional a las celdas que mejoran, no al laberinto,
+     * más la ordenación de las celdas abiertas.
+     * </p>
+     *
+     * @param celdas   Posiciones empaquetadas de las celdas abiertas.
+     * @param cantidad Número de posiciones válidas de {@code celdas}.
+     */
+    public void abrirCeldas(int[] celdas, int cantidad) {
+        abrirCeldas(hastaLlave, celdas, cantidad);
+        abrirCeldas(hastaSalida, celdas, cantidad);
+    }
+
+    /**
+     * Propaga la apertura de celdas en un campo.
+     */
+    private void abrirCeldas(int[] distancias, int[] celdas, int cantidad) {
+        byte[] tipos = laberinto.getTiposCrudos();
+        if (semillas.length < cantidad) {
+            semillas = new long[Math.max(cantidad, 2 * semillas.length)];
+        }
+        int sembradas = 0;
+        for (int i = 0; i < cantidad; i++) {
+            int celda = celdas[i];
+            if (BLOQUEA[tipos[celda]]) {
+                continue;
+            }
+            int mejor = mejorVecina(distancias, tipos, celda);
+            if (mejor != INALCANZABLE
+                    && (distancias[celda] == INALCANZABLE || mejor + 1 < distancias[celda])) {
+                distancias[celda] = mejor + 1;
+                semillas[sembradas++] = (long) distancias[celda] << 32 | celda;
+            }
+        }
+        Arrays.sort(semillas, 0, sembradas);
+
+        int siguiente = 0;
+        int cabeza = 0, fin = 0;
+        while (siguiente < sembradas) {
+            // Las semillas entran en la cola cuando les llega el turno por distancia
+            int semilla = (int) semillas[siguiente++];
+            while (cabeza < fin && distancias[cola[cabeza]] <= distancias[semilla]) {
+                fin = expandir(distancias, tipos, cola[cabeza++], fin);
+            }
+            cola[fin++] = semilla;
+        }
+        propagar(distancias, cabeza, fin);
+    }
+
+    /**
+     * Vacía la cola del BFS relajando las vecinas de cada celda.
+     *
+     * @param cabeza Primera celda pendiente.
+     * @param fin    Final de la cola.
+     */
+    private void propagar(int[] distancias, int cabeza, int fin) {
+        byte[] tipos = laberinto.getTiposCrudos();
+        while (cabeza < fin) {
+            fin = expandir(distancias, tipos, cola[cabeza++], fin);
+        }
+    }
+
+    /**
+     * Mejora la distancia de las vecinas transitables de una celda y las encola.
+     *
+     * @return El nuevo final de la cola.
+     */
+    private int expandir(int[] distancias, byte[] tipos, int actual, int fin) {
+        int columnas = laberinto.getColumnas();
+        int total = tipos.length;
+        int distancia = distancias[actual] + 1;
+        int columna = actual % columnas;
+        if (actual >= columnas) {
+            fin = relajar(distancias, tipos, actual - columnas, distancia, fin);
+        }
+        if (actual + columnas < total) {
+            fin = relajar(distancias, tipos, actual + columnas, distancia, fin);
+        }
+        if (columna > 0) {
+            fin = relajar(distancias, tipos, actual - 1, distancia, fin);
+        }
+        if (columna < columnas - 1) {
+            fin = relajar(distancias, tipos, actual + 1, distancia, fin);
+        }
+        return fin;
+    }
+
+    /**
+     * Encola una vecina si la nueva distancia la mejora.
+     *
+     * @return El nuevo final de la cola.
+     */
+    private int relajar(int[] distancias, byte[] tipos, int vecina, int distancia, int fin) {
+        if (BLOQUEA[tipos[vecina]]) {
+            return fin;
+        }
+        int actual = distancias[vecina];
+        if (actual != INALCANZABLE && actual <= distancia) {
+            return fin;
+        }
+        distancias[vecina] = distancia;
+        cola[fin] = vecina;
+        return fin + 1;
+    }
+
+    /**
+     * @return La menor distancia entre las vecinas transitables de una celda, o
+     *         {@link #INALCANZABLE}.
+     */
+    private int mejorVecina(int[] distancias, byte[] tipos, int celda) {
+        int columnas = laberinto.getColumnas();
+        int columna = celda % columnas;
+        int mejor = INALCANZABLE;
+        if (celda >= columnas) {
+            mejor = menor(mejor, distancias, tipos, celda - columnas);
+        }
+        if (celda + columnas < tipos.length) {
+            mejor = menor(mejor, distancias, tipos, celda + columnas);
+        }
+        if (columna > 0) {
+            mejor = menor(mejor, distancias, tipos, celda - 1);
+        }
+        if (columna < columnas - 1) {
+            mejor = menor(mejor, distancias, tipos, celda + 1);
+        }
+        return mejor;
+    }
+
+    /**
+     * @return La menor entre {@code mejor} y la distancia de una vecina transitable.
+     */
+    private static int menor(int mejor, int[] distancias, byte[] tipos, int vecina) {
+        int distancia = distancias[vecina];
+        if (BLOQUEA[tipos[vecina]] || distancia == INALCANZABLE) {
+            return mejor;
+        }
+        return mejor == INALCANZABLE ? distancia : Math.min(mejor, distancia);
+    }
+
+    /**
+     * @param celda Posición empaquetada.
+     * @return Pasos hasta la llave, o {@link #INALCANZABLE}.
+     */
+    public int getDistanciaLlave(int celda) {
+        return hastaLlave[celda];
+    }
+
+    /**
+     * @param celda Posición empaquetada.
+     * @return Pasos hasta la salida, o {@link #INALCANZABLE}.
+     */
+    public int getDistanciaSalida(int celda) {
+        return hastaSalida[celda];
+    }
+
+    /** @return Posición empaquetada original de la llave, o {@code -1} si no había. */
+    public int getLlave() {
+        return llave;
+    }
+
+    /** @return Posición empaquetada de la salida, o {@code -1} si no hay. */
+    public int getSalida() {
+        return salida;
+    }
+
+    /**
+     * @param laberinto Laberinto a comprobar.
+     * @return {@code true} si los campos se calcularon sobre ese mismo laberinto.
+     */
+    public boolean isDe(Laberinto laberinto) {
+        return this.laberinto == laberinto;
+    }
+}
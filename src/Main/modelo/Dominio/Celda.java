@@ -8,9 +8,15 @@ import Main.modelo.Constantes.TipoCelda;
  * Cada celda almacena su tipo (muro, camino, cristal, etc.), su posición en la matriz
  * y su estado de visibilidad y descubrimiento para el jugador.
  * </p>
+ * <p>
+ * Las celdas obtenidas desde {@link Laberinto#getCelda(int, int)} son vistas ligeras:
+ * no guardan estado propio y delegan cada lectura y escritura en el almacenamiento
+ * compacto del laberinto. Las celdas creadas con el constructor público son
+ * independientes y conservan su estado en sus propios campos.
+ * </p>
  *
  * @author Mario Sanchez
- * @version 1.0
+ * @version 1.1
  * @since 11/11/2025
  */
 public class Celda {
@@ -39,6 +45,12 @@ public class Celda {
      */
     private boolean visible;
 
+    /**
+     * Laberinto sobre el que actúa esta celda cuando es una vista, o {@code null}
+     * si la celda es independiente.
+     */
+    private final transient Laberinto laberinto;
+
     /**
      * Crea una nueva celda con su tipo y coordenadas.
      * <p>
@@ -55,6 +67,20 @@ public class Celda {
         this.columna = columna;
         this.visitada = false;
         this.visible = false;
+        this.laberinto = null;
+    }
+
+    /**
+     * Crea una vista sobre la posición indicada de un laberinto.
+     *
+     * @param laberinto El laberinto que almacena el estado de la celda.
+     * @param fila La posición de la fila.
+     * @param columna La posición de la columna.
+     */
+    Celda(Laberinto laberinto, int fila, int columna) {
+        this.laberinto = laberinto;
+        this.fila = fila;
+        this.columna = columna;
     }
 
     // --- Getters y Setters ---
@@ -64,6 +90,9 @@ public class Celda {
      * @return El {@link TipoCelda} que define el comportamiento de esta posición.
      */
     public TipoCelda getTipo() {
+        if (laberinto != null) {
+            return laberinto.getTipo(fila, columna);
+        }
         return tipo;
     }
 
@@ -72,6 +101,10 @@ public class Celda {
      * @param tipo El nuevo {@link TipoCelda} para esta ubicación.
      */
     public void setTipo(TipoCelda tipo) {
+        if (laberinto != null) {
+            laberinto.setTipo(fila, columna, tipo);
+            return;
+        }
         this.tipo = tipo;
     }
 
@@ -112,6 +145,9 @@ public class Celda {
      * @return {@code true} si ha sido visitada, {@code false} en caso contrario.
      */
     public boolean isVisitada() {
+        if (laberinto != null) {
+            return laberinto.isVisitada(fila, columna);
+        }
         return visitada;
     }
 
@@ -120,6 +156,10 @@ public class Celda {
      * @param visitada Estado de exploración de la celda.
      */
     public void setVisitada(boolean visitada) {
+        if (laberinto != null) {
+            laberinto.setVisitada(fila, columna, visitada);
+            return;
+        }
         this.visitada = visitada;
     }
 
@@ -128,6 +168,9 @@ public class Celda {
      * @return {@code true} si es visible, {@code false} si está bajo la "niebla de guerra".
      */
     public boolean isVisible() {
+        if (laberinto != null) {
+            return laberinto.isVisible(fila, columna);
+        }
         return visible;
     }
 
@@ -136,6 +179,10 @@ public class Celda {
      * @param visible {@code true} para mostrar la celda, {@code false} para ocultarla.
      */
     public void setVisible(boolean visible) {
+        if (laberinto != null) {
+            laberinto.setVisible(fila, columna, visible);
+            return;
+        }
         this.visible = visible;
     }
 
@@ -147,7 +194,7 @@ public class Celda {
      * @return {@code true} si la celda permite el paso (no es muro), {@code false} en caso contrario.
      */
     public boolean isTransitable() {
-        return tipo.isTransitable();
+        return getTipo().isTransitable();
     }
 
     /**
@@ -158,6 +205,6 @@ public class Celda {
      * @return El carácter que se utiliza para dibujar la celda en la interfaz.
      */
     public char getSimbolo() {
-        return tipo.getSimbolo();
+        return getTipo().getSimbolo();
     }
 }
\ No newline at end of file
@@ -0,0 +1,785 @@
+package Main.modelo.Dominio;
+
+import Main.modelo.Constantes.TipoCelda;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Buscador jerárquico de rutas (HPA*) para laberintos muy grandes.
+ * <p>
+ * El laberinto se divide en bloques cuadrados de lado fijo. En cada frontera
+ * entre dos bloques, cada tramo de celdas transitables a ambos lados aporta una
+ * entrada en su punto medio. Para cada bloque se precalculan, con un BFS limitado
+ * al bloque, las distancias entre todas sus entradas. Los bloques son
+ * independientes, así que ese cálculo se reparte en paralelo. El resultado es un
+ * grafo abstracto con aristas de entrada a entrada dentro de cada bloque y de un
+ * paso entre entradas vecinas de bloques contiguos.
+ * </p>
+ * <p>
+ * Como en {@code PlanificadorRutas}, cada paso cuesta uno y entrar en una
+ * {@link TipoCelda#TRAMPA} cuesta además la penalización fijada al construir el
+ * grafo. Con penalización las búsquedas dentro de los bloques son Dijkstra en
+ * lugar de BFS, y tanto las distancias precalculadas como los cruces de frontera
+ * la incluyen, así que las rutas rodean las trampas igual que las del A* sobre la
+ * cuadrícula. Con penalización cero se mide solo en pasos.
+ * </p>
+ * <p>
+ * Una consulta explora el bloque del origen y el del destino, busca con A* sobre
+ * el grafo abstracto y solo después refina la ruta celda a celda, bloque a
+ * bloque. Las rutas pueden costar algo más que las óptimas, porque solo cruzan
+ * las fronteras por las entradas elegidas. La diferencia está acotada: las celdas
+ * de un tramo de frontera forman una recta transitable a ambos lados, así que
+ * desviar por su punto medio un cruce de la ruta óptima añade como mucho tantos
+ * pasos como celdas tiene el tramo. Una ruta nunca supera a la óptima en más de
+ * {@code lado * (1 + penalizacionTrampa)} por cada vez que esta cruza una
+ * frontera entre bloques. Cuando cambia el tipo de una celda se invalida su
+ * bloque, y también el vecino si la celda está en la frontera. Los bloques
+ * invalidados se recalculan en la siguiente consulta. No es seguro para uso
+ * concurrente; se actualiza bajo el mismo bloqueo que la partida.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.2
+ * @since 17/10/2026
+ */
+public class GrafoJerarquico {
+
+    /** Lado por defecto de los bloques, en celdas. */
+    public static final int LADO_BLOQUE_POR_DEFECTO = 32;
+
+    /** Tipos que no se pueden atravesar, indexados por ordinal. */
+    private static final boolean[] BLOQUEA = new boolean[TipoCelda.values().length];
+
+    static {
+        for (TipoCelda tipo : TipoCelda.values()) {
+            BLOQUEA[tipo.ordinal()] = !tipo.isTransitable();
+        }
+    }
+
+    /** Ordinal de las trampas, que cuestan la penalización al entrar. */
+    private static final byte TRAMPA = (byte) TipoCelda.TRAMPA.ordinal();
+
+    /** Máscara del nodo dentro de una entrada del montículo. */
+    private static final long MASCARA_NODO = 0xFFFFFFFFL;
+
+    /** Laberinto dividido; se sigue consultando en las actualizaciones. */
+    private final Laberinto laberinto;
+
+    /** Dimensiones del laberinto. */
+    private final int filas, columnas;
+
+    /** Lado de los bloques. */
+    private final int lado;
+
+    /** Coste extra de entrar en una trampa. */
+    private final int penalizacionTrampa;
+
+    /** Bloques por fila de bloques. */
+    private final int bloquesPorFila;
+
+    /**
+     * Máximo de entradas de un bloque: cada frontera admite como mucho un tramo
+     * por cada dos celdas.
+     */
+    private final int maximoEntradas;
+
+    /** Celdas de las entradas de cada bloque, ordenadas. */
+    private final int[][] entradas;
+
+    /** Distancias entre las entradas de cada bloque, fila a fila; {@code -1} si no se alcanzan. */
+    private final int[][] distancias;
+
+    /** Bloques pendientes de recalcular. */
+    private final boolean[] invalidado;
+
+    /** Lista de bloques invalidados. */
+    private int[] pendientes = new int[16];
+
+    /** Bloques en {@link #pendientes}. */
+    private int numPendientes;
+
+    /** Exploración del bloque de origen de la consulta. */
+    private final Exploracion inicio;
+
+    /** Exploración del bloque de destino de la consulta. */
+    private final Exploracion fin;
+
+    /** Exploración auxiliar para refinar tramos y recalcular bloques. */
+    private final Exploracion tramo;
+
+    /** Coste de cada nodo abstracto en la búsqueda actual. */
+    private final int[] costes;
+
+    /** Nodo abstracto anterior de cada nodo en la búsqueda actual, o {@code -1}. */
+    private final int[] padres;
+
+    /** Primera celda del camino desde el origen hasta cada nodo, o {@code -1}. */
+    private final int[] primerosPasos;
+
+    /** Generación en la que se escribió el coste de cada nodo. */
+    private final int[] marcas;
+
+    /** Generación de la búsqueda actual. */
+    private int generacion;
+
+    /** Frontera de la búsqueda abstracta, con entradas {@code prioridad << 32 | nodo}. */
+    private final Monticulo frontera = new Monticulo();
+
+    /** Fila y columna del destino de la búsqueda actual. */
+    private int filaDestino, columnaDestino;
+
+    /** Datos de la última consulta para el refinado. */
+    private int ultimoOrigen = -1, ultimoDestino = -1, nodoFinal = -1, ultimoCoste = -1, primerPaso = -1;
+
+    /** Ruta refinada de la última consulta; su coste acota sus pasos. */
+    private int[] ruta = new int[0];
+
+    /** Pasos de la ruta refinada. */
+    private int longitudRuta;
+
+    /**
+     * Construye el grafo jerárquico con bloques de {@link #LADO_BLOQUE_POR_DEFECTO}
+     * celdas, midiendo solo pasos.
+     *
+     * @param laberinto Laberinto a dividir.
+     */
+    public GrafoJerarquico(Laberinto laberinto) {
+        this(laberinto, LADO_BLOQUE_POR_DEFECTO, 0);
+    }
+
+    /**
+     * Construye el grafo jerárquico midiendo solo pasos.
+     *
+     * @param laberinto Laberinto a dividir.
+     * @param lado      Lado de los bloques, en celdas.
+     * @throws IllegalArgumentException Si el lado es menor que 2.
+     */
+    public GrafoJerarquico(Laberinto laberinto, int lado) {
+        this(laberinto, lado, 0);
+    }
+
+    /**
+     * Construye el grafo jerárquico y precalcula en paralelo todos sus bloques.
+     *
+     * @param laberinto          Laberinto a dividir.
+     * @param lado               Lado de los bloques, en celdas.
+     * @param penalizacionTrampa Coste extra de entrar en una trampa.
+     * @throws IllegalArgumentException Si el lado es menor que 2 o la penalización
+     *                                  es negativa.
+     */
+    public GrafoJerarquico(Laberinto laberinto, int lado, int penalizacionTrampa) {
+        if (lado < 2) {
+            throw new IllegalArgumentException("El lado de los bloques debe ser al menos 2");
+        }
+        if (penalizacionTrampa < 0) {
+            throw new IllegalArgumentException("La penalización de las trampas no puede ser negativa");
+        }
+        this.laberinto = laberinto;
+        this.filas = laberinto.getFilas();
+        this.columnas = laberinto.getColumnas();
+        this.lado = lado;
+        this.penalizacionTrampa = penalizacionTrampa;
+        this.bloquesPorFila = (columnas + lado - 1) / lado;
+        int bloques = bloquesPorFila * ((filas + lado - 1) / lado);
+        this.maximoEntradas = 4 * ((lado + 1) / 2);
+        this.entradas = new int[bloques][];
+        this.distancias = new int[bloques][];
+        this.invalidado = new boolean[bloques];
+        this.inicio = new Exploracion(lado);
+        this.fin = new Exploracion(lado);
+        this.tramo = new Exploracion(lado);
+
+        int nodos = bloques * maximoEntradas;
+        this.costes = new int[nodos];
+        this.padres = new int[nodos];
+        this.primerosPasos = new int[nodos];
+        this.marcas = new int[nodos];
+
+        ThreadLocal<Exploracion> exploraciones = ThreadLocal.withInitial(() -> new Exploracion(lado));
+        IntStream.range(0, bloques).parallel()
+                .forEach(bloque -> calcularBloque(bloque, exploraciones.get()));
+    }
+
+    // --- Bloques ---
+
+    /**
+     * Localiza las entradas de un bloque y mide las distancias entre ellas.
+     */
+    private void calcularBloque(int bloque, Exploracion exploracion) {
+        byte[] tipos = laberinto.getTiposCrudos();
+        int f0 = (bloque / bloquesPorFila) * lado;
+        int c0 = (bloque % bloquesPorFila) * lado;
+        int f1 = Math.min(f0 + lado, filas);
+        int c1 = Math.min(c0 + lado, columnas);
+
+        int[] encontradas = new int[maximoEntradas];
+        int cantidad = 0;
+        if (f0 > 0) {
+            cantidad = buscarEntradas(tipos, f0 * columnas + c0, 1, c1 - c0, -columnas, encontradas, cantidad);
+        }
+        if (f1 < filas) {
+            cantidad = buscarEntradas(tipos, (f1 - 1) * columnas + c0, 1, c1 - c0, columnas, encontradas, cantidad);
+        }
+        if (c0 > 0) {
+            cantidad = buscarEntradas(tipos, f0 * columnas + c0, columnas, f1 - f0, -1, encontradas, cantidad);
+        }
+        if (c1 < columnas) {
+            cantidad = buscarEntradas(tipos, f0 * columnas + c1 - 1, columnas, f1 - f0, 1, encontradas, cantidad);
+        }
+
+        // Una esquina puede ser entrada de dos fronteras
+        Arrays.sort(encontradas, 0, cantidad);
+        int unicas = 0;
+        for (int i = 0; i < cantidad; i++) {
+            if (unicas == 0 || encontradas[unicas - 1] != encontradas[i]) {
+                encontradas[unicas++] = encontradas[i];
+            }
+        }
+        int[] celdas = Arrays.copyOf(encontradas, unicas);
+
+        int[] tabla = new int[unicas * unicas];
+        for (int i = 0; i < unicas; i++) {
+            exploracion.explorar(tipos, bloque, celdas[i]);
+            for (int j = 0; j < unicas; j++) {
+                tabla[i * unicas + j] = exploracion.distancia(celdas[j]);
+            }
+        }
+        entradas[bloque] = celdas;
+        distancias[bloque] = tabla;
+    }
+
+    /**
+     * Recorre un lado del bloque y añade una entrada en el punto medio de cada
+     * tramo en el que la celda del bloque y la del otro lado son transitables.
+     *
+     * @param primera Primera celda del lado, dentro del bloque.
+     * @param avance  Desplazamiento entre celdas consecutivas del lado.
+     * @param largo   Celdas del lado.
+     * @param cruce   Desplazamiento hasta la celda del otro lado de la frontera.
+     * @return El nuevo número de entradas.
+     */
+    private static int buscarEntradas(byte[] tipos, int primera, int avance, int largo, int cruce,
+                                      int[] encontradas, int cantidad) {
+        int inicioTramo = -1;
+        for (int i = 0; i <= largo; i++) {
+            int celda = primera + i * avance;
+            boolean abierta = i < largo && !BLOQUEA[tipos[celda]] && !BLOQUEA[tipos[celda + cruce]];
+            if (abierta && inicioTramo < 0) {
+                inicioTramo = i;
+            } else if (!abierta && inicioTramo >= 0) {
+                encontradas[cantidad++] = primera + ((inicioTramo + i - 1) / 2) * avance;
+                inicioTramo = -1;
+            }
+        }
+        return cantidad;
+    }
+
+    /**
+     * @return El coste de entrar en una celda.
+     */
+    private int coste(byte[] tipos, int celda) {
+        return tipos[celda] == TRAMPA ? 1 + penalizacionTrampa : 1;
+    }
+
+    /**
+     * @return El bloque que contiene una celda.
+     */
+    private int bloqueDe(int celda) {
+        return (celda / columnas / lado) * bloquesPorFila + (celda % columnas) / lado;
+    }
+
+    /**
+     * Invalida los bloques afectados por el cambio de tipo de algunas celdas: el
+     * de cada celda y, si está en una frontera, el bloque vecino, cuyas entradas
+     * dependen también de ella.
+     *
+     * @param celdas   Posiciones empaquetadas de las celdas cambiadas.
+     * @param cantidad Número de posiciones válidas de {@code celdas}.
+     */
+    public void invalidarCeldas(int[] celdas, int cantidad) {
+        for (int i = 0; i < cantidad; i++) {
+            int fila = celdas[i] / columnas;
+            int columna = celdas[i] % columnas;
+            invalidar(fila, columna);
+            if (fila % lado == 0 && fila > 0) invalidar(fila - 1, columna);
+            if (fila % lado == lado - 1 && fila + 1 < filas) invalidar(fila + 1, columna);
+            if (columna % lado == 0 && columna > 0) invalidar(fila, columna - 1);
+            if (columna % lado == lado - 1 && columna + 1 < columnas) invalidar(fila, columna + 1);
+        }
+    }
+
+    /**
+     * Marca como pendiente el bloque de una posición.
+     */
+    private void invalidar(int fila, int columna) {
+        int bloque = bloqueDe(fila * columnas + columna);
+        if (!invalidado[bloque]) {
+            invalidado[bloque] = true;
+            if (numPendientes == pendientes.length) {
+                pendientes = Arrays.copyOf(pendientes, numPendientes * 2);
+            }
+            pendientes[numPendientes++] = bloque;
+        }
+    }
+
+    /**
+     * Recalcula los bloques invalidados desde la última consulta.
+     */
+    private void recalcularPendientes() {
+        for (int i = 0; i < numPendientes; i++) {
+            calcularBloque(pendientes[i], tramo);
+            invalidado[pendientes[i]] = false;
+        }
+        numPendientes = 0;
+    }
+
+    // --- Consulta ---
+
+    /**
+     * Busca una ruta entre dos celdas: primero sobre el grafo abstracto y, si
+     * ambas están en el mismo bloque, también dentro de él.
+     *
+     * @param origen  Posición empaquetada de partida.
+     * @param destino Posición empaquetada de llegada.
+     * @return Coste de la ruta (sus pasos más la penalización de cada trampa en
+     *         la que entra), o {@code -1} si no se encontró; la primera celda
+     *         queda en {@link #getPrimerPaso()} y la ruta completa se obtiene con
+     *         {@link #refinarRuta()}.
+     */
+    public int resolver(int origen, int destino) {
+        recalcularPendientes();
+        byte[] tipos = laberinto.getTiposCrudos();
+        ultimoOrigen = origen;
+        ultimoDestino = destino;
+        nodoFinal = -1;
+        primerPaso = -1;
+        longitudRuta = -1;
+        if (BLOQUEA[tipos[origen]] || BLOQUEA[tipos[destino]]) {
+            return ultimoCoste = -1;
+        }
+        if (origen == destino) {
+            return ultimoCoste = 0;
+        }
+
+        int bloqueOrigen = bloqueDe(origen);
+        int bloqueDestino = bloqueDe(destino);
+        int mejor = Integer.MAX_VALUE;
+        inicio.explorar(tipos, bloqueOrigen, origen);
+        if (bloqueOrigen == bloqueDestino && inicio.distancia(destino) >= 0) {
+            mejor = inicio.distancia(destino);
+            primerPaso = inicio.primera(destino);
+        }
+        fin.explorar(tipos, bloqueDestino, destino);
+
+        int marca = nuevaGeneracion();
+        filaDestino = destino / columnas;
+        columnaDestino = destino % columnas;
+        frontera.vaciar();
+        int[] propias = entradas[bloqueOrigen];
+        for (int i = 0; i < propias.length; i++) {
+            int distancia = inicio.distancia(propias[i]);
+            if (distancia >= 0) {
+                sembrar(bloqueOrigen * maximoEntradas + i, propias[i], distancia,
+                        propias[i] == origen ? -1 : inicio.primera(propias[i]), -1, marca);
+            }
+        }
+
+        // La exploración del destino mide hacia atrás: cuenta la celda de partida y
+        // no el destino, así que se corrige con la diferencia de sus costes
+        int ajusteDestino = coste(tipos, destino);
+        while (!frontera.isVacio()) {
+            long entrada = frontera.extraer();
+            int nodo = (int) (entrada & MASCARA_NODO);
+            int bloque = nodo / maximoEntradas;
+            int indice = nodo - bloque * maximoEntradas;
+            int celda = entradas[bloque][indice];
+            int coste = costes[nodo];
+            if ((int) (entrada >>> 32) >= mejor) {
+                break;
+            }
+            if ((int) (entrada >>> 32) > coste + estimar(celda)) {
+                continue; // Entrada obsoleta
+            }
+            int paso = primerosPasos[nodo];
+
+            if (bloque == bloqueDestino) {
+                int resto = fin.distancia(celda);
+                if (resto >= 0) {
+                    resto += ajusteDestino - coste(tipos, celda);
+                }
+                if (resto >= 0 && coste + resto < mejor) {
+                    mejor = coste + resto;
+                    nodoFinal = nodo;
+                    primerPaso = paso >= 0 ? paso : fin.padre(celda);
+                }
+            }
+
+            // Aristas dentro del bloque
+            int[] celdas = entradas[bloque];
+            int[] tabla = distancias[bloque];
+            for (int j = 0; j < celdas.length; j++) {
+                int distancia = tabla[indice * celdas.length + j];
+                if (distancia > 0) {
+                    int siguiente = bloque * maximoEntradas + j;
+                    sembrar(siguiente, celdas[j], coste + distancia,
+                            paso >= 0 ? paso : inicio.primera(celdas[j]), nodo, marca);
+                }
+            }
+
+            // Aristas de un paso hacia los bloques vecinos
+            int fila = celda / columnas;
+            int columna = celda % columnas;
+            if (fila % lado == 0 && fila > 0) cruzar(tipos, nodo, celda - columnas, coste, paso, marca);
+            if (fila % lado == lado - 1 && fila + 1 < filas) cruzar(tipos, nodo, celda + columnas, coste, paso, marca);
+            if (columna % lado == 0 && columna > 0) cruzar(tipos, nodo, celda - 1, coste, paso, marca);
+            if (columna % lado == lado - 1 && columna + 1 < columnas) cruzar(tipos, nodo, celda + 1, coste, paso, marca);
+        }
+
+        return ultimoCoste = mejor == Integer.MAX_VALUE ? -1 : mejor;
+    }
+
+    /**
+     * Sigue la arista entre una entrada y la celda contigua de otro bloque, si esa
+     * celda también es entrada.
+     */
+    private void cruzar(byte[] tipos, int nodo, int vecina, int coste, int paso, int marca) {
+        if (BLOQUEA[tipos[vecina]]) {
+            return;
+        }
+        int bloque = bloqueDe(vecina);
+        int indice = Arrays.binarySearch(entradas[bloque], vecina);
+        if (indice >= 0) {
+            sembrar(bloque * maximoEntradas + indice, vecina, coste + coste(tipos, vecina),
+                    paso >= 0 ? paso : vecina, nodo, marca);
+        }
+    }
+
+    /**
+     * @return La distancia Manhattan de una celda al destino de la búsqueda.
+     */
+    private int estimar(int celda) {
+        int fila = celda / columnas;
+        return Math.abs(fila - filaDestino) + Math.abs(celda - fila * columnas - columnaDestino);
+    }
+
+    /**
+     * Mejora el coste de un nodo abstracto y lo inserta en la frontera.
+     */
+    private void sembrar(int nodo, int celda, int coste, int paso, int padre, int marca) {
+        if (marcas[nodo] == marca && costes[nodo] <= coste) {
+            return;
+        }
+        marcas[nodo] = marca;
+        costes[nodo] = coste;
+        primerosPasos[nodo] = paso;
+        padres[nodo] = padre;
+        frontera.insertar(((long) (coste + estimar(celda)) << 32) | nodo);
+    }
+
+    /**
+     * Avanza la generación; al dar la vuelta limpia las marcas una sola vez.
+     */
+    private int nuevaGeneracion() {
+        if (++generacion == 0) {
+            Arrays.fill(marcas, 0);
+            generacion = 1;
+        }
+        return generacion;
+    }
+
+    // --- Refinado ---
+
+    /**
+     * Refina la última ruta encontrada por {@link #resolver(int, int)} celda a
+     * celda: cada tramo entre dos entradas de un mismo bloque se reconstruye con
+     * un BFS limitado a ese bloque.
+     *
+     * @return Las posiciones empaquetadas de cada paso, sin la de origen, o
+     *         {@code null} si la última consulta no encontró ruta.
+     */
+    public int[] refinarRuta() {
+        if (ultimoCoste < 0) {
+            return null;
+        }
+        if (longitudRuta < 0) {
+            longitudRuta = 0;
+            if (ultimoCoste > 0) {
+                reconstruir();
+            }
+        }
+        return Arrays.copyOf(ruta, longitudRuta);
+    }
+
+    /**
+     * Encadena los tramos de la ruta abstracta en {@link #ruta}.
+     */
+    private void reconstruir() {
+        // Cada paso cuesta al menos uno, así que el coste basta como capacidad
+        if (ruta.length < ultimoCoste) {
+            ruta = new int[ultimoCoste];
+        }
+        if (nodoFinal < 0) {
+            // Ruta dentro del bloque de origen
+            anadirDesde(inicio, ultimoOrigen, ultimoDestino);
+            return;
+        }
+
+        // Cadena de nodos abstractos, del primero al último; se guarda al final de la ruta
+        int enCadena = 0;
+        for (int nodo = nodoFinal; nodo >= 0; nodo = padres[nodo]) {
+            enCadena++;
+        }
+        int[] cadena = new int[enCadena];
+        int posicion = enCadena;
+        for (int nodo = nodoFinal; nodo >= 0; nodo = padres[nodo]) {
+            cadena[--posicion] = nodo;
+        }
+
+        byte[] tipos = laberinto.getTiposCrudos();
+        int anterior = celdaDe(cadena[0]);
+        anadirDesde(inicio, ultimoOrigen, anterior);
+        for (int i = 1; i < enCadena; i++) {
+            int celda = celdaDe(cadena[i]);
+            if (bloqueDe(celda) == bloqueDe(anterior)) {
+                tramo.explorar(tipos, bloqueDe(anterior), anterior);
+                anadirDesde(tramo, anterior, celda);
+            } else {
+                ruta[longitudRuta++] = celda;
+            }
+            anterior = celda;
+        }
+        // Desde la última entrada, los padres del BFS del destino llevan hasta él
+        for (int celda = anterior; celda != ultimoDestino; ) {
+            celda = fin.padre(celda);
+            ruta[longitudRuta++] = celda;
+        }
+    }
+
+    /**
+     * Añade a la ruta el camino de una exploración desde su origen hasta una celda.
+     */
+    private void anadirDesde(Exploracion exploracion, int origen, int hasta) {
+        int pasos = exploracion.pasos(hasta);
+        int posicion = longitudRuta + pasos;
+        for (int celda = hasta; celda != origen; celda = exploracion.padre(celda)) {
+            ruta[--posicion] = celda;
+        }
+        longitudRuta += pasos;
+    }
+
+    /**
+     * @return La celda de un nodo abstracto.
+     */
+    private int celdaDe(int nodo) {
+        int bloque = nodo / maximoEntradas;
+        return entradas[bloque][nodo - bloque * maximoEntradas];
+    }
+
+    /** @return La primera celda de la última ruta encontrada, o {@code -1}. */
+    public int getPrimerPaso() {
+        return primerPaso;
+    }
+
+    /** @return Número de bloques en que se divide el laberinto. */
+    public int getBloques() {
+        return entradas.length;
+    }
+
+    /** @return Número total de entradas, es decir, de nodos del grafo abstracto. */
+    public int getEntradas() {
+        int total = 0;
+        for (int[] celdas : entradas) {
+            total += celdas.length;
+        }
+        return total;
+    }
+
+    /** @return Coste extra de entrar en una trampa con el que se construyó el grafo. */
+    public int getPenalizacionTrampa() {
+        return penalizacionTrampa;
+    }
+
+    /**
+     * @param laberinto Laberinto a comprobar.
+     * @return {@code true} si el grafo se construyó sobre ese mismo laberinto.
+     */
+    public boolean isDe(Laberinto laberinto) {
+        return this.laberinto == laberinto;
+    }
+
+    /**
+     * Montículo binario de mínimos sobre entradas {@code prioridad << 32 | valor}.
+     */
+    private static final class Monticulo {
+        private long[] datos = new long[64];
+        private int tamano;
+
+        void vaciar() {
+            tamano = 0;
+        }
+
+        boolean isVacio() {
+            return tamano == 0;
+        }
+
+        void insertar(long entrada) {
+            if (tamano == datos.length) {
+                datos = Arrays.copyOf(datos, datos.length * 2);
+            }
+            int hijo = tamano++;
+            while (hijo > 0) {
+                int superior = (hijo - 1) >>> 1;
+                if (datos[superior] <= entrada) {
+                    break;
+                }
+                datos[hijo] = datos[superior];
+                hijo = superior;
+            }
+            datos[hijo] = entrada;
+        }
+
+        /**
+         * Extrae la entrada de menor prioridad.
+         */
+        long extraer() {
+            long minima = datos[0];
+            long ultima = datos[--tamano];
+            int superior = 0;
+            int mitad = tamano >>> 1;
+            while (superior < mitad) {
+                int hijo = 2 * superior + 1;
+                if (hijo + 1 < tamano && datos[hijo + 1] < datos[hijo]) {
+                    hijo++;
+                }
+                if (ultima <= datos[hijo]) {
+                    break;
+                }
+                datos[superior] = datos[hijo];
+                superior = hijo;
+            }
+            datos[superior] = ultima;
+            return minima;
+        }
+    }
+
+    /**
+     * Búsqueda limitada a un bloque desde una celda, con costes, pasos, padres y
+     * la primera celda del camino hacia cada celda del bloque. Sin penalización es
+     * un BFS; con ella, un Dijkstra.
+     */
+    private final class Exploracion {
+        private final int[] distancia;
+        private final int[] pasos;
+        private final int[] padre;
+        private final int[] primera;
+        private final int[] cola;
+        private final Monticulo abiertas = new Monticulo();
+        private int f0, c0, f1, c1;
+
+        Exploracion(int lado) {
+            distancia = new int[lado * lado];
+            pasos = new int[lado * lado];
+            padre = new int[lado * lado];
+            primera = new int[lado * lado];
+            cola = new int[lado * lado];
+        }
+
+        /**
+         * Explora el bloque desde una de sus celdas.
+         */
+        void explorar(byte[] tipos, int bloque, int origen) {
+            f0 = (bloque / bloquesPorFila) * lado;
+            c0 = (bloque % bloquesPorFila) * lado;
+            f1 = Math.min(f0 + lado, filas);
+            c1 = Math.min(c0 + lado, columnas);
+            Arrays.fill(distancia, -1);
+
+            int local = local(origen);
+            distancia[local] = 0;
+            pasos[local] = 0;
+            padre[local] = -1;
+            primera[local] = -1;
+            if (penalizacionTrampa == 0) {
+                cola[0] = origen;
+                int cabeza = 0, ocupadas = 1;
+                while (cabeza < ocupadas) {
+                    int actual = cola[cabeza++];
+                    ocupadas = expandir(tipos, actual, origen, ocupadas);
+                }
+            } else {
+                abiertas.vaciar();
+                abiertas.insertar(origen);
+                while (!abiertas.isVacio()) {
+                    long entrada = abiertas.extraer();
+                    int actual = (int) (entrada & MASCARA_NODO);
+                    if ((int) (entrada >>> 32) == distancia[local(actual)]) {
+                        expandir(tipos, actual, origen, 0);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Relaja las vecinas de una celda dentro del bloque.
+         *
+         * @param ocupadas Final de la cola del BFS; sin uso en el Dijkstra.
+         * @return El nuevo final de la cola.
+         */
+        private int expandir(byte[] tipos, int actual, int origen, int ocupadas) {
+            int fila = actual / columnas;
+            int columna = actual % columnas;
+            if (fila > f0) ocupadas = visitar(tipos, actual, actual - columnas, origen, ocupadas);
+            if (fila < f1 - 1) ocupadas = visitar(tipos, actual, actual + columnas, origen, ocupadas);
+            if (columna > c0) ocupadas = visitar(tipos, actual, actual - 1, origen, ocupadas);
+            if (columna < c1 - 1) ocupadas = visitar(tipos, actual, actual + 1, origen, ocupadas);
+            return ocupadas;
+        }
+
+        private int visitar(byte[] tipos, int actual, int vecina, int origen, int ocupadas) {
+            if (BLOQUEA[tipos[vecina]]) {
+                return ocupadas;
+            }
+            int local = local(vecina);
+            int desde = local(actual);
+            int nuevo = distancia[desde] + coste(tipos, vecina);
+            if (distancia[local] >= 0 && distancia[local] <= nuevo) {
+                return ocupadas;
+            }
+            distancia[local] = nuevo;
+            pasos[local] = pasos[desde] + 1;
+            padre[local] = actual;
+            primera[local] = actual == origen ? vecina : primera[desde];
+            if (penalizacionTrampa == 0) {
+                cola[ocupadas] = vecina;
+                return ocupadas + 1;
+            }
+            abiertas.insertar(((long) nuevo << 32) | vecina);
+            return ocupadas;
+        }
+
+        private int local(int celda) {
+            return (celda / columnas - f0) * lado + (celda % columnas - c0);
+        }
+
+        /** @return Coste desde el origen dentro del bloque, o {@code -1}. */
+        int distancia(int celda) {
+            return distancia[local(celda)];
+        }
+
+        /** @return Pasos del camino más barato desde el origen. */
+        int pasos(int celda) {
+            return pasos[local(celda)];
+        }
+
+        /** @return La celda anterior en el camino desde el origen. */
+        int padre(int celda) {
+            return padre[local(celda)];
+        }
+
+        /** @return La primera celda del camino desde el origen. */
+        int primera(int celda) {
+            return primera[local(celda)];
+        }
+    }
+}
@@ -0,0 +1,646 @@
+package Main.modelo.Dominio;
+
+import Main.modelo.Constantes.TipoCelda;
+
+import java.util.Arrays;
+
+/**
+ * Vista contraída de un {@link Laberinto} en la que cada pasillo es una sola arista.
+ * <p>
+ * Son nodos las celdas transitables que no tienen exactamente dos vecinas
+ * transitables (cruces y callejones) y las que contienen algo distinto de
+ * {@link TipoCelda#CAMINO}: llave, salida, trampas, objetos. El resto son celdas
+ * de pasillo, y cada pasillo entre dos nodos se guarda como una arista con su
+ * longitud en pasos y la primera celda que recorre. En los laberintos perfectos,
+ * hechos casi solo de pasillos, el grafo es muchas veces menor que la cuadrícula
+ * y las búsquedas sobre él lo son en la misma proporción.
+ * </p>
+ * <p>
+ * Las aristas se almacenan en formato CSR: las de cada nodo ocupan un tramo
+ * contiguo de los arreglos {@code destinos}, {@code pesos} y {@code salidas}. Al
+ * abrirse un muro rojo o desactivarse una trampa solo cambian los nodos de
+ * alrededor: sus listas se reescriben al final de los arreglos y el tramo antiguo
+ * queda libre; cuando lo libre supera a lo ocupado, los arreglos se compactan.
+ * Los identificadores de nodo se mantienen estables entre actualizaciones. No es
+ * seguro para uso concurrente; se actualiza bajo el mismo bloqueo que la partida.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.0
+ * @since 17/10/2026
+ */
+public class GrafoPasillos {
+
+    /** Valor de {@code nodoDeCelda} para las celdas que no son nodo. */
+    private static final int SIN_NODO = -1;
+
+    /** Tipos que no se pueden atravesar, indexados por ordinal. */
+    private static final boolean[] BLOQUEA = new boolean[TipoCelda.values().length];
+
+    static {
+        for (TipoCelda tipo : TipoCelda.values()) {
+            BLOQUEA[tipo.ordinal()] = !tipo.isTransitable();
+        }
+    }
+
+    private static final byte CAMINO = (byte) TipoCelda.CAMINO.ordinal();
+    private static final byte TRAMPA = (byte) TipoCelda.TRAMPA.ordinal();
+
+    /** Máscara del nodo dentro de una entrada del montículo. */
+    private static final long MASCARA_NODO = 0xFFFFFFFFL;
+
+    /** Laberinto contraído; se sigue consultando en las actualizaciones. */
+    private final Laberinto laberinto;
+
+    /** Columnas del laberinto. */
+    private final int columnas;
+
+    /** Identificador de nodo de cada celda, o {@link #SIN_NODO}. */
+    private final int[] nodoDeCelda;
+
+    /** Celda de cada nodo, o {@code -1} si el nodo se retiró. */
+    private int[] celdaDeNodo = new int[16];
+
+    /** Posición de la primera arista de cada nodo en los arreglos de aristas. */
+    private int[] primeraArista = new int[16];
+
+    /** Número de aristas de cada nodo; nunca más de cuatro. */
+    private byte[] grados = new byte[16];
+
+    /** Identificadores de nodo usados, incluidos los retirados. */
+    private int numNodos;
+
+    /** Nodos vigentes. */
+    private int nodosActivos;
+
+    /** Nodo al que llega cada arista. */
+    private int[] destinos = new int[64];
+
+    /** Pasos de cada arista. */
+    private int[] pesos = new int[64];
+
+    /** Primera celda que recorre cada arista al salir de su nodo. */
+    private int[] salidas = new int[64];
+
+    /** Posiciones de arista ocupadas, incluidas las de tramos antiguos. */
+    private int numAristas;
+
+    /** Aristas vigentes. */
+    private int aristasActivas;
+
+    /** Nodo en el que terminó el último pasillo recorrido, o {@code -1}. */
+    private int finRecorrido;
+
+    /** Pasos del último pasillo recorrido. */
+    private int longitudRecorrido;
+
+    /** Celda del último pasillo recorrido contigua a su nodo final. */
+    private int previaRecorrido;
+
+    /** Celda que se vigila al recorrer un pasillo en busca del destino. */
+    private int celdaVigilada = -1;
+
+    /** Pasos hasta la celda vigilada, o {@code -1} si el recorrido no la cruzó. */
+    private int pasosHastaVigilada;
+
+    /** Celdas afectadas por una actualización. */
+    private int[] region = new int[64];
+
+    /** Nodos cuyas aristas se reescriben en una actualización. */
+    private int[] afectados = new int[64];
+
+    /** Coste de cada nodo en la búsqueda actual; válido si la marca coincide. */
+    private int[] costes = new int[16];
+
+    /** Primera celda del camino desde el origen hasta cada nodo. */
+    private int[] primerosPasos = new int[16];
+
+    /** Generación en la que se escribió el coste de cada nodo. */
+    private int[] marcas = new int[16];
+
+    /** Generación de la búsqueda actual. */
+    private int generacion;
+
+    /** Montículo binario de entradas {@code coste << 32 | nodo}. */
+    private long[] monticulo = new long[64];
+
+    /** Entradas ocupadas del montículo. */
+    private int tamano;
+
+    /** Fila de la celda de destino de la búsqueda actual. */
+    private int filaDestino;
+
+    /** Columna de la celda de destino de la búsqueda actual. */
+    private int columnaDestino;
+
+    /** Primera celda de la última ruta resuelta, o {@code -1}. */
+    private int primerPaso;
+
+    /**
+     * Construye el grafo de pasillos de un laberinto.
+     *
+     * @param laberinto Laberinto a contraer.
+     */
+    public GrafoPasillos(Laberinto laberinto) {
+        this.laberinto = laberinto;
+        this.columnas = laberinto.getColumnas();
+        byte[] tipos = laberinto.getTiposCrudos();
+        this.nodoDeCelda = new int[tipos.length];
+        Arrays.fill(nodoDeCelda, SIN_NODO);
+
+        for (int celda = 0; celda < tipos.length; celda++) {
+            if (esNodo(tipos, celda)) {
+                agregarNodo(celda);
+            }
+        }
+        for (int nodo = 0; nodo < numNodos; nodo++) {
+            escribirAristas(tipos, nodo);
+        }
+    }
+
+    /**
+     * Decide si una celda es nodo con el contenido actual del laberinto.
+     */
+    private boolean esNodo(byte[] tipos, int celda) {
+        byte tipo = tipos[celda];
+        if (BLOQUEA[tipo]) {
+            return false;
+        }
+        return tipo != CAMINO || contarVecinas(tipos, celda) != 2;
+    }
+
+    /**
+     * @return Las vecinas transitables de una celda.
+     */
+    private int contarVecinas(byte[] tipos, int celda) {
+        int columna = celda % columnas;
+        int vecinas = 0;
+        if (celda >= columnas && !BLOQUEA[tipos[celda - columnas]]) vecinas++;
+        if (celda + columnas < tipos.length && !BLOQUEA[tipos[celda + columnas]]) vecinas++;
+        if (columna > 0 && !BLOQUEA[tipos[celda - 1]]) vecinas++;
+        if (columna < columnas - 1 && !BLOQUEA[tipos[celda + 1]]) vecinas++;
+        return vecinas;
+    }
+
+    /**
+     * @return La vecina transitable número {@code orden} (0 a 3: arriba, abajo,
+     *         izquierda, derecha), o {@code -1} si no existe o no es transitable.
+     */
+    private int vecina(byte[] tipos, int celda, int orden) {
+        int vecina;
+        switch (orden) {
+            case 0:
+                vecina = celda - columnas;
+                break;
+            case 1:
+                vecina = celda + columnas < tipos.length ? celda + columnas : -1;
+                break;
+            case 2:
+                vecina = celda % columnas > 0 ? celda - 1 : -1;
+                break;
+            default:
+                vecina = celda % columnas < columnas - 1 ? celda + 1 : -1;
+                break;
+        }
+        return vecina >= 0 && !BLOQUEA[tipos[vecina]] ? vecina : -1;
+    }
+
+    /**
+     * Recorre un pasillo desde {@code desde} entrando por {@code primera} hasta
+     * llegar a un nodo. Deja el nodo en {@link #finRecorrido}, o {@code -1} si el
+     * pasillo es un anillo sin nodos, los pasos en {@link #longitudRecorrido} y la
+     * celda previa al nodo en {@link #previaRecorrido}.
+     */
+    private void recorrer(byte[] tipos, int desde, int primera) {
+        int anterior = desde;
+        int actual = primera;
+        int pasos = 1;
+        pasosHastaVigilada = actual == celdaVigilada ? 1 : -1;
+        while (nodoDeCelda[actual] == SIN_NODO) {
+            int siguiente = -1;
+            for (int orden = 0; orden < 4 && siguiente < 0; orden++) {
+                int candidata = vecina(tipos, actual, orden);
+                if (candidata >= 0 && candidata != anterior) {
+                    siguiente = candidata;
+                }
+            }
+            if (siguiente < 0 || siguiente == desde && nodoDeCelda[desde] == SIN_NODO) {
+                finRecorrido = -1;
+                longitudRecorrido = pasos;
+                return;
+            }
+            anterior = actual;
+            actual = siguiente;
+            pasos++;
+            if (actual == celdaVigilada && pasosHastaVigilada < 0) {
+                pasosHastaVigilada = pasos;
+            }
+        }
+        finRecorrido = nodoDeCelda[actual];
+        longitudRecorrido = pasos;
+        previaRecorrido = anterior;
+    }
+
+    /**
+     * Da de alta un nodo en una celda.
+     */
+    private void agregarNodo(int celda) {
+        if (numNodos == celdaDeNodo.length) {
+            int capacidad = numNodos * 2;
+            celdaDeNodo = Arrays.copyOf(celdaDeNodo, capacidad);
+            primeraArista = Arrays.copyOf(primeraArista, capacidad);
+            grados = Arrays.copyOf(grados, capacidad);
+        }
+        celdaDeNodo[numNodos] = celda;
+        grados[numNodos] = 0;
+        nodoDeCelda[celda] = numNodos++;
+        nodosActivos++;
+    }
+
+    /**
+     * Retira el nodo de una celda que ha pasado a ser de pasillo.
+     */
+    private void quitarNodo(int celda) {
+        int nodo = nodoDeCelda[celda];
+        aristasActivas -= grados[nodo];
+        grados[nodo] = 0;
+        celdaDeNodo[nodo] = -1;
+        nodoDeCelda[celda] = SIN_NODO;
+        nodosActivos--;
+    }
+
+    /**
+     * Recorre los pasillos de un nodo y escribe sus aristas al final de los
+     * arreglos; el tramo que ocupaban antes queda libre.
+     */
+    private void escribirAristas(byte[] tipos, int nodo) {
+        if (numAristas + 4 > destinos.length) {
+            int capacidad = destinos.length * 2;
+            destinos = Arrays.copyOf(destinos, capacidad);
+            pesos = Arrays.copyOf(pesos, capacidad);
+            salidas = Arrays.copyOf(salidas, capacidad);
+        }
+        aristasActivas -= grados[nodo];
+        int celda = celdaDeNodo[nodo];
+        int inicio = numAristas;
+        for (int orden = 0; orden < 4; orden++) {
+            int primera = vecina(tipos, celda, orden);
+            if (primera < 0) {
+                continue;
+            }
+            recorrer(tipos, celda, primera);
+            // Los anillos que vuelven al mismo nodo nunca acortan una ruta
+            if (finRecorrido >= 0 && finRecorrido != nodo) {
+                destinos[numAristas] = finRecorrido;
+                pesos[numAristas] = longitudRecorrido;
+                salidas[numAristas] = primera;
+                numAristas++;
+            }
+        }
+        primeraArista[nodo] = inicio;
+        grados[nodo] = (byte) (numAristas - inicio);
+        aristasActivas += numAristas - inicio;
+    }
+
+    /**
+     * Actualiza el grafo tras cambiar el tipo de algunas celdas, por ejemplo al
+     * destruir muros rojos o al desactivar una trampa.
+     * <p>
+     * Solo se revisan las celdas cambiadas y sus vecinas, las únicas cuya
+     * condición de nodo puede variar. Desde ellas se recorren los pasillos hasta
+     * los nodos más próximos, y se reescriben las aristas de esos nodos.
+     * </p>
+     *
+     * @param celdas   Posiciones empaquetadas de las celdas cambiadas.
+     * @param cantidad Número de posiciones válidas de {@code celdas}.
+     */
+    public void actualizarCeldas(int[] celdas, int cantidad) {
+        byte[] tipos = laberinto.getTiposCrudos();
+        int enRegion = 0;
+        for (int i = 0; i < cantidad; i++) {
+            if (region.length < enRegion + 5) {
+                region = Arrays.copyOf(region, region.length * 2);
+            }
+            enRegion = anadir(region, enRegion, celdas[i]);
+            for (int orden = 0; orden < 4; orden++) {
+                int vecina = vecina(tipos, celdas[i], orden);
+                if (vecina >= 0) {
+                    enRegion = anadir(region, enRegion, vecina);
+                }
+            }
+        }
+
+        // Alta y baja de nodos en la región
+        for (int i = 0; i < enRegion; i++) {
+            int celda = region[i];
+            boolean era = nodoDeCelda[celda] != SIN_NODO;
+            boolean es = esNodo(tipos, celda);
+            if (era && !es) {
+                quitarNodo(celda);
+            } else if (!era && es) {
+                agregarNodo(celda);
+            }
+        }
+
+        // Nodos de la región y nodos a los que llegan sus pasillos
+        int numAfectados = 0;
+        for (int i = 0; i < enRegion; i++) {
+            int celda = region[i];
+            if (BLOQUEA[tipos[celda]]) {
+                continue;
+            }
+            if (afectados.length < numAfectados + 5) {
+                afectados = Arrays.copyOf(afectados, afectados.length * 2);
+            }
+            if (nodoDeCelda[celda] != SIN_NODO) {
+                numAfectados = anadir(afectados, numAfectados, nodoDeCelda[celda]);
+            }
+            for (int orden = 0; orden < 4; orden++) {
+                int primera = vecina(tipos, celda, orden);
+                if (primera >= 0) {
+                    recorrer(tipos, celda, primera);
+                    if (finRecorrido >= 0) {
+                        numAfectados = anadir(afectados, numAfectados, finRecorrido);
+                    }
+                }
+            }
+        }
+
+        for (int i = 0; i < numAfectados; i++) {
+            if (celdaDeNodo[afectados[i]] >= 0) {
+                escribirAristas(tipos, afectados[i]);
+            }
+        }
+        if (numAristas - aristasActivas > aristasActivas) {
+            compactar();
+        }
+    }
+
+    /**
+     * Añade un valor a una lista corta si aún no está.
+     *
+     * @return El nuevo tamaño de la lista.
+     */
+    private static int anadir(int[] lista, int tamano, int valor) {
+        for (int i = 0; i < tamano; i++) {
+            if (lista[i] == valor) {
+                return tamano;
+            }
+        }
+        lista[tamano] = valor;
+        return tamano + 1;
+    }
+
+    /**
+     * Reescribe las aristas vigentes de forma contigua, en orden de nodo.
+     */
+    private void compactar() {
+        int capacidad = Math.max(64, aristasActivas * 2);
+        int[] nuevosDestinos = new int[capacidad];
+        int[] nuevosPesos = new int[capacidad];
+        int[] nuevasSalidas = new int[capacidad];
+        int escritas = 0;
+        for (int nodo = 0; nodo < numNodos; nodo++) {
+            int inicio = primeraArista[nodo];
+            int grado = grados[nodo];
+            System.arraycopy(destinos, inicio, nuevosDestinos, escritas, grado);
+            System.arraycopy(pesos, inicio, nuevosPesos, escritas, grado);
+            System.arraycopy(salidas, inicio, nuevasSalidas, escritas, grado);
+            primeraArista[nodo] = escritas;
+            escritas += grado;
+        }
+        destinos = nuevosDestinos;
+        pesos = nuevosPesos;
+        salidas = nuevasSalidas;
+        numAristas = escritas;
+    }
+
+    /**
+     * Busca con A* sobre el grafo la ruta más barata entre dos celdas transitables
+     * cualesquiera.
+     * <p>
+     * Una celda de pasillo se enlaza con los dos nodos de sus extremos. Cada paso
+     * cuesta uno y entrar en una trampa cuesta además {@code penalizacionTrampa}.
+     * La heurística es la distancia Manhattan, que sigue siendo admisible porque
+     * ningún pasillo es más corto que la distancia Manhattan entre sus extremos.
+     * </p>
+     *
+     * @param origen             Posición empaquetada de partida.
+     * @param destino            Posición empaquetada de llegada.
+     * @param penalizacionTrampa Coste extra de pisar una trampa.
+     * @return El coste de la ruta, o {@code -1} si no existe; la primera celda
+     *         queda en {@link #getPrimerPaso()}.
+     */
+    public int resolver(int origen, int destino, int penalizacionTrampa) {
+        byte[] tipos = laberinto.getTiposCrudos();
+        primerPaso = -1;
+        if (BLOQUEA[tipos[origen]] || BLOQUEA[tipos[destino]]) {
+            return -1;
+        }
+        if (origen == destino) {
+            return 0;
+        }
+        prepararBusqueda();
+        int marca = nuevaGeneracion();
+        filaDestino = destino / columnas;
+        columnaDestino = destino % columnas;
+        int mejor = Integer.MAX_VALUE;
+
+        // Extremos del destino: nodo propio o los dos nodos de su pasillo, con la
+        // celda por la que se entra al pasillo desde cada uno
+        int destinoA = nodoDeCelda[destino], restoA = 0, entradaA = destino;
+        int destinoB = -1, restoB = 0, entradaB = destino;
+        if (destinoA == SIN_NODO) {
+            int extremos = 0;
+            for (int orden = 0; orden < 4; orden++) {
+                int primera = vecina(tipos, destino, orden);
+                if (primera < 0) {
+                    continue;
+                }
+                recorrer(tipos, destino, primera);
+                if (extremos++ == 0) {
+                    destinoA = finRecorrido;
+                    restoA = longitudRecorrido;
+                    entradaA = previaRecorrido;
+                } else {
+                    destinoB = finRecorrido;
+                    restoB = longitudRecorrido;
+                    entradaB = previaRecorrido;
+                }
+            }
+        }
+
+        // Siembra desde el origen, o desde los dos extremos de su pasillo
+        tamano = 0;
+        int nodoOrigen = nodoDeCelda[origen];
+        if (nodoOrigen != SIN_NODO) {
+            sembrar(nodoOrigen, 0, -1, marca);
+        } else {
+            // Solo un destino de pasillo puede alcanzarse sin pasar por un nodo
+            celdaVigilada = nodoDeCelda[destino] == SIN_NODO ? destino : -1;
+            for (int orden = 0; orden < 4; orden++) {
+                int primera = vecina(tipos, origen, orden);
+                if (primera < 0) {
+                    continue;
+                }
+                recorrer(tipos, origen, primera);
+                if (pasosHastaVigilada > 0 && pasosHastaVigilada < mejor) {
+                    mejor = pasosHastaVigilada; // Mismo pasillo
+                    primerPaso = primera;
+                }
+                if (finRecorrido >= 0) {
+                    int coste = longitudRecorrido
+                            + (tipos[celdaDeNodo[finRecorrido]] == TRAMPA ? penalizacionTrampa : 0);
+                    sembrar(finRecorrido, coste, primera, marca);
+                }
+            }
+            celdaVigilada = -1;
+        }
+
+        while (tamano > 0) {
+            long entrada = extraer();
+            int nodo = (int) (entrada & MASCARA_NODO);
+            int prioridad = (int) (entrada >>> 32);
+            if (prioridad >= mejor) {
+                break;
+            }
+            int coste = costes[nodo];
+            // Entrada obsoleta: el nodo ya salió antes con menor coste
+            if (prioridad > coste + estimar(nodo)) {
+                continue;
+            }
+            if (nodo == destinoA && coste + restoA < mejor) {
+                mejor = coste + restoA;
+                primerPaso = primerosPasos[nodo] >= 0 ? primerosPasos[nodo] : entradaA;
+            }
+            if (nodo == destinoB && coste + restoB < mejor) {
+                mejor = coste + restoB;
+                primerPaso = primerosPasos[nodo] >= 0 ? primerosPasos[nodo] : entradaB;
+            }
+            int inicio = primeraArista[nodo];
+            int fin = inicio + grados[nodo];
+            for (int arista = inicio; arista < fin; arista++) {
+                int vecino = destinos[arista];
+                int nuevoCoste = coste + pesos[arista]
+                        + (tipos[celdaDeNodo[vecino]] == TRAMPA ? penalizacionTrampa : 0);
+                sembrar(vecino, nuevoCoste, primerosPasos[nodo] >= 0 ? primerosPasos[nodo] : salidas[arista], marca);
+            }
+        }
+
+        return mejor == Integer.MAX_VALUE ? -1 : mejor;
+    }
+
+    /**
+     * @return La distancia Manhattan del nodo a la celda de destino de la búsqueda.
+     */
+    private int estimar(int nodo) {
+        int celda = celdaDeNodo[nodo];
+        int fila = celda / columnas;
+        return Math.abs(fila - filaDestino) + Math.abs(celda - fila * columnas - columnaDestino);
+    }
+
+    /**
+     * Mejora el coste de un nodo y lo inserta en la frontera con prioridad
+     * coste más distancia Manhattan al destino.
+     */
+    private void sembrar(int nodo, int coste, int paso, int marca) {
+        if (marcas[nodo] == marca && costes[nodo] <= coste) {
+            return;
+        }
+        marcas[nodo] = marca;
+        costes[nodo] = coste;
+        primerosPasos[nodo] = paso;
+        if (tamano == monticulo.length) {
+            monticulo = Arrays.copyOf(monticulo, monticulo.length * 2);
+        }
+        long entrada = ((long) (coste + estimar(nodo)) << 32) | nodo;
+        int hijo = tamano++;
+        while (hijo > 0) {
+            int padre = (hijo - 1) >>> 1;
+            if (monticulo[padre] <= entrada) {
+                break;
+            }
+            monticulo[hijo] = monticulo[padre];
+            hijo = padre;
+        }
+        monticulo[hijo] = entrada;
+    }
+
+    /**
+     * Extrae la entrada de menor coste del montículo.
+     */
+    private long extraer() {
+        long minima = monticulo[0];
+        long ultima = monticulo[--tamano];
+        int padre = 0;
+        int mitad = tamano >>> 1;
+        while (padre < mitad) {
+            int hijo = 2 * padre + 1;
+            if (hijo + 1 < tamano && monticulo[hijo + 1] < monticulo[hijo]) {
+                hijo++;
+            }
+            if (ultima <= monticulo[hijo]) {
+                break;
+            }
+            monticulo[padre] = monticulo[hijo];
+            padre = hijo;
+        }
+        monticulo[padre] = ultima;
+        return minima;
+    }
+
+    /**
+     * Agranda los arreglos de búsqueda si hay más nodos que en la búsqueda anterior.
+     */
+    private void prepararBusqueda() {
+        if (costes.length < numNodos) {
+            int capacidad = celdaDeNodo.length;
+            costes = new int[capacidad];
+            primerosPasos = new int[capacidad];
+            marcas = new int[capacidad];
+            generacion = 0;
+        }
+    }
+
+    /**
+     * Avanza la generación; al dar la vuelta limpia las marcas una sola vez.
+     */
+    private int nuevaGeneracion() {
+        if (++generacion == 0) {
+            Arrays.fill(marcas, 0);
+            generacion = 1;
+        }
+        return generacion;
+    }
+
+    /** @return La primera celda de la última ruta resuelta, o {@code -1} si no hay. */
+    public int getPrimerPaso() {
+        return primerPaso;
+    }
+
+    /** @return Número de nodos vigentes. */
+    public int getNodos() {
+        return nodosActivos;
+    }
+
+    /** @return Número de aristas vigentes; cada pasillo cuenta una vez por sentido. */
+    public int getAristas() {
+        return aristasActivas;
+    }
+
+    /**
+     * @param celda Posición empaquetada.
+     * @return El identificador del nodo de esa celda, o {@code -1} si es de pasillo.
+     */
+    public int getNodo(int celda) {
+        return nodoDeCelda[celda];
+    }
+
+    /**
+     * @param laberinto Laberinto a comprobar.
+     * @return {@code true} si el grafo se construyó sobre ese mismo laberinto.
+     */
+    public boolean isDe(Laberinto laberinto) {
+        return this.laberinto == laberinto;
+    }
+}
@@ -13,7 +13,7 @@ import java.time.LocalDateTime;
  * </p>
  * * @author Mario Sanchez
  * 
- * @version 1.0
+ * @version 1.2
  * @since 11/11/2025
  */
 public class Juego {
@@ -48,6 +48,21 @@ public class Juego {
     /** Contador de muros especiales eliminados. */
     private int murosRojosDestruidos;
 
+    /** Número de acciones registradas en la partida (posición en el diario). */
+    private long secuenciaAcciones;
+
+    /**
+     * Distancias a la llave y a la salida, calculadas al primer uso. No se
+     * guardan con la partida ni pasan a sus copias.
+     */
+    private transient CamposDistancia camposDistancia;
+
+    /** Grafo de pasillos del laberinto, construido al primer uso; tampoco se guarda. */
+    private transient GrafoPasillos grafoPasillos;
+
+    /** Grafo jerárquico por bloques para laberintos grandes; tampoco se guarda. */
+    private transient GrafoJerarquico grafoJerarquico;
+
     /**
      * Construye una nueva instancia de Juego, inicializando los componentes
      * principales.
@@ -90,6 +105,71 @@ public class Juego {
         this.laberinto = laberinto;
     }
 
+    /**
+     * Obtiene los campos de distancia del laberinto actual, calculándolos si aún
+     * no existen o si el laberinto cambió.
+     *
+     * @return Los campos de distancia a la llave y a la salida.
+     */
+    public CamposDistancia getCamposDistancia() {
+        if (camposDistancia == null || !camposDistancia.isDe(laberinto)) {
+            camposDistancia = new CamposDistancia(laberinto);
+        }
+        return camposDistancia;
+    }
+
+    /**
+     * Obtiene el grafo de pasillos del laberinto actual, construyéndolo si aún no
+     * existe o si el laberinto cambió.
+     *
+     * @return El grafo contraído del laberinto.
+     */
+    public GrafoPasillos getGrafoPasillos() {
+        if (grafoPasillos == null || !grafoPasillos.isDe(laberinto)) {
+            grafoPasillos = new GrafoPasillos(laberinto);
+        }
+        return grafoPasillos;
+    }
+
+    /**
+     * Obtiene el grafo jerárquico del laberinto actual, construyéndolo si aún no
+     * existe, si el laberinto cambió o si se pide otra penalización de trampas.
+     *
+     * @param penalizacionTrampa Coste extra de entrar en una trampa.
+     * @return El grafo jerárquico por bloques del laberinto.
+     */
+    public GrafoJerarquico getGrafoJerarquico(int penalizacionTrampa) {
+        if (grafoJerarquico == null || !grafoJerarquico.isDe(laberinto)
+                || grafoJerarquico.getPenalizacionTrampa() != penalizacionTrampa) {
+            grafoJerarquico = new GrafoJerarquico(laberinto, GrafoJerarquico.LADO_BLOQUE_POR_DEFECTO,
+                    penalizacionTrampa);
+        }
+        return grafoJerarquico;
+    }
+
+    /**
+     * Propaga a las estructuras derivadas del laberinto que ya se hayan calculado
+     * el cambio de tipo de algunas celdas, como un muro rojo destruido o un
+     * objeto recogido.
+     *
+     * @param celdas   Posiciones empaquetadas de las celdas cambiadas.
+     * @param cantidad Número de posiciones válidas de {@code celdas}.
+     */
+    public void registrarCeldasCambiadas(int[] celdas, int cantidad) {
+        if (cantidad == 0) {
+            return;
+        }
+        if (camposDistancia != null && camposDistancia.isDe(laberinto)) {
+            camposDistancia.abrirCeldas(celdas, cantidad);
+        }
+        if (grafoPasillos != null && grafoPasillos.isDe(laberinto)) {
+            grafoPasillos.actualizarCeldas(celdas, cantidad);
+        }
+        if (grafoJerarquico != null && grafoJerarquico.isDe(laberinto)) {
+            grafoJerarquico.invalidarCeldas(celdas, cantidad);
+        }
+    }
+
     /** @return La instancia del jugador. */
     public Jugador getJugador() {
         return jugador;
@@ -222,8 +302,56 @@ public class Juego {
         this.murosRojosDestruidos = murosRojosDestruidos;
     }
 
+    /**
+     * Crea una instantánea profunda de la partida.
+     * <p>
+     * El laberinto y el jugador se duplican, de modo que la copia puede
+     * serializarse en otro hilo mientras la partida original sigue avanzando.
+     * </p>
+     *
+     * @return Un nuevo {@link Juego} con el mismo estado.
+     */
+    public Juego copiar() {
+        Juego copia = new Juego(laberinto.copiar(), jugador.copiar(), usuario, inicio);
+        copia.fin = fin;
+        copia.estado = estado;
+        copia.trampasActivadas = trampasActivadas;
+        copia.nieblaDeGuerra = nieblaDeGuerra;
+        copia.tiempoJugadoSegundos = tiempoJugadoSegundos;
+        copia.dificultad = dificultad;
+        copia.bombasRecolectadasTotal = bombasRecolectadasTotal;
+        copia.fosforosRecolectadosTotal = fosforosRecolectadosTotal;
+        copia.fosforosUsados = fosforosUsados;
+        copia.murosRojosDestruidos = murosRojosDestruidos;
+        copia.secuenciaAcciones = secuenciaAcciones;
+        return copia;
+    }
+
+    /**
+     * @return El número de acciones registradas hasta el momento.
+     */
+    public long getSecuenciaAcciones() {
+        return secuenciaAcciones;
+    }
+
+    /**
+     * @param secuenciaAcciones Número de acciones ya aplicadas a la partida.
+     */
+    public void setSecuenciaAcciones(long secuenciaAcciones) {
+        this.secuenciaAcciones = secuenciaAcciones;
+    }
+
     // --- Métodos de Incremento ---
 
+    /**
+     * Avanza la secuencia de acciones de la partida.
+     *
+     * @return El número de secuencia asignado a la nueva acción.
+     */
+    public long incrementarSecuenciaAcciones() {
+        return ++this.secuenciaAcciones;
+    }
+
     /** Incrementa el contador de trampas activadas en una unidad. */
     public void incrementarTrampasActivadas() {
         this.trampasActivadas++;
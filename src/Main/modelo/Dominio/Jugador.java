@@ -57,6 +57,21 @@ public class Jugador {
         this.posY = 0;
     }
 
+    /**
+     * Crea una copia del jugador con el mismo estado e inventario.
+     *
+     * @return Un nuevo {@link Jugador} independiente del original.
+     */
+    public Jugador copiar() {
+        Jugador copia = new Jugador(vida, cristales, tieneLlave);
+        copia.bombas = bombas;
+        copia.fosforos = fosforos;
+        copia.tieneLlaveNegra = tieneLlaveNegra;
+        copia.posX = posX;
+        copia.posY = posY;
+        return copia;
+    }
+
     // --- Métodos de Lógica ---
 
     /**
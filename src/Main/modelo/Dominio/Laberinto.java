@@ -1,5 +1,9 @@
 package Main.modelo.Dominio;
 
+import Main.modelo.Constantes.TipoCelda;
+
+import java.util.BitSet;
+
 /**
  * Representa la estructura completa del laberinto como una matriz bidimensional de celdas.
  * <p>
@@ -7,16 +11,31 @@ package Main.modelo.Dominio;
  * para interactuar con las celdas individuales dentro de los límites del laberinto.
  * Es el componente principal para la lógica de colisiones y renderizado del mapa.
  * </p>
+ * <p>
+ * Internamente la matriz se almacena de forma compacta: un {@code byte[]} con el ordinal
+ * de {@link TipoCelda} de cada posición (orden fila por fila) y dos {@link BitSet} para
+ * los estados de visitada y visible. Las {@link Celda} que devuelve {@link #getCelda(int, int)}
+ * son vistas ligeras que leen y escriben directamente sobre este almacenamiento.
+ * </p>
  * @author Mario Sanchez
- * @version 1.0
+ * @version 1.3
  * @since 11/11/2025
  */
-public class Laberinto {
+public final class Laberinto {
+    /** Tabla de tipos indexada por ordinal, para evitar {@code values()} en cada acceso. */
+    private static final TipoCelda[] TIPOS = TipoCelda.values();
+
     /**
-     * La matriz bidimensional que contiene todas las {@link Celda} que componen el laberinto.
-     * La estructura se organiza mediante el acceso [fila][columna].
+     * Ordinal de {@link TipoCelda} de cada celda, indexado como {@code fila * columnas + columna}.
+     * Un arreglo recién creado equivale a un laberinto lleno de {@link TipoCelda#MURO}.
      */
-    private Celda[][] celdas;
+    private final byte[] tipos;
+
+    /** Conjunto de celdas que el jugador ya ha visitado. */
+    private final BitSet visitadas;
+
+    /** Conjunto de celdas visibles actualmente para el jugador. */
+    private final BitSet visibles;
 
     /** El número total de filas en el laberinto. */
     private int filas;
@@ -24,26 +43,90 @@ public class Laberinto {
     /** El número total de columnas en el laberinto. */
     private int columnas;
 
+    /**
+     * Construye un laberinto de las dimensiones dadas con todas sus celdas como
+     * {@link TipoCelda#MURO}, sin visitar y ocultas.
+     *
+     * @param filas El número de filas de la matriz.
+     * @param columnas El número de columnas de la matriz.
+     */
+    public Laberinto(int filas, int columnas) {
+        this.filas = filas;
+        this.columnas = columnas;
+        this.tipos = new byte[filas * columnas];
+        this.visitadas = new BitSet(filas * columnas);
+        this.visibles = new BitSet(filas * columnas);
+    }
+
     /**
      * Construye un nuevo objeto Laberinto con sus dimensiones y celdas.
+     * <p>
+     * El contenido de las celdas se copia al almacenamiento compacto; la matriz
+     * recibida no se conserva.
+     * </p>
      *
      * @param celdas La matriz de celdas que forman la estructura del laberinto.
      * @param filas El número de filas de la matriz.
      * @param columnas El número de columnas de la matriz.
      */
     public Laberinto(Celda[][] celdas, int filas, int columnas) {
-        this.celdas = celdas;
-        this.filas = filas;
-        this.columnas = columnas;
+        this(filas, columnas);
+        for (int i = 0; i < filas; i++) {
+            for (int j = 0; j < columnas; j++) {
+                copiarCelda(i, j, celdas[i][j]);
+            }
+        }
+    }
+
+    /**
+     * Construye una copia independiente de otro laberinto.
+     *
+     * @param original El laberinto cuyo contenido se duplica.
+     */
+    private Laberinto(Laberinto original) {
+        this.filas = original.filas;
+        this.columnas = original.columnas;
+        this.tipos = original.tipos.clone();
+        this.visitadas = (BitSet) original.visitadas.clone();
+        this.visibles = (BitSet) original.visibles.clone();
+    }
+
+    /**
+     * Crea una copia profunda del laberinto.
+     * <p>
+     * Al duplicar solo los arreglos compactos, la copia es barata y sirve como
+     * instantánea para guardados en segundo plano.
+     * </p>
+     * @return Un nuevo {@link Laberinto} con el mismo contenido.
+     */
+    public Laberinto copiar() {
+        return new Laberinto(this);
     }
 
     // --- Getters ---
 
     /**
-     * Obtiene la matriz completa de celdas.
-     * @return El arreglo bidimensional de objetos {@link Celda}.
+     * Obtiene la matriz completa de celdas, de solo lectura.
+     * <p>
+     * Cada llamada construye una matriz nueva de vistas sobre el almacenamiento
+     * compacto, por lo que debe evitarse en bucles de juego o generación. La
+     * matriz no pertenece al laberinto: asignar otra celda en una de sus
+     * posiciones se pierde sin aviso. Para modificar el contenido se usan
+     * {@link #setCelda(int, int, Celda)}, {@link #setTipo(int, int, TipoCelda)},
+     * {@link #setVisitada(int, int, boolean)} y {@link #setVisible(int, int, boolean)}.
+     * </p>
+     * @return Una matriz nueva de vistas {@link Celda}; sus posiciones no deben
+     *         reasignarse.
      */
-    public Celda[][] getCeldas() { return celdas; }
+    public Celda[][] getCeldas() {
+        Celda[][] vista = new Celda[filas][columnas];
+        for (int i = 0; i < filas; i++) {
+            for (int j = 0; j < columnas; j++) {
+                vista[i][j] = new Celda(this, i, j);
+            }
+        }
+        return vista;
+    }
 
     /**
      * Obtiene el límite vertical del laberinto.
@@ -61,7 +144,8 @@ public class Laberinto {
      * Obtiene una celda específica en las coordenadas dadas.
      * <p>
      * Realiza una validación previa para evitar excepciones de tipo
-     * {@code ArrayIndexOutOfBoundsException}.
+     * {@code ArrayIndexOutOfBoundsException}. La celda devuelta es una vista:
+     * los cambios que se hagan sobre ella se reflejan en el laberinto.
      * </p>
      * @param fila El índice de la fila (de 0 a filas-1).
      * @param columna El índice de la columna (de 0 a columnas-1).
@@ -69,7 +153,7 @@ public class Laberinto {
      */
     public Celda getCelda(int fila, int columna) {
         if (esPosicionValida(fila, columna)) {
-            return celdas[fila][columna];
+            return new Celda(this, fila, columna);
         }
         return null;
     }
@@ -78,7 +162,8 @@ public class Laberinto {
      * Establece o reemplaza una celda específica en las coordenadas dadas.
      * <p>
      * Este metodo es útil para actualizaciones dinámicas del mapa, como la
-     * destrucción de muros o la aparición de objetos.
+     * destrucción de muros o la aparición de objetos. Se copian el tipo y los
+     * estados de la celda recibida.
      * </p>
      * @param fila El índice de la fila.
      * @param columna El índice de la columna.
@@ -86,10 +171,157 @@ public class Laberinto {
      */
     public void setCelda(int fila, int columna, Celda celda) {
         if (esPosicionValida(fila, columna)) {
-            celdas[fila][columna] = celda;
+            copiarCelda(fila, columna, celda);
         }
     }
 
+    /**
+     * Copia tipo y estados de una celda al almacenamiento compacto.
+     *
+     * @param fila El índice de la fila.
+     * @param columna El índice de la columna.
+     * @param celda La celda de origen.
+     */
+    private void copiarCelda(int fila, int columna, Celda celda) {
+        int indice = indice(fila, columna);
+        tipos[indice] = (byte) celda.getTipo().ordinal();
+        visitadas.set(indice, celda.isVisitada());
+        visibles.set(indice, celda.isVisible());
+    }
+
+    // --- Acceso compacto ---
+
+    /**
+     * Convierte unas coordenadas en el índice lineal del almacenamiento compacto.
+     *
+     * @param fila El índice de la fila.
+     * @param columna El índice de la columna.
+     * @return El valor {@code fila * columnas + columna}.
+     */
+    public int indice(int fila, int columna) {
+        return fila * columnas + columna;
+    }
+
+    /**
+     * Obtiene el tipo de la celda en las coordenadas dadas sin crear vistas.
+     *
+     * @param fila El índice de la fila.
+     * @param columna El índice de la columna.
+     * @return El {@link TipoCelda} de la posición.
+     */
+    public TipoCelda getTipo(int fila, int columna) {
+        return TIPOS[tipos[indice(fila, columna)]];
+    }
+
+    /**
+     * Obtiene el tipo de la celda a partir de su índice lineal.
+     *
+     * @param indice Índice calculado con {@link #indice(int, int)}.
+     * @return El {@link TipoCelda} de la posición.
+     */
+    public TipoCelda getTipo(int indice) {
+        return TIPOS[tipos[indice]];
+    }
+
+    /**
+     * Cambia el tipo de la celda en las coordenadas dadas.
+     *
+     * @param fila El índice de la fila.
+     * @param columna El índice de la columna.
+     * @param tipo El nuevo {@link TipoCelda}.
+     */
+    public void setTipo(int fila, int columna, TipoCelda tipo) {
+        tipos[indice(fila, columna)] = (byte) tipo.ordinal();
+    }
+
+    /**
+     * Cambia el tipo de la celda a partir de su índice lineal.
+     *
+     * @param indice Índice calculado con {@link #indice(int, int)}.
+     * @param tipo El nuevo {@link TipoCelda}.
+     */
+    public void setTipo(int indice, TipoCelda tipo) {
+        tipos[indice] = (byte) tipo.ordinal();
+    }
+
+    /**
+     * Indica si la celda en las coordenadas dadas ya fue visitada.
+     *
+     * @param fila El índice de la fila.
+     * @param columna El índice de la columna.
+     * @return {@code true} si fue visitada.
+     */
+    public boolean isVisitada(int fila, int columna) {
+        return visitadas.get(indice(fila, columna));
+    }
+
+    /**
+     * Marca la celda en las coordenadas dadas como visitada o no visitada.
+     *
+     * @param fila El índice de la fila.
+     * @param columna El índice de la columna.
+     * @param visitada Nuevo estado de exploración.
+     */
+    public void setVisitada(int fila, int columna, boolean visitada) {
+        visitadas.set(indice(fila, columna), visitada);
+    }
+
+    /**
+     * Indica si la celda en las coordenadas dadas es visible.
+     *
+     * @param fila El índice de la fila.
+     * @param columna El índice de la columna.
+     * @return {@code true} si es visible.
+     */
+    public boolean isVisible(int fila, int columna) {
+        return visibles.get(indice(fila, columna));
+    }
+
+    /**
+     * Actualiza la visibilidad de la celda en las coordenadas dadas.
+     *
+     * @param fila El índice de la fila.
+     * @param columna El índice de la columna.
+     * @param visible Nuevo estado de visibilidad.
+     */
+    public void setVisible(int fila, int columna, boolean visible) {
+        visibles.set(indice(fila, columna), visible);
+    }
+
+    /**
+     * Expone el arreglo de ordinales de {@link TipoCelda} sin copiarlo.
+     * <p>
+     * Pensado para algoritmos de generación y búsqueda que recorren toda la
+     * matriz; las escrituras sobre el arreglo modifican el laberinto.
+     * </p>
+     * @return El arreglo compacto de tipos, indexado por {@link #indice(int, int)}.
+     */
+    public byte[] getTiposCrudos() {
+        return tipos;
+    }
+
+    /**
+     * Expone el conjunto de celdas visitadas sin copiarlo.
+     * <p>
+     * Pensado para serializadores que recorren los estados por rangos; las
+     * modificaciones sobre el conjunto se reflejan en el laberinto.
+     * </p>
+     * @return El {@link BitSet} de celdas visitadas, indexado por {@link #indice(int, int)}.
+     */
+    public BitSet getVisitadasCrudas() {
+        return visitadas;
+    }
+
+    /**
+     * Expone el conjunto de celdas visibles sin copiarlo.
+     *
+     * @return El {@link BitSet} de celdas visibles, indexado por {@link #indice(int, int)}.
+     * @see #getVisitadasCrudas()
+     */
+    public BitSet getVisiblesCrudas() {
+        return visibles;
+    }
+
     /**
      * Verifica si una posición dada está dentro de los límites del laberinto.
      *
@@ -111,7 +343,6 @@ public class Laberinto {
      * @return {@code true} si la posición es válida y la celda permite el paso, {@code false} en caso contrario.
      */
     public boolean esTransitable(int fila, int columna) {
-        Celda celda = getCelda(fila, columna);
-        return celda != null && celda.isTransitable();
+        return esPosicionValida(fila, columna) && getTipo(fila, columna).isTransitable();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,178 @@
+package Main.modelo.Transferencia;
+
+import Main.modelo.Constantes.EstadoJuego;
+import Main.modelo.Constantes.TipoAccion;
+import Main.modelo.Constantes.TipoCelda;
+import Main.modelo.Dominio.Juego;
+import Main.modelo.Dominio.Jugador;
+import Main.modelo.Dominio.Laberinto;
+
+/**
+ * Objeto de Transferencia de Datos (DTO) que representa una acción registrada en
+ * el diario de una partida.
+ * <p>
+ * Cada entrada guarda el estado resultante del jugador y de los contadores de la
+ * partida, más las celdas cuyo tipo cambió por la acción. Su tamaño no depende de
+ * las dimensiones del laberinto, por lo que registrarla tiene costo O(1).
+ * Reaplicar las entradas en orden sobre la última instantánea reproduce la partida
+ * sin necesidad de volver a ejecutar las reglas del juego.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.0
+ * @since 17/10/2026
+ */
+public class EntradaDiario {
+    /** Tabla de tipos de celda indexada por ordinal. */
+    private static final TipoCelda[] TIPOS = TipoCelda.values();
+
+    /** Posición de la acción dentro de la partida (empieza en 1). */
+    private long secuencia;
+    /** Tipo de acción realizada. */
+    private TipoAccion tipo;
+    /** Fila del jugador tras la acción. */
+    private int posX;
+    /** Columna del jugador tras la acción. */
+    private int posY;
+    /** Vida del jugador tras la acción. */
+    private int vida;
+    /** Cristales del jugador tras la acción. */
+    private int cristales;
+    /** Bombas del jugador tras la acción. */
+    private int bombas;
+    /** Fósforos del jugador tras la acción. */
+    private int fosforos;
+    /** Indica si el jugador posee la llave. */
+    private boolean tieneLlave;
+    /** Indica si el jugador posee la llave negra. */
+    private boolean tieneLlaveNegra;
+    /** Estado de la partida tras la acción. */
+    private EstadoJuego estado;
+    /** Contador de trampas activadas. */
+    private int trampasActivadas;
+    /** Total de bombas recogidas. */
+    private int bombasRecolectadasTotal;
+    /** Total de fósforos recogidos. */
+    private int fosforosRecolectadosTotal;
+    /** Fósforos consumidos. */
+    private int fosforosUsados;
+    /** Muros rojos destruidos. */
+    private int murosRojosDestruidos;
+    /**
+     * Celdas modificadas como pares consecutivos {@code [indice, ordinalTipo]},
+     * donde el índice es el de {@link Laberinto#indice(int, int)}.
+     */
+    private int[] celdas;
+
+    /**
+     * Constructor vacío requerido por la deserialización.
+     */
+    public EntradaDiario() {
+    }
+
+    /**
+     * Crea una entrada a partir del estado actual de la partida.
+     * <p>
+     * Debe invocarse después de aplicar la acción y de avanzar la secuencia de la
+     * partida con {@link Juego#incrementarSecuenciaAcciones()}.
+     * </p>
+     *
+     * @param tipo            Tipo de acción realizada.
+     * @param juego           Partida ya modificada por la acción.
+     * @param celdasCambiadas Índices de las celdas cuyo tipo cambió.
+     * @param cantidad        Número de índices válidos en {@code celdasCambiadas}.
+     * @return La entrada lista para añadir al diario.
+     */
+    public static EntradaDiario registrar(TipoAccion tipo, Juego juego, int[] celdasCambiadas, int cantidad) {
+        Jugador jugador = juego.getJugador();
+        Laberinto laberinto = juego.getLaberinto();
+
+        EntradaDiario entrada = new EntradaDiario();
+        entrada.secuencia = juego.getSecuenciaAcciones();
+        entrada.tipo = tipo;
+        entrada.posX = jugador.getPosX();
+        entrada.posY = jugador.getPosY();
+        entrada.vida = jugador.getVida();
+        entrada.cristales = jugador.getCristales();
+        entrada.bombas = jugador.getBombas();
+        entrada.fosforos = jugador.getFosforos();
+        entrada.tieneLlave = jugador.isTieneLlave();
+        entrada.tieneLlaveNegra = jugador.isTieneLlaveNegra();
+        entrada.estado = juego.getEstado();
+        entrada.trampasActivadas = juego.getTrampasActivadas();
+        entrada.bombasRecolectadasTotal = juego.getBombasRecolectadasTotal();
+        entrada.fosforosRecolectadosTotal = juego.getFosforosRecolectadosTotal();
+        entrada.fosforosUsados = juego.getFosforosUsados();
+        entrada.murosRojosDestruidos = juego.getMurosRojosDestruidos();
+
+        entrada.celdas = new int[cantidad * 2];
+        for (int i = 0; i < cantidad; i++) {
+            int indice = celdasCambiadas[i];
+            entrada.celdas[2 * i] = indice;
+            entrada.celdas[2 * i + 1] = laberinto.getTipo(indice).ordinal();
+        }
+        return entrada;
+    }
+
+    /**
+     * Reaplica la acción sobre una partida reconstruida desde una instantánea.
+     * <p>
+     * Restaura el estado del jugador y los contadores, aplica los cambios de celdas
+     * y recalcula la visibilidad igual que lo hace el servicio de juego.
+     * </p>
+     *
+     * @param juego La partida sobre la que se reproduce la acción.
+     */
+    public void aplicar(Juego juego) {
+        Jugador jugador = juego.getJugador();
+        Laberinto laberinto = juego.getLaberinto();
+
+        jugador.setPosX(posX);
+        jugador.setPosY(posY);
+        jugador.setVida(vida);
+        jugador.setCristales(cristales);
+        jugador.setBombas(bombas);
+        jugador.setFosforos(fosforos);
+        jugador.setTieneLlave(tieneLlave);
+        jugador.setTieneLlaveNegra(tieneLlaveNegra);
+
+        juego.setEstado(estado);
+        juego.setTrampasActivadas(trampasActivadas);
+        juego.setBombasRecolectadasTotal(bombasRecolectadasTotal);
+        juego.setFosforosRecolectadosTotal(fosforosRecolectadosTotal);
+        juego.setFosforosUsados(fosforosUsados);
+        juego.setMurosRojosDestruidos(murosRojosDestruidos);
+        juego.setSecuenciaAcciones(secuencia);
+
+        int columnas = laberinto.getColumnas();
+        for (int i = 0; celdas != null && i < celdas.length; i += 2) {
+            int indice = celdas[i];
+            laberinto.setTipo(indice, TIPOS[celdas[i + 1]]);
+            if (tipo == TipoAccion.EXPLOSION) {
+                laberinto.setVisitada(indice / columnas, indice % columnas, true);
+                laberinto.setVisible(indice / columnas, indice % columnas, true);
+            }
+        }
+
+        if (tipo != TipoAccion.EXPLOSION) {
+            laberinto.setVisitada(posX, posY, true);
+            for (int df = -1; df <= 1; df++) {
+                for (int dc = -1; dc <= 1; dc++) {
+                    if (laberinto.esPosicionValida(posX + df, posY + dc)) {
+                        laberinto.setVisible(posX + df, posY + dc, true);
+                    }
+                }
+            }
+        }
+    }
+
+    /** @return La posición de la acción dentro de la partida. */
+    public long getSecuencia() {
+        return secuencia;
+    }
+
+    /** @return El tipo de acción registrada. */
+    public TipoAccion getTipo() {
+        return tipo;
+    }
+}
@@ -0,0 +1,141 @@
+package Main.modelo.Transferencia;
+
+/**
+ * Objeto de Transferencia de Datos (DTO) con las métricas objetivas de un laberinto.
+ * <p>
+ * Describe la dificultad de la solución (longitud, distancia de la llave a la
+ * salida y trampas que la cruzan) y la forma del laberinto: callejones sin salida,
+ * bifurcaciones y el "factor río", la longitud media de los callejones. Un
+ * laberinto con factor río alto tiene pocos callejones largos, que exigen
+ * retroceder mucho; uno con factor río bajo tiene muchos callejones cortos que se
+ * descartan de un vistazo.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.0
+ * @since 17/10/2026
+ */
+public class MetricasLaberinto {
+    /** Número de filas del laberinto. */
+    private final int filas;
+    /** Número de columnas del laberinto. */
+    private final int columnas;
+    /** Celdas que no son muro ni muro rojo. */
+    private final int celdasTransitables;
+    /** Pasos del recorrido más corto entrada → llave → salida, o {@code -1} si no existe. */
+    private final int longitudSolucion;
+    /** Pasos del camino más corto de la llave a la salida, o {@code -1} si no existe. */
+    private final int distanciaLlaveSalida;
+    /** Celdas transitables con una sola vecina transitable. */
+    private final int callejones;
+    /** Celdas transitables con tres o más vecinas transitables. */
+    private final int bifurcaciones;
+    /** Celdas de todos los callejones, desde el final hasta la primera bifurcación. */
+    private final long celdasEnCallejones;
+    /** Trampas en el recorrido más corto. */
+    private final int trampasEnRuta;
+    /** Trampas de todo el laberinto. */
+    private final int trampasTotales;
+
+    /**
+     * Construye las métricas de un laberinto.
+     *
+     * @param filas                Filas del laberinto.
+     * @param columnas             Columnas del laberinto.
+     * @param celdasTransitables   Celdas transitables.
+     * @param longitudSolucion     Pasos de la solución, o {@code -1}.
+     * @param distanciaLlaveSalida Pasos de la llave a la salida, o {@code -1}.
+     * @param callejones           Callejones sin salida.
+     * @param bifurcaciones        Bifurcaciones.
+     * @param celdasEnCallejones   Celdas recorridas por los callejones.
+     * @param trampasEnRuta        Trampas en la solución.
+     * @param trampasTotales       Trampas del laberinto.
+     */
+    public MetricasLaberinto(int filas, int columnas, int celdasTransitables, int longitudSolucion,
+                             int distanciaLlaveSalida, int callejones, int bifurcaciones,
+                             long celdasEnCallejones, int trampasEnRuta, int trampasTotales) {
+        this.filas = filas;
+        this.columnas = columnas;
+        this.celdasTransitables = celdasTransitables;
+        this.longitudSolucion = longitudSolucion;
+        this.distanciaLlaveSalida = distanciaLlaveSalida;
+        this.callejones = callejones;
+        this.bifurcaciones = bifurcaciones;
+        this.celdasEnCallejones = celdasEnCallejones;
+        this.trampasEnRuta = trampasEnRuta;
+        this.trampasTotales = trampasTotales;
+    }
+
+    /** @return Número de filas del laberinto. */
+    public int getFilas() {
+        return filas;
+    }
+
+    /** @return Número de columnas del laberinto. */
+    public int getColumnas() {
+        return columnas;
+    }
+
+    /** @return Celdas que no son muro ni muro rojo. */
+    public int getCeldasTransitables() {
+        return celdasTransitables;
+    }
+
+    /** @return Pasos del recorrido más corto entrada → llave → salida, o {@code -1}. */
+    public int getLongitudSolucion() {
+        return longitudSolucion;
+    }
+
+    /** @return Pasos del camino más corto de la llave a la salida, o {@code -1}. */
+    public int getDistanciaLlaveSalida() {
+        return distanciaLlaveSalida;
+    }
+
+    /** @return Celdas transitables con una sola vecina transitable. */
+    public int getCallejones() {
+        return callejones;
+    }
+
+    /** @return Celdas transitables con tres o más vecinas transitables. */
+    public int getBifurcaciones() {
+        return bifurcaciones;
+    }
+
+    /** @return Trampas en el recorrido más corto. */
+    public int getTrampasEnRuta() {
+        return trampasEnRuta;
+    }
+
+    /** @return Trampas de todo el laberinto. */
+    public int getTrampasTotales() {
+        return trampasTotales;
+    }
+
+    /** @return {@code true} si existe el recorrido entrada → llave → salida. */
+    public boolean isResoluble() {
+        return longitudSolucion >= 0;
+    }
+
+    /** @return Bifurcaciones por cada celda transitable. */
+    public double getFactorRamificacion() {
+        return celdasTransitables == 0 ? 0 : (double) bifurcaciones / celdasTransitables;
+    }
+
+    /** @return Longitud media de los callejones, en celdas. */
+    public double getFactorRio() {
+        return callejones == 0 ? 0 : (double) celdasEnCallejones / callejones;
+    }
+
+    /** @return Fracción de los pasos de la solución que caen en una trampa. */
+    public double getExposicionTrampas() {
+        return longitudSolucion <= 0 ? 0 : (double) trampasEnRuta / longitudSolucion;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%dx%d | solución %d | llave→salida %d | callejones %d | bifurcaciones %d"
+                        + " | ramificación %.3f | río %.2f | trampas en ruta %d/%d",
+                filas, columnas, longitudSolucion, distanciaLlaveSalida, callejones, bifurcaciones,
+                getFactorRamificacion(), getFactorRio(), trampasEnRuta, trampasTotales);
+    }
+}
@@ -0,0 +1,139 @@
+package Main.modelo.Transferencia;
+
+/**
+ * Objeto de Transferencia de Datos (DTO) con las métricas de una generación de
+ * laberintos por lotes.
+ * <p>
+ * Resume el rendimiento (laberintos por segundo y percentiles del tiempo de
+ * generación de cada laberinto) y la calidad del lote (laberintos sin solución,
+ * semillas cuya generación falló y reparaciones que tuvieron que hacer los
+ * generadores).
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.2
+ * @since 17/10/2026
+ */
+public class ResultadoLote {
+    /** Semillas solicitadas en el lote. */
+    private final int solicitados;
+    /** Laberintos generados sin error, tengan o no solución. */
+    private final int generados;
+    /** Laberintos generados en los que la llave o la salida no son alcanzables. */
+    private final int insolubles;
+    /** Semillas cuya generación lanzó una excepción. */
+    private final int errores;
+    /** Tiempo total del lote, en nanosegundos. */
+    private final long nanosTotales;
+    /** Mediana del tiempo de generación de un laberinto, en nanosegundos. */
+    private final long nanosP50;
+    /** Percentil 99 del tiempo de generación de un laberinto, en nanosegundos. */
+    private final long nanosP99;
+    /** Bytes escritos en el archivo de salida; los laberintos sin solución no se escriben. */
+    private final long bytesEscritos;
+    /** Laberintos que el generador tuvo que reparar para hacerlos solubles. */
+    private final long reparados;
+    /** Celdas convertidas en camino por esas reparaciones. */
+    private final long celdasReparadas;
+    /** Semilla y mensaje del primer error registrado, o {@code null} si no hubo. */
+    private final String primerError;
+
+    /**
+     * Construye el resumen de un lote.
+     *
+     * @param solicitados   Semillas solicitadas.
+     * @param generados     Laberintos generados.
+     * @param insolubles    Laberintos sin solución.
+     * @param errores       Semillas que fallaron.
+     * @param nanosTotales  Duración del lote.
+     * @param nanosP50      Mediana por laberinto.
+     * @param nanosP99      Percentil 99 por laberinto.
+     * @param bytesEscritos Tamaño de la salida.
+     * @param reparados       Laberintos reparados por el generador.
+     * @param celdasReparadas Celdas cambiadas por esas reparaciones.
+     * @param primerError     Descripción del primer error, o {@code null}.
+     */
+    public ResultadoLote(int solicitados, int generados, int insolubles, int errores,
+                         long nanosTotales, long nanosP50, long nanosP99, long bytesEscritos,
+                         long reparados, long celdasReparadas, String primerError) {
+        this.solicitados = solicitados;
+        this.generados = generados;
+        this.insolubles = insolubles;
+        this.errores = errores;
+        this.nanosTotales = nanosTotales;
+        this.nanosP50 = nanosP50;
+        this.nanosP99 = nanosP99;
+        this.bytesEscritos = bytesEscritos;
+        this.reparados = reparados;
+        this.celdasReparadas = celdasReparadas;
+        this.primerError = primerError;
+    }
+
+    /** @return Semillas solicitadas en el lote. */
+    public int getSolicitados() {
+        return solicitados;
+    }
+
+    /** @return Laberintos generados sin error. */
+    public int getGenerados() {
+        return generados;
+    }
+
+    /** @return Laberintos generados sin solución. */
+    public int getInsolubles() {
+        return insolubles;
+    }
+
+    /** @return Semillas cuya generación falló. */
+    public int getErrores() {
+        return errores;
+    }
+
+    /** @return Duración total del lote, en nanosegundos. */
+    public long getNanosTotales() {
+        return nanosTotales;
+    }
+
+    /** @return Mediana del tiempo por laberinto, en nanosegundos. */
+    public long getNanosP50() {
+        return nanosP50;
+    }
+
+    /** @return Percentil 99 del tiempo por laberinto, en nanosegundos. */
+    public long getNanosP99() {
+        return nanosP99;
+    }
+
+    /** @return Bytes escritos en el archivo de salida. */
+    public long getBytesEscritos() {
+        return bytesEscritos;
+    }
+
+    /** @return Laberintos que el generador tuvo que reparar. */
+    public long getReparados() {
+        return reparados;
+    }
+
+    /** @return Celdas convertidas en camino al reparar. */
+    public long getCeldasReparadas() {
+        return celdasReparadas;
+    }
+
+    /**
+     * @return Semilla y mensaje del primer error que registró un hilo, o
+     *         {@code null} si ninguna semilla falló.
+     */
+    public String getPrimerError() {
+        return primerError;
+    }
+
+    /** @return Laberintos generados por segundo de reloj. */
+    public double getLaberintosPorSegundo() {
+        return nanosTotales > 0 ? generados / (nanosTotales / 1e9) : 0;
+    }
+
+    /** @return Fracción de semillas sin solución o con error, entre 0 y 1. */
+    public double getTasaFallos() {
+        return solicitados > 0 ? (double) (insolubles + errores) / solicitados : 0;
+    }
+}
@@ -0,0 +1,313 @@
+package Main.servicio.Implementaciones;
+
+import Main.modelo.Constantes.EstadoJuego;
+import Main.modelo.Dominio.Juego;
+import Main.modelo.Transferencia.EntradaDiario;
+import Main.servicio.Interfaces.Persistencia;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Motor de guardado diferido (write-behind) para partidas en curso.
+ * <p>
+ * Cada acción del jugador se entrega como una {@link EntradaDiario} que el hilo
+ * escritor añade al diario de la partida, con costo constante. Cuando la
+ * {@link PoliticaGuardado} lo indica se toma además una instantánea completa
+ * ({@link Juego#copiar()}) que compacta el diario. El hilo de juego nunca espera
+ * al disco.
+ * </p>
+ * <p>
+ * Las instantáneas pendientes se fusionan por usuario: si llegan varias antes de
+ * que el escritor las procese, solo se escribe la más reciente. Todas las escrituras
+ * pasan por el mismo hilo, por lo que nunca se sobrescribe un guardado nuevo con
+ * uno antiguo.
+ * </p>
+ * <p>
+ * Quien modifica una partida debe hacerlo sincronizado sobre la propia instancia de
+ * {@link Juego}; el temporizador usa el mismo monitor para tomar instantáneas
+ * consistentes.
+ * </p>
+ * <p>
+ * {@link #iniciar} crea el motor y registra un gancho de apagado que vacía las
+ * ventanas abiertas al cerrar la aplicación; {@link #cerrar()} lo retira. El
+ * constructor no registra ninguno, para poder crear y cerrar motores de corta vida.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.1
+ * @since 17/10/2026
+ */
+public class GuardadoDiferido {
+
+    /** Persistencia real sobre la que se escriben las instantáneas. */
+    private final Persistencia persistencia;
+
+    /** Umbrales que disparan el guardado. */
+    private final PoliticaGuardado politica;
+
+    /** Hilo único que realiza todas las escrituras en disco. */
+    private final ExecutorService escritor;
+
+    /** Temporizador que cierra las ventanas por tiempo, o {@code null} si está desactivado. */
+    private final ScheduledExecutorService temporizador;
+
+    /** Última instantánea pendiente de escritura por usuario. */
+    private final Map<String, Juego> pendientes = new ConcurrentHashMap<>();
+
+    /** Ventanas abiertas (partidas con acciones sin guardar) por usuario. */
+    private final Map<String, Ventana> ventanas = new ConcurrentHashMap<>();
+
+    /** Gancho de apagado registrado por {@link #iniciar}, o {@code null}. */
+    private volatile Thread ganchoCierre;
+
+    /**
+     * Acciones acumuladas de una partida desde su último guardado.
+     */
+    private static class Ventana {
+        private final Juego juego;
+        private int acciones;
+
+        Ventana(Juego juego) {
+            this.juego = juego;
+        }
+    }
+
+    /**
+     * Construye el motor e inicia sus hilos en segundo plano, sin gancho de
+     * apagado: quien lo crea debe llamar a {@link #cerrar()}.
+     *
+     * @param persistencia Implementación donde se escriben las partidas.
+     * @param politica     Umbrales de guardado.
+     */
+    public GuardadoDiferido(Persistencia persistencia, PoliticaGuardado politica) {
+        this.persistencia = persistencia;
+        this.politica = politica;
+        this.escritor = Executors.newSingleThreadExecutor(r -> crearHilo(r, "guardado-diferido"));
+
+        if (politica.getCadaMilisegundos() > 0) {
+            this.temporizador = Executors.newSingleThreadScheduledExecutor(
+                    r -> crearHilo(r, "guardado-diferido-reloj"));
+            long periodo = politica.getCadaMilisegundos();
+            temporizador.scheduleAtFixedRate(this::cerrarVentanas, periodo, periodo, TimeUnit.MILLISECONDS);
+        } else {
+            this.temporizador = null;
+        }
+    }
+
+    /**
+     * Construye el motor y registra un gancho de apagado que lo cierra, vaciando
+     * las ventanas abiertas, al terminar la aplicación.
+     *
+     * @param persistencia Implementación donde se escriben las partidas.
+     * @param politica     Umbrales de guardado.
+     * @return El motor ya en marcha.
+     */
+    public static GuardadoDiferido iniciar(Persistencia persistencia, PoliticaGuardado politica) {
+        GuardadoDiferido motor = new GuardadoDiferido(persistencia, politica);
+        motor.ganchoCierre = new Thread(motor::cerrar, "guardado-diferido-cierre");
+        Runtime.getRuntime().addShutdownHook(motor.ganchoCierre);
+        return motor;
+    }
+
+    private static Thread crearHilo(Runnable r, String nombre) {
+        Thread hilo = new Thread(r, nombre);
+        hilo.setDaemon(true);
+        return hilo;
+    }
+
+    /**
+     * Registra una acción sobre la partida: encola su entrada de diario y programa
+     * una instantánea si se alcanza algún umbral de la política.
+     * <p>
+     * Debe invocarse con el monitor de {@code juego} adquirido, justo después de
+     * aplicar la acción. La primera acción de una partida nueva fuerza una
+     * instantánea base sobre la que se acumula el diario.
+     * </p>
+     *
+     * @param juego   La partida modificada.
+     * @param entrada La entrada de diario que describe la acción.
+     */
+    public void registrarAccion(Juego juego, EntradaDiario entrada) {
+        String usuario = juego.getUsuario();
+        if (entrada.getSecuencia() == 1) {
+            encolar(usuario, juego.copiar());
+        }
+        try {
+            escritor.execute(() -> persistencia.registrarAccion(usuario, entrada));
+        } catch (RejectedExecutionException e) {
+            persistencia.registrarAccion(usuario, entrada);
+        }
+
+        Ventana ventana = ventanas.get(usuario);
+        if (ventana == null || ventana.juego != juego) {
+            ventana = new Ventana(juego);
+            ventanas.put(usuario, ventana);
+        }
+        ventana.acciones++;
+
+        boolean terminado = politica.isGuardarAlTerminar() && juego.getEstado() != EstadoJuego.EN_CURSO;
+        boolean umbral = politica.getCadaAcciones() > 0 && ventana.acciones >= politica.getCadaAcciones();
+        if (terminado || umbral) {
+            ventanas.remove(usuario, ventana);
+            encolar(usuario, juego.copiar());
+        }
+    }
+
+    /**
+     * Guarda la partida de inmediato y espera a que la escritura termine.
+     * <p>
+     * Cualquier instantánea pendiente del mismo usuario queda reemplazada por
+     * esta. Se usa para guardados explícitos, al salir y al terminar la partida.
+     * </p>
+     * <p>
+     * La escritura se encola sin soltar el monitor de la partida. Así ninguna
+     * acción posterior a la copia puede añadirse al diario antes de que la
+     * instantánea lo compacte y se pierda con él.
+     * </p>
+     *
+     * @param juego La partida a guardar.
+     * @return {@code true} si la escritura fue exitosa.
+     */
+    public boolean guardarAhora(Juego juego) {
+        String usuario = juego.getUsuario();
+        Juego instantanea;
+        Future<Boolean> escritura;
+        synchronized (juego) {
+            ventanas.remove(usuario);
+            pendientes.remove(usuario);
+            instantanea = juego.copiar();
+            try {
+                escritura = escritor.submit(() -> persistencia.guardarJuego(instantanea));
+            } catch (RejectedExecutionException e) {
+                // El motor ya está cerrado: escribir en el hilo actual
+                return persistencia.guardarJuego(instantanea);
+            }
+        }
+
+        try {
+            return escritura.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            System.err.println("Error en guardado diferido: " + e.getCause().getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Descarta los cambios sin guardar y las instantáneas pendientes de un usuario.
+     * <p>
+     * Debe llamarse antes de borrar la partida guardada para que una escritura
+     * en cola no la vuelva a crear.
+     * </p>
+     *
+     * @param usuario El correo del usuario.
+     */
+    public void descartar(String usuario) {
+        ventanas.remove(usuario);
+        pendientes.remove(usuario);
+        esperarEscritor();
+    }
+
+    /**
+     * Programa el guardado de todas las ventanas abiertas y espera a que el
+     * escritor termine. Después de esta llamada el disco refleja el último
+     * estado de todas las partidas registradas.
+     */
+    public void vaciar() {
+        cerrarVentanas();
+        esperarEscritor();
+    }
+
+    /**
+     * Vacía las ventanas pendientes, detiene los hilos del motor y retira su
+     * gancho de apagado, si lo tiene.
+     */
+    public void cerrar() {
+        Thread gancho = ganchoCierre;
+        if (gancho != null && gancho != Thread.currentThread()) {
+            ganchoCierre = null;
+            try {
+                Runtime.getRuntime().removeShutdownHook(gancho);
+            } catch (IllegalStateException e) {
+                // La aplicación ya se está cerrando y el gancho se ejecutará
+            }
+        }
+        if (temporizador != null) {
+            temporizador.shutdownNow();
+        }
+        vaciar();
+        escritor.shutdown();
+        try {
+            escritor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Toma una instantánea de cada partida con acciones sin guardar y la encola.
+     */
+    private void cerrarVentanas() {
+        for (Ventana ventana : ventanas.values()) {
+            synchronized (ventana.juego) {
+                String usuario = ventana.juego.getUsuario();
+                if (ventanas.remove(usuario, ventana)) {
+                    encolar(usuario, ventana.juego.copiar());
+                }
+            }
+        }
+    }
+
+    /**
+     * Deja la instantánea como pendiente del usuario. Solo se programa una tarea
+     * de escritura si no había otra pendiente; en caso contrario la tarea ya
+     * programada recogerá la instantánea más reciente.
+     */
+    private void encolar(String usuario, Juego instantanea) {
+        if (pendientes.put(usuario, instantanea) == null) {
+            try {
+                escritor.execute(() -> escribirPendiente(usuario));
+            } catch (RejectedExecutionException e) {
+                escribirPendiente(usuario);
+            }
+        }
+    }
+
+    /**
+     * Escribe la instantánea más reciente del usuario, si sigue pendiente.
+     */
+    private void escribirPendiente(String usuario) {
+        Juego instantanea = pendientes.remove(usuario);
+        if (instantanea == null) {
+            return;
+        }
+        if (persistencia.guardarJuego(instantanea)) {
+            System.out.println("💾 Juego guardado automáticamente");
+        } else {
+            System.out.println("❌ Error guardando el juego");
+        }
+    }
+
+    /**
+     * Bloquea hasta que el escritor haya procesado todo lo encolado hasta ahora.
+     */
+    private void esperarEscritor() {
+        try {
+            escritor.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RejectedExecutionException e) {
+            // Sin escritor activo no hay nada que esperar
+        }
+    }
+}
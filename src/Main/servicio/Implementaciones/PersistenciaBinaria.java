@@ -0,0 +1,569 @@
+package Main.servicio.Implementaciones;
+
+import Main.modelo.Constantes.EstadoJuego;
+import Main.modelo.Dominio.EstadisticasJuego;
+import Main.modelo.Dominio.Juego;
+import Main.modelo.Dominio.Jugador;
+import Main.modelo.Dominio.Laberinto;
+import Main.modelo.Dominio.Usuario;
+import Main.modelo.Transferencia.EntradaDiario;
+import Main.servicio.Interfaces.Persistencia;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Implementación de {@code Persistencia} que guarda las partidas en un formato
+ * binario compacto y versionado.
+ * <p>
+ * Cada partida ocupa un archivo {@code datos/juegos/<usuario>.bin} escrito con
+ * un {@link FileChannel}. El contenido es:
+ * </p>
+ * <ol>
+ *     <li>Cabecera: firma {@code "LBRT"}, versión y dimensiones del laberinto.</li>
+ *     <li>Contadores del {@link Jugador} y del {@link Juego}, y sus textos
+ *     (usuario, fechas y dificultad) en UTF-8 con longitud previa.</li>
+ *     <li>Un byte por celda con el ordinal de su tipo, en orden fila por fila.</li>
+ *     <li>Los conjuntos de celdas visitadas y visibles codificados por longitud de
+ *     tramos (run-length), alternando tramos apagados y encendidos.</li>
+ * </ol>
+ * <p>
+ * Los usuarios, las estadísticas y el diario de acciones se delegan en
+ * {@link PersistenciaJASON}. Las partidas guardadas previamente en JSON se
+ * convierten al formato binario la primera vez que se cargan, o en bloque con
+ * {@link #convertirTodos()}.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.3
+ * @since 17/10/2026
+ */
+public class PersistenciaBinaria implements Persistencia {
+
+    /** Carpeta donde se guardan las partidas. */
+    private static final String DIRECTORIO_JUEGOS = "datos/juegos/";
+    /** Extensión de las partidas en formato binario. */
+    private static final String EXTENSION_BINARIA = ".bin";
+    /** Extensión de las partidas en formato JSON. */
+    private static final String EXTENSION_JSON = ".json";
+
+    /** Firma al inicio de cada archivo: los bytes ASCII {@code "LBRT"}. */
+    private static final int FIRMA = 0x4C425254;
+    /** Versión actual del formato. */
+    private static final byte VERSION = 1;
+
+    /** Bit de la llave en el byte de indicadores. */
+    private static final int BIT_LLAVE = 1;
+    /** Bit de la llave negra en el byte de indicadores. */
+    private static final int BIT_LLAVE_NEGRA = 1 << 1;
+    /** Bit de la niebla de guerra en el byte de indicadores. */
+    private static final int BIT_NIEBLA = 1 << 2;
+
+    /** Tamaño fijo de la cabecera y los contadores, sin los textos. */
+    private static final int TAMANO_FIJO = 4 + 1 + 4 + 4     // firma, versión, dimensiones
+            + 6 * 4 + 1                                      // jugador e indicadores
+            + 1 + 5 * 4 + 8 + 8;                             // estado, contadores, tiempo, secuencia
+
+    /** Tabla de estados indexada por ordinal. */
+    private static final EstadoJuego[] ESTADOS = EstadoJuego.values();
+
+    /** Persistencia JSON a la que se delegan usuarios, estadísticas y diario. */
+    private final PersistenciaJASON json;
+
+    /**
+     * Construye la persistencia binaria con su propia persistencia JSON auxiliar.
+     */
+    public PersistenciaBinaria() {
+        this(new PersistenciaJASON());
+    }
+
+    /**
+     * Construye la persistencia binaria sobre una persistencia JSON existente.
+     *
+     * @param json Persistencia usada para usuarios, estadísticas, diario y conversión.
+     */
+    public PersistenciaBinaria(PersistenciaJASON json) {
+        this.json = json;
+    }
+
+    // ===== USUARIOS Y ESTADÍSTICAS (delegados) =====
+
+    @Override
+    public boolean guardarUsuario(Usuario usuario) {
+        return json.guardarUsuario(usuario);
+    }
+
+    @Override
+    public Usuario cargarUsuario(String email) {
+        return json.cargarUsuario(email);
+    }
+
+    @Override
+    public List<Usuario> cargarTodosUsuarios() {
+        return json.cargarTodosUsuarios();
+    }
+
+    @Override
+    public boolean existeUsuario(String email) {
+        return json.existeUsuario(email);
+    }
+
+    @Override
+    public void actualizarUsuario(Usuario usuarioActualizado) throws Exception {
+        json.actualizarUsuario(usuarioActualizado);
+    }
+
+    @Override
+    @Deprecated
+    public void cargarUsuarios() {
+        json.cargarUsuarios();
+    }
+
+    @Override
+    public List<EstadisticasJuego> cargarEstadisticas() {
+        return json.cargarEstadisticas();
+    }
+
+    @Override
+    public boolean guardarEstadisticas(EstadisticasJuego estadisticas) {
+        return json.guardarEstadisticas(estadisticas);
+    }
+
+    @Override
+    public List<EstadisticasJuego> cargarEstadisticas(String usuario) {
+        return json.cargarEstadisticas(usuario);
+    }
+
+    /**
+     * Reúne las estadísticas de todos los usuarios registrados con
+     * {@link PersistenciaJASON#cargarEstadisticas(String)}, sin recurrir al
+     * método obsoleto del almacén JSON. Se mantiene obsoleto como en
+     * {@link Persistencia}.
+     *
+     * @return Las estadísticas de todos los usuarios.
+     */
+    @Override
+    @Deprecated
+    public List<EstadisticasJuego> cargarTodasEstadisticas() {
+        List<EstadisticasJuego> todas = new ArrayList<>();
+        for (Usuario usuario : json.cargarTodosUsuarios()) {
+            todas.addAll(json.cargarEstadisticas(usuario.getEmail()));
+        }
+        return todas;
+    }
+
+    @Override
+    public List<EstadisticasJuego> cargarTodasEstadisticas(String usuario) {
+        return json.cargarTodasEstadisticas(usuario);
+    }
+
+    // ===== PARTIDAS =====
+
+    /**
+     * Guarda la partida en formato binario.
+     * <p>
+     * El archivo se escribe primero en un temporal y luego se reemplaza de forma
+     * atómica, de modo que un cierre inesperado nunca deja un guardado a medias.
+     * Tras escribirlo se compacta el diario y se elimina el guardado JSON
+     * anterior, que queda obsoleto.
+     * </p>
+     *
+     * @param juego La partida a guardar.
+     * @return {@code true} si la partida fue guardada exitosamente.
+     */
+    @Override
+    public boolean guardarJuego(Juego juego) {
+        try {
+            Path destino = Paths.get(DIRECTORIO_JUEGOS + juego.getUsuario() + EXTENSION_BINARIA);
+            Path temporal = Paths.get(DIRECTORIO_JUEGOS + juego.getUsuario() + EXTENSION_BINARIA + ".tmp");
+
+            ByteBuffer buffer = codificar(juego);
+            try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (buffer.hasRemaining()) {
+                    canal.write(buffer);
+                }
+            }
+            try {
+                Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            json.eliminarDiario(juego.getUsuario());
+            Files.deleteIfExists(Paths.get(DIRECTORIO_JUEGOS + juego.getUsuario() + EXTENSION_JSON));
+            return true;
+
+        } catch (IOException e) {
+            System.err.println("Error guardando juego binario: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Añade la acción al diario compartido con {@link PersistenciaJASON}.
+     *
+     * @param usuario El correo electrónico del usuario.
+     * @param entrada La acción a registrar.
+     * @return {@code true} si la entrada fue escrita exitosamente.
+     */
+    @Override
+    public boolean registrarAccion(String usuario, EntradaDiario entrada) {
+        return json.registrarAccion(usuario, entrada);
+    }
+
+    /**
+     * Carga la partida guardada de un usuario.
+     * <p>
+     * Si solo existe un guardado JSON se carga con {@link PersistenciaJASON} y se
+     * convierte al formato binario. En ambos casos se reaplica el diario.
+     * </p>
+     *
+     * @param usuario El correo electrónico del usuario.
+     * @return La partida guardada, o {@code null} si no existe o no se pudo leer.
+     */
+    @Override
+    public Juego cargarJuego(String usuario) {
+        Path archivo = Paths.get(DIRECTORIO_JUEGOS + usuario + EXTENSION_BINARIA);
+        if (!Files.exists(archivo)) {
+            return convertirDesdeJson(usuario);
+        }
+
+        try {
+            Juego juego = leerArchivo(archivo);
+            json.reproducirDiario(juego);
+            return juego;
+
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error cargando juego binario: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Lee una partida binaria desde un archivo concreto, sin reproducir el diario.
+     *
+     * @param archivo Archivo de la partida.
+     * @return La partida decodificada.
+     * @throws IOException Si no se puede leer el archivo o no es una partida binaria.
+     */
+    public Juego leerArchivo(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) canal.size());
+            while (buffer.hasRemaining() && canal.read(buffer) >= 0) {
+                // Leer hasta llenar el buffer
+            }
+            buffer.flip();
+            return decodificar(buffer);
+        }
+    }
+
+    /**
+     * Verifica si existe una partida guardada en cualquiera de los dos formatos.
+     *
+     * @param usuario El correo electrónico del usuario.
+     * @return {@code true} si existe un guardado binario o JSON.
+     */
+    @Override
+    public boolean existeJuegoGuardado(String usuario) {
+        return new File(DIRECTORIO_JUEGOS + usuario + EXTENSION_BINARIA).exists()
+                || json.existeJuegoGuardado(usuario);
+    }
+
+    // ===== CONVERSIÓN =====
+
+    /**
+     * Convierte el guardado JSON de un usuario al formato binario.
+     * <p>
+     * La partida se lee con {@link PersistenciaJASON} (incluyendo su diario) y se
+     * vuelve a guardar en binario, lo que elimina el archivo JSON.
+     * </p>
+     *
+     * @param usuario El correo electrónico del usuario.
+     * @return La partida convertida, o {@code null} si no había guardado JSON.
+     */
+    public Juego convertirDesdeJson(String usuario) {
+        Juego juego = json.cargarJuego(usuario);
+        if (juego != null && guardarJuego(juego)) {
+            System.out.println("🔄 Partida convertida a formato binario: " + usuario);
+        }
+        return juego;
+    }
+
+    /**
+     * Convierte al formato binario todas las partidas JSON de {@code datos/juegos/}.
+     *
+     * @return El número de partidas convertidas.
+     */
+    public int convertirTodos() {
+        File[] archivos = new File(DIRECTORIO_JUEGOS).listFiles((dir, name) -> name.endsWith(EXTENSION_JSON));
+        if (archivos == null) {
+            return 0;
+        }
+
+        int convertidas = 0;
+        for (File archivo : archivos) {
+            String nombre = archivo.getName();
+            String usuario = nombre.substring(0, nombre.length() - EXTENSION_JSON.length());
+            if (convertirDesdeJson(usuario) != null) {
+                convertidas++;
+            }
+        }
+        return convertidas;
+    }
+
+    // ===== CODIFICACIÓN =====
+
+    /**
+     * Serializa la partida en un buffer listo para escribir.
+     */
+    private static ByteBuffer codificar(Juego juego) {
+        Laberinto laberinto = juego.getLaberinto();
+        Jugador jugador = juego.getJugador();
+        int total = laberinto.getFilas() * laberinto.getColumnas();
+
+        byte[] usuario = textoABytes(juego.getUsuario());
+        byte[] inicio = textoABytes(juego.getInicio() != null ? juego.getInicio().toString() : null);
+        byte[] fin = textoABytes(juego.getFin() != null ? juego.getFin().toString() : null);
+        byte[] dificultad = textoABytes(juego.getDificultad());
+
+        int tamano = TAMANO_FIJO
+                + tamanoTexto(usuario) + tamanoTexto(inicio) + tamanoTexto(fin) + tamanoTexto(dificultad)
+                + total
+                + tamanoTramos(laberinto.getVisitadasCrudas(), total)
+                + tamanoTramos(laberinto.getVisiblesCrudas(), total);
+        ByteBuffer buffer = ByteBuffer.allocate(tamano);
+
+        buffer.putInt(FIRMA);
+        buffer.put(VERSION);
+        buffer.putInt(laberinto.getFilas());
+        buffer.putInt(laberinto.getColumnas());
+
+        buffer.putInt(jugador.getVida());
+        buffer.putInt(jugador.getCristales());
+        buffer.putInt(jugador.getBombas());
+        buffer.putInt(jugador.getFosforos());
+        buffer.putInt(jugador.getPosX());
+        buffer.putInt(jugador.getPosY());
+        int indicadores = (jugador.isTieneLlave() ? BIT_LLAVE : 0)
+                | (jugador.isTieneLlaveNegra() ? BIT_LLAVE_NEGRA : 0)
+                | (juego.isNieblaDeGuerra() ? BIT_NIEBLA : 0);
+        buffer.put((byte) indicadores);
+
+        buffer.put((byte) juego.getEstado().ordinal());
+        buffer.putInt(juego.getTrampasActivadas());
+        buffer.putInt(juego.getBombasRecolectadasTotal());
+        buffer.putInt(juego.getFosforosRecolectadosTotal());
+        buffer.putInt(juego.getFosforosUsados());
+        buffer.putInt(juego.getMurosRojosDestruidos());
+        buffer.putLong(juego.getTiempoJugadoSegundos());
+        buffer.putLong(juego.getSecuenciaAcciones());
+
+        escribirTexto(buffer, usuario);
+        escribirTexto(buffer, inicio);
+        escribirTexto(buffer, fin);
+        escribirTexto(buffer, dificultad);
+
+        buffer.put(laberinto.getTiposCrudos(), 0, total);
+        escribirTramos(buffer, laberinto.getVisitadasCrudas(), total);
+        escribirTramos(buffer, laberinto.getVisiblesCrudas(), total);
+
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Reconstruye una partida a partir del contenido de un archivo binario.
+     *
+     * @throws IOException Si la firma o la versión no son reconocidas.
+     */
+    private static Juego decodificar(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < TAMANO_FIJO || buffer.getInt() != FIRMA) {
+            throw new IOException("El archivo no es una partida binaria");
+        }
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IOException("Versión de formato no soportada: " + version);
+        }
+
+        int filas = buffer.getInt();
+        int columnas = buffer.getInt();
+
+        int vida = buffer.getInt();
+        int cristales = buffer.getInt();
+        int bombas = buffer.getInt();
+        int fosforos = buffer.getInt();
+        int posX = buffer.getInt();
+        int posY = buffer.getInt();
+        int indicadores = buffer.get();
+
+        Jugador jugador = new Jugador(vida, cristales, (indicadores & BIT_LLAVE) != 0);
+        jugador.setBombas(bombas);
+        jugador.setFosforos(fosforos);
+        jugador.setTieneLlaveNegra((indicadores & BIT_LLAVE_NEGRA) != 0);
+        jugador.setPosX(posX);
+        jugador.setPosY(posY);
+
+        EstadoJuego estado = ESTADOS[buffer.get()];
+        int trampasActivadas = buffer.getInt();
+        int bombasRecolectadasTotal = buffer.getInt();
+        int fosforosRecolectadosTotal = buffer.getInt();
+        int fosforosUsados = buffer.getInt();
+        int murosRojosDestruidos = buffer.getInt();
+        long tiempoJugadoSegundos = buffer.getLong();
+        long secuenciaAcciones = buffer.getLong();
+
+        String usuario = leerTexto(buffer);
+        String inicio = leerTexto(buffer);
+        String fin = leerTexto(buffer);
+        String dificultad = leerTexto(buffer);
+
+        Laberinto laberinto = new Laberinto(filas, columnas);
+        int total = filas * columnas;
+        buffer.get(laberinto.getTiposCrudos(), 0, total);
+        leerTramos(buffer, laberinto.getVisitadasCrudas(), total);
+        leerTramos(buffer, laberinto.getVisiblesCrudas(), total);
+
+        Juego juego = new Juego(laberinto, jugador, usuario, inicio != null ? LocalDateTime.parse(inicio) : null);
+        juego.setFin(fin != null ? LocalDateTime.parse(fin) : null);
+        juego.setEstado(estado);
+        juego.setNieblaDeGuerra((indicadores & BIT_NIEBLA) != 0);
+        juego.setTrampasActivadas(trampasActivadas);
+        juego.setBombasRecolectadasTotal(bombasRecolectadasTotal);
+        juego.setFosforosRecolectadosTotal(fosforosRecolectadosTotal);
+        juego.setFosforosUsados(fosforosUsados);
+        juego.setMurosRojosDestruidos(murosRojosDestruidos);
+        juego.setTiempoJugadoSegundos(tiempoJugadoSegundos);
+        juego.setDificultad(dificultad);
+        juego.setSecuenciaAcciones(secuenciaAcciones);
+        return juego;
+    }
+
+    // --- Textos: longitud de 4 bytes (-1 para null) seguida de UTF-8 ---
+
+    private static byte[] textoABytes(String texto) {
+        return texto != null ? texto.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int tamanoTexto(byte[] bytes) {
+        return 4 + (bytes != null ? bytes.length : 0);
+    }
+
+    private static void escribirTexto(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        }
+    }
+
+    private static String leerTexto(ByteBuffer buffer) {
+        int longitud = buffer.getInt();
+        if (longitud < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[longitud];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // --- Tramos: longitudes alternas (apagado, encendido, ...) como enteros variables ---
+
+    /**
+     * Calcula los bytes necesarios para codificar los tramos de un conjunto.
+     */
+    private static int tamanoTramos(BitSet bits, int total) {
+        int tamano = 0;
+        int posicion = 0;
+        boolean encendido = false;
+        while (posicion < total) {
+            int siguiente = siguienteCambio(bits, posicion, encendido, total);
+            tamano += tamanoVarint(siguiente - posicion);
+            posicion = siguiente;
+            encendido = !encendido;
+        }
+        return tamano;
+    }
+
+    /**
+     * Escribe las longitudes de los tramos alternos empezando por un tramo apagado,
+     * que puede tener longitud cero.
+     */
+    private static void escribirTramos(ByteBuffer buffer, BitSet bits, int total) {
+        int posicion = 0;
+        boolean encendido = false;
+        while (posicion < total) {
+            int siguiente = siguienteCambio(bits, posicion, encendido, total);
+            escribirVarint(buffer, siguiente - posicion);
+            posicion = siguiente;
+            encendido = !encendido;
+        }
+    }
+
+    /**
+     * Lee tramos alternos hasta cubrir {@code total} posiciones y enciende los bits
+     * correspondientes.
+     */
+    private static void leerTramos(ByteBuffer buffer, BitSet bits, int total) throws IOException {
+        int posicion = 0;
+        boolean encendido = false;
+        while (posicion < total) {
+            int longitud = leerVarint(buffer);
+            if (longitud < 0 || longitud > total - posicion) {
+                throw new IOException("Tramo de visibilidad inválido");
+            }
+            if (encendido) {
+                bits.set(posicion, posicion + longitud);
+            }
+            posicion += longitud;
+            encendido = !encendido;
+        }
+    }
+
+    private static int siguienteCambio(BitSet bits, int desde, boolean encendido, int total) {
+        int siguiente = encendido ? bits.nextClearBit(desde) : bits.nextSetBit(desde);
+        return siguiente < 0 || siguiente > total ? total : siguiente;
+    }
+
+    private static int tamanoVarint(int valor) {
+        int bytes = 1;
+        while ((valor >>>= 7) != 0) {
+            bytes++;
+        }
+        return bytes;
+    }
+
+    private static void escribirVarint(ByteBuffer buffer, int valor) {
+        while ((valor & ~0x7F) != 0) {
+            buffer.put((byte) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        buffer.put((byte) valor);
+    }
+
+    private static int leerVarint(ByteBuffer buffer) {
+        int valor = 0;
+        int desplazamiento = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            valor |= (b & 0x7F) << desplazamiento;
+            desplazamiento += 7;
+        } while ((b & 0x80) != 0 && desplazamiento < 35);
+        return valor;
+    }
+}
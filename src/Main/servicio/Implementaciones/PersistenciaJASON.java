@@ -11,17 +11,20 @@ package Main.servicio.Implementaciones;
 import Main.modelo.Constantes.EstadoJuego;
 import Main.modelo.Constantes.TipoCelda;
 import Main.modelo.Dominio.*;
+import Main.modelo.Transferencia.EntradaDiario;
 import Main.servicio.Interfaces.Persistencia;
 
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
 import com.google.gson.reflect.TypeToken;
 
 
 import java.io.*;
 import java.lang.reflect.Type;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -41,7 +44,7 @@ import java.util.List;
  * </p>
  *
  * @author Mario Sanchez y Niyerlin Muñoz
- * @version 1.0
+ * @version 1.3
  * @since 2025-11-15
  */
 
@@ -57,8 +60,14 @@ public class PersistenciaJASON implements Persistencia {
     private static final String DIRECTORIO_JUEGOS = DIRECTORIO_BASE + "juegos/";
     /** El directorio donde se guardan los archivos de estadísticas por usuario. */
     private static final String DIRECTORIO_ESTADISTICAS = DIRECTORIO_BASE + "estadisticas/";
+    /** Extensión de los archivos de diario (una entrada JSON por línea). */
+    private static final String EXTENSION_DIARIO = ".diario";
     /** Instancia de Gson configurada para manejar formatos y tipos específicos. */
     private Gson gson;
+    /** Instancia de Gson sin formato, para escribir cada entrada de diario en una línea. */
+    private Gson gsonDiario;
+    /** Índice en memoria de los usuarios registrados, compartido por todas las instancias. */
+    private RepositorioUsuarios repositorioUsuarios;
 
 
     /**
@@ -73,6 +82,8 @@ public class PersistenciaJASON implements Persistencia {
                 .setPrettyPrinting()
                 .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter()) // ✅ REGISTRAR EL ADAPTER
                 .create();
+        this.gsonDiario = new Gson();
+        this.repositorioUsuarios = RepositorioUsuarios.compartido(Paths.get(ARCHIVO_USUARIOS), gson);
 
 
         // Crear directorios si no existen
@@ -97,8 +108,8 @@ public class PersistenciaJASON implements Persistencia {
     // ===== IMPLEMENTACIÓN DE USUARIOS =====
     /**
      * Guarda un nuevo objeto {@code Usuario} en el archivo JSON.
-     * * Verifica que el usuario no exista antes de agregarlo y rescribe el archivo
-     * completo.
+     * * Verifica en el índice en memoria que el usuario no exista y lo añade al
+     * final del archivo sin reescribirlo.
      *
      * @param usuario El objeto Usuario a guardar.
      * @return {@code true} si el usuario fue guardado exitosamente, {@code false}
@@ -107,29 +118,7 @@ public class PersistenciaJASON implements Persistencia {
     @Override
     public boolean guardarUsuario(Usuario usuario) {
         try {
-            List<Usuario> usuarios = cargarTodosUsuarios();
-            for (Usuario u : usuarios) {
-
-
-                if (u != null && u.getEmail() != null && u.getEmail().equalsIgnoreCase(usuario.getEmail())) {
-                    return false; // Usuario ya existe
-                }
-            }
-
-
-            // Agregar nuevo usuario
-            usuarios.add(usuario);
-
-
-            // Guardar lista actualizada
-            try (FileWriter writer = new FileWriter(ARCHIVO_USUARIOS)) {
-                gson.toJson(usuarios, writer);
-            }
-
-
-            return true;
-
-
+            return repositorioUsuarios.agregar(usuario);
         } catch (IOException e) {
             System.err.println("Error guardando usuario: " + e.getMessage());
             return false;
@@ -146,68 +135,28 @@ public class PersistenciaJASON implements Persistencia {
      */
     @Override
     public Usuario cargarUsuario(String email) {
-        List<Usuario> usuarios = cargarTodosUsuarios();
-
-
-        for (Usuario usuario : usuarios) {
-            if (usuario != null && usuario.getEmail() != null && usuario.getEmail().equalsIgnoreCase(email)) {
-                return usuario;
-            }
-        }
-        return null;
+        return repositorioUsuarios.buscar(email);
     }
 
 
     /**
      * Carga la lista completa de todos los usuarios registrados desde el archivo
      * {@code usuarios.json}.
+     * * El archivo solo se vuelve a leer si cambió desde la última vez.
      *
      * @return Una {@code List} de todos los objetos {@code Usuario}, o una lista
      *         vacía si el archivo no existe o falla la carga.
      */
     @Override
     public List<Usuario> cargarTodosUsuarios() {
-        try {
-            File archivo = new File(ARCHIVO_USUARIOS);
-            if (!archivo.exists()) {
-                return new ArrayList<>();
-            }
-
-
-            try (FileReader reader = new FileReader(archivo)) {
-                Type listType = new TypeToken<ArrayList<Usuario>>() {
-                }.getType();
-                List<Usuario> usuarios = gson.fromJson(reader, listType);
-                return usuarios != null ? usuarios : new ArrayList<>();
-            }
-
-
-        } catch (IOException e) {
-            System.err.println("Error cargando usuarios: " + e.getMessage());
-            return new ArrayList<>();
-        }
-    }
-
-
-    /**
-     * Escribe la lista completa de usuarios al archivo {@code usuarios.json}.
-     * * Este es un metodo auxiliar privado.
-     *
-     * @param usuarios La lista de objetos Usuario a guardar.
-     * @throws IOException Si ocurre un error al escribir en el archivo.
-     */
-    private void guardarListaUsuarios(List<Usuario> usuarios) throws IOException {
-        try (FileWriter writer = new FileWriter(ARCHIVO_USUARIOS)) {
-            gson.toJson(usuarios, writer);
-        }
+        return repositorioUsuarios.listar();
     }
 
 
     /**
      * Actualiza la información de un usuario existente (normalmente para cambiar la
      * contraseña).
-     * * Busca al usuario por email, lo reemplaza en la lista y guarda la lista
-     * completa.
+     * * Reemplaza al usuario en el índice y guarda la lista completa.
      *
      * @param usuarioActualizado El objeto {@code Usuario} con los datos
      *                           actualizados.
@@ -216,20 +165,7 @@ public class PersistenciaJASON implements Persistencia {
      */
     @Override
     public void actualizarUsuario(Usuario usuarioActualizado) throws Exception {
-        List<Usuario> usuarios = cargarTodosUsuarios();
-        boolean encontrado = false;
-        for (int i = 0; i < usuarios.size(); i++) {
-            if (usuarios.get(i).getEmail().equalsIgnoreCase(usuarioActualizado.getEmail())) {
-                usuarios.set(i, usuarioActualizado);
-                encontrado = true;
-                break;
-            }
-        }
-
-
-        if (encontrado) {
-            guardarListaUsuarios(usuarios);
-        } else {
+        if (!repositorioUsuarios.actualizar(usuarioActualizado)) {
             throw new Exception("Error al actualizar la contraseña: Usuario no encontrado en la base de datos.");
         }
     }
@@ -243,7 +179,7 @@ public class PersistenciaJASON implements Persistencia {
      */
     @Override
     public boolean existeUsuario(String email) {
-        return cargarUsuario(email) != null;
+        return repositorioUsuarios.existe(email);
     }
 
 
@@ -278,6 +214,10 @@ public class PersistenciaJASON implements Persistencia {
      * Guarda el estado actual de un juego serializándolo en un archivo JSON usando
      * un DTO.
      * * El archivo se nombra con el correo del usuario.
+     * <p>
+     * Un guardado binario anterior del mismo usuario se elimina, ya que
+     * {@link PersistenciaBinaria} lo preferiría al cargar aunque sea más antiguo.
+     * </p>
      *
      * @param juego El objeto {@code Juego} con el estado actual del laberinto y
      *              jugador.
@@ -298,6 +238,12 @@ public class PersistenciaJASON implements Persistencia {
             }
 
 
+            // La instantánea ya incluye todas las acciones del diario: compactarlo
+            eliminarDiario(juego.getUsuario());
+            // Y sustituye a cualquier guardado binario anterior
+            Files.deleteIfExists(Paths.get(DIRECTORIO_JUEGOS + juego.getUsuario() + ".bin"));
+
+
             return true;
 
 
@@ -308,6 +254,81 @@ public class PersistenciaJASON implements Persistencia {
     }
 
 
+    /**
+     * Añade una acción al final del diario del usuario como una línea JSON.
+     *
+     * @param usuario El correo electrónico del usuario.
+     * @param entrada La acción a registrar.
+     * @return {@code true} si la entrada fue escrita exitosamente.
+     */
+    @Override
+    public boolean registrarAccion(String usuario, EntradaDiario entrada) {
+        String archivoDiario = DIRECTORIO_JUEGOS + usuario + EXTENSION_DIARIO;
+        try (FileWriter writer = new FileWriter(archivoDiario, true)) {
+            writer.write(gsonDiario.toJson(entrada));
+            writer.write('\n');
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error registrando acción en el diario: " + e.getMessage());
+            return false;
+        }
+    }
+
+
+    /**
+     * Elimina el diario de un usuario una vez que una instantánea lo incluye.
+     * <p>
+     * Compartido con otras implementaciones de este paquete que reutilizan el
+     * mismo diario.
+     * </p>
+     *
+     * @param usuario El correo electrónico del usuario.
+     * @throws IOException Si el archivo existe y no puede eliminarse.
+     */
+    void eliminarDiario(String usuario) throws IOException {
+        Files.deleteIfExists(Paths.get(DIRECTORIO_JUEGOS + usuario + EXTENSION_DIARIO));
+    }
+
+
+    /**
+     * Reaplica sobre la partida las entradas del diario posteriores a su
+     * secuencia actual.
+     * <p>
+     * Las entradas ya incluidas en la instantánea se ignoran. Una línea incompleta
+     * (por ejemplo, tras un cierre inesperado) detiene la reproducción.
+     * </p>
+     *
+     * @param juego La partida cargada desde la instantánea.
+     * @throws IOException Si ocurre un error al leer el diario.
+     */
+    void reproducirDiario(Juego juego) throws IOException {
+        File archivo = new File(DIRECTORIO_JUEGOS + juego.getUsuario() + EXTENSION_DIARIO);
+        if (!archivo.exists()) {
+            return;
+        }
+
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(archivo))) {
+            String linea;
+            while ((linea = reader.readLine()) != null) {
+                if (linea.isBlank()) {
+                    continue;
+                }
+                EntradaDiario entrada;
+                try {
+                    entrada = gsonDiario.fromJson(linea, EntradaDiario.class);
+                } catch (JsonParseException e) {
+                    System.err.println("Diario truncado, se ignora el resto: " + e.getMessage());
+                    return;
+                }
+                if (entrada != null && entrada.getSecuencia() > juego.getSecuenciaAcciones()) {
+                    entrada.aplicar(juego);
+                }
+            }
+        }
+    }
+
+
     /**
      * Carga el juego guardado de un usuario por su email.
      *
@@ -327,10 +348,11 @@ public class PersistenciaJASON implements Persistencia {
             }
 
 
-            try (FileReader reader = new FileReader(archivo)) {
-                JuegoDTO juegoDTO = gson.fromJson(reader, JuegoDTO.class);
-                return juegoDTO != null ? juegoDTO.toJuego() : null;
+            Juego juego = leerArchivo(archivo.toPath());
+            if (juego != null) {
+                reproducirDiario(juego);
             }
+            return juego;
 
 
         } catch (IOException e) {
@@ -340,6 +362,25 @@ public class PersistenciaJASON implements Persistencia {
     }
 
 
+    /**
+     * Lee una partida JSON desde un archivo concreto, sin reproducir el diario.
+     * <p>
+     * Permite examinar guardados fuera de {@code datos/juegos/} o sin conocer el
+     * usuario, por ejemplo para analizar un directorio completo.
+     * </p>
+     *
+     * @param archivo Archivo de la partida.
+     * @return La partida, o {@code null} si el archivo está vacío.
+     * @throws IOException Si no se puede leer el archivo.
+     */
+    public Juego leerArchivo(Path archivo) throws IOException {
+        try (FileReader reader = new FileReader(archivo.toFile())) {
+            JuegoDTO juegoDTO = gson.fromJson(reader, JuegoDTO.class);
+            return juegoDTO != null ? juegoDTO.toJuego() : null;
+        }
+    }
+
+
     /**
      * Verifica si existe una partida guardada para un usuario específico.
      *
@@ -517,6 +558,8 @@ public class PersistenciaJASON implements Persistencia {
         private int fosforosRecolectadosTotal;
         private int fosforosUsados;
         private int murosRojosDestruidos;
+        // Posición en el diario que ya refleja esta instantánea
+        private long secuenciaAcciones;
 
 
         public JuegoDTO(Juego juego) {
@@ -534,6 +577,7 @@ public class PersistenciaJASON implements Persistencia {
             this.fosforosRecolectadosTotal = juego.getFosforosRecolectadosTotal();
             this.fosforosUsados = juego.getFosforosUsados();
             this.murosRojosDestruidos = juego.getMurosRojosDestruidos();
+            this.secuenciaAcciones = juego.getSecuenciaAcciones();
         }
 
 
@@ -574,6 +618,7 @@ public class PersistenciaJASON implements Persistencia {
             juego.setFosforosRecolectadosTotal(this.fosforosRecolectadosTotal);
             juego.setFosforosUsados(this.fosforosUsados);
             juego.setMurosRojosDestruidos(this.murosRojosDestruidos);
+            juego.setSecuenciaAcciones(this.secuenciaAcciones);
 
 
             return juego;
@@ -0,0 +1,321 @@
+package Main.servicio.Implementaciones;
+
+import Main.modelo.Constantes.TipoCelda;
+import Main.modelo.Dominio.Laberinto;
+
+import java.util.Arrays;
+
+/**
+ * Motor de búsqueda A* que planifica el recorrido del jugador hasta la llave, si
+ * aún no la tiene, y desde ella hasta la {@link TipoCelda#SALIDA}.
+ * <p>
+ * Trabaja sobre las posiciones empaquetadas del laberinto con la distancia
+ * Manhattan como heurística. La frontera es un montículo binario de {@code long}
+ * en el que cada entrada lleva la prioridad en la mitad alta y la celda en la
+ * baja; en lugar de reordenar una celda que mejora, se inserta de nuevo y la
+ * entrada antigua se descarta al salir. Los costes y predecesores se guardan en
+ * arreglos que solo se reservan cuando llega un laberinto mayor, y una marca de
+ * generación por celda evita limpiarlos entre consultas, así que una pista no
+ * reserva memoria.
+ * </p>
+ * <p>
+ * Cada paso cuesta uno y pisar una {@link TipoCelda#TRAMPA} cuesta además
+ * {@link #PENALIZACION_TRAMPA}, de modo que la ruta rodea las trampas cuando el
+ * rodeo es corto. Bloquean el paso {@link TipoCelda#MURO} y
+ * {@link TipoCelda#MURO_ROJO}. Una instancia no es segura para uso concurrente;
+ * {@link #delHilo()} entrega la del hilo actual.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.0
+ * @since 17/10/2026
+ */
+public class PlanificadorRutas {
+
+    /** Pasos extra que cuesta atravesar una trampa. */
+    public static final int PENALIZACION_TRAMPA = 8;
+
+    /** Tipos que no se pueden atravesar, indexados por ordinal. */
+    private static final boolean[] BLOQUEA = new boolean[TipoCelda.values().length];
+
+    static {
+        for (TipoCelda tipo : TipoCelda.values()) {
+            BLOQUEA[tipo.ordinal()] = !tipo.isTransitable();
+        }
+    }
+
+    private static final byte SALIDA = (byte) TipoCelda.SALIDA.ordinal();
+    private static final byte LLAVE = (byte) TipoCelda.LLAVE.ordinal();
+    private static final byte TRAMPA = (byte) TipoCelda.TRAMPA.ordinal();
+
+    /** Máscara de la celda dentro de una entrada del montículo. */
+    private static final long MASCARA_CELDA = 0xFFFFFFFFL;
+
+    /** Instancia de cada hilo: permite planificar en paralelo sin perder la reutilización. */
+    private static final ThreadLocal<PlanificadorRutas> POR_HILO = ThreadLocal.withInitial(PlanificadorRutas::new);
+
+    /** Coste acumulado desde el origen del tramo; válido si la marca coincide. */
+    private int[] costes = new int[0];
+
+    /** Celda desde la que se llegó a cada celda en el tramo actual. */
+    private int[] predecesores = new int[0];
+
+    /** Generación en la que se escribió el coste de cada celda. */
+    private int[] marcas = new int[0];
+
+    /** Generación de la búsqueda actual. */
+    private int generacion;
+
+    /** Montículo binario de entradas {@code prioridad << 32 | celda}. */
+    private long[] monticulo = new long[0];
+
+    /** Entradas ocupadas del montículo. */
+    private int tamano;
+
+    /** Celdas de la última ruta planificada, sin la de partida. */
+    private int[] ruta = new int[0];
+
+    /** Pasos de la última ruta planificada. */
+    private int longitud;
+
+    /**
+     * Planifica la ruta más barata desde una celda hasta la salida, pasando por la
+     * llave si hace falta.
+     *
+     * @param laberinto Laberinto en el que se busca; no se modifica.
+     * @param origen    Posición empaquetada de partida.
+     * @param conLlave  {@code true} si ya se tiene la llave y se puede ir directo a la salida.
+     * @return Pasos de la ruta, o {@code -1} si la salida no es alcanzable.
+     */
+    public int planificar(Laberinto laberinto, int origen, boolean conLlave) {
+        byte[] tipos = laberinto.getTiposCrudos();
+        int columnas = laberinto.getColumnas();
+        int total = laberinto.getFilas() * columnas;
+        prepararArreglos(total);
+        longitud = 0;
+
+        int llave = -1, salida = -1;
+        for (int celda = 0; celda < total; celda++) {
+            if (tipos[celda] == SALIDA) {
+                salida = celda;
+            } else if (tipos[celda] == LLAVE) {
+                llave = celda;
+            }
+        }
+        if (salida < 0) {
+            return -1;
+        }
+
+        int actual = origen;
+        if (!conLlave && llave >= 0) {
+            if (!buscar(tipos, columnas, total, actual, llave)) {
+                longitud = 0;
+                return -1;
+            }
+            actual = llave;
+        }
+        if (!buscar(tipos, columnas, total, actual, salida)) {
+            longitud = 0;
+            return -1;
+        }
+        return longitud;
+    }
+
+    /**
+     * Ejecuta A* entre dos celdas y añade el tramo encontrado a la ruta.
+     *
+     * @return {@code true} si el destino es alcanzable.
+     */
+    private boolean buscar(byte[] tipos, int columnas, int total, int origen, int destino) {
+        if (origen == destino) {
+            return true;
+        }
+        int marca = nuevaGeneracion();
+        int filaDestino = destino / columnas;
+        int columnaDestino = destino % columnas;
+
+        tamano = 0;
+        costes[origen] = 0;
+        predecesores[origen] = -1;
+        marcas[origen] = marca;
+        insertar(heuristica(origen, columnas, filaDestino, columnaDestino), origen);
+
+        while (tamano > 0) {
+            long entrada = extraer();
+            int actual = (int) (entrada & MASCARA_CELDA);
+            int coste = costes[actual];
+            int fila = actual / columnas;
+            int columna = actual - fila * columnas;
+            int estimacion = Math.abs(fila - filaDestino) + Math.abs(columna - columnaDestino);
+            // Entrada obsoleta: la celda ya salió antes con menor coste
+            if ((int) (entrada >>> 32) > coste + estimacion) {
+                continue;
+            }
+            if (actual == destino) {
+                anadirTramo(origen, destino);
+                return true;
+            }
+
+            // Cada vecina está una unidad más cerca o más lejos del destino
+            if (fila > 0) {
+                relajar(tipos, actual, actual - columnas, coste, marca,
+                        estimacion + (fila > filaDestino ? -1 : 1));
+            }
+            if (actual + columnas < total) {
+                relajar(tipos, actual, actual + columnas, coste, marca,
+                        estimacion + (fila < filaDestino ? -1 : 1));
+            }
+            if (columna > 0) {
+                relajar(tipos, actual, actual - 1, coste, marca,
+                        estimacion + (columna > columnaDestino ? -1 : 1));
+            }
+            if (columna < columnas - 1) {
+                relajar(tipos, actual, actual + 1, coste, marca,
+                        estimacion + (columna < columnaDestino ? -1 : 1));
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Mejora el coste de una vecina transitable y la vuelve a insertar en la frontera.
+     *
+     * @param estimacion Distancia Manhattan de la vecina al destino.
+     */
+    private void relajar(byte[] tipos, int actual, int vecina, int coste, int marca, int estimacion) {
+        byte tipo = tipos[vecina];
+        if (BLOQUEA[tipo]) {
+            return;
+        }
+        int nuevoCoste = coste + (tipo == TRAMPA ? 1 + PENALIZACION_TRAMPA : 1);
+        if (marcas[vecina] == marca && costes[vecina] <= nuevoCoste) {
+            return;
+        }
+        marcas[vecina] = marca;
+        costes[vecina] = nuevoCoste;
+        predecesores[vecina] = actual;
+        insertar(nuevoCoste + estimacion, vecina);
+    }
+
+    /**
+     * @return La distancia Manhattan de una celda al destino.
+     */
+    private static int heuristica(int celda, int columnas, int filaDestino, int columnaDestino) {
+        return Math.abs(celda / columnas - filaDestino) + Math.abs(celda % columnas - columnaDestino);
+    }
+
+    /**
+     * Copia al final de la ruta el tramo de predecesores que va de {@code origen} a
+     * {@code destino}, sin la celda de origen.
+     */
+    private void anadirTramo(int origen, int destino) {
+        int pasos = 0;
+        for (int celda = destino; celda != origen; celda = predecesores[celda]) {
+            pasos++;
+        }
+        if (ruta.length < longitud + pasos) {
+            ruta = Arrays.copyOf(ruta, Math.max(longitud + pasos, ruta.length * 2));
+        }
+        int posicion = longitud + pasos;
+        for (int celda = destino; celda != origen; celda = predecesores[celda]) {
+            ruta[--posicion] = celda;
+        }
+        longitud += pasos;
+    }
+
+    /**
+     * Inserta una entrada en el montículo y la hace subir hasta su sitio.
+     */
+    private void insertar(int prioridad, int celda) {
+        if (tamano == monticulo.length) {
+            monticulo = Arrays.copyOf(monticulo, Math.max(16, monticulo.length * 2));
+        }
+        long entrada = ((long) prioridad << 32) | celda;
+        int hijo = tamano++;
+        while (hijo > 0) {
+            int padre = (hijo - 1) >>> 1;
+            if (monticulo[padre] <= entrada) {
+                break;
+            }
+            monticulo[hijo] = monticulo[padre];
+            hijo = padre;
+        }
+        monticulo[hijo] = entrada;
+    }
+
+    /**
+     * Extrae la entrada de menor prioridad y hunde la última hasta su sitio.
+     */
+    private long extraer() {
+        long minima = monticulo[0];
+        long ultima = monticulo[--tamano];
+        int padre = 0;
+        int mitad = tamano >>> 1;
+        while (padre < mitad) {
+            int hijo = 2 * padre + 1;
+            if (hijo + 1 < tamano && monticulo[hijo + 1] < monticulo[hijo]) {
+                hijo++;
+            }
+            if (ultima <= monticulo[hijo]) {
+                break;
+            }
+            monticulo[padre] = monticulo[hijo];
+            padre = hijo;
+        }
+        monticulo[padre] = ultima;
+        return minima;
+    }
+
+    /**
+     * Avanza la generación; al dar la vuelta limpia las marcas una sola vez.
+     */
+    private int nuevaGeneracion() {
+        if (++generacion == 0) {
+            Arrays.fill(marcas, 0);
+            generacion = 1;
+        }
+        return generacion;
+    }
+
+    /**
+     * Agranda los arreglos si el laberinto es mayor que los anteriores.
+     */
+    private void prepararArreglos(int total) {
+        if (costes.length < total) {
+            costes = new int[total];
+            predecesores = new int[total];
+            marcas = new int[total];
+            generacion = 0;
+        }
+    }
+
+    /** @return Pasos de la última ruta planificada. */
+    public int getLongitud() {
+        return longitud;
+    }
+
+    /**
+     * @param paso Índice del paso, desde {@code 0}.
+     * @return Posición empaquetada de la celda a la que lleva ese paso.
+     */
+    public int getPaso(int paso) {
+        if (paso < 0 || paso >= longitud) {
+            throw new IndexOutOfBoundsException("Paso fuera de la ruta: " + paso);
+        }
+        return ruta[paso];
+    }
+
+    /**
+     * @return Una copia de las posiciones empaquetadas de la última ruta.
+     */
+    public int[] copiarRuta() {
+        return Arrays.copyOf(ruta, longitud);
+    }
+
+    /**
+     * @return La instancia reservada al hilo actual, que conserva sus arreglos entre llamadas.
+     */
+    public static PlanificadorRutas delHilo() {
+        return POR_HILO.get();
+    }
+}
@@ -0,0 +1,83 @@
+package Main.servicio.Implementaciones;
+
+/**
+ * Define cuándo debe escribirse una instantánea completa de una partida en curso.
+ * <p>
+ * Cada acción se registra siempre en el diario de la partida; la instantánea
+ * compacta ese diario y se dispara al alcanzar cualquiera de los umbrales
+ * configurados: un número de acciones acumuladas desde la última instantánea o un
+ * intervalo de tiempo. Opcionalmente se fuerza una instantánea inmediata cuando la
+ * partida termina (ganada o perdida).
+ * </p>
+ * <p>
+ * Un umbral con valor {@code 0} o negativo queda desactivado.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.0
+ * @since 17/10/2026
+ */
+public class PoliticaGuardado {
+
+    /** Cantidad de acciones tras las cuales se programa un guardado. */
+    private final int cadaAcciones;
+
+    /** Milisegundos máximos que una acción puede quedar sin guardar. */
+    private final long cadaMilisegundos;
+
+    /** Indica si el fin de la partida fuerza un guardado inmediato. */
+    private final boolean guardarAlTerminar;
+
+    /**
+     * Construye una política de guardado.
+     *
+     * @param cadaAcciones      Número de acciones por ventana de guardado.
+     * @param cadaMilisegundos  Duración máxima de la ventana de guardado en milisegundos.
+     * @param guardarAlTerminar Si se guarda inmediatamente al ganar o perder.
+     */
+    public PoliticaGuardado(int cadaAcciones, long cadaMilisegundos, boolean guardarAlTerminar) {
+        this.cadaAcciones = cadaAcciones;
+        this.cadaMilisegundos = cadaMilisegundos;
+        this.guardarAlTerminar = guardarAlTerminar;
+    }
+
+    /**
+     * Política usada por defecto en el juego: una instantánea cada 100 acciones o
+     * cada 30 segundos, y siempre al terminar la partida.
+     *
+     * @return Una política con los valores por defecto.
+     */
+    public static PoliticaGuardado porDefecto() {
+        return new PoliticaGuardado(100, 30000, true);
+    }
+
+    /**
+     * Política que escribe una instantánea completa tras cada acción.
+     *
+     * @return Una política que persiste cada acción.
+     */
+    public static PoliticaGuardado cadaAccion() {
+        return new PoliticaGuardado(1, 0, true);
+    }
+
+    /**
+     * @return El número de acciones por ventana, o un valor no positivo si está desactivado.
+     */
+    public int getCadaAcciones() {
+        return cadaAcciones;
+    }
+
+    /**
+     * @return La duración de la ventana en milisegundos, o un valor no positivo si está desactivada.
+     */
+    public long getCadaMilisegundos() {
+        return cadaMilisegundos;
+    }
+
+    /**
+     * @return {@code true} si el fin de la partida fuerza un guardado inmediato.
+     */
+    public boolean isGuardarAlTerminar() {
+        return guardarAlTerminar;
+    }
+}
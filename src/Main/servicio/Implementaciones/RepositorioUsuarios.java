@@ -0,0 +1,321 @@
+package Main.servicio.Implementaciones;
+
+import Main.modelo.Dominio.Usuario;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Repositorio en memoria de los usuarios registrados, respaldado por {@code usuarios.json}.
+ * <p>
+ * El archivo se lee una sola vez y los usuarios se indexan por su email cifrado,
+ * por lo que las búsquedas cuestan O(1) sin acceder al disco. Las altas se añaden
+ * al final del arreglo JSON sin reescribir el resto del archivo; solo las
+ * actualizaciones, que son poco frecuentes, reescriben el archivo completo.
+ * </p>
+ * <p>
+ * Todas las instancias de {@link PersistenciaJASON} del proceso comparten el
+ * repositorio de un mismo archivo (ver {@link #compartido(Path, Gson)}), de modo que
+ * sus altas y actualizaciones pasan por el mismo índice y el mismo cerrojo. Antes de
+ * cada operación se compara además la fecha de modificación y el tamaño del archivo
+ * con los de la última lectura o escritura propia; si otro proceso lo modificó, el
+ * índice se recarga.
+ * </p>
+ * <p>
+ * Los usuarios se entregan como copias para que modificarlos no altere el índice
+ * hasta que se confirme el cambio con {@link #actualizar(Usuario)}.
+ * </p>
+ *
+ * @author Mario Sanchez
+ * @version 1.1
+ * @since 17/10/2026
+ */
+public class RepositorioUsuarios {
+
+    /** Repositorios del proceso, uno por archivo (ruta absoluta normalizada). */
+    private static final Map<Path, RepositorioUsuarios> COMPARTIDOS = new ConcurrentHashMap<>();
+
+    /** Bytes finales del archivo que se examinan para localizar el cierre del arreglo. */
+    private static final int COLA_MAXIMA = 64;
+
+    /** Archivo JSON con el arreglo de usuarios. */
+    private final Path archivo;
+
+    /** Instancia de Gson con el mismo formato que el resto de la persistencia. */
+    private final Gson gson;
+
+    /** Usuarios indexados por email normalizado, en el orden del archivo. */
+    private final Map<String, Usuario> usuarios = new LinkedHashMap<>();
+
+    /** Fecha de modificación del archivo en la última sincronización, o -1 si no existía. */
+    private long modificacionConocida = -1;
+
+    /** Tamaño del archivo en la última sincronización, o -1 si no existía. */
+    private long tamanoConocido = -1;
+
+    /** Indica si el índice ya se cargó alguna vez. */
+    private boolean cargado;
+
+    /**
+     * Construye el repositorio sin leer todavía el archivo.
+     *
+     * @param archivo Ruta de {@code usuarios.json}.
+     * @param gson    Instancia de Gson usada para leer y escribir los usuarios.
+     */
+    RepositorioUsuarios(Path archivo, Gson gson) {
+        this.archivo = archivo;
+        this.gson = gson;
+    }
+
+    /**
+     * Obtiene el repositorio del proceso asociado a un archivo, creándolo la primera
+     * vez. Dos rutas que apuntan al mismo archivo devuelven la misma instancia.
+     *
+     * @param archivo Ruta de {@code usuarios.json}.
+     * @param gson    Instancia de Gson usada si el repositorio aún no existía.
+     * @return El repositorio compartido de ese archivo.
+     */
+    public static RepositorioUsuarios compartido(Path archivo, Gson gson) {
+        Path clave = archivo.toAbsolutePath().normalize();
+        return COMPARTIDOS.computeIfAbsent(clave, ruta -> new RepositorioUsuarios(ruta, gson));
+    }
+
+    /**
+     * Busca un usuario por su email cifrado. La comparación ignora mayúsculas,
+     * igual que la búsqueda lineal a la que reemplaza.
+     *
+     * @param email El email cifrado del usuario.
+     * @return Una copia del usuario, o {@code null} si no existe.
+     */
+    public synchronized Usuario buscar(String email) {
+        if (email == null) {
+            return null;
+        }
+        sincronizar();
+        return copiar(usuarios.get(clave(email)));
+    }
+
+    /**
+     * Indica si existe un usuario con el email cifrado dado.
+     *
+     * @param email El email cifrado del usuario.
+     * @return {@code true} si el usuario está registrado.
+     */
+    public synchronized boolean existe(String email) {
+        if (email == null) {
+            return false;
+        }
+        sincronizar();
+        return usuarios.containsKey(clave(email));
+    }
+
+    /**
+     * Obtiene todos los usuarios en el orden en que fueron registrados.
+     *
+     * @return Una lista nueva con copias de los usuarios.
+     */
+    public synchronized List<Usuario> listar() {
+        sincronizar();
+        List<Usuario> lista = new ArrayList<>(usuarios.size());
+        for (Usuario usuario : usuarios.values()) {
+            lista.add(copiar(usuario));
+        }
+        return lista;
+    }
+
+    /**
+     * Registra un usuario nuevo añadiéndolo al final del archivo.
+     *
+     * @param usuario El usuario a registrar.
+     * @return {@code true} si se registró, {@code false} si el email ya existía.
+     * @throws IOException Si ocurre un error al escribir el archivo.
+     */
+    public synchronized boolean agregar(Usuario usuario) throws IOException {
+        sincronizar();
+        String clave = clave(usuario.getEmail());
+        if (usuarios.containsKey(clave)) {
+            return false;
+        }
+
+        if (!anexar(usuario)) {
+            // El archivo no termina en un arreglo reconocible: reescribirlo completo
+            usuarios.put(clave, copiar(usuario));
+            reescribir();
+            return true;
+        }
+        usuarios.put(clave, copiar(usuario));
+        recordarEstado();
+        return true;
+    }
+
+    /**
+     * Reemplaza los datos de un usuario existente y reescribe el archivo.
+     *
+     * @param usuario El usuario con los datos actualizados.
+     * @return {@code true} si el usuario existía y fue actualizado.
+     * @throws IOException Si ocurre un error al escribir el archivo.
+     */
+    public synchronized boolean actualizar(Usuario usuario) throws IOException {
+        sincronizar();
+        String clave = clave(usuario.getEmail());
+        Usuario anterior = usuarios.get(clave);
+        if (anterior == null) {
+            return false;
+        }
+
+        usuarios.put(clave, copiar(usuario));
+        try {
+            reescribir();
+        } catch (IOException e) {
+            usuarios.put(clave, anterior);
+            throw e;
+        }
+        return true;
+    }
+
+    // --- Sincronización con el archivo ---
+
+    /**
+     * Recarga el índice si es la primera vez o si el archivo cambió desde la
+     * última lectura o escritura propia.
+     */
+    private void sincronizar() {
+        long modificacion = -1;
+        long tamano = -1;
+        try {
+            BasicFileAttributes atributos = Files.readAttributes(archivo, BasicFileAttributes.class);
+            modificacion = atributos.lastModifiedTime().toMillis();
+            tamano = atributos.size();
+        } catch (NoSuchFileException e) {
+            // Sin archivo no hay usuarios
+        } catch (IOException e) {
+            System.err.println("Error consultando usuarios: " + e.getMessage());
+            return;
+        }
+
+        if (cargado && modificacion == modificacionConocida && tamano == tamanoConocido) {
+            return;
+        }
+
+        usuarios.clear();
+        if (tamano >= 0) {
+            try (Reader reader = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+                Type tipoLista = new TypeToken<ArrayList<Usuario>>() {
+                }.getType();
+                List<Usuario> lista = gson.fromJson(reader, tipoLista);
+                if (lista != null) {
+                    for (Usuario usuario : lista) {
+                        if (usuario != null && usuario.getEmail() != null) {
+                            usuarios.putIfAbsent(clave(usuario.getEmail()), usuario);
+                        }
+                    }
+                }
+            } catch (IOException | JsonParseException e) {
+                System.err.println("Error cargando usuarios: " + e.getMessage());
+            }
+        }
+        cargado = true;
+        modificacionConocida = modificacion;
+        tamanoConocido = tamano;
+    }
+
+    /**
+     * Guarda la fecha y el tamaño actuales del archivo tras una escritura propia,
+     * para no confundirla con un cambio externo.
+     */
+    private void recordarEstado() throws IOException {
+        BasicFileAttributes atributos = Files.readAttributes(archivo, BasicFileAttributes.class);
+        modificacionConocida = atributos.lastModifiedTime().toMillis();
+        tamanoConocido = atributos.size();
+    }
+
+    /**
+     * Escribe el índice completo en el archivo.
+     */
+    private void reescribir() throws IOException {
+        try (Writer writer = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8)) {
+            gson.toJson(new ArrayList<>(usuarios.values()), writer);
+        }
+        recordarEstado();
+    }
+
+    /**
+     * Añade un usuario al arreglo JSON sobrescribiendo únicamente su corchete de
+     * cierre.
+     *
+     * @return {@code false} si el archivo no existe o no termina en {@code ']'}.
+     */
+    private boolean anexar(Usuario usuario) throws IOException {
+        if (!Files.exists(archivo)) {
+            return false;
+        }
+
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long tamano = canal.size();
+            int cola = (int) Math.min(COLA_MAXIMA, tamano);
+            ByteBuffer buffer = ByteBuffer.allocate(cola);
+            canal.read(buffer, tamano - cola);
+
+            // Localizar el ']' final y el último carácter significativo anterior
+            int cierre = cola - 1;
+            while (cierre >= 0 && Character.isWhitespace(buffer.get(cierre))) {
+                cierre--;
+            }
+            if (cierre < 0 || buffer.get(cierre) != ']') {
+                return false;
+            }
+            int previo = cierre - 1;
+            while (previo >= 0 && Character.isWhitespace(buffer.get(previo))) {
+                previo--;
+            }
+            if (previo < 0) {
+                return false;
+            }
+            boolean vacio = buffer.get(previo) == '[';
+
+            String elemento = "  " + gson.toJson(copiar(usuario)).replace("\n", "\n  ");
+            String texto = (vacio ? "\n" : ",\n") + elemento + "\n]";
+            long posicion = tamano - cola + previo + 1;
+
+            ByteBuffer escritura = ByteBuffer.wrap(texto.getBytes(StandardCharsets.UTF_8));
+            while (escritura.hasRemaining()) {
+                posicion += canal.write(escritura, posicion);
+            }
+            canal.truncate(posicion);
+        }
+        return true;
+    }
+
+    // --- Utilidades ---
+
+    private static String clave(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private static Usuario copiar(Usuario usuario) {
+        if (usuario == null) {
+            return null;
+        }
+        return new Usuario(usuario.getEmail(), usuario.getContraseniaCifrada(), usuario.getFechaRegistro());
+    }
+}
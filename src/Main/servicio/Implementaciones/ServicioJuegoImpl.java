@@ -2,8 +2,10 @@ package Main.servicio.Implementaciones;
 
 import Main.modelo.Constantes.Direccion;
 import Main.modelo.Constantes.EstadoJuego;
+import Main.modelo.Constantes.TipoAccion;
 import Main.modelo.Constantes.TipoCelda;
 import Main.modelo.Dominio.*;
+import Main.modelo.Transferencia.EntradaDiario;
 import Main.modelo.Transferencia.ResultadoJuego;
 
 import Main.servicio.Interfaces.Persistencia;
@@ -12,6 +14,7 @@ import Main.ui.gui.audio.GestorAudio;
 
 import java.time.LocalDateTime;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -25,24 +28,47 @@ import java.util.List;
  * </p>
  * 
  * @author Mario Sanchez
- * @version 1.0
+ * @version 1.8
  * @since 11/11/2025
  */
 public class ServicioJuegoImpl implements ServicioJuego {
+    /**
+     * Celdas a partir de las cuales la ruta completa se calcula con el
+     * {@link GrafoJerarquico} en lugar de con A* sobre la cuadrícula.
+     */
+    private static final int UMBRAL_RUTA_JERARQUICA = 512 * 512;
+
     /**
      * Interfaz de persistencia utilizada para guardar y cargar juegos/estadísticas.
      */
     private Persistencia persistencia;
 
+    /**
+     * Motor de guardado en segundo plano que evita escribir en disco en cada
+     * acción del jugador.
+     */
+    private GuardadoDiferido guardadoDiferido;
+
     /**
      * Constructor. Inicializa el servicio de juego con la dependencia de
-     * persistencia.
+     * persistencia y la política de guardado por defecto.
      *
      * @param persistencia La implementación del almacén de datos.
      */
     public ServicioJuegoImpl(Persistencia persistencia) {
-        this.persistencia = persistencia;
+        this(persistencia, PoliticaGuardado.porDefecto());
+    }
 
+    /**
+     * Constructor. Inicializa el servicio de juego con una política de guardado
+     * específica.
+     *
+     * @param persistencia La implementación del almacén de datos.
+     * @param politica     Umbrales que determinan cuándo se guarda la partida.
+     */
+    public ServicioJuegoImpl(Persistencia persistencia, PoliticaGuardado politica) {
+        this.persistencia = persistencia;
+        this.guardadoDiferido = GuardadoDiferido.iniciar(persistencia, politica);
     }
 
     /**
@@ -67,7 +93,29 @@ public class ServicioJuegoImpl implements ServicioJuego {
 
         // Usar la estrategia de generación de la configuración
         Laberinto laberinto = configuracion.generarLaberinto(filas, columnas);
+        return crearJuego(laberinto, usuario, configuracion);
+    }
 
+    /**
+     * Inicia una nueva partida con un laberinto de la dificultad configurada,
+     * tomado de su reserva si existe.
+     *
+     * @param usuario       El correo electrónico del usuario que inicia el juego.
+     * @param configuracion Configuración con la dificultad y la reserva de laberintos.
+     * @return El nuevo objeto {@code Juego} inicializado.
+     * @throws IllegalStateException Si la posición de entrada no se encuentra en
+     *                               el laberinto.
+     */
+    @Override
+    public Juego iniciarNuevoJuego(String usuario, Main.estrategia.contexto.ConfiguracionJuego configuracion) {
+        return crearJuego(configuracion.obtenerLaberintoSegunDificultad(), usuario, configuracion);
+    }
+
+    /**
+     * Coloca al jugador en la entrada del laberinto y crea la partida.
+     */
+    private Juego crearJuego(Laberinto laberinto, String usuario,
+            Main.estrategia.contexto.ConfiguracionJuego configuracion) {
         // Encontrar posición de entrada para el jugador
         int[] posicionInicial = encontrarPosicionEntrada(laberinto);
         if (posicionInicial == null) {
@@ -99,6 +147,8 @@ public class ServicioJuegoImpl implements ServicioJuego {
      */
     @Override
     public Juego cargarJuegoGuardado(String usuario) {
+        // Asegurar que no quedan escrituras pendientes antes de leer del disco
+        guardadoDiferido.vaciar();
         Juego juego = persistencia.cargarJuego(usuario);
         if (juego != null) {
             System.out.println("✅ Juego cargado exitosamente para: " + usuario);
@@ -122,72 +172,84 @@ public class ServicioJuegoImpl implements ServicioJuego {
      */
     @Override
     public boolean moverJugador(Juego juego, Direccion direccion) {
-        if (juego.getEstado() != EstadoJuego.EN_CURSO) {
-            return false;
-        }
-
-        Jugador jugador = juego.getJugador();
-        Laberinto laberinto = juego.getLaberinto();
+        synchronized (juego) {
+            if (juego.getEstado() != EstadoJuego.EN_CURSO) {
+                return false;
+            }
 
-        int nuevaX = jugador.getPosX() + direccion.getDeltaFila();
-        int nuevaY = jugador.getPosY() + direccion.getDeltaColumna();
+            Jugador jugador = juego.getJugador();
+            Laberinto laberinto = juego.getLaberinto();
 
-        // Verificar si la nueva posición es válida y transitable
-        if (!laberinto.esPosicionValida(nuevaX, nuevaY) ||
-                !laberinto.esTransitable(nuevaX, nuevaY)) {
-            return false;
-        }
+            int nuevaX = jugador.getPosX() + direccion.getDeltaFila();
+            int nuevaY = jugador.getPosY() + direccion.getDeltaColumna();
 
-        // Mover jugador
-        jugador.setPosX(nuevaX);
-        jugador.setPosY(nuevaY);
+            // Verificar si la nueva posición es válida y transitable
+            if (!laberinto.esPosicionValida(nuevaX, nuevaY) ||
+                    !laberinto.esTransitable(nuevaX, nuevaY)) {
+                return false;
+            }
 
-        // Procesar la celda destino
-        Celda celdaDestino = laberinto.getCelda(nuevaX, nuevaY);
-        procesarCelda(juego, celdaDestino);
+            // Mover jugador
+            jugador.setPosX(nuevaX);
+            jugador.setPosY(nuevaY);
 
-        // Marcar como visitada y visible
-        celdaDestino.setVisitada(true);
-        celdaDestino.setVisible(true);
+            // Procesar la celda destino
+            Celda celdaDestino = laberinto.getCelda(nuevaX, nuevaY);
+            TipoCelda tipoAnterior = celdaDestino.getTipo();
+            procesarCelda(juego, celdaDestino);
 
-        // Revelar celdas adyacentes (visión limitada)
-        revelarCeldasAdyacentes(laberinto, nuevaX, nuevaY);
+            // Marcar como visitada y visible
+            celdaDestino.setVisitada(true);
+            celdaDestino.setVisible(true);
 
-        // Verificar condiciones de fin de juego
-        verificarEstadoJuego(juego);
+            // Revelar celdas adyacentes (visión limitada)
+            revelarCeldasAdyacentes(laberinto, nuevaX, nuevaY);
 
-        // Guardar juego (Verificado automatico despues de cada movimiento) :)
+            // Verificar condiciones de fin de juego
+            verificarEstadoJuego(juego);
 
-        guardarJuego(juego);
+            // Registrar la acción en el diario; el guardado se realiza en segundo plano
+            boolean recogida = celdaDestino.getTipo() != tipoAnterior;
+            int[] celdas = { laberinto.indice(nuevaX, nuevaY) };
+            if (recogida) {
+                juego.registrarCeldasCambiadas(celdas, 1);
+            }
+            registrarEnDiario(juego, recogida ? TipoAccion.RECOGIDA : TipoAccion.MOVIMIENTO,
+                    celdas, recogida ? 1 : 0);
 
-        return true;
+            return true;
+        }
     }
 
     @Override
     public boolean activarExplosion(Juego juego) {
-        Jugador jugador = juego.getJugador();
+        synchronized (juego) {
+            Jugador jugador = juego.getJugador();
 
-        // Validar requisitos
-        if (jugador.getFosforos() < 1 || jugador.getBombas() < 1) {
-            return false;
-        }
+            // Validar requisitos
+            if (jugador.getFosforos() < 1 || jugador.getBombas() < 1) {
+                return false;
+            }
 
-        // Aplicar costos
-        jugador.setVida(Math.max(0, jugador.getVida() - 35));
-        jugador.decrementarBombas();
-        jugador.decrementarFosforos();
-        juego.incrementarFosforosUsados(); // Registrar estadística
+            // Aplicar costos
+            jugador.setVida(Math.max(0, jugador.getVida() - 35));
+            jugador.decrementarBombas();
+            jugador.decrementarFosforos();
+            juego.incrementarFosforosUsados(); // Registrar estadística
 
-        // Destruir muros rojos adyacentes
-        destruirMurosRojosAdyacentes(juego);
+            // Destruir muros rojos adyacentes
+            int[] destruidos = new int[8];
+            int cantidadDestruidos = destruirMurosRojosAdyacentes(juego, destruidos);
+            juego.registrarCeldasCambiadas(destruidos, cantidadDestruidos);
 
-        // SFX de explosión
-        GestorAudio.getInstancia().reproducirEfecto("explosion");
+            // SFX de explosión
+            GestorAudio.getInstancia().reproducirEfecto("explosion");
 
-        // Guardar estado
-        guardarJuego(juego);
+            // Registrar la acción en el diario; el guardado se realiza en segundo plano
+            registrarEnDiario(juego, TipoAccion.EXPLOSION, destruidos, cantidadDestruidos);
 
-        return true;
+            return true;
+        }
     }
 
     /**
@@ -205,46 +267,77 @@ public class ServicioJuegoImpl implements ServicioJuego {
      */
     @Override
     public boolean teletransportarJugador(Juego juego, int fila, int columna) {
-        if (juego.getEstado() != EstadoJuego.EN_CURSO) {
-            return false;
-        }
+        synchronized (juego) {
+            if (juego.getEstado() != EstadoJuego.EN_CURSO) {
+                return false;
+            }
 
-        Jugador jugador = juego.getJugador();
-        Laberinto laberinto = juego.getLaberinto();
+            Jugador jugador = juego.getJugador();
+            Laberinto laberinto = juego.getLaberinto();
 
-        // Verificar si la posición es válida y transitable
-        if (!laberinto.esPosicionValida(fila, columna) || !laberinto.esTransitable(fila, columna)) {
-            return false;
-        }
+            // Verificar si la posición es válida y transitable
+            if (!laberinto.esPosicionValida(fila, columna) || !laberinto.esTransitable(fila, columna)) {
+                return false;
+            }
 
-        // Teletransportar jugador
-        jugador.setPosX(fila);
-        jugador.setPosY(columna);
+            // Teletransportar jugador
+            jugador.setPosX(fila);
+            jugador.setPosY(columna);
 
-        // Marcar celda de destino como visitada y visible
-        Celda celdaDestino = laberinto.getCelda(fila, columna);
-        celdaDestino.setVisitada(true);
-        celdaDestino.setVisible(true);
+            // Marcar celda de destino como visitada y visible
+            Celda celdaDestino = laberinto.getCelda(fila, columna);
+            celdaDestino.setVisitada(true);
+            celdaDestino.setVisible(true);
 
-        // Revelar celdas adyacentes
-        revelarCeldasAdyacentes(laberinto, fila, columna);
+            // Revelar celdas adyacentes
+            revelarCeldasAdyacentes(laberinto, fila, columna);
 
-        // Procesar la celda destino (por si hay objetos)
-        procesarCelda(juego, celdaDestino);
+            // Procesar la celda destino (por si hay objetos)
+            TipoCelda tipoAnterior = celdaDestino.getTipo();
+            procesarCelda(juego, celdaDestino);
 
-        // Verificar condiciones de fin de juego
-        verificarEstadoJuego(juego);
+            // Verificar condiciones de fin de juego
+            verificarEstadoJuego(juego);
 
-        // Guardar juego
-        guardarJuego(juego);
+            // Registrar la acción en el diario; el guardado se realiza en segundo plano
+            boolean recogida = celdaDestino.getTipo() != tipoAnterior;
+            int[] celdas = { laberinto.indice(fila, columna) };
+            if (recogida) {
+                juego.registrarCeldasCambiadas(celdas, 1);
+            }
+            registrarEnDiario(juego, TipoAccion.TELETRANSPORTE, celdas, recogida ? 1 : 0);
 
-        System.out.println("✨ ¡Teletransportado a [" + fila + ", " + columna + "]!");
-        GestorAudio.getInstancia().reproducirEfecto("item");
+            System.out.println("✨ ¡Teletransportado a [" + fila + ", " + columna + "]!");
+            GestorAudio.getInstancia().reproducirEfecto("item");
 
-        return true;
+            return true;
+        }
     }
 
-    private void destruirMurosRojosAdyacentes(Juego juego) {
+    /**
+     * Avanza la secuencia de la partida y entrega la entrada de diario de la
+     * acción al motor de guardado.
+     *
+     * @param juego           Partida modificada.
+     * @param tipo            Tipo de acción realizada.
+     * @param celdasCambiadas Índices de las celdas cuyo tipo cambió.
+     * @param cantidad        Número de índices válidos.
+     */
+    private void registrarEnDiario(Juego juego, TipoAccion tipo, int[] celdasCambiadas, int cantidad) {
+        juego.incrementarSecuenciaAcciones();
+        EntradaDiario entrada = EntradaDiario.registrar(tipo, juego, celdasCambiadas, cantidad);
+        guardadoDiferido.registrarAccion(juego, entrada);
+    }
+
+    /**
+     * Convierte en camino los muros rojos que rodean al jugador.
+     *
+     * @param juego       Partida actual.
+     * @param destruidos  Arreglo de al menos 8 posiciones donde se anotan los
+     *                    índices de las celdas destruidas.
+     * @return Cantidad de muros destruidos.
+     */
+    private int destruirMurosRojosAdyacentes(Juego juego, int[] destruidos) {
         int x = juego.getJugador().getPosX();
         int y = juego.getJugador().getPosY();
         Laberinto lab = juego.getLaberinto();
@@ -255,6 +348,7 @@ public class ServicioJuegoImpl implements ServicioJuego {
                 { -1, -1 }, { -1, 1 }, { 1, -1 }, { 1, 1 }
         };
 
+        int cantidad = 0;
         for (int[] dir : direcciones) {
             int nx = x + dir[0];
             int ny = y + dir[1];
@@ -266,9 +360,11 @@ public class ServicioJuegoImpl implements ServicioJuego {
                     celda.setVisitada(true);
                     celda.setVisible(true);
                     juego.incrementarMurosRojosDestruidos(); // Registrar estadística
+                    destruidos[cantidad++] = lab.indice(nx, ny);
                 }
             }
         }
+        return cantidad;
     }
 
     /**
@@ -411,13 +507,17 @@ public class ServicioJuegoImpl implements ServicioJuego {
 
     /**
      * Guarda el estado actual de la partida en el sistema de persistencia.
+     * <p>
+     * A diferencia del guardado automático, esta llamada espera a que la
+     * escritura termine y reemplaza cualquier guardado pendiente del usuario.
+     * </p>
      *
      * @param juego El objeto {@code Juego} a guardar.
      * @return {@code true} si el guardado fue exitoso.
      */
     @Override
     public boolean guardarJuego(Juego juego) {
-        boolean exito = persistencia.guardarJuego(juego);
+        boolean exito = guardadoDiferido.guardarAhora(juego);
         if (exito) {
             System.out.println("💾 Juego guardado automáticamente");
         } else {
@@ -479,6 +579,122 @@ public class ServicioJuegoImpl implements ServicioJuego {
         return resultado;
     }
 
+    /**
+     * Sugiere el siguiente movimiento hacia la llave, si aún no se tiene, o hacia
+     * la salida. La búsqueda recorre el {@link GrafoPasillos} de la partida, con
+     * la misma penalización por trampa que {@link PlanificadorRutas}.
+     *
+     * @param juego El objeto {@code Juego} actual.
+     * @return La dirección del primer paso, o {@code null} si no hay ruta.
+     */
+    @Override
+    public Direccion obtenerPista(Juego juego) {
+        synchronized (juego) {
+            if (!salidaAlcanzable(juego)) {
+                return null;
+            }
+            Laberinto laberinto = juego.getLaberinto();
+            CamposDistancia campos = juego.getCamposDistancia();
+            int posicion = posicionJugador(juego);
+            int objetivo = !juego.getJugador().isTieneLlave() && campos.getLlave() >= 0
+                    ? campos.getLlave()
+                    : campos.getSalida();
+            GrafoPasillos grafo = juego.getGrafoPasillos();
+            if (grafo.resolver(posicion, objetivo, PlanificadorRutas.PENALIZACION_TRAMPA) <= 0) {
+                return null;
+            }
+            int salto = grafo.getPrimerPaso() - posicion;
+            if (salto == -laberinto.getColumnas()) {
+                return Direccion.ARRIBA;
+            } else if (salto == laberinto.getColumnas()) {
+                return Direccion.ABAJO;
+            }
+            return salto < 0 ? Direccion.IZQUIERDA : Direccion.DERECHA;
+        }
+    }
+
+    /**
+     * Calcula la ruta completa del jugador hasta la salida con
+     * {@link PlanificadorRutas}. En los laberintos de más de
+     * {@link #UMBRAL_RUTA_JERARQUICA} celdas la calcula el {@link GrafoJerarquico}
+     * de la partida, que refina solo los bloques por los que pasa y penaliza las
+     * trampas igual que el A*.
+     *
+     * @param juego El objeto {@code Juego} actual.
+     * @return Las posiciones empaquetadas de la ruta, o {@code null} si no existe.
+     */
+    @Override
+    public int[] calcularRuta(Juego juego) {
+        synchronized (juego) {
+            if (!salidaAlcanzable(juego)) {
+                return null;
+            }
+            Laberinto laberinto = juego.getLaberinto();
+            if (laberinto.getFilas() * laberinto.getColumnas() >= UMBRAL_RUTA_JERARQUICA) {
+                return calcularRutaJerarquica(juego);
+            }
+            PlanificadorRutas planificador = PlanificadorRutas.delHilo();
+            if (planificador.planificar(laberinto, posicionJugador(juego),
+                    juego.getJugador().isTieneLlave()) < 0) {
+                return null;
+            }
+            return planificador.copiarRuta();
+        }
+    }
+
+    /**
+     * Encadena los tramos jugador → llave y llave → salida resueltos por el
+     * {@link GrafoJerarquico}.
+     *
+     * @param juego El objeto {@code Juego} actual.
+     * @return Las posiciones empaquetadas de la ruta, o {@code null} si no existe.
+     */
+    private int[] calcularRutaJerarquica(Juego juego) {
+        CamposDistancia campos = juego.getCamposDistancia();
+        GrafoJerarquico grafo = juego.getGrafoJerarquico(PlanificadorRutas.PENALIZACION_TRAMPA);
+        int posicion = posicionJugador(juego);
+        int[] hastaLlave = new int[0];
+        if (!juego.getJugador().isTieneLlave() && campos.getLlave() >= 0) {
+            if (grafo.resolver(posicion, campos.getLlave()) < 0) {
+                return null;
+            }
+            hastaLlave = grafo.refinarRuta();
+            posicion = campos.getLlave();
+        }
+        if (grafo.resolver(posicion, campos.getSalida()) < 0) {
+            return null;
+        }
+        int[] hastaSalida = grafo.refinarRuta();
+        int[] ruta = Arrays.copyOf(hastaLlave, hastaLlave.length + hastaSalida.length);
+        System.arraycopy(hastaSalida, 0, ruta, hastaLlave.length, hastaSalida.length);
+        return ruta;
+    }
+
+    /**
+     * Consulta en los campos de distancia si el jugador puede llegar a la salida,
+     * pasando por la llave si aún no la tiene. Evita lanzar una búsqueda que
+     * recorrería toda la zona alcanzable para terminar sin ruta.
+     *
+     * @param juego El objeto {@code Juego} actual.
+     * @return {@code true} si existe un recorrido hasta la salida.
+     */
+    private boolean salidaAlcanzable(Juego juego) {
+        CamposDistancia campos = juego.getCamposDistancia();
+        int posicion = posicionJugador(juego);
+        if (!juego.getJugador().isTieneLlave() && campos.getLlave() >= 0) {
+            return campos.getDistanciaLlave(posicion) != CamposDistancia.INALCANZABLE
+                    && campos.getDistanciaSalida(campos.getLlave()) != CamposDistancia.INALCANZABLE;
+        }
+        return campos.getDistanciaSalida(posicion) != CamposDistancia.INALCANZABLE;
+    }
+
+    /**
+     * @return La posición empaquetada del jugador.
+     */
+    private int posicionJugador(Juego juego) {
+        return juego.getLaberinto().indice(juego.getJugador().getPosX(), juego.getJugador().getPosY());
+    }
+
     /**
      * Verifica si el jugador está en la celda de salida y tiene la llave.
      *
@@ -542,9 +758,16 @@ public class ServicioJuegoImpl implements ServicioJuego {
     // Verifica si existe un juego guardado para un usuario
     @Override
     public boolean existeJuegoGuardado(String usuario) {
+        guardadoDiferido.vaciar();
         return persistencia.existeJuegoGuardado(usuario);
     }
 
+    // Descarta los guardados automáticos pendientes de un usuario
+    @Override
+    public void descartarGuardadoPendiente(String usuario) {
+        guardadoDiferido.descartar(usuario);
+    }
+
     // Obtiene todas las estadísticas de un usuario
     @Override
     public List<EstadisticasJuego> obtenerEstadisticas(String emailUsuario) {
@@ -1,5 +1,8 @@
 package Main.servicio.Interfaces;
 import Main.modelo.Dominio.Laberinto;
+
+import java.util.SplittableRandom;
+
 /**
  * Define el contrato para la generación de la estructura de un laberinto.
  * <p>
@@ -7,8 +10,16 @@ import Main.modelo.Dominio.Laberinto;
  * instancia de {@code Laberinto} con sus celdas inicializadas (Muros, Caminos
  * y elementos especiales).
  * </p>
+ * <p>
+ * Toda la aleatoriedad de una generación procede del {@link SplittableRandom}
+ * recibido en {@link #generar(int, int, SplittableRandom)}; las implementaciones
+ * no guardan estado entre llamadas, por lo que una misma instancia puede usarse
+ * desde varios hilos a la vez. Las tareas paralelas de una generación obtienen
+ * sus flujos con {@link SplittableRandom#split()}, de forma que el resultado para
+ * una semilla no depende del número de hilos.
+ * </p>
  * @author Jose Berroteran
- * @version 1.0
+ * @version 1.1
  * @since 11/11/2025
  */
 
@@ -21,7 +32,9 @@ public interface GeneradorLaberinto {
      * @param columnas El número de columnas deseado para el laberinto.
      * @return El objeto {@code Laberinto} recién generado.
      */
-    Laberinto generar(int filas, int columnas);
+    default Laberinto generar(int filas, int columnas) {
+        return generarConSemilla(filas, columnas, System.nanoTime());
+    }
     /**
      * Genera un laberinto de las dimensiones especificadas utilizando una semilla fija.
      * <p>
@@ -33,5 +46,16 @@ public interface GeneradorLaberinto {
      * @param semilla La semilla numérica para inicializar el generador de números aleatorios.
      * @return El objeto {@code Laberinto} generado.
      */
-    Laberinto generarConSemilla(int filas, int columnas, long semilla);
-}
\ No newline at end of file
+    default Laberinto generarConSemilla(int filas, int columnas, long semilla) {
+        return generar(filas, columnas, new SplittableRandom(semilla));
+    }
+    /**
+     * Genera un laberinto tomando toda la aleatoriedad del flujo indicado.
+     *
+     * @param filas El número de filas.
+     * @param columnas El número de columnas.
+     * @param random Flujo aleatorio de esta generación, de uso exclusivo de la llamada.
+     * @return El objeto {@code Laberinto} generado.
+     */
+    Laberinto generar(int filas, int columnas, SplittableRandom random);
+}
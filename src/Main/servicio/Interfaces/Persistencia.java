@@ -3,6 +3,7 @@ package Main.servicio.Interfaces;
 import Main.modelo.Dominio.EstadisticasJuego;
 import Main.modelo.Dominio.Juego;
 import Main.modelo.Dominio.Usuario;
+import Main.modelo.Transferencia.EntradaDiario;
 
 import java.util.List;
 /**
@@ -64,13 +65,30 @@ public interface Persistencia {
     // Juegos
     /**
      * Guarda el estado actual de un juego para permitir al usuario reanudar la partida.
+     * <p>
+     * La instantánea incluye todas las acciones registradas hasta el momento, por lo
+     * que el diario de la partida queda compactado.
+     * </p>
      *
      * @param juego El objeto {@code Juego} con el estado actual del laberinto y jugador.
      * @return {@code true} si el juego fue guardado exitosamente.
      */
     boolean guardarJuego(Juego juego);
     /**
-     * Carga el juego guardado de un usuario.
+     * Añade una acción al diario de la partida guardada del usuario.
+     * <p>
+     * El costo no depende del tamaño del laberinto. Las entradas se reaplican al
+     * cargar sobre la última instantánea escrita con {@link #guardarJuego(Juego)}.
+     * </p>
+     *
+     * @param usuario El correo electrónico del usuario.
+     * @param entrada La acción a registrar.
+     * @return {@code true} si la entrada fue escrita exitosamente.
+     */
+    boolean registrarAccion(String usuario, EntradaDiario entrada);
+    /**
+     * Carga el juego guardado de un usuario, reaplicando las acciones del diario
+     * posteriores a la última instantánea.
      *
      * @param usuario El correo electrónico del usuario.
      * @return El objeto {@code Juego} guardado, o {@code null} si no hay partida para ese usuario.
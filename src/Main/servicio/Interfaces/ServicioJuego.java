@@ -16,7 +16,7 @@ import java.util.List;
  * </p>
  * 
  * @author Mario Sanchez
- * @version 1.0
+ * @version 1.2
  * @since 11/11/25
  */
 public interface ServicioJuego {
@@ -32,6 +32,19 @@ public interface ServicioJuego {
      */
     Juego iniciarNuevoJuego(int filas, int columnas, String usuario, ConfiguracionJuego configuracion);
 
+    /**
+     * Crea una nueva partida cuyas dimensiones decide la dificultad configurada.
+     * <p>
+     * Permite tomar el laberinto de una reserva pregenerada en lugar de generarlo
+     * al momento.
+     * </p>
+     *
+     * @param usuario       Identificador del jugador.
+     * @param configuracion Estrategia y configuración para la generación.
+     * @return Instancia de {@link Juego} inicializada.
+     */
+    Juego iniciarNuevoJuego(String usuario, ConfiguracionJuego configuracion);
+
     /**
      * Recupera una partida guardada previamente para un usuario.
      * 
@@ -75,6 +88,26 @@ public interface ServicioJuego {
      */
     boolean teletransportarJugador(Juego juego, int fila, int columna);
 
+    /**
+     * Sugiere el siguiente movimiento del recorrido más corto hacia la llave, si
+     * aún no se tiene, y después hacia la salida.
+     *
+     * @param juego Partida actual.
+     * @return La dirección del siguiente paso, o {@code null} si no hay ruta o el
+     *         jugador ya está en la salida.
+     */
+    Direccion obtenerPista(Juego juego);
+
+    /**
+     * Calcula el recorrido completo del jugador hasta la salida, pasando por la
+     * llave si aún no la tiene.
+     *
+     * @param juego Partida actual.
+     * @return Las posiciones empaquetadas de cada paso, sin la del jugador, o
+     *         {@code null} si la salida no es alcanzable.
+     */
+    int[] calcularRuta(Juego juego);
+
     /**
      * Almacena el estado actual de la partida.
      * 
@@ -83,6 +116,17 @@ public interface ServicioJuego {
      */
     boolean guardarJuego(Juego juego);
 
+    /**
+     * Descarta los cambios que aún no se han escrito en disco para un usuario.
+     * <p>
+     * Debe invocarse antes de eliminar una partida guardada para que un guardado
+     * automático pendiente no la vuelva a crear.
+     * </p>
+     * 
+     * @param usuario Identificador del jugador.
+     */
+    void descartarGuardadoPendiente(String usuario);
+
     /**
      * Finaliza la partida formalmente y calcula los resultados finales.
      * 
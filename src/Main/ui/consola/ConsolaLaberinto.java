@@ -17,7 +17,7 @@ import java.io.File;
  * y la interacción con el sistema de guardado.
  * </p>
  * * @author Mario Sanchez
- * @version 1.0
+ * @version 1.1
  * @since 22/12/25
  */
 public class ConsolaLaberinto {
@@ -75,6 +75,7 @@ public class ConsolaLaberinto {
                     char confirmacion = ConsoleUtils.leerCaracter("");
 
                     if (Character.toLowerCase(confirmacion) == 's') {
+                        controladorJuego.descartarGuardadoPendiente(juego.getUsuario());
                         eliminarJuegoGuardado(juego.getUsuario());
                         ConsoleUtils.mostrarMensaje("❌ Progreso descartado. ¡Vuelve pronto, Hunter!");
                         jugando = false;
@@ -199,20 +200,26 @@ public class ConsolaLaberinto {
     }
 
     /**
-     * Elimina el archivo de persistencia física de una partida guardada.
-     * @param usuario Email del usuario cuyo archivo de guardado será eliminado.
+     * Elimina los archivos de persistencia física de una partida guardada: la
+     * instantánea JSON o binaria, el diario de acciones y el temporal de un
+     * guardado binario interrumpido. Si quedara el diario, podría reproducirse
+     * sobre una partida posterior del mismo usuario.
+     * @param usuario Email del usuario cuyos archivos de guardado serán eliminados.
      */
     private void eliminarJuegoGuardado(String usuario) {
         try {
-            String archivoJuego = "datos/juegos/" + usuario + ".json";
-            File archivo = new File(archivoJuego);
-
-            if (archivo.exists()) {
-                boolean eliminado = archivo.delete();
-                if (eliminado) {
-                    System.out.println("✅ Juego guardado eliminado: " + archivoJuego);
-                } else {
-                    System.err.println("❌ No se pudo eliminar el juego guardado");
+            // La partida puede estar guardada en formato JSON o binario, con su diario
+            for (String extension : new String[]{".json", ".bin", ".bin.tmp", ".diario"}) {
+                String archivoJuego = "datos/juegos/" + usuario + extension;
+                File archivo = new File(archivoJuego);
+
+                if (archivo.exists()) {
+                    boolean eliminado = archivo.delete();
+                    if (eliminado) {
+                        System.out.println("✅ Juego guardado eliminado: " + archivoJuego);
+                    } else {
+                        System.err.println("❌ No se pudo eliminar el juego guardado");
+                    }
                 }
             }
         } catch (Exception e) {
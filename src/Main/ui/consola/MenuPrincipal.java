@@ -16,7 +16,7 @@ import java.util.List;
  * </p>
  *
  * @author Mario Sanchez
- * @version 1.1
+ * @version 1.2
  * @since 22/12/25
  */
 public class MenuPrincipal {
@@ -128,10 +128,7 @@ public class MenuPrincipal {
             int opcionNiebla = ConsoleUtils.leerEntero("\nOpción (1-2): ");
             boolean nieblaDeGuerra = (opcionNiebla == 1);
 
-            int filas = controladorJuego.generarFilasAleatorias(dificultad);
-            int columnas = controladorJuego.generarColumnasAleatorias(dificultad);
-
-            Juego juego = controladorJuego.iniciarNuevoJuego(filas, columnas, emailUsuario, nieblaDeGuerra);
+            Juego juego = controladorJuego.iniciarNuevoJuego(emailUsuario, nieblaDeGuerra);
 
             ConsoleUtils.mostrarExito("🔮 ¡Laberinto mágico generado! El templo te espera...");
             ConsoleUtils.pausar();
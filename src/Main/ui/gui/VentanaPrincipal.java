@@ -2,11 +2,14 @@ package Main.ui.gui;
 
 import Main.controlador.ControladorAutenticacion;
 import Main.controlador.ControladorJuego;
+import Main.estrategia.contexto.ReservaLaberintos;
 import Main.modelo.Dominio.Usuario;
 import Main.servicio.Implementaciones.CifradorImpl;
+import Main.servicio.Implementaciones.PersistenciaBinaria;
 import Main.servicio.Implementaciones.PersistenciaJASON;
 import Main.servicio.Implementaciones.ServicioJuegoImpl;
 import Main.servicio.Implementaciones.ServicioUsuarioImpl;
+import Main.servicio.Interfaces.Persistencia;
 import Main.ui.gui.audio.GestorAudio;
 import Main.ui.gui.audio.ControladorAudioUI;
 import javafx.geometry.Pos;
@@ -44,11 +47,21 @@ import javafx.stage.Stage;
  * </p>
  *
  * @author Mario Sanchez
- * @version 1.3
+ * @version 1.5
  * @since 03/01/26
  */
 public class VentanaPrincipal {
 
+    /**
+     * Propiedad del sistema que elige el formato de las partidas guardadas; con
+     * {@code -Dmazehunter.formato=binario} se usa {@link PersistenciaBinaria} y,
+     * en otro caso, JSON.
+     */
+    private static final String PROPIEDAD_FORMATO = "mazehunter.formato";
+
+    /** Valor de {@link #PROPIEDAD_FORMATO} que activa el formato binario. */
+    private static final String FORMATO_BINARIO = "binario";
+
     /** Contenedor raíz de la aplicación que permite alternar entre pantallas. */
     private BorderPane root;
 
@@ -93,8 +106,12 @@ public class VentanaPrincipal {
         CifradorImpl cifrador = new CifradorImpl();
         this.controladorAuth = new ControladorAutenticacion(servicioUsuario, cifrador);
         this.cifrador = new CifradorImpl();
-        ServicioJuegoImpl servicioJuego = new ServicioJuegoImpl(persistencia);
-        this.controladorJuego = new ControladorJuego(servicioJuego);
+        // Las partidas se guardan en JSON salvo que se pida el formato binario
+        Persistencia persistenciaPartidas = FORMATO_BINARIO.equalsIgnoreCase(System.getProperty(PROPIEDAD_FORMATO))
+                ? new PersistenciaBinaria(persistencia)
+                : persistencia;
+        ServicioJuegoImpl servicioJuego = new ServicioJuegoImpl(persistenciaPartidas);
+        this.controladorJuego = new ControladorJuego(servicioJuego, new ReservaLaberintos());
     }
 
     /**
@@ -690,10 +707,7 @@ public class VentanaPrincipal {
             };
             controladorJuego.setEstrategiaGeneracion(estrategia);
 
-            int filas = controladorJuego.generarFilasAleatorias(estrategia);
-            int cols = controladorJuego.generarColumnasAleatorias(estrategia);
-
-            controladorJuego.iniciarNuevoJuego(filas, cols, usuarioActual.getEmail(), niebla);
+            controladorJuego.iniciarNuevoJuego(usuarioActual.getEmail(), niebla);
 
             mostrarVistaJuego();
 
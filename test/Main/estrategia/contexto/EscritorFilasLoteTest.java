@@ -0,0 +1,90 @@
+package Main.estrategia.contexto;
+
+import Main.estrategia.generacion.GeneradorLaberintoEller;
+import Main.modelo.Dominio.Laberinto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de la escritura por filas de laberintos de Eller al formato de lote.
+ *
+ * @author Mario Sanchez
+ * @version 1.0
+ * @since 17/10/2026
+ */
+class EscritorFilasLoteTest {
+
+    @TempDir
+    Path directorio;
+
+    private final GeneradorLaberintoEller generador = new GeneradorLaberintoEller();
+
+    @Test
+    void loteEscritoPorFilasCoincideConGeneracionEnMemoria() throws IOException {
+        // Ancho impar: la última celda de cada fila comparte byte con la siguiente.
+        int filas = 31;
+        int columnas = 47;
+        long semilla = 1234L;
+        Path destino = directorio.resolve("eller.lote");
+
+        long bytes = GeneradorPorLotes.escribirPorFilas(generador, filas, columnas, semilla, destino);
+        assertEquals(Files.size(destino), bytes);
+
+        Laberinto esperado = generador.generarConSemilla(filas, columnas, semilla);
+        List<Laberinto> leidos = new ArrayList<>();
+        List<Long> semillas = new ArrayList<>();
+        long total = GeneradorPorLotes.leer(destino, (laberinto, s) -> {
+            leidos.add(laberinto);
+            semillas.add(s);
+        });
+
+        assertEquals(1, total);
+        assertEquals(List.of(semilla), semillas);
+        assertEquals(filas, leidos.get(0).getFilas());
+        assertEquals(columnas, leidos.get(0).getColumnas());
+        assertArrayEquals(esperado.getTiposCrudos(), leidos.get(0).getTiposCrudos());
+    }
+
+    @Test
+    void iteradorDeFilasCoincideConGeneracionEnMemoria() {
+        int filas = 21;
+        int columnas = 30;
+        long semilla = 99L;
+        byte[] esperado = generador.generarConSemilla(filas, columnas, semilla).getTiposCrudos();
+
+        Iterator<byte[]> iterador = generador.iterarFilas(filas, columnas, semilla);
+        for (int fila = 0; fila < filas; fila++) {
+            assertTrue(iterador.hasNext());
+            byte[] tipos = iterador.next();
+            assertArrayEquals(Arrays.copyOfRange(esperado, fila * columnas, (fila + 1) * columnas), tipos);
+        }
+        assertFalse(iterador.hasNext());
+    }
+
+    @Test
+    void cerrarConFilasPendientesFalla() throws IOException {
+        Path destino = directorio.resolve("incompleto.lote");
+        EscritorFilasLote escritor = new EscritorFilasLote(destino, 1L, 3, 5);
+        escritor.aceptar(0, new byte[5]);
+
+        assertThrows(IOException.class, escritor::close);
+    }
+
+    @Test
+    void filaFueraDeOrdenSeRechaza() throws IOException {
+        try (EscritorFilasLote escritor = new EscritorFilasLote(directorio.resolve("orden.lote"), 1L, 1, 4)) {
+            assertThrows(IllegalStateException.class, () -> escritor.aceptar(1, new byte[4]));
+            escritor.aceptar(0, new byte[4]);
+        }
+    }
+}
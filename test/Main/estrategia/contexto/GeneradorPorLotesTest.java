@@ -0,0 +1,90 @@
+package Main.estrategia.contexto;
+
+import Main.estrategia.factory.GeneradorLaberintoFactory;
+import Main.modelo.Dominio.Laberinto;
+import Main.modelo.Transferencia.ResultadoLote;
+import Main.servicio.Interfaces.GeneradorLaberinto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de la generación por lotes y de la lectura de sus archivos.
+ *
+ * @author Mario Sanchez
+ * @version 1.0
+ * @since 17/10/2026
+ */
+class GeneradorPorLotesTest {
+
+    @TempDir
+    Path directorio;
+
+    /**
+     * Genera un lote y lo lee de vuelta, indexado por semilla.
+     */
+    private Map<Long, Laberinto> generarYLeer(GeneradorPorLotes lotes, int cantidad, String nombre,
+                                               ResultadoLote[] resultado) throws IOException {
+        Path destino = directorio.resolve(nombre);
+        resultado[0] = lotes.generar(1_000L, cantidad, destino);
+        assertEquals(Files.size(destino), resultado[0].getBytesEscritos());
+
+        Map<Long, Laberinto> leidos = new TreeMap<>();
+        long total = GeneradorPorLotes.leer(destino, (laberinto, semilla) ->
+                assertNull(leidos.put(semilla, laberinto), "semilla repetida " + semilla));
+        assertEquals(leidos.size(), total);
+        return leidos;
+    }
+
+    @Test
+    void leerDevuelveCadaLaberintoEscrito() throws IOException {
+        GeneradorPorLotes lotes = new GeneradorPorLotes(GeneradorLaberintoFactory.ALGORITMO_DFS,
+                20, 24, 30, 34, 4);
+        ResultadoLote[] resultado = new ResultadoLote[1];
+        Map<Long, Laberinto> leidos = generarYLeer(lotes, 200, "dfs.lote", resultado);
+
+        assertEquals(200, resultado[0].getSolicitados());
+        assertEquals(0, resultado[0].getErrores());
+        assertNull(resultado[0].getPrimerError());
+        assertEquals(resultado[0].getGenerados() - resultado[0].getInsolubles(), leidos.size());
+
+        GeneradorLaberinto generador = GeneradorLaberintoFactory.crearPorEstrategia(
+                GeneradorLaberintoFactory.ALGORITMO_DFS);
+        for (Map.Entry<Long, Laberinto> entrada : leidos.entrySet()) {
+            Laberinto leido = entrada.getValue();
+            assertTrue(leido.getFilas() >= 20 && leido.getFilas() <= 24, "filas " + leido.getFilas());
+            assertTrue(leido.getColumnas() >= 30 && leido.getColumnas() <= 34, "columnas " + leido.getColumnas());
+            Laberinto esperado = generador.generarConSemilla(leido.getFilas(), leido.getColumnas(), entrada.getKey());
+            assertArrayEquals(esperado.getTiposCrudos(), leido.getTiposCrudos(), "semilla " + entrada.getKey());
+        }
+    }
+
+    @Test
+    void elContenidoNoDependeDeLosHilos() throws IOException {
+        ResultadoLote[] resultado = new ResultadoLote[1];
+        Map<Long, Laberinto> unHilo = generarYLeer(
+                new GeneradorPorLotes(GeneradorLaberintoFactory.MEDIA, 20, 30, 30, 40, 1), 150, "uno.lote", resultado);
+        Map<Long, Laberinto> variosHilos = generarYLeer(
+                new GeneradorPorLotes(GeneradorLaberintoFactory.MEDIA, 20, 30, 30, 40, 4), 150, "varios.lote", resultado);
+
+        assertEquals(unHilo.keySet(), variosHilos.keySet());
+        for (Map.Entry<Long, Laberinto> entrada : unHilo.entrySet()) {
+            assertArrayEquals(entrada.getValue().getTiposCrudos(),
+                    variosHilos.get(entrada.getKey()).getTiposCrudos(), "semilla " + entrada.getKey());
+        }
+    }
+
+    @Test
+    void unArchivoQueNoEsLoteSeRechaza() throws IOException {
+        Path destino = directorio.resolve("otro.bin");
+        Files.write(destino, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+        assertThrows(IOException.class, () -> GeneradorPorLotes.leer(destino, (laberinto, semilla) -> { }));
+    }
+}
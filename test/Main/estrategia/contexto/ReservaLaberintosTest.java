@@ -0,0 +1,84 @@
+package Main.estrategia.contexto;
+
+import Main.estrategia.factory.GeneradorLaberintoFactory;
+import Main.modelo.Dominio.Laberinto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de la reserva de laberintos pregenerados: aciertos, fallos y reposición.
+ *
+ * @author Mario Sanchez
+ * @version 1.0
+ * @since 17/10/2026
+ */
+class ReservaLaberintosTest {
+
+    /** Tiempo máximo que se espera a los productores antes de dar la prueba por fallida. */
+    private static final long ESPERA_MAXIMA_MS = 20_000;
+
+    private final ReservaLaberintos reserva = new ReservaLaberintos(2);
+
+    @AfterEach
+    void cerrar() {
+        reserva.cerrar();
+    }
+
+    /**
+     * Espera activamente a que se cumpla la condición o falla al agotar el plazo.
+     */
+    private static void esperar(BooleanSupplier condicion, String descripcion) throws InterruptedException {
+        long limite = System.currentTimeMillis() + ESPERA_MAXIMA_MS;
+        while (!condicion.getAsBoolean()) {
+            if (System.currentTimeMillis() > limite) {
+                fail("Tiempo agotado esperando: " + descripcion);
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void conLaReservaLlenaSeEntregaSinGenerar() throws InterruptedException {
+        esperar(() -> reserva.getDisponibles(GeneradorLaberintoFactory.FACIL) == 2, "reserva FACIL llena");
+
+        Laberinto laberinto = reserva.tomar("facil");
+
+        assertNotNull(laberinto);
+        assertTrue(laberinto.getFilas() >= 5 && laberinto.getFilas() <= 15);
+        assertEquals(1, reserva.getAciertos());
+        assertEquals(0, reserva.getFallos());
+    }
+
+    @Test
+    void trasTomarLaReservaSeRepone() throws InterruptedException {
+        esperar(() -> reserva.getDisponibles(GeneradorLaberintoFactory.FACIL) == 2, "reserva FACIL llena");
+
+        Laberinto primero = reserva.tomar(GeneradorLaberintoFactory.FACIL);
+        Laberinto segundo = reserva.tomar(GeneradorLaberintoFactory.FACIL);
+        assertNotSame(primero, segundo);
+
+        esperar(() -> reserva.getDisponibles(GeneradorLaberintoFactory.FACIL) == 2, "reposición de FACIL");
+        assertNotNull(reserva.tomar(GeneradorLaberintoFactory.FACIL));
+        assertEquals(3, reserva.getAciertos());
+        assertEquals(0, reserva.getFallos());
+    }
+
+    @Test
+    void conLaReservaVaciaSeGeneraAlMomento() {
+        // Sin productores ni laberintos preparados, toda petición es un fallo
+        reserva.cerrar();
+        assertEquals(0, reserva.getDisponibles(GeneradorLaberintoFactory.DIFICIL));
+
+        Laberinto laberinto = reserva.tomar(GeneradorLaberintoFactory.DIFICIL);
+        Laberinto porDefecto = reserva.tomar(null);
+
+        assertTrue(laberinto.getFilas() >= 26 && laberinto.getFilas() <= 45);
+        assertTrue(porDefecto.getFilas() >= 16 && porDefecto.getFilas() <= 25);
+        assertEquals(0, reserva.getAciertos());
+        assertEquals(2, reserva.getFallos());
+    }
+}
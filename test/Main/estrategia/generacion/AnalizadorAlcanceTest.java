@@ -0,0 +1,144 @@
+package Main.estrategia.generacion;
+
+import Main.modelo.Constantes.TipoCelda;
+import Main.modelo.Dominio.Laberinto;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del análisis de alcanzabilidad sobre laberintos construidos a mano.
+ *
+ * @author Mario Sanchez
+ * @version 1.0
+ * @since 17/10/2026
+ */
+class AnalizadorAlcanceTest {
+
+    private final AnalizadorAlcance alcance = new AnalizadorAlcance();
+
+    /**
+     * Construye un laberinto a partir de filas de símbolos de {@link TipoCelda}.
+     */
+    static Laberinto dibujar(String... filas) {
+        Laberinto laberinto = new Laberinto(filas.length, filas[0].length());
+        for (int f = 0; f < filas.length; f++) {
+            for (int c = 0; c < filas[f].length(); c++) {
+                laberinto.setTipo(f, c, tipo(filas[f].charAt(c)));
+            }
+        }
+        return laberinto;
+    }
+
+    private static TipoCelda tipo(char simbolo) {
+        for (TipoCelda tipo : TipoCelda.values()) {
+            if (tipo.getSimbolo() == simbolo) {
+                return tipo;
+            }
+        }
+        throw new IllegalArgumentException("Símbolo desconocido: " + simbolo);
+    }
+
+    @Test
+    void unLaberintoConSolucionDaLasDistanciasMinimas() {
+        Laberinto laberinto = dibujar(
+                "#######",
+                "#S.L..#",
+                "#.###.#",
+                "#...X.#",
+                "#######");
+
+        assertTrue(alcance.analizar(laberinto));
+        assertTrue(alcance.isLlaveAlcanzable());
+        assertTrue(alcance.isSalidaAlcanzable());
+        assertEquals(laberinto.indice(1, 1), alcance.getEntrada());
+        assertEquals(laberinto.indice(1, 3), alcance.getLlave());
+        assertEquals(laberinto.indice(3, 4), alcance.getSalida());
+        assertEquals(2, alcance.getDistanciaEntradaLlave());
+        assertEquals(5, alcance.getDistanciaEntradaSalida());
+        assertEquals(5, alcance.getDistanciaLlaveSalida());
+    }
+
+    @Test
+    void unMuroRojoDejaLaLlaveFueraDeAlcance() {
+        Laberinto laberinto = dibujar(
+                "#######",
+                "#S.%L.#",
+                "#.#####",
+                "#..X..#",
+                "#######");
+
+        assertFalse(alcance.analizar(laberinto));
+        assertFalse(alcance.isLlaveAlcanzable());
+        assertTrue(alcance.isSalidaAlcanzable());
+        // La llave se localiza aunque no se alcance
+        assertEquals(laberinto.indice(1, 4), alcance.getLlave());
+        assertEquals(-1, alcance.getDistanciaEntradaLlave());
+        assertEquals(4, alcance.getDistanciaEntradaSalida());
+        assertEquals(-1, alcance.getDistanciaLlaveSalida());
+    }
+
+    @Test
+    void unaSalidaEncerradaNoTieneSolucion() {
+        Laberinto laberinto = dibujar(
+                "#######",
+                "#S.L..#",
+                "#######",
+                "#..X..#",
+                "#######");
+
+        assertFalse(alcance.esSoluble(laberinto));
+        assertTrue(alcance.isLlaveAlcanzable());
+        assertFalse(alcance.isSalidaAlcanzable());
+        assertEquals(laberinto.indice(3, 3), alcance.getSalida());
+    }
+
+    @Test
+    void sinEntradaNoHaySolucion() {
+        Laberinto laberinto = dibujar(
+                "#####",
+                "#.L.#",
+                "#..X#",
+                "#####");
+
+        assertFalse(alcance.analizar(laberinto));
+        assertEquals(-1, alcance.getEntrada());
+        assertEquals(laberinto.indice(1, 2), alcance.getLlave());
+        assertEquals(laberinto.indice(2, 3), alcance.getSalida());
+    }
+
+    @Test
+    void losObjetosYEnemigosNoBloqueanElPaso() {
+        Laberinto laberinto = dibujar(
+                "#########",
+                "#STBMLCX#",
+                "#########");
+
+        assertTrue(alcance.analizar(laberinto));
+        assertEquals(4, alcance.getDistanciaEntradaLlave());
+        assertEquals(6, alcance.getDistanciaEntradaSalida());
+        assertEquals(2, alcance.getDistanciaLlaveSalida());
+    }
+
+    @Test
+    void reutilizarLaInstanciaNoArrastraElAnalisisAnterior() {
+        Laberinto grande = dibujar(
+                "#######",
+                "#S.L..#",
+                "#.###.#",
+                "#...X.#",
+                "#######");
+        Laberinto cortado = dibujar(
+                "#####",
+                "#S#L#",
+                "#.#X#",
+                "#####");
+
+        assertTrue(alcance.analizar(grande));
+        assertFalse(alcance.analizar(cortado));
+        assertEquals(-1, alcance.getDistanciaEntradaLlave());
+        assertTrue(alcance.analizar(grande));
+        assertEquals(5, alcance.getDistanciaLlaveSalida());
+        assertSame(AnalizadorAlcance.delHilo(), AnalizadorAlcance.delHilo());
+    }
+}
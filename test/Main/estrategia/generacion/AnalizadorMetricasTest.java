@@ -0,0 +1,88 @@
+package Main.estrategia.generacion;
+
+import Main.modelo.Constantes.TipoCelda;
+import Main.modelo.Dominio.Laberinto;
+import Main.modelo.Transferencia.MetricasLaberinto;
+import org.junit.jupiter.api.Test;
+
+import static Main.estrategia.generacion.AnalizadorAlcanceTest.dibujar;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de las métricas de dificultad sobre un laberinto pequeño construido a
+ * mano, cuyos valores se han contado celda a celda.
+ *
+ * @author Mario Sanchez
+ * @version 1.0
+ * @since 17/10/2026
+ */
+class AnalizadorMetricasTest {
+
+    private static final double DELTA = 1e-9;
+
+    private final AnalizadorMetricas analizador = new AnalizadorMetricas();
+
+    /**
+     * Pasillo superior con la llave en la única bifurcación; de ella bajan la
+     * salida y un callejón corto, y de la entrada baja otro callejón. La trampa
+     * queda entre la entrada y la llave.
+     */
+    private static final String[] PASILLO_EN_T = {
+            "#########",
+            "#S.T.L..#",
+            "#.###.###",
+            "#.###X###",
+            "#########"
+    };
+
+    @Test
+    void mideLosValoresContadosAMano() {
+        MetricasLaberinto metricas = analizador.analizar(dibujar(PASILLO_EN_T));
+
+        assertEquals(5, metricas.getFilas());
+        assertEquals(9, metricas.getColumnas());
+        assertEquals(11, metricas.getCeldasTransitables());
+        assertTrue(metricas.isResoluble());
+        assertEquals(6, metricas.getLongitudSolucion());
+        assertEquals(2, metricas.getDistanciaLlaveSalida());
+        // Callejones en (1,7), (3,1) y la salida (3,5); la llave es la única bifurcación
+        assertEquals(3, metricas.getCallejones());
+        assertEquals(1, metricas.getBifurcaciones());
+        assertEquals(1, metricas.getTrampasTotales());
+        assertEquals(1, metricas.getTrampasEnRuta());
+        assertEquals(1.0 / 11, metricas.getFactorRamificacion(), DELTA);
+        // Pasillos de 2 + 6 + 2 celdas hasta la bifurcación
+        assertEquals(10.0 / 3, metricas.getFactorRio(), DELTA);
+        assertEquals(1.0 / 6, metricas.getExposicionTrampas(), DELTA);
+    }
+
+    @Test
+    void sinLlaveLaSolucionVaDeLaEntradaALaSalida() {
+        Laberinto laberinto = dibujar(PASILLO_EN_T);
+        laberinto.setTipo(1, 5, TipoCelda.CAMINO);
+
+        MetricasLaberinto metricas = analizador.analizar(laberinto);
+
+        assertTrue(metricas.isResoluble());
+        assertEquals(6, metricas.getLongitudSolucion());
+        assertEquals(-1, metricas.getDistanciaLlaveSalida());
+        assertEquals(1, metricas.getTrampasEnRuta());
+    }
+
+    @Test
+    void unMuroRojoDejaElLaberintoSinSolucion() {
+        Laberinto laberinto = dibujar(PASILLO_EN_T);
+        laberinto.setTipo(2, 5, TipoCelda.MURO_ROJO);
+
+        MetricasLaberinto metricas = analizador.analizar(laberinto);
+
+        assertFalse(metricas.isResoluble());
+        assertEquals(-1, metricas.getLongitudSolucion());
+        assertEquals(0, metricas.getExposicionTrampas(), DELTA);
+        assertEquals(10, metricas.getCeldasTransitables());
+        // Sin bifurcaciones el pasillo superior une dos callejones de 9 celdas; la salida queda aislada
+        assertEquals(2, metricas.getCallejones());
+        assertEquals(0, metricas.getBifurcaciones());
+        assertEquals(9.0, metricas.getFactorRio(), DELTA);
+    }
+}
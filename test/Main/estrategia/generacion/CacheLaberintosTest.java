@@ -0,0 +1,120 @@
+package Main.estrategia.generacion;
+
+import Main.modelo.Constantes.TipoCelda;
+import Main.modelo.Dominio.Laberinto;
+import Main.servicio.Implementaciones.GeneradorLaberintoImpl;
+import Main.servicio.Interfaces.GeneradorLaberinto;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del almacén LRU de laberintos y de su decorador.
+ *
+ * @author Mario Sanchez
+ * @version 1.0
+ * @since 17/10/2026
+ */
+class CacheLaberintosTest {
+
+    /** Memoria estimada de una plantilla de 21x21: 160 + 441 + 2 * 7 * 8. */
+    private static final long BYTES_21X21 = 713;
+
+    /**
+     * Generador que cuenta cuántas veces se le pide un laberinto.
+     */
+    private static final class GeneradorContado implements GeneradorLaberinto {
+        private final GeneradorLaberinto delegado = new GeneradorLaberintoImpl();
+        private int llamadas;
+
+        @Override
+        public Laberinto generar(int filas, int columnas, SplittableRandom random) {
+            llamadas++;
+            return delegado.generar(filas, columnas, random);
+        }
+    }
+
+    @Test
+    void dimensionesParesAciertanConLaClavePedida() {
+        GeneradorContado contado = new GeneradorContado();
+        GeneradorLaberintoEnCache generador = new GeneradorLaberintoEnCache(contado, "DFS");
+        CacheLaberintos cache = generador.getCache();
+
+        // El generador redondea 20x30 a 21x31, pero la clave es la pedida
+        Laberinto primero = generador.generarConSemilla(20, 30, 5L);
+        Laberinto segundo = generador.generarConSemilla(20, 30, 5L);
+
+        assertEquals(1, contado.llamadas);
+        assertEquals(1, cache.getAciertos());
+        assertEquals(1, cache.getFallos());
+        assertEquals(21, segundo.getFilas());
+        assertEquals(31, segundo.getColumnas());
+        assertArrayEquals(primero.getTiposCrudos(), segundo.getTiposCrudos());
+    }
+
+    @Test
+    void otraSemillaOtraEstrategiaOOtroTamanoFallan() {
+        CacheLaberintos cache = new CacheLaberintos();
+        cache.guardar("DFS", 21, 21, 1L, new Laberinto(21, 21));
+
+        assertNull(cache.obtener("DFS", 21, 21, 2L));
+        assertNull(cache.obtener("PRIM", 21, 21, 1L));
+        assertNull(cache.obtener("DFS", 21, 23, 1L));
+        assertNotNull(cache.obtener("DFS", 21, 21, 1L));
+        assertEquals(3, cache.getFallos());
+        assertEquals(1, cache.getAciertos());
+    }
+
+    @Test
+    void obtenerDevuelveCopiasIndependientes() {
+        CacheLaberintos cache = new CacheLaberintos();
+        Laberinto original = new Laberinto(21, 21);
+        cache.guardar("DFS", 21, 21, 1L, original);
+        original.setTipo(1, 1, TipoCelda.CAMINO);
+
+        Laberinto copia = cache.obtener("DFS", 21, 21, 1L);
+        assertEquals(TipoCelda.MURO, copia.getTipo(1, 1));
+        copia.setTipo(2, 2, TipoCelda.CAMINO);
+        assertEquals(TipoCelda.MURO, cache.obtener("DFS", 21, 21, 1L).getTipo(2, 2));
+    }
+
+    @Test
+    void descartaLaMenosRecienteAlSuperarElLimite() {
+        CacheLaberintos cache = new CacheLaberintos(2 * BYTES_21X21);
+        cache.guardar("DFS", 21, 21, 1L, new Laberinto(21, 21));
+        cache.guardar("DFS", 21, 21, 2L, new Laberinto(21, 21));
+        assertEquals(2 * BYTES_21X21, cache.getBytesOcupados());
+
+        // Consultar la semilla 1 la convierte en la más reciente
+        assertNotNull(cache.obtener("DFS", 21, 21, 1L));
+        cache.guardar("DFS", 21, 21, 3L, new Laberinto(21, 21));
+
+        assertEquals(2, cache.getTamano());
+        assertEquals(2 * BYTES_21X21, cache.getBytesOcupados());
+        assertNotNull(cache.obtener("DFS", 21, 21, 1L));
+        assertNull(cache.obtener("DFS", 21, 21, 2L));
+        assertNotNull(cache.obtener("DFS", 21, 21, 3L));
+    }
+
+    @Test
+    void reemplazarUnaClaveNoDuplicaSusBytes() {
+        CacheLaberintos cache = new CacheLaberintos();
+        cache.guardar("DFS", 21, 21, 1L, new Laberinto(21, 21));
+        cache.guardar("DFS", 21, 21, 1L, new Laberinto(21, 21));
+        assertEquals(1, cache.getTamano());
+        assertEquals(BYTES_21X21, cache.getBytesOcupados());
+    }
+
+    @Test
+    void unLaberintoMayorQueElLimiteNoSeGuarda() {
+        CacheLaberintos cache = new CacheLaberintos(BYTES_21X21);
+        cache.guardar("DFS", 21, 21, 1L, new Laberinto(21, 21));
+        cache.guardar("DFS", 41, 41, 1L, new Laberinto(41, 41));
+
+        assertEquals(1, cache.getTamano());
+        assertNotNull(cache.obtener("DFS", 21, 21, 1L));
+        assertNull(cache.obtener("DFS", 41, 41, 1L));
+    }
+}
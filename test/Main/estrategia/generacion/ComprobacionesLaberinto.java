@@ -0,0 +1,87 @@
+package Main.estrategia.generacion;
+
+import Main.modelo.Dominio.Laberinto;
+
+import java.util.ArrayDeque;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comprobaciones estructurales compartidas por las pruebas de los generadores.
+ *
+ * @author Mario Sanchez
+ * @version 1.0
+ * @since 17/10/2026
+ */
+final class ComprobacionesLaberinto {
+
+    private ComprobacionesLaberinto() {
+    }
+
+    /**
+     * Comprueba que un laberinto es perfecto: sus celdas transitables forman un
+     * árbol (conexas y con una adyacencia menos que celdas) que pasa por todos los
+     * nodos de coordenadas impares del interior.
+     *
+     * @param laberinto Laberinto a comprobar.
+     * @param contexto  Texto que identifica el caso en los mensajes de error.
+     */
+    static void assertPerfecto(Laberinto laberinto, String contexto) {
+        int filas = laberinto.getFilas();
+        int columnas = laberinto.getColumnas();
+
+        int celdas = 0;
+        int adyacencias = 0;
+        int primera = -1;
+        for (int f = 0; f < filas; f++) {
+            for (int c = 0; c < columnas; c++) {
+                if (!laberinto.esTransitable(f, c)) {
+                    if (f % 2 == 1 && c % 2 == 1 && f < filas - 1 && c < columnas - 1) {
+                        fail("nodo cerrado en [" + f + ", " + c + "] " + contexto);
+                    }
+                    continue;
+                }
+                celdas++;
+                if (primera < 0) {
+                    primera = laberinto.indice(f, c);
+                }
+                if (f + 1 < filas && laberinto.esTransitable(f + 1, c)) {
+                    adyacencias++;
+                }
+                if (c + 1 < columnas && laberinto.esTransitable(f, c + 1)) {
+                    adyacencias++;
+                }
+            }
+        }
+        assertTrue(celdas > 0, "sin celdas transitables " + contexto);
+        assertEquals(celdas, alcanzables(laberinto, primera), "no es conexo " + contexto);
+        assertEquals(celdas - 1, adyacencias, "tiene ciclos " + contexto);
+    }
+
+    /**
+     * @return Celdas transitables alcanzables desde una dada.
+     */
+    private static int alcanzables(Laberinto laberinto, int origen) {
+        int columnas = laberinto.getColumnas();
+        boolean[] vistas = new boolean[laberinto.getFilas() * columnas];
+        ArrayDeque<Integer> cola = new ArrayDeque<>();
+        vistas[origen] = true;
+        cola.add(origen);
+        int cuenta = 0;
+        int[][] deltas = { { -1, 0 }, { 1, 0 }, { 0, -1 }, { 0, 1 } };
+        while (!cola.isEmpty()) {
+            int celda = cola.poll();
+            cuenta++;
+            for (int[] delta : deltas) {
+                int f = celda / columnas + delta[0];
+                int c = celda % columnas + delta[1];
+                if (laberinto.esPosicionValida(f, c) && laberinto.esTransitable(f, c)
+                        && !vistas[laberinto.indice(f, c)]) {
+                    vistas[laberinto.indice(f, c)] = true;
+                    cola.add(laberinto.indice(f, c));
+                }
+            }
+        }
+        return cuenta;
+    }
+}
@@ -0,0 +1,79 @@
+package Main.estrategia.generacion;
+
+import Main.modelo.Constantes.TipoCelda;
+import Main.modelo.Dominio.Laberinto;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del conector de componentes transitables.
+ *
+ * @author Mario Sanchez
+ * @version 1.0
+ * @since 17/10/2026
+ */
+class ConectorComponentesTest {
+
+    /**
+     * Rellena un rectángulo interior con el tipo dado.
+     */
+    private static void rellenar(Laberinto laberinto, int f0, int c0, int f1, int c1, TipoCelda tipo) {
+        for (int f = f0; f <= f1; f++) {
+            for (int c = c0; c <= c1; c++) {
+                laberinto.setTipo(f, c, tipo);
+            }
+        }
+    }
+
+    @Test
+    void uneZonasSeparadasPorMurosNormales() {
+        Laberinto laberinto = new Laberinto(7, 11);
+        rellenar(laberinto, 1, 1, 5, 3, TipoCelda.CAMINO);
+        rellenar(laberinto, 1, 7, 5, 9, TipoCelda.CAMINO);
+
+        int abiertos = ConectorComponentes.delHilo().conectar(laberinto);
+
+        // El camino más corto entre las dos zonas cruza tres muros
+        assertEquals(3, abiertos);
+        int abiertosEnMedio = 0;
+        for (int f = 1; f <= 5; f++) {
+            for (int c = 4; c <= 6; c++) {
+                abiertosEnMedio += laberinto.getTipo(f, c) == TipoCelda.CAMINO ? 1 : 0;
+            }
+        }
+        assertEquals(3, abiertosEnMedio);
+        // Ya es una sola componente: una segunda pasada no rompe nada
+        assertEquals(0, ConectorComponentes.delHilo().conectar(laberinto));
+    }
+
+    @Test
+    void noRompeLosMurosRojos() {
+        Laberinto laberinto = new Laberinto(7, 11);
+        rellenar(laberinto, 1, 1, 5, 3, TipoCelda.CAMINO);
+        rellenar(laberinto, 1, 4, 5, 4, TipoCelda.MURO_ROJO);
+        rellenar(laberinto, 1, 5, 5, 9, TipoCelda.CAMINO);
+        byte[] antes = laberinto.getTiposCrudos().clone();
+
+        int abiertos = ConectorComponentes.delHilo().conectar(laberinto);
+
+        assertEquals(0, abiertos);
+        assertArrayEquals(antes, laberinto.getTiposCrudos());
+    }
+
+    @Test
+    void rodeaLosMurosRojosPorMurosNormales() {
+        Laberinto laberinto = new Laberinto(7, 11);
+        rellenar(laberinto, 1, 1, 5, 3, TipoCelda.CAMINO);
+        rellenar(laberinto, 1, 4, 4, 4, TipoCelda.MURO_ROJO);
+        rellenar(laberinto, 1, 5, 5, 9, TipoCelda.CAMINO);
+
+        int abiertos = ConectorComponentes.delHilo().conectar(laberinto);
+
+        assertEquals(1, abiertos);
+        assertEquals(TipoCelda.CAMINO, laberinto.getTipo(5, 4));
+        for (int f = 1; f <= 4; f++) {
+            assertEquals(TipoCelda.MURO_ROJO, laberinto.getTipo(f, 4));
+        }
+    }
+}
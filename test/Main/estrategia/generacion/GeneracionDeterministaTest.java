@@ -0,0 +1,101 @@
+package Main.estrategia.generacion;
+
+import Main.estrategia.factory.GeneradorLaberintoFactory;
+import Main.modelo.Dominio.Laberinto;
+import Main.servicio.Interfaces.GeneradorLaberinto;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de que cada llamada usa su propio {@code SplittableRandom}: la misma
+ * semilla produce el mismo laberinto en llamadas sucesivas y desde varios hilos
+ * que comparten una única instancia del generador.
+ *
+ * @author Mario Sanchez
+ * @version 1.0
+ * @since 17/10/2026
+ */
+class GeneracionDeterministaTest {
+
+    private static final long SEMILLA = 0x5EED_2026L;
+
+    private static final int HILOS = 4;
+
+    @ParameterizedTest
+    @CsvSource({
+            "DFS, 21, 31",
+            "PRIM, 21, 31",
+            "DIVISION, 21, 31",
+            "KRUSKAL, 21, 31",
+            "ELLER, 21, 31",
+            "CUEVAS, 21, 31",
+            "FACIL, 11, 21",
+            "MEDIA, 21, 31",
+            "DIFICIL, 31, 45"
+    })
+    void laMismaSemillaDaElMismoLaberinto(String estrategia, int filas, int columnas) throws Exception {
+        GeneradorLaberinto generador = GeneradorLaberintoFactory.crearPorEstrategia(estrategia);
+        byte[] referencia = generador.generarConSemilla(filas, columnas, SEMILLA).getTiposCrudos();
+
+        // Otra semilla entre medias no debe alterar las siguientes llamadas
+        Laberinto otro = generador.generarConSemilla(filas, columnas, SEMILLA + 1);
+        assertFalse(Arrays.equals(referencia, otro.getTiposCrudos()), estrategia);
+        assertArrayEquals(referencia, generador.generarConSemilla(filas, columnas, SEMILLA).getTiposCrudos());
+
+        assertArrayEquals(referencia, generadoEnHilos(generador, filas, columnas), estrategia);
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "false, 257, 257", "true, 257, 257" })
+    void laDivisionParalelaEsReproducible(boolean paralelo, int filas, int columnas) throws Exception {
+        GeneradorLaberinto secuencial = new GeneradorLaberintoRecursivoDivision(false);
+        GeneradorLaberinto generador = new GeneradorLaberintoRecursivoDivision(paralelo);
+        byte[] referencia = secuencial.generarConSemilla(filas, columnas, SEMILLA).getTiposCrudos();
+
+        assertArrayEquals(referencia, generador.generarConSemilla(filas, columnas, SEMILLA).getTiposCrudos());
+        assertArrayEquals(referencia, generadoEnHilos(generador, filas, columnas));
+    }
+
+    /**
+     * Genera la semilla de referencia a la vez desde varios hilos, alternándola con
+     * otras semillas, y comprueba que todos obtienen el mismo laberinto.
+     *
+     * @return Los tipos del laberinto obtenido por los hilos.
+     */
+    private static byte[] generadoEnHilos(GeneradorLaberinto generador, int filas, int columnas) throws Exception {
+        ExecutorService hilos = Executors.newFixedThreadPool(HILOS);
+        try {
+            List<Future<byte[]>> resultados = new ArrayList<>();
+            for (int h = 0; h < HILOS; h++) {
+                long otraSemilla = SEMILLA + 100 + h;
+                Callable<byte[]> tarea = () -> {
+                    byte[] ultimo = null;
+                    for (int i = 0; i < 3; i++) {
+                        generador.generarConSemilla(filas, columnas, otraSemilla);
+                        ultimo = generador.generarConSemilla(filas, columnas, SEMILLA).getTiposCrudos();
+                    }
+                    return ultimo;
+                };
+                resultados.add(hilos.submit(tarea));
+            }
+
+            byte[] primero = resultados.get(0).get();
+            for (Future<byte[]> resultado : resultados) {
+                assertArrayEquals(primero, resultado.get());
+            }
+            return primero;
+        } finally {
+            hilos.shutdownNow();
+        }
+    }
+}
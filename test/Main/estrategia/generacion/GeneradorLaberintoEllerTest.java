@@ -0,0 +1,44 @@
+package Main.estrategia.generacion;
+
+import Main.modelo.Dominio.Laberinto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del generador de Eller fila a fila.
+ *
+ * @author Mario Sanchez
+ * @version 1.0
+ * @since 17/10/2026
+ */
+class GeneradorLaberintoEllerTest {
+
+    private final GeneradorLaberintoEller generador = new GeneradorLaberintoEller();
+
+    @ParameterizedTest
+    @CsvSource({ "5, 5", "11, 25", "21, 21", "30, 44", "101, 151" })
+    void generaLaberintosPerfectos(int filas, int columnas) {
+        for (long semilla = 0; semilla < 10; semilla++) {
+            Laberinto laberinto = generador.generar(filas, columnas, new SplittableRandom(semilla));
+            ComprobacionesLaberinto.assertPerfecto(laberinto, filas + "x" + columnas + " semilla " + semilla);
+        }
+    }
+
+    @Test
+    void elFlujoDeFilasTambienEsPerfecto() {
+        int filas = 61;
+        int columnas = 41;
+        Laberinto laberinto = new Laberinto(filas, columnas);
+        byte[] destino = laberinto.getTiposCrudos();
+        generador.generarPorFilas(filas, columnas, 7L,
+                (fila, tipos) -> System.arraycopy(tipos, 0, destino, fila * columnas, columnas));
+
+        ComprobacionesLaberinto.assertPerfecto(laberinto, "flujo semilla 7");
+        assertArrayEquals(generador.generar(filas, columnas, new SplittableRandom(7L)).getTiposCrudos(), destino);
+    }
+}
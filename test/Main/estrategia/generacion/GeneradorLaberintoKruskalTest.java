@@ -0,0 +1,38 @@
+package Main.estrategia.generacion;
+
+import Main.modelo.Dominio.Laberinto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del generador de Kruskal con union-find.
+ *
+ * @author Mario Sanchez
+ * @version 1.0
+ * @since 17/10/2026
+ */
+class GeneradorLaberintoKruskalTest {
+
+    private final GeneradorLaberintoKruskal generador = new GeneradorLaberintoKruskal();
+
+    @ParameterizedTest
+    @CsvSource({ "5, 5", "11, 25", "21, 21", "30, 44", "101, 151" })
+    void generaLaberintosPerfectos(int filas, int columnas) {
+        for (long semilla = 0; semilla < 10; semilla++) {
+            Laberinto laberinto = generador.generarConSemilla(filas, columnas, semilla);
+            ComprobacionesLaberinto.assertPerfecto(laberinto, filas + "x" + columnas + " semilla " + semilla);
+        }
+    }
+
+    @Test
+    void mismaSemillaMismoLaberinto() {
+        Laberinto a = generador.generarConSemilla(41, 61, 99L);
+        Laberinto b = generador.generarConSemilla(41, 61, 99L);
+        assertArrayEquals(a.getTiposCrudos(), b.getTiposCrudos());
+        assertFalse(java.util.Arrays.equals(a.getTiposCrudos(),
+                generador.generarConSemilla(41, 61, 100L).getTiposCrudos()));
+    }
+}
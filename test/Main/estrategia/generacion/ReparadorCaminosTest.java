@@ -0,0 +1,71 @@
+package Main.estrategia.generacion;
+
+import Main.modelo.Constantes.TipoCelda;
+import Main.modelo.Dominio.Laberinto;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del motor de reparación de caminos y de sus contadores.
+ *
+ * @author Mario Sanchez
+ * @version 1.0
+ * @since 17/10/2026
+ */
+class ReparadorCaminosTest {
+
+    /**
+     * Laberinto de 5x7 con la llave separada de la entrada por un único muro.
+     */
+    private static Laberinto laberintoCortado() {
+        Laberinto laberinto = new Laberinto(5, 7);
+        laberinto.setTipo(1, 1, TipoCelda.ENTRADA);
+        laberinto.setTipo(1, 2, TipoCelda.CAMINO);
+        laberinto.setTipo(1, 4, TipoCelda.LLAVE);
+        laberinto.setTipo(1, 5, TipoCelda.CAMINO);
+        laberinto.setTipo(2, 5, TipoCelda.CAMINO);
+        laberinto.setTipo(3, 5, TipoCelda.SALIDA);
+        return laberinto;
+    }
+
+    @Test
+    void rompeSoloElMuroNecesarioYLoCuenta() {
+        Laberinto laberinto = laberintoCortado();
+        AnalizadorAlcance alcance = new AnalizadorAlcance();
+        ReparadorCaminos reparador = new ReparadorCaminos();
+        long reparacionesTotales = ReparadorCaminos.getReparacionesTotales();
+        long celdasTotales = ReparadorCaminos.getCeldasCambiadasTotales();
+
+        assertFalse(alcance.analizar(laberinto));
+        int cambiadas = reparador.reparar(laberinto, alcance);
+
+        assertEquals(1, cambiadas);
+        assertEquals(TipoCelda.CAMINO, laberinto.getTipo(1, 3));
+        assertTrue(alcance.analizar(laberinto));
+        assertEquals(1, reparador.getReparaciones());
+        assertEquals(1, reparador.getCeldasCambiadas());
+        // Los totales son compartidos: otros hilos solo pueden sumar
+        assertTrue(ReparadorCaminos.getReparacionesTotales() >= reparacionesTotales + 1);
+        assertTrue(ReparadorCaminos.getCeldasCambiadasTotales() >= celdasTotales + 1);
+    }
+
+    @Test
+    void lasReparacionesDeOtrosHilosLleganALosTotales() throws InterruptedException {
+        long antes = ReparadorCaminos.getCeldasCambiadasTotales();
+        Thread[] hilos = new Thread[4];
+        for (int i = 0; i < hilos.length; i++) {
+            hilos[i] = new Thread(() -> {
+                Laberinto laberinto = laberintoCortado();
+                AnalizadorAlcance alcance = AnalizadorAlcance.delHilo();
+                alcance.analizar(laberinto);
+                ReparadorCaminos.delHilo().reparar(laberinto, alcance);
+            });
+            hilos[i].start();
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+        assertTrue(ReparadorCaminos.getCeldasCambiadasTotales() >= antes + hilos.length);
+    }
+}
@@ -0,0 +1,89 @@
+package Main.estrategia.generacion;
+
+import Main.estrategia.factory.GeneradorLaberintoFactory;
+import Main.modelo.Constantes.TipoCelda;
+import Main.modelo.Dominio.Laberinto;
+import Main.servicio.Interfaces.GeneradorLaberinto;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del resolutor con recursos y de su uso en el generador por dificultad.
+ *
+ * @author Mario Sanchez
+ * @version 1.0
+ * @since 17/10/2026
+ */
+class ResolutorRecursosTest {
+
+    /**
+     * Pasillo en la fila 1 con los tipos dados a partir de la columna 1.
+     */
+    private static Laberinto pasillo(TipoCelda... tipos) {
+        Laberinto laberinto = new Laberinto(3, tipos.length + 2);
+        for (int i = 0; i < tipos.length; i++) {
+            laberinto.setTipo(1, i + 1, tipos[i]);
+        }
+        return laberinto;
+    }
+
+    @Test
+    void cuatroTrampasSeAguantanYCincoMatan() {
+        TipoCelda T = TipoCelda.TRAMPA;
+        Laberinto cuatro = pasillo(TipoCelda.ENTRADA, T, T, T, T, TipoCelda.LLAVE, TipoCelda.SALIDA);
+        Laberinto cinco = pasillo(TipoCelda.ENTRADA, T, T, T, T, T, TipoCelda.LLAVE, TipoCelda.SALIDA);
+        ResolutorRecursos resolutor = new ResolutorRecursos();
+
+        assertEquals(6, resolutor.resolver(cuatro));
+        assertEquals(0, resolutor.getExplosiones());
+        assertEquals(-1, resolutor.resolver(cinco));
+        assertFalse(resolutor.esGanable(cinco));
+    }
+
+    @Test
+    void detonaParaCruzarUnMuroRojo() {
+        Laberinto laberinto = pasillo(TipoCelda.ENTRADA, TipoCelda.BOMBA, TipoCelda.FOSFORO, TipoCelda.CAMINO,
+                TipoCelda.MURO_ROJO, TipoCelda.LLAVE, TipoCelda.SALIDA);
+        byte[] antes = laberinto.getTiposCrudos().clone();
+        ResolutorRecursos resolutor = new ResolutorRecursos();
+
+        assertEquals(6, resolutor.resolver(laberinto));
+        assertEquals(1, resolutor.getExplosiones());
+        assertEquals(7, resolutor.getLongitud());
+        assertTrue(resolutor.esExplosion(3));
+        assertEquals(laberinto.indice(1, 4), resolutor.getPaso(3));
+        assertEquals(laberinto.indice(1, 7), resolutor.getPaso(6));
+        // El plan se ejecuta sobre una copia
+        assertArrayEquals(antes, laberinto.getTiposCrudos());
+    }
+
+    @Test
+    void sinFosforoNoHayExplosion() {
+        Laberinto laberinto = pasillo(TipoCelda.ENTRADA, TipoCelda.BOMBA, TipoCelda.CAMINO, TipoCelda.CAMINO,
+                TipoCelda.MURO_ROJO, TipoCelda.LLAVE, TipoCelda.SALIDA);
+
+        assertEquals(-1, new ResolutorRecursos().resolver(laberinto));
+    }
+
+    @Test
+    void generadorDificilEntregaLaberintosGanablesYReproducibles() {
+        GeneradorLaberinto generador = GeneradorLaberintoFactory.crearPorEstrategia("DIFICIL");
+        ResolutorRecursos resolutor = new ResolutorRecursos();
+        long sinPlanAntes = GeneradorLaberintoDificultad.getSinPlan();
+
+        int sinPlan = 0;
+        for (long semilla = 0; semilla < 60; semilla++) {
+            Laberinto laberinto = generador.generarConSemilla(26 + (int) (semilla % 20), 36 + (int) (semilla % 30), semilla);
+            if (!resolutor.esGanable(laberinto)) {
+                sinPlan++;
+            }
+            // La misma semilla da el mismo laberinto, aunque haya habido descartes
+            Laberinto repetido = generador.generarConSemilla(laberinto.getFilas(), laberinto.getColumnas(), semilla);
+            assertArrayEquals(laberinto.getTiposCrudos(), repetido.getTiposCrudos());
+        }
+        // Un laberinto sin plan solo se entrega tras agotar los intentos, y queda
+        // contado cada vez que se genera
+        assertEquals(2L * sinPlan, GeneradorLaberintoDificultad.getSinPlan() - sinPlanAntes);
+    }
+}
@@ -0,0 +1,116 @@
+package Main.modelo.Dominio;
+
+import Main.estrategia.factory.GeneradorLaberintoFactory;
+import Main.modelo.Constantes.TipoCelda;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de la actualización incremental de los campos de distancia.
+ *
+ * @author Mario Sanchez
+ * @version 1.0
+ * @since 17/10/2026
+ */
+class CamposDistanciaTest {
+
+    @ParameterizedTest
+    @CsvSource({ "DIFICIL, 31, 45, 1", "DIFICIL, 45, 65, 2", "MEDIA, 20, 30, 3" })
+    void explosionesIncrementalesEquivalenARecalcular(String estrategia, int filas, int columnas, long semilla) {
+        Laberinto laberinto = GeneradorLaberintoFactory.crearPorEstrategia(estrategia)
+                .generarConSemilla(filas, columnas, semilla);
+        CamposDistancia campos = new CamposDistancia(laberinto);
+        SplittableRandom random = new SplittableRandom(semilla);
+
+        int[] abiertas = new int[8];
+        int explosiones = 0;
+        for (int intento = 0; intento < 2_000 && explosiones < 40; intento++) {
+            // Como una explosión: se abren los muros rojos alrededor de una celda transitable
+            int fila = 1 + random.nextInt(filas - 2);
+            int columna = 1 + random.nextInt(columnas - 2);
+            if (!laberinto.esTransitable(fila, columna)) {
+                continue;
+            }
+            int cantidad = 0;
+            for (int f = fila - 1; f <= fila + 1; f++) {
+                for (int c = columna - 1; c <= columna + 1; c++) {
+                    if (laberinto.getTipo(f, c) == TipoCelda.MURO_ROJO) {
+                        laberinto.setTipo(f, c, TipoCelda.CAMINO);
+                        abiertas[cantidad++] = laberinto.indice(f, c);
+                    }
+                }
+            }
+            if (cantidad == 0) {
+                continue;
+            }
+            explosiones++;
+            campos.abrirCeldas(abiertas, cantidad);
+            assertIgualesARecalcular(laberinto, campos, "tras la explosión " + explosiones);
+        }
+        assertTrue(explosiones > 0, "el laberinto no tenía muros rojos");
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "DFS, 41, 41, 5", "PRIM, 41, 41, 6" })
+    void aperturasQueUnenZonasAisladas(String estrategia, int filas, int columnas, long semilla) {
+        Laberinto laberinto = GeneradorLaberintoFactory.crearPorEstrategia(estrategia)
+                .generarConSemilla(filas, columnas, semilla);
+        // Aislar la salida cerrando los caminos que la rodean para luego reabrirlos
+        CamposDistancia inicial = new CamposDistancia(laberinto);
+        int salida = inicial.getSalida();
+        int[] vecinas = { salida - columnas, salida + columnas, salida - 1, salida + 1 };
+        int[] cerradas = new int[4];
+        int cantidad = 0;
+        for (int vecina : vecinas) {
+            if (laberinto.getTipo(vecina) == TipoCelda.CAMINO) {
+                laberinto.setTipo(vecina, TipoCelda.MURO);
+                cerradas[cantidad++] = vecina;
+            }
+        }
+        CamposDistancia campos = new CamposDistancia(laberinto);
+        assertEquals(CamposDistancia.INALCANZABLE, campos.getDistanciaSalida(campos.getLlave()));
+
+        for (int i = 0; i < cantidad; i++) {
+            laberinto.setTipo(cerradas[i], TipoCelda.CAMINO);
+            campos.abrirCeldas(new int[] { cerradas[i] }, 1);
+            assertIgualesARecalcular(laberinto, campos, "tras reabrir " + cerradas[i]);
+        }
+        assertNotEquals(CamposDistancia.INALCANZABLE, campos.getDistanciaSalida(campos.getLlave()));
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "DIFICIL, 31, 45, 7", "DIFICIL, 45, 65, 8" })
+    void abrirTodosLosMurosRojosDeUnaVez(String estrategia, int filas, int columnas, long semilla) {
+        Laberinto laberinto = GeneradorLaberintoFactory.crearPorEstrategia(estrategia)
+                .generarConSemilla(filas, columnas, semilla);
+        CamposDistancia campos = new CamposDistancia(laberinto);
+
+        int[] abiertas = new int[filas * columnas];
+        int cantidad = 0;
+        for (int celda = 0; celda < abiertas.length; celda++) {
+            if (laberinto.getTipo(celda) == TipoCelda.MURO_ROJO) {
+                laberinto.setTipo(celda, TipoCelda.CAMINO);
+                abiertas[cantidad++] = celda;
+            }
+        }
+        assertTrue(cantidad > 8, "se esperaban más de ocho muros rojos, hay " + cantidad);
+
+        campos.abrirCeldas(abiertas, cantidad);
+        assertIgualesARecalcular(laberinto, campos, "tras abrir " + cantidad + " muros rojos");
+    }
+
+    private static void assertIgualesARecalcular(Laberinto laberinto, CamposDistancia campos, String contexto) {
+        CamposDistancia recalculados = new CamposDistancia(laberinto);
+        int total = laberinto.getFilas() * laberinto.getColumnas();
+        for (int celda = 0; celda < total; celda++) {
+            assertEquals(recalculados.getDistanciaLlave(celda), campos.getDistanciaLlave(celda),
+                    "distancia a la llave de " + celda + " " + contexto);
+            assertEquals(recalculados.getDistanciaSalida(celda), campos.getDistanciaSalida(celda),
+                    "distancia a la salida de " + celda + " " + contexto);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package Main.modelo.Dominio;
+
+import Main.estrategia.factory.GeneradorLaberintoFactory;
+import Main.modelo.Constantes.TipoCelda;
+import Main.servicio.Implementaciones.PlanificadorRutas;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del buscador jerárquico (HPA*) contra el A* sobre la cuadrícula.
+ *
+ * @author Mario Sanchez
+ * @version 1.1
+ * @since 17/10/2026
+ */
+class GrafoJerarquicoTest {
+
+    /** Lado de bloque pequeño para que las rutas crucen muchas fronteras. */
+    private static final int LADO = 8;
+
+    /** Consultas aleatorias por laberinto. */
+    private static final int CONSULTAS = 60;
+
+    /** Penalización de las trampas igual a la del A* de la cuadrícula. */
+    private static final int PENALIZACION = PlanificadorRutas.PENALIZACION_TRAMPA;
+
+    @ParameterizedTest
+    @CsvSource({ "DFS, 71, 83, 0", "PRIM, 71, 83, 0", "KRUSKAL, 71, 83, 0", "CUEVAS, 71, 83, 0",
+            "DFS, 71, 83, 8", "PRIM, 71, 83, 8", "DIFICIL, 45, 65, 8" })
+    void rutasRespetanLaCotaDeSuboptimalidad(String estrategia, int filas, int columnas, int penalizacion) {
+        Laberinto laberinto = GeneradorLaberintoFactory.crearPorEstrategia(estrategia)
+                .generarConSemilla(filas, columnas, 3L);
+        GrafoJerarquico grafo = new GrafoJerarquico(laberinto, LADO, penalizacion);
+        comparar(laberinto, grafo, new SplittableRandom(3L), penalizacion);
+    }
+
+    @Test
+    void conPenalizacionRodeaLaTrampa() {
+        // Dos pasillos entre (1, 1) y (1, 11): el directo con una trampa y un
+        // rodeo de 14 pasos por la fila 3
+        Laberinto laberinto = new Laberinto(5, 13);
+        for (int c = 1; c <= 11; c++) {
+            laberinto.setTipo(1, c, TipoCelda.CAMINO);
+            laberinto.setTipo(3, c, TipoCelda.CAMINO);
+        }
+        laberinto.setTipo(2, 1, TipoCelda.CAMINO);
+        laberinto.setTipo(2, 11, TipoCelda.CAMINO);
+        laberinto.setTipo(1, 6, TipoCelda.TRAMPA);
+        int origen = laberinto.indice(1, 1);
+        int destino = laberinto.indice(1, 11);
+
+        GrafoJerarquico sinPenalizacion = new GrafoJerarquico(laberinto, 4);
+        assertEquals(10, sinPenalizacion.resolver(origen, destino));
+        assertTrue(contiene(sinPenalizacion.refinarRuta(), laberinto.indice(1, 6)));
+
+        GrafoJerarquico conPenalizacion = new GrafoJerarquico(laberinto, 4, PENALIZACION);
+        assertEquals(14, conPenalizacion.resolver(origen, destino));
+        int[] ruta = conPenalizacion.refinarRuta();
+        assertEquals(14, ruta.length);
+        assertFalse(contiene(ruta, laberinto.indice(1, 6)));
+
+        // Sin rodeo posible la trampa se cruza y se cobra
+        laberinto.setTipo(3, 6, TipoCelda.MURO);
+        conPenalizacion.invalidarCeldas(new int[] { laberinto.indice(3, 6) }, 1);
+        assertEquals(10 + PENALIZACION, conPenalizacion.resolver(origen, destino));
+        assertEquals(10, conPenalizacion.refinarRuta().length);
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "PRIM, 64, 64, 0", "CUEVAS, 64, 64, 0", "DIFICIL, 45, 64, 8" })
+    void invalidarBloquesEquivaleAReconstruir(String estrategia, int alto, int ancho, int penalizacion) {
+        Laberinto laberinto = GeneradorLaberintoFactory.crearPorEstrategia(estrategia)
+                .generarConSemilla(alto, ancho, 11L);
+        GrafoJerarquico grafo = new GrafoJerarquico(laberinto, LADO, penalizacion);
+        SplittableRandom random = new SplittableRandom(11L);
+        int filas = laberinto.getFilas();
+        int columnas = laberinto.getColumnas();
+
+        int[] cambiadas = new int[6];
+        for (int ronda = 0; ronda < 15; ronda++) {
+            // Se abren muros y se cierran caminos, también en las fronteras
+            for (int i = 0; i < cambiadas.length; i++) {
+                int fila = 1 + random.nextInt(filas - 2);
+                int columna = 1 + random.nextInt(columnas - 2);
+                boolean abierta = laberinto.esTransitable(fila, columna);
+                laberinto.setTipo(fila, columna, abierta ? TipoCelda.MURO : TipoCelda.CAMINO);
+                cambiadas[i] = laberinto.indice(fila, columna);
+            }
+            grafo.invalidarCeldas(cambiadas, cambiadas.length);
+
+            GrafoJerarquico nuevo = new GrafoJerarquico(laberinto, LADO, penalizacion);
+            for (int consulta = 0; consulta < 20; consulta++) {
+                int origen = celdaTransitable(laberinto, random);
+                int destino = celdaTransitable(laberinto, random);
+                assertEquals(nuevo.resolver(origen, destino), grafo.resolver(origen, destino),
+                        "ronda " + ronda + ", de " + origen + " a " + destino);
+            }
+            assertEquals(nuevo.getEntradas(), grafo.getEntradas());
+            comparar(laberinto, grafo, random, penalizacion);
+        }
+    }
+
+    /**
+     * Compara rutas entre pares aleatorios con las óptimas del A* de la cuadrícula.
+     */
+    private static void comparar(Laberinto laberinto, GrafoJerarquico grafo, SplittableRandom random,
+                                 int penalizacion) {
+        int columnas = laberinto.getColumnas();
+        // El A* solo va hasta la salida y penaliza las trampas con PENALIZACION: se le
+        // da una copia en la que la salida se mueve al destino de cada consulta, y
+        // sin trampas si el grafo no las penaliza
+        Laberinto referencia = laberinto.copiar();
+        byte[] tipos = referencia.getTiposCrudos();
+        for (int celda = 0; celda < tipos.length; celda++) {
+            TipoCelda tipo = referencia.getTipo(celda);
+            if (tipo == TipoCelda.SALIDA || (tipo == TipoCelda.TRAMPA && penalizacion == 0)) {
+                referencia.setTipo(celda, TipoCelda.CAMINO);
+            }
+        }
+        PlanificadorRutas planificador = new PlanificadorRutas();
+
+        for (int consulta = 0; consulta < CONSULTAS; consulta++) {
+            int origen = celdaTransitable(laberinto, random);
+            int destino = celdaTransitable(laberinto, random);
+            TipoCelda anterior = referencia.getTipo(destino);
+            referencia.setTipo(destino, TipoCelda.SALIDA);
+            int pasosOptimos = planificador.planificar(referencia, origen, true);
+            int[] rutaOptima = planificador.copiarRuta();
+            referencia.setTipo(destino, anterior);
+
+            int coste = grafo.resolver(origen, destino);
+            if (pasosOptimos < 0) {
+                assertEquals(-1, coste, "no hay ruta de " + origen + " a " + destino);
+                continue;
+            }
+            int optimo = coste(laberinto, rutaOptima, penalizacion);
+            int cruces = 0;
+            int previa = origen;
+            for (int celda : rutaOptima) {
+                cruces += bloque(previa, columnas) != bloque(celda, columnas) ? 1 : 0;
+                previa = celda;
+            }
+            assertTrue(coste >= optimo, "más barata que la óptima");
+            assertTrue(coste <= optimo + LADO * (1 + penalizacion) * cruces,
+                    coste + " frente a " + optimo + " con " + cruces + " cruces");
+
+            int[] ruta = grafo.refinarRuta();
+            assertEquals(coste, coste(laberinto, ruta, penalizacion));
+            previa = origen;
+            for (int celda : ruta) {
+                int distancia = Math.abs(celda / columnas - previa / columnas)
+                        + Math.abs(celda % columnas - previa % columnas);
+                assertEquals(1, distancia, "pasos no contiguos");
+                assertTrue(laberinto.esTransitable(celda / columnas, celda % columnas));
+                previa = celda;
+            }
+            assertEquals(destino, previa);
+        }
+    }
+
+    /**
+     * @return El coste de una ruta: un paso por celda más la penalización de cada
+     *         trampa en la que entra.
+     */
+    private static int coste(Laberinto laberinto, int[] ruta, int penalizacion) {
+        int coste = 0;
+        for (int celda : ruta) {
+            coste += laberinto.getTipo(celda) == TipoCelda.TRAMPA ? 1 + penalizacion : 1;
+        }
+        return coste;
+    }
+
+    private static boolean contiene(int[] ruta, int celda) {
+        for (int paso : ruta) {
+            if (paso == celda) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int bloque(int celda, int columnas) {
+        return (celda / columnas / LADO) * 1_000 + (celda % columnas) / LADO;
+    }
+
+    private static int celdaTransitable(Laberinto laberinto, SplittableRandom random) {
+        int columnas = laberinto.getColumnas();
+        int total = laberinto.getFilas() * columnas;
+        int celda;
+        do {
+            celda = random.nextInt(total);
+        } while (!laberinto.esTransitable(celda / columnas, celda % columnas));
+        return celda;
+    }
+}
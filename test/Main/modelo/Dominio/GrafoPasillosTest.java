@@ -0,0 +1,114 @@
+package Main.modelo.Dominio;
+
+import Main.estrategia.factory.GeneradorLaberintoFactory;
+import Main.modelo.Constantes.TipoCelda;
+import Main.servicio.Implementaciones.PlanificadorRutas;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del grafo de pasillos contra el A* sobre la cuadrícula.
+ *
+ * @author Mario Sanchez
+ * @version 1.0
+ * @since 17/10/2026
+ */
+class GrafoPasillosTest {
+
+    /** Orígenes aleatorios consultados en cada laberinto. */
+    private static final int CONSULTAS = 40;
+
+    private static final int PENALIZACION = PlanificadorRutas.PENALIZACION_TRAMPA;
+
+    @ParameterizedTest
+    @CsvSource({ "DFS, 41, 41", "PRIM, 41, 41", "KRUSKAL, 41, 41", "CUEVAS, 41, 41", "DIFICIL, 31, 45" })
+    void costeCoincideConAEstrella(String estrategia, int filas, int columnas) {
+        for (long semilla = 1; semilla <= 3; semilla++) {
+            Laberinto laberinto = GeneradorLaberintoFactory.crearPorEstrategia(estrategia)
+                    .generarConSemilla(filas, columnas, semilla);
+            GrafoPasillos grafo = new GrafoPasillos(laberinto);
+            compararConCuadricula(laberinto, grafo, new SplittableRandom(semilla));
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "DIFICIL, 31, 45", "DIFICIL, 45, 65" })
+    void actualizacionLocalEquivaleAReconstruir(String estrategia, int filas, int columnas) {
+        Laberinto laberinto = GeneradorLaberintoFactory.crearPorEstrategia(estrategia)
+                .generarConSemilla(filas, columnas, 7L);
+        GrafoPasillos grafo = new GrafoPasillos(laberinto);
+        SplittableRandom random = new SplittableRandom(7L);
+        byte[] tipos = laberinto.getTiposCrudos();
+
+        // Varias rondas de muros rojos destruidos y trampas desactivadas
+        int[] cambiadas = new int[8];
+        for (int ronda = 0; ronda < 25; ronda++) {
+            int cantidad = 0;
+            while (cantidad < cambiadas.length) {
+                int celda = random.nextInt(tipos.length);
+                int fila = celda / columnas;
+                int columna = celda % columnas;
+                boolean interior = fila > 0 && fila < filas - 1 && columna > 0 && columna < columnas - 1;
+                TipoCelda tipo = laberinto.getTipo(celda);
+                if (interior && (tipo == TipoCelda.MURO_ROJO || tipo == TipoCelda.TRAMPA)) {
+                    laberinto.setTipo(celda, TipoCelda.CAMINO);
+                    cambiadas[cantidad++] = celda;
+                } else if (random.nextInt(64) == 0) {
+                    break; // Quedan pocos candidatos
+                }
+            }
+            grafo.actualizarCeldas(cambiadas, cantidad);
+
+            GrafoPasillos nuevo = new GrafoPasillos(laberinto);
+            assertEquals(nuevo.getNodos(), grafo.getNodos(), "nodos tras la ronda " + ronda);
+            assertEquals(nuevo.getAristas(), grafo.getAristas(), "aristas tras la ronda " + ronda);
+            compararConCuadricula(laberinto, grafo, random);
+        }
+    }
+
+    /**
+     * Consulta rutas desde orígenes aleatorios hasta la salida y comprueba que el
+     * grafo da el mismo coste que el A* de la cuadrícula.
+     */
+    private static void compararConCuadricula(Laberinto laberinto, GrafoPasillos grafo, SplittableRandom random) {
+        byte[] tipos = laberinto.getTiposCrudos();
+        int salida = -1;
+        for (int celda = 0; celda < tipos.length; celda++) {
+            if (laberinto.getTipo(celda) == TipoCelda.SALIDA) {
+                salida = celda;
+            }
+        }
+        assertTrue(salida >= 0, "el laberinto no tiene salida");
+
+        PlanificadorRutas planificador = new PlanificadorRutas();
+        int columnas = laberinto.getColumnas();
+        for (int consulta = 0; consulta < CONSULTAS; consulta++) {
+            int origen;
+            do {
+                origen = random.nextInt(tipos.length);
+            } while (!laberinto.esTransitable(origen / columnas, origen % columnas));
+
+            int pasos = planificador.planificar(laberinto, origen, true);
+            int esperado = pasos;
+            if (pasos > 0) {
+                for (int celda : planificador.copiarRuta()) {
+                    esperado += laberinto.getTipo(celda) == TipoCelda.TRAMPA ? PENALIZACION : 0;
+                }
+            }
+
+            int coste = grafo.resolver(origen, salida, PENALIZACION);
+            assertEquals(esperado, coste, "coste desde " + origen);
+            if (coste > 0) {
+                int primero = grafo.getPrimerPaso();
+                int distancia = Math.abs(primero / columnas - origen / columnas)
+                        + Math.abs(primero % columnas - origen % columnas);
+                assertEquals(1, distancia, "el primer paso debe ser vecino del origen");
+                assertTrue(laberinto.esTransitable(primero / columnas, primero % columnas));
+            }
+        }
+    }
+}
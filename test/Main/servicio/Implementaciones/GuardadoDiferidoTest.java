@@ -0,0 +1,90 @@
+package Main.servicio.Implementaciones;
+
+import Main.modelo.Constantes.TipoAccion;
+import Main.modelo.Dominio.Juego;
+import Main.modelo.Transferencia.EntradaDiario;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static Main.servicio.Implementaciones.PersistenciaJASONTest.USUARIO;
+import static Main.servicio.Implementaciones.PersistenciaJASONTest.archivo;
+import static Main.servicio.Implementaciones.PersistenciaJASONTest.assertMismaPartida;
+import static Main.servicio.Implementaciones.PersistenciaJASONTest.juegoDePrueba;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del motor de guardado diferido sobre el guardado JSON real.
+ *
+ * @author Mario Sanchez
+ * @version 1.0
+ * @since 17/10/2026
+ */
+class GuardadoDiferidoTest {
+
+    /** Sin umbrales: solo la instantánea base y los guardados explícitos. */
+    private static final PoliticaGuardado SOLO_EXPLICITO = new PoliticaGuardado(0, 0, false);
+
+    private final PersistenciaJASON persistencia = new PersistenciaJASON();
+
+    @AfterEach
+    void limpiar() throws IOException {
+        for (String extension : new String[] { ".json", ".bin", ".bin.tmp", ".diario" }) {
+            Files.deleteIfExists(archivo(extension));
+        }
+    }
+
+    /**
+     * Aplica una acción que solo cambia la vida y la registra como el servicio de
+     * juego, con el monitor de la partida adquirido.
+     */
+    private static void actuar(GuardadoDiferido motor, Juego juego, int vida) {
+        synchronized (juego) {
+            juego.getJugador().setVida(vida);
+            juego.incrementarSecuenciaAcciones();
+            motor.registrarAccion(juego, EntradaDiario.registrar(TipoAccion.MOVIMIENTO, juego, new int[0], 0));
+        }
+    }
+
+    @Test
+    void guardarAhoraConcurrenteNoPierdeAccionesDelDiario() throws InterruptedException {
+        GuardadoDiferido motor = new GuardadoDiferido(persistencia, SOLO_EXPLICITO);
+        Juego juego = juegoDePrueba();
+        actuar(motor, juego, 1);
+
+        Thread guardador = new Thread(() -> {
+            for (int i = 0; i < 50; i++) {
+                assertTrue(motor.guardarAhora(juego));
+            }
+        });
+        guardador.start();
+        for (int vida = 2; vida <= 2000; vida++) {
+            actuar(motor, juego, vida);
+        }
+        guardador.join();
+
+        // Simula un cierre inesperado: se descarta lo pendiente, el diario queda
+        motor.descartar(USUARIO);
+        motor.cerrar();
+
+        Juego cargado = new PersistenciaJASON().cargarJuego(USUARIO);
+        assertEquals(2000, cargado.getSecuenciaAcciones());
+        assertMismaPartida(juego, cargado);
+    }
+
+    @Test
+    void cerrarVaciaLasVentanasAbiertas() throws IOException {
+        GuardadoDiferido motor = GuardadoDiferido.iniciar(persistencia, SOLO_EXPLICITO);
+        Juego juego = juegoDePrueba();
+        for (int vida = 1; vida <= 5; vida++) {
+            actuar(motor, juego, vida);
+        }
+        motor.cerrar();
+
+        // La instantánea debe bastar por sí sola, sin reproducir el diario
+        Files.deleteIfExists(archivo(".diario"));
+        assertMismaPartida(juego, persistencia.cargarJuego(USUARIO));
+    }
+}
@@ -0,0 +1,128 @@
+package Main.servicio.Implementaciones;
+
+import Main.modelo.Constantes.EstadoJuego;
+import Main.modelo.Constantes.TipoCelda;
+import Main.modelo.Dominio.Juego;
+import Main.modelo.Dominio.Laberinto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+import static Main.servicio.Implementaciones.PersistenciaJASONTest.USUARIO;
+import static Main.servicio.Implementaciones.PersistenciaJASONTest.archivo;
+import static Main.servicio.Implementaciones.PersistenciaJASONTest.assertMismaPartida;
+import static Main.servicio.Implementaciones.PersistenciaJASONTest.avanzar;
+import static Main.servicio.Implementaciones.PersistenciaJASONTest.juegoDePrueba;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del formato binario de partidas y de su convivencia con el JSON.
+ *
+ * @author Mario Sanchez
+ * @version 1.0
+ * @since 17/10/2026
+ */
+class PersistenciaBinariaTest {
+
+    private final PersistenciaBinaria persistencia = new PersistenciaBinaria();
+
+    @AfterEach
+    void limpiar() throws IOException {
+        for (String extension : new String[] { ".json", ".bin", ".bin.tmp", ".diario" }) {
+            Files.deleteIfExists(archivo(extension));
+        }
+    }
+
+    @Test
+    void guardarYCargarConservaLaPartida() {
+        Juego juego = juegoDePrueba();
+        juego.getJugador().setTieneLlaveNegra(true);
+        juego.getJugador().setFosforos(4);
+        juego.setNieblaDeGuerra(true);
+        juego.setEstado(EstadoJuego.GANADO);
+        juego.setFin(LocalDateTime.of(2026, 10, 17, 12, 30));
+        juego.setMurosRojosDestruidos(2);
+        juego.setTiempoJugadoSegundos(1800);
+        juego.setDificultad("DIFICIL");
+        juego.setSecuenciaAcciones(12);
+
+        assertTrue(persistencia.guardarJuego(juego));
+        assertFalse(Files.exists(archivo(".bin.tmp")));
+
+        Juego cargado = new PersistenciaBinaria().cargarJuego(USUARIO);
+        assertMismaPartida(juego, cargado);
+        assertEquals(juego.getLaberinto().getVisiblesCrudas(), cargado.getLaberinto().getVisiblesCrudas());
+        assertEquals(1800, cargado.getTiempoJugadoSegundos());
+        assertEquals("DIFICIL", cargado.getDificultad());
+    }
+
+    @Test
+    void conservaCeldasYVisibilidadDeUnLaberintoGrande() {
+        // Tipos y bits de visibilidad dispersos para ejercitar la codificación por tramos
+        Laberinto laberinto = new Laberinto(45, 65);
+        TipoCelda[] tipos = TipoCelda.values();
+        SplittableRandom random = new SplittableRandom(3);
+        for (int f = 0; f < 45; f++) {
+            for (int c = 0; c < 65; c++) {
+                laberinto.setTipo(f, c, tipos[random.nextInt(tipos.length)]);
+                laberinto.setVisitada(f, c, random.nextInt(4) == 0);
+                laberinto.setVisible(f, c, f < 20 || random.nextBoolean());
+            }
+        }
+        Juego juego = new Juego(laberinto, juegoDePrueba().getJugador(), USUARIO, LocalDateTime.now());
+
+        assertTrue(persistencia.guardarJuego(juego));
+        Juego cargado = persistencia.cargarJuego(USUARIO);
+        assertMismaPartida(juego, cargado);
+        assertEquals(laberinto.getVisiblesCrudas(), cargado.getLaberinto().getVisiblesCrudas());
+    }
+
+    @Test
+    void cargarReproduceElDiarioCompartido() {
+        Juego juego = juegoDePrueba();
+        assertTrue(persistencia.guardarJuego(juego));
+        avanzar(juego, persistencia);
+        avanzar(juego, persistencia);
+
+        Juego cargado = new PersistenciaBinaria().cargarJuego(USUARIO);
+        assertMismaPartida(juego, cargado);
+
+        assertTrue(persistencia.guardarJuego(cargado));
+        assertFalse(Files.exists(archivo(".diario")));
+    }
+
+    @Test
+    void unGuardadoJsonSeConvierteAlCargar() {
+        Juego juego = juegoDePrueba();
+        PersistenciaJASON json = new PersistenciaJASON();
+        assertTrue(json.guardarJuego(juego));
+        avanzar(juego, json);
+        assertTrue(persistencia.existeJuegoGuardado(USUARIO));
+
+        assertMismaPartida(juego, persistencia.cargarJuego(USUARIO));
+        assertTrue(Files.exists(archivo(".bin")));
+        assertFalse(Files.exists(archivo(".json")));
+        assertFalse(Files.exists(archivo(".diario")));
+        assertMismaPartida(juego, persistencia.cargarJuego(USUARIO));
+    }
+
+    @Test
+    void volverAJsonSustituyeElGuardadoBinario() {
+        Juego juego = juegoDePrueba();
+        assertTrue(persistencia.guardarJuego(juego));
+        avanzar(juego, persistencia);
+
+        // El formato vuelve a JSON y la partida sigue
+        PersistenciaJASON json = new PersistenciaJASON();
+        assertTrue(json.guardarJuego(juego));
+        assertFalse(Files.exists(archivo(".bin")));
+        avanzar(juego, json);
+
+        assertMismaPartida(juego, json.cargarJuego(USUARIO));
+        assertMismaPartida(juego, new PersistenciaBinaria().cargarJuego(USUARIO));
+    }
+}
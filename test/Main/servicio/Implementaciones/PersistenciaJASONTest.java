@@ -0,0 +1,190 @@
+package Main.servicio.Implementaciones;
+
+import Main.modelo.Constantes.TipoAccion;
+import Main.modelo.Constantes.TipoCelda;
+import Main.modelo.Dominio.Juego;
+import Main.modelo.Dominio.Jugador;
+import Main.modelo.Dominio.Laberinto;
+import Main.modelo.Transferencia.EntradaDiario;
+import Main.servicio.Interfaces.Persistencia;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del guardado JSON con diario de acciones.
+ *
+ * @author Mario Sanchez
+ * @version 1.0
+ * @since 17/10/2026
+ */
+class PersistenciaJASONTest {
+
+    /** Usuario reservado a estas pruebas para no tocar guardados reales. */
+    static final String USUARIO = "prueba-persistencia@mazehunter";
+
+    private final PersistenciaJASON persistencia = new PersistenciaJASON();
+
+    @AfterEach
+    void limpiar() throws IOException {
+        for (String extension : new String[] { ".json", ".bin", ".bin.tmp", ".diario" }) {
+            Files.deleteIfExists(archivo(extension));
+        }
+    }
+
+    static Path archivo(String extension) {
+        return Paths.get("datos/juegos/" + USUARIO + extension);
+    }
+
+    /**
+     * Pasillo de la fila 2 con una bomba en la columna 3; el jugador empieza en la
+     * columna 1.
+     */
+    static Juego juegoDePrueba() {
+        Laberinto laberinto = new Laberinto(5, 9);
+        for (int c = 1; c <= 7; c++) {
+            laberinto.setTipo(2, c, TipoCelda.CAMINO);
+        }
+        laberinto.setTipo(2, 1, TipoCelda.ENTRADA);
+        laberinto.setTipo(2, 3, TipoCelda.BOMBA);
+        laberinto.setTipo(2, 7, TipoCelda.SALIDA);
+        Jugador jugador = new Jugador(100, 0, false);
+        jugador.setPosX(2);
+        jugador.setPosY(1);
+        laberinto.setVisitada(2, 1, true);
+        return new Juego(laberinto, jugador, USUARIO, LocalDateTime.of(2026, 10, 17, 12, 0));
+    }
+
+    /**
+     * Avanza una casilla hacia la derecha y la registra en el diario como lo hace el
+     * servicio de juego, recogiendo la bomba si la hay.
+     */
+    static void avanzar(Juego juego, Persistencia persistencia) {
+        Jugador jugador = juego.getJugador();
+        Laberinto laberinto = juego.getLaberinto();
+        jugador.setPosY(jugador.getPosY() + 1);
+        int indice = laberinto.indice(jugador.getPosX(), jugador.getPosY());
+        TipoAccion tipo = TipoAccion.MOVIMIENTO;
+        int cantidad = 0;
+        if (laberinto.getTipo(indice) == TipoCelda.BOMBA) {
+            jugador.recolectarBomba();
+            juego.incrementarBombasRecolectadasTotal();
+            laberinto.setTipo(indice, TipoCelda.CAMINO);
+            tipo = TipoAccion.RECOGIDA;
+            cantidad = 1;
+        }
+        laberinto.setVisitada(jugador.getPosX(), jugador.getPosY(), true);
+        juego.incrementarSecuenciaAcciones();
+        assertTrue(persistencia.registrarAccion(USUARIO, EntradaDiario.registrar(tipo, juego, new int[] { indice }, cantidad)));
+    }
+
+    /**
+     * Comprueba que dos partidas coinciden en todo lo que guarda la persistencia.
+     */
+    static void assertMismaPartida(Juego esperado, Juego real) {
+        Jugador a = esperado.getJugador();
+        Jugador b = real.getJugador();
+        assertEquals(a.getPosX(), b.getPosX());
+        assertEquals(a.getPosY(), b.getPosY());
+        assertEquals(a.getVida(), b.getVida());
+        assertEquals(a.getCristales(), b.getCristales());
+        assertEquals(a.getBombas(), b.getBombas());
+        assertEquals(a.getFosforos(), b.getFosforos());
+        assertEquals(a.isTieneLlave(), b.isTieneLlave());
+        assertEquals(a.isTieneLlaveNegra(), b.isTieneLlaveNegra());
+        assertEquals(esperado.getUsuario(), real.getUsuario());
+        assertEquals(esperado.getInicio(), real.getInicio());
+        assertEquals(esperado.getFin(), real.getFin());
+        assertEquals(esperado.getEstado(), real.getEstado());
+        assertEquals(esperado.isNieblaDeGuerra(), real.isNieblaDeGuerra());
+        assertEquals(esperado.getTrampasActivadas(), real.getTrampasActivadas());
+        assertEquals(esperado.getBombasRecolectadasTotal(), real.getBombasRecolectadasTotal());
+        assertEquals(esperado.getFosforosRecolectadosTotal(), real.getFosforosRecolectadosTotal());
+        assertEquals(esperado.getFosforosUsados(), real.getFosforosUsados());
+        assertEquals(esperado.getMurosRojosDestruidos(), real.getMurosRojosDestruidos());
+        assertEquals(esperado.getSecuenciaAcciones(), real.getSecuenciaAcciones());
+        assertArrayEquals(esperado.getLaberinto().getTiposCrudos(), real.getLaberinto().getTiposCrudos());
+        assertEquals(esperado.getLaberinto().getVisitadasCrudas(), real.getLaberinto().getVisitadasCrudas());
+    }
+
+    @Test
+    void guardarYCargarConservaLaPartida() {
+        Juego juego = juegoDePrueba();
+        juego.getJugador().setFosforos(2);
+        juego.setNieblaDeGuerra(true);
+        juego.setTrampasActivadas(3);
+        juego.setSecuenciaAcciones(5);
+
+        assertTrue(persistencia.guardarJuego(juego));
+        assertMismaPartida(juego, persistencia.cargarJuego(USUARIO));
+    }
+
+    @Test
+    void cargarReproduceElDiarioSobreLaInstantanea() {
+        Juego juego = juegoDePrueba();
+        assertTrue(persistencia.guardarJuego(juego));
+        avanzar(juego, persistencia);
+        avanzar(juego, persistencia);
+
+        Juego cargado = new PersistenciaJASON().cargarJuego(USUARIO);
+        assertMismaPartida(juego, cargado);
+        assertEquals(TipoCelda.CAMINO, cargado.getLaberinto().getTipo(2, 3));
+        assertEquals(1, cargado.getJugador().getBombas());
+    }
+
+    @Test
+    void guardarCompactaElDiario() {
+        Juego juego = juegoDePrueba();
+        assertTrue(persistencia.guardarJuego(juego));
+        avanzar(juego, persistencia);
+        assertTrue(Files.exists(archivo(".diario")));
+
+        assertTrue(persistencia.guardarJuego(juego));
+        assertFalse(Files.exists(archivo(".diario")));
+        avanzar(juego, persistencia);
+        assertMismaPartida(juego, persistencia.cargarJuego(USUARIO));
+    }
+
+    @Test
+    void entradasYaIncluidasEnLaInstantaneaNoSeReaplican() throws IOException {
+        Juego juego = juegoDePrueba();
+        assertTrue(persistencia.guardarJuego(juego));
+        avanzar(juego, persistencia);
+        Path diario = archivo(".diario");
+        byte[] viejas = Files.readAllBytes(diario);
+
+        // Instantánea que ya incluye la entrada, con el diario antiguo restaurado
+        juego.getJugador().setVida(40);
+        assertTrue(persistencia.guardarJuego(juego));
+        Files.write(diario, viejas);
+
+        assertEquals(40, persistencia.cargarJuego(USUARIO).getJugador().getVida());
+    }
+
+    @Test
+    void unaLineaTruncadaDetieneLaReproduccion() throws IOException {
+        Juego juego = juegoDePrueba();
+        assertTrue(persistencia.guardarJuego(juego));
+        avanzar(juego, persistencia);
+        Juego esperado = juego.copiar();
+        avanzar(juego, persistencia);
+
+        // Simula un cierre a mitad de escribir la segunda entrada
+        Path diario = archivo(".diario");
+        String contenido = Files.readString(diario);
+        int corte = contenido.indexOf('\n') + 1;
+        try (FileWriter writer = new FileWriter(diario.toFile())) {
+            writer.write(contenido.substring(0, corte + (contenido.length() - corte) / 2));
+        }
+
+        assertMismaPartida(esperado, persistencia.cargarJuego(USUARIO));
+    }
+}
@@ -0,0 +1,98 @@
+package Main.servicio.Implementaciones;
+
+import Main.modelo.Dominio.EstadisticasJuego;
+import Main.modelo.Dominio.Juego;
+import Main.modelo.Dominio.Usuario;
+import Main.modelo.Transferencia.EntradaDiario;
+import Main.servicio.Interfaces.Persistencia;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persistencia que no escribe nada, para probar los servicios sin tocar
+ * {@code datos/}. Solo cuenta las entradas de diario recibidas.
+ *
+ * @author Mario Sanchez
+ * @version 1.0
+ * @since 17/10/2026
+ */
+class PersistenciaNula implements Persistencia {
+
+    /** Entradas de diario recibidas. */
+    final List<EntradaDiario> diario = new ArrayList<>();
+
+    @Override
+    public boolean guardarUsuario(Usuario usuario) {
+        return true;
+    }
+
+    @Override
+    public Usuario cargarUsuario(String email) {
+        return null;
+    }
+
+    @Override
+    public List<Usuario> cargarTodosUsuarios() {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public boolean existeUsuario(String email) {
+        return false;
+    }
+
+    @Override
+    public void actualizarUsuario(Usuario usuario) {
+    }
+
+    @Override
+    public void cargarUsuarios() {
+    }
+
+    @Override
+    public List<EstadisticasJuego> cargarEstadisticas() {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public boolean guardarJuego(Juego juego) {
+        return true;
+    }
+
+    @Override
+    public synchronized boolean registrarAccion(String usuario, EntradaDiario entrada) {
+        diario.add(entrada);
+        return true;
+    }
+
+    @Override
+    public Juego cargarJuego(String usuario) {
+        return null;
+    }
+
+    @Override
+    public boolean existeJuegoGuardado(String usuario) {
+        return false;
+    }
+
+    @Override
+    public boolean guardarEstadisticas(EstadisticasJuego estadisticas) {
+        return true;
+    }
+
+    @Override
+    public List<EstadisticasJuego> cargarEstadisticas(String usuario) {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public List<EstadisticasJuego> cargarTodasEstadisticas() {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public List<EstadisticasJuego> cargarTodasEstadisticas(String usuario) {
+        return new ArrayList<>();
+    }
+}
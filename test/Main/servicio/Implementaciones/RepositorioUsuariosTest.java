@@ -0,0 +1,88 @@
+package Main.servicio.Implementaciones;
+
+import Main.modelo.Dominio.Usuario;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del índice de usuarios y de su reparto entre instancias.
+ *
+ * @author Mario Sanchez
+ * @version 1.0
+ * @since 17/10/2026
+ */
+class RepositorioUsuariosTest {
+
+    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    void elMismoArchivoDevuelveElMismoRepositorio() {
+        Path archivo = directorio.resolve("usuarios.json");
+        RepositorioUsuarios repositorio = RepositorioUsuarios.compartido(archivo, gson);
+
+        assertSame(repositorio, RepositorioUsuarios.compartido(directorio.resolve("x/../usuarios.json"), gson));
+        assertNotSame(repositorio, RepositorioUsuarios.compartido(directorio.resolve("otros.json"), gson));
+    }
+
+    @Test
+    void unaActualizacionDelMismoTamanoSeVeDesdeOtraInstancia() throws IOException {
+        Path archivo = directorio.resolve("usuarios.json");
+        RepositorioUsuarios escritor = RepositorioUsuarios.compartido(archivo, gson);
+        RepositorioUsuarios lector = RepositorioUsuarios.compartido(archivo, gson);
+
+        assertTrue(escritor.agregar(new Usuario("ana@x", "hash-aaaa", "2026-10-17")));
+        assertEquals("hash-aaaa", lector.buscar("ana@x").getContraseniaCifrada());
+
+        // Mismo tamaño y misma fecha: indistinguible para una comparación de atributos
+        FileTime fecha = Files.getLastModifiedTime(archivo);
+        long tamano = Files.size(archivo);
+        assertTrue(escritor.actualizar(new Usuario("ana@x", "hash-bbbb", "2026-10-17")));
+        Files.setLastModifiedTime(archivo, fecha);
+        assertEquals(tamano, Files.size(archivo));
+
+        assertEquals("hash-bbbb", lector.buscar("ANA@x").getContraseniaCifrada());
+    }
+
+    @Test
+    void lasAltasSeAnexanYSeRelenDesdeElArchivo() throws IOException {
+        Path archivo = directorio.resolve("usuarios.json");
+        RepositorioUsuarios repositorio = RepositorioUsuarios.compartido(archivo, gson);
+
+        assertTrue(repositorio.agregar(new Usuario("ana@x", "h1", "2026-10-17")));
+        assertTrue(repositorio.agregar(new Usuario("luis@x", "h2", "2026-10-17")));
+        assertFalse(repositorio.agregar(new Usuario("LUIS@x", "h3", "2026-10-17")));
+
+        List<Usuario> releidos = new RepositorioUsuarios(archivo, gson).listar();
+        assertEquals(2, releidos.size());
+        assertEquals("ana@x", releidos.get(0).getEmail());
+        assertEquals("h2", releidos.get(1).getContraseniaCifrada());
+    }
+
+    @Test
+    void unCambioDeOtroProcesoRecargaElIndice() throws IOException {
+        Path archivo = directorio.resolve("usuarios.json");
+        RepositorioUsuarios repositorio = RepositorioUsuarios.compartido(archivo, gson);
+        assertTrue(repositorio.agregar(new Usuario("ana@x", "h1", "2026-10-17")));
+
+        Files.write(archivo, ("[{\"email\":\"eva@x\",\"contraseniaCifrada\":\"h9\",\"fechaRegistro\":\"2026-10-17\"},"
+                + "{\"email\":\"ana@x\",\"contraseniaCifrada\":\"h1\",\"fechaRegistro\":\"2026-10-17\"}]")
+                .getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(repositorio.existe("eva@x"));
+        assertEquals(2, repositorio.listar().size());
+    }
+}
@@ -0,0 +1,90 @@
+package Main.servicio.Implementaciones;
+
+import Main.modelo.Constantes.Direccion;
+import Main.modelo.Constantes.TipoCelda;
+import Main.modelo.Dominio.GrafoJerarquico;
+import Main.modelo.Dominio.GrafoPasillos;
+import Main.modelo.Dominio.Juego;
+import Main.modelo.Dominio.Jugador;
+import Main.modelo.Dominio.Laberinto;
+import Main.ui.gui.audio.GestorAudio;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de las acciones del servicio de juego sobre las estructuras derivadas
+ * del laberinto.
+ *
+ * @author Mario Sanchez
+ * @version 1.0
+ * @since 17/10/2026
+ */
+class ServicioJuegoImplTest {
+
+    @BeforeAll
+    static void silenciar() {
+        GestorAudio.getInstancia().setSilenciado(true);
+    }
+
+    /**
+     * Pasillo recto de la fila 2 con una trampa en medio y la salida al final; el
+     * jugador empieza en la columna 1.
+     */
+    private static Juego juegoConTrampa() {
+        Laberinto laberinto = new Laberinto(5, 9);
+        for (int c = 1; c <= 7; c++) {
+            laberinto.setTipo(2, c, TipoCelda.CAMINO);
+        }
+        laberinto.setTipo(2, 4, TipoCelda.TRAMPA);
+        laberinto.setTipo(2, 7, TipoCelda.SALIDA);
+        Jugador jugador = new Jugador(100, 0, true);
+        jugador.setPosX(2);
+        jugador.setPosY(1);
+        return new Juego(laberinto, jugador, "prueba@mazehunter", LocalDateTime.now());
+    }
+
+    @Test
+    void teletransporteSobreTrampaActualizaLosGrafos() {
+        Juego juego = juegoConTrampa();
+        Laberinto laberinto = juego.getLaberinto();
+        int origen = laberinto.indice(2, 1);
+        int salida = laberinto.indice(2, 7);
+        int penalizacion = PlanificadorRutas.PENALIZACION_TRAMPA;
+
+        GrafoPasillos pasillos = juego.getGrafoPasillos();
+        GrafoJerarquico jerarquico = juego.getGrafoJerarquico(penalizacion);
+        assertEquals(6 + penalizacion, pasillos.resolver(origen, salida, penalizacion));
+        assertEquals(6 + penalizacion, jerarquico.resolver(origen, salida));
+
+        ServicioJuegoImpl servicio = new ServicioJuegoImpl(new PersistenciaNula());
+        assertTrue(servicio.teletransportarJugador(juego, 2, 4));
+        assertEquals(TipoCelda.CAMINO, laberinto.getTipo(2, 4));
+
+        // Los grafos en caché deben ver la trampa desactivada sin reconstruirse
+        assertSame(pasillos, juego.getGrafoPasillos());
+        assertEquals(6, pasillos.resolver(origen, salida, penalizacion));
+        GrafoPasillos nuevo = new GrafoPasillos(laberinto);
+        assertEquals(nuevo.getNodos(), pasillos.getNodos());
+        assertEquals(nuevo.getAristas(), pasillos.getAristas());
+        assertSame(jerarquico, juego.getGrafoJerarquico(penalizacion));
+        assertEquals(6, jerarquico.resolver(origen, salida));
+    }
+
+    @Test
+    void moverSobreTrampaActualizaElGrafoDePasillos() {
+        Juego juego = juegoConTrampa();
+        Laberinto laberinto = juego.getLaberinto();
+        int penalizacion = PlanificadorRutas.PENALIZACION_TRAMPA;
+        GrafoPasillos pasillos = juego.getGrafoPasillos();
+
+        ServicioJuegoImpl servicio = new ServicioJuegoImpl(new PersistenciaNula());
+        juego.getJugador().setPosY(3);
+        assertTrue(servicio.moverJugador(juego, Direccion.DERECHA));
+
+        assertEquals(6, pasillos.resolver(laberinto.indice(2, 1), laberinto.indice(2, 7), penalizacion));
+    }
+}